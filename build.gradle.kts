@@ -1,14 +1,20 @@
+import java.time.LocalDateTime
+import java.time.format.DateTimeFormatter
+
 plugins {
     java
     id("org.springframework.boot") version "3.2.1"
     id("io.spring.dependency-management") version "1.1.4"
+    id("org.graalvm.buildtools.native") version "0.9.28" apply false
 }
 
 group = "com.minidoodle"
 version = "1.0.0"
 
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
 }
 
 repositories {
@@ -25,6 +31,17 @@ dependencies {
     // Database
     runtimeOnly("org.postgresql:postgresql")
     runtimeOnly("com.h2database:h2")
+    implementation("org.flywaydb:flyway-core")
+
+    // Reactive read API (R2DBC), next to the JPA stack
+    implementation("org.springframework:spring-r2dbc")
+    implementation("io.r2dbc:r2dbc-pool")
+    runtimeOnly("org.postgresql:r2dbc-postgresql")
+
+    // Hibernate second-level cache (JCache / Ehcache) and statistics for Micrometer
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("org.ehcache:ehcache::jakarta")
+    implementation("org.hibernate.orm:hibernate-micrometer")
 
     // OpenAPI/Swagger
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.3.0")
@@ -41,8 +58,169 @@ dependencies {
     testImplementation("org.testcontainers:testcontainers:1.19.3")
     testImplementation("org.testcontainers:postgresql:1.19.3")
     testImplementation("org.testcontainers:junit-jupiter:1.19.3")
+    testRuntimeOnly("io.r2dbc:r2dbc-h2")
+}
+
+// -Paot runs Spring's AOT processing (processAot) and packs the generated bean definitions into
+// the jars; start them with -Dspring.aot.enabled=true. Conditions and profiles are fixed at build
+// time, so -PaotProfiles=<profiles> must name the profiles the image will run with
+val aot = providers.gradleProperty("aot").isPresent
+if (aot) {
+    apply(plugin = "org.graalvm.buildtools.native")
+    tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+        args("--spring.profiles.active=" + providers.gradleProperty("aotProfiles").getOrElse("prod"))
+    }
+}
+
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("stress")
+    }
+}
+
+// Unpacked application for class data sharing: the JVM only archives classes loaded from plain jars on
+// the class path, not from the nested jars of the Boot fat jar. Run it with java -jar build/extracted/minidoodle.jar
+tasks.jar {
+    if (aot) {
+        from(sourceSets["aot"].output)
+        from(tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot").flatMap { it.classesOutput })
+    }
+    val runtimeJars = configurations.runtimeClasspath
+    doFirst {
+        manifest.attributes(
+            "Main-Class" to "com.minidoodle.MiniDoodleApplication",
+            "Class-Path" to runtimeJars.get().joinToString(" ") { "lib/" + it.name })
+    }
+}
+
+val extractedJar by tasks.registering(Sync::class) {
+    group = "build"
+    description = "Lays out the application jar and its dependencies in build/extracted for class data sharing"
+    from(tasks.jar) {
+        rename { "minidoodle.jar" }
+    }
+    into("lib") {
+        from(configurations.runtimeClasspath)
+    }
+    into(layout.buildDirectory.dir("extracted"))
+}
+
+// Concurrency stress suite against PostgreSQL (Testcontainers, or -Pstress.jdbcUrl=... for an existing one).
+// -Pstress.<setting>=<value> is passed through, e.g. -Pstress.threads=64 -Pstress.durationSeconds=1800 for a soak
+tasks.register<Test>("stressTest") {
+    group = "verification"
+    description = "Runs the @Tag(\"stress\") concurrency tests"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("stress")
+    }
+    systemProperties(providers.gradlePropertiesPrefixedBy("stress.").get())
+    outputs.upToDateWhen { false }
+    shouldRunAfter(tasks.test)
+}
+
+// JMH benchmarks in src/jmh/java, run with ./gradlew jmh
+val jmh by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+// -PjmhInclude=<regex> selects benchmarks, -PjmhArgs="..." passes extra JMH options (e.g. "-p slots=100"),
+// -PjmhResults=<file> overrides where the JSON results go
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks with the GC profiler and writes JSON results"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+
+    val timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+    val results = providers.gradleProperty("jmhResults")
+        .orElse(layout.buildDirectory.file("reports/jmh/results-$timestamp.json").map { it.asFile.path })
+    args(providers.gradleProperty("jmhInclude").getOrElse(".*"))
+    args("-prof", "gc", "-rf", "json", "-rff", results.get())
+    args(providers.gradleProperty("jmhArgs").map { it.split(" ").filter(String::isNotBlank) }.getOrElse(emptyList()))
+    doFirst {
+        file(results.get()).parentFile.mkdirs()
+    }
+}
+// Load generator in src/loadtest/java, run with ./gradlew loadTest
+val loadtest by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadtest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "loadtestImplementation"("org.hdrhistogram:HdrHistogram:2.1.12")
+    "loadtestImplementation"("org.postgresql:postgresql")
 }
 
-tasks.withType<Test> {
-    useJUnitPlatform()
-}
\ No newline at end of file
+// -PloadTestArgs="..." passes options to the load generator (e.g. "--duration=60 --rate.booking=400");
+// without --target it starts the application itself on the H2 test profile
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the load generator against an embedded or running instance and writes HTML/JSON reports"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("com.minidoodle.loadtest.LoadTest")
+    args("--report-dir=" + layout.buildDirectory.dir("reports/loadtest").get().asFile.path)
+    args(providers.gradleProperty("loadTestArgs").map { it.split(" ").filter(String::isNotBlank) }.getOrElse(emptyList()))
+}
+
+// Same options as loadTest; runs them twice, on platform and then on virtual threads
+tasks.register<JavaExec>("compareThreadModes") {
+    group = "verification"
+    description = "Runs the load test on platform and on virtual threads and writes a side-by-side report"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("com.minidoodle.loadtest.ThreadModeComparison")
+    args("--report-dir=" + layout.buildDirectory.dir("reports/loadtest").get().asFile.path)
+    args(providers.gradleProperty("loadTestArgs").map { it.split(" ").filter(String::isNotBlank) }.getOrElse(emptyList()))
+}
+
+// Same options as loadTest plus --connections and --endpoint; without --target it starts
+// the application on the default (PostgreSQL) profile with the reactive reads enabled
+tasks.register<JavaExec>("connectionsBenchmark") {
+    group = "verification"
+    description = "Holds thousands of connections against the blocking and the reactive reads and compares them"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("com.minidoodle.loadtest.ConnectionsBenchmark")
+    args("--report-dir=" + layout.buildDirectory.dir("reports/loadtest").get().asFile.path)
+    args(providers.gradleProperty("loadTestArgs").map { it.split(" ").filter(String::isNotBlank) }.getOrElse(emptyList()))
+}
+
+// Same --profile, --report-dir and --report-name options as loadTest plus --runs and --path; starts the
+// extracted application in fresh JVMs with and without CDS (and AOT when built with -Paot) against the
+// profile's database, PostgreSQL on the prod profile by default, and reports time to first request
+tasks.register<JavaExec>("measureStartup") {
+    group = "verification"
+    description = "Measures time to first request with and without the startup optimizations and writes a report"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("com.minidoodle.loadtest.StartupBenchmark")
+    dependsOn(extractedJar)
+    args("--app-jar=" + layout.buildDirectory.file("extracted/minidoodle.jar").get().asFile.path)
+    args("--report-dir=" + layout.buildDirectory.dir("reports/loadtest").get().asFile.path)
+    if (aot) {
+        args("--aot-profiles=" + providers.gradleProperty("aotProfiles").getOrElse("prod"))
+    }
+    args(providers.gradleProperty("loadTestArgs").map { it.split(" ").filter(String::isNotBlank) }.getOrElse(emptyList()))
+}
+
+// -PgenerateDataArgs="..." sets scale, seed and target database (e.g. "--users=1000000 --seed=7");
+// without --url it writes to the PostgreSQL configured by DB_HOST/DB_PORT/DB_NAME/DB_USER/DB_PASSWORD
+tasks.register<JavaExec>("generateData") {
+    group = "application"
+    description = "Writes synthetic users, calendars, slots and meetings straight into the database"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("com.minidoodle.loadtest.DataGenerator")
+    args(providers.gradleProperty("generateDataArgs").map { it.split(" ").filter(String::isNotBlank) }.getOrElse(emptyList()))
+}
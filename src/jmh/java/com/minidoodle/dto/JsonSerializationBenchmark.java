@@ -0,0 +1,103 @@
+package com.minidoodle.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.minidoodle.domain.SlotStatus;
+import com.minidoodle.domain.TimeSlot;
+import com.minidoodle.service.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Response serialization with an ObjectMapper configured like the application's
+ * (ISO dates, no timestamps), writing to bytes as the HTTP message converter does
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    private ObjectWriter availabilityWriter;
+    private ObjectWriter meetingsWriter;
+    private AvailabilityResponse availability;
+    private List<MeetingDTO> meetings;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        availabilityWriter = objectMapper.writerFor(AvailabilityResponse.class);
+        meetingsWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, MeetingDTO.class));
+
+        List<TimeSlot> slots = BenchmarkData.slots(items);
+        List<TimeSlotDTO> free = slots.stream().filter(slot -> slot.getStatus() == SlotStatus.FREE).map(this::toDTO).toList();
+        List<TimeSlotDTO> busy = slots.stream().filter(slot -> slot.getStatus() == SlotStatus.BUSY).map(this::toDTO).toList();
+        availability = AvailabilityResponse.builder()
+            .freeSlots(free)
+            .busySlots(busy)
+            .totalFreeSlots(free.size())
+            .totalBusySlots(busy.size())
+            .build();
+
+        meetings = BenchmarkData.meetings(Math.min(items, 100), 5).stream()
+            .map(meeting -> MeetingDTO.builder()
+                .id(meeting.getId())
+                .title(meeting.getTitle())
+                .description(meeting.getDescription())
+                .timeSlotId(meeting.getTimeSlot().getId())
+                .startTime(meeting.getTimeSlot().getStartTime())
+                .endTime(meeting.getTimeSlot().getEndTime())
+                .participants(meeting.getParticipants().stream()
+                    .map(user -> UserDTO.builder().id(user.getId()).name(user.getName()).email(user.getEmail()).build())
+                    .collect(Collectors.toSet()))
+                .participantIds(meeting.getParticipants().stream().map(user -> user.getId()).collect(Collectors.toSet()))
+                .createdAt(meeting.getCreatedAt())
+                .updatedAt(meeting.getUpdatedAt())
+                .build())
+            .toList();
+    }
+
+    @Benchmark
+    public byte[] availabilityResponse() throws JsonProcessingException {
+        return availabilityWriter.writeValueAsBytes(availability);
+    }
+
+    // Meetings are capped at 100 per list, matching the size a user's range query returns in practice
+    @Benchmark
+    public byte[] meetingList() throws JsonProcessingException {
+        return meetingsWriter.writeValueAsBytes(meetings);
+    }
+
+    private TimeSlotDTO toDTO(TimeSlot slot) {
+        return TimeSlotDTO.builder()
+            .id(slot.getId())
+            .calendarId(slot.getCalendar().getId())
+            .startTime(slot.getStartTime())
+            .endTime(slot.getEndTime())
+            .status(slot.getStatus())
+            .durationMinutes(slot.getDurationMinutes())
+            .createdAt(slot.getCreatedAt())
+            .updatedAt(slot.getUpdatedAt())
+            .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.minidoodle.exception;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * What ending a request in an expected error costs, thrown {@code depth} frames below
+ * the catch; a service call under Spring MVC, a transaction proxy and the servlet
+ * filters is typically around a hundred frames deep. {@code stackTrace} is an exception
+ * as they were before {@link DomainException}: a full stack trace and a message built
+ * per throw. {@code stackless} keeps the built message, and {@code preallocated} throws
+ * the shared instance. {@code response} is the handler's mapping to the error response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DomainExceptionBenchmark {
+
+    @Param({"10", "100"})
+    private int depth;
+
+    private GlobalExceptionHandler handler;
+    private long slotId;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public RuntimeException stackTrace() {
+        return caught(id -> new StackTraceException("Time slot " + id + " is not available"));
+    }
+
+    @Benchmark
+    public RuntimeException stackless() {
+        return caught(id -> new BusinessException(ErrorCode.SLOT_NOT_AVAILABLE, "Time slot " + id + " is not available"));
+    }
+
+    @Benchmark
+    public RuntimeException preallocated() {
+        return caught(id -> BusinessException.SLOT_NOT_AVAILABLE);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> response() {
+        return handler.handleBusinessException(BusinessException.SLOT_NOT_AVAILABLE);
+    }
+
+    private RuntimeException caught(LongFunction<RuntimeException> exception) {
+        try {
+            throwAt(depth, slotId++, exception);
+            return null;
+        } catch (RuntimeException ex) {
+            return ex;
+        }
+    }
+
+    private static void throwAt(int remaining, long id, LongFunction<RuntimeException> exception) {
+        if (remaining == 0) {
+            throw exception.apply(id);
+        }
+        throwAt(remaining - 1, id, exception);
+    }
+
+    private static final class StackTraceException extends RuntimeException {
+
+        StackTraceException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.minidoodle.metrics;
+
+import com.minidoodle.metrics.BookingMetrics.BookingOutcome;
+import com.minidoodle.metrics.BookingMetrics.Lock;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What recording costs per call, on the Prometheus registry production uses.
+ * {@code untimed} calls a proxied method through one pass-through interceptor, as a
+ * {@code @Transactional} service already is; {@code timed} adds {@link OperationTimer}
+ * in front, so the difference is the timer's share. The {@code Contended} variants
+ * run the same on four threads updating the same meters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private Operations untimed;
+    private Operations timed;
+    private BookingMetrics bookingMetrics;
+    private long value;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        untimed = proxy();
+        MeasuredBeanPostProcessor postProcessor = new MeasuredBeanPostProcessor(() -> meterRegistry);
+        postProcessor.setBeanFactory(new DefaultListableBeanFactory());
+        timed = (Operations) postProcessor.postProcessAfterInitialization(proxy(), "operations");
+        bookingMetrics = new BookingMetrics(meterRegistry);
+    }
+
+    @Benchmark
+    public long untimed() {
+        return untimed.next(value++);
+    }
+
+    @Benchmark
+    public long timed() {
+        return timed.next(value++);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long timedContended() {
+        return timed.next(value++);
+    }
+
+    @Benchmark
+    public void bookingCounter() {
+        bookingMetrics.booking(BookingOutcome.BOOKED);
+    }
+
+    @Benchmark
+    public long lockTimer() {
+        return bookingMetrics.lock(Lock.SLOT, () -> value++);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long lockTimerContended() {
+        return bookingMetrics.lock(Lock.SLOT, () -> value++);
+    }
+
+    @Benchmark
+    public void participantSummary() {
+        bookingMetrics.participants((int) (value++ & 7));
+    }
+
+    private static Operations proxy() {
+        ProxyFactory proxyFactory = new ProxyFactory(new Operations());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> invocation.proceed());
+        return (Operations) proxyFactory.getProxy();
+    }
+
+    @Measured("benchmark")
+    public static class Operations {
+
+        public long next(long value) {
+            return value + 1;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.minidoodle.service;
+
+import com.minidoodle.domain.Calendar;
+import com.minidoodle.domain.Meeting;
+import com.minidoodle.domain.SlotStatus;
+import com.minidoodle.domain.TimeSlot;
+import com.minidoodle.domain.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Detached entities shaped like what the services map, for benchmarks that need no
+ * database. Slots are half-hour blocks on consecutive days, every third one busy.
+ */
+public final class BenchmarkData {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    private BenchmarkData() {
+    }
+
+    public static List<TimeSlot> slots(int count) {
+        Calendar calendar = Calendar.builder().id(1L).timezone("UTC").build();
+        List<TimeSlot> slots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = START.plusDays(i / 16).plusMinutes(30L * (i % 16));
+            slots.add(TimeSlot.builder()
+                .id((long) i + 1)
+                .calendar(calendar)
+                .startTime(start)
+                .endTime(start.plusMinutes(30))
+                .status(i % 3 == 0 ? SlotStatus.BUSY : SlotStatus.FREE)
+                .createdAt(START.minusDays(30))
+                .updatedAt(START.minusDays(1))
+                .version(0L)
+                .build());
+        }
+        return slots;
+    }
+
+    public static List<Meeting> meetings(int count, int participantsPerMeeting) {
+        List<TimeSlot> slots = slots(count);
+        List<Meeting> meetings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Set<User> participants = new HashSet<>();
+            for (int p = 0; p < participantsPerMeeting; p++) {
+                long userId = 1000L + (i * 7L + p) % 5000;
+                participants.add(User.builder()
+                    .id(userId)
+                    .name("Participant " + userId)
+                    .email("participant" + userId + "@example.com")
+                    .build());
+            }
+            meetings.add(Meeting.builder()
+                .id((long) i + 1)
+                .title("Planning session " + i)
+                .description("Quarterly planning with the scheduling team")
+                .timeSlot(slots.get(i))
+                .participants(participants)
+                .createdAt(START.minusDays(2))
+                .updatedAt(START.minusDays(1))
+                .build());
+        }
+        return meetings;
+    }
+}
@@ -0,0 +1,54 @@
+package com.minidoodle.service;
+
+import com.minidoodle.domain.Meeting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping for meeting listings, which copies every participant twice
+ * (as a user summary and as an id)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MeetingServiceBenchmark {
+
+    @Param({"10", "100"})
+    private int meetings;
+
+    @Param({"2", "20"})
+    private int participants;
+
+    private MeetingService meetingService;
+    private List<Meeting> meetingList;
+
+    @Setup
+    public void setUp() {
+        // mapToDTO touches none of the service's collaborators
+        meetingService = new MeetingService(null, null, null, null, null, null, null);
+        meetingList = BenchmarkData.meetings(meetings, participants);
+    }
+
+    @Benchmark
+    public void mapToDTO(Blackhole blackhole) {
+        for (Meeting meeting : meetingList) {
+            blackhole.consume(meetingService.mapToDTO(meeting));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.minidoodle.service;
+
+import com.minidoodle.domain.TimeSlot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping for slot listings and availability
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeSlotServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int slots;
+
+    private TimeSlotService timeSlotService;
+    private List<TimeSlot> timeSlots;
+
+    @Setup
+    public void setUp() {
+        // mapToDTO touches none of the service's collaborators
+        timeSlotService = new TimeSlotService(null, null, null, null, null, null);
+        timeSlots = BenchmarkData.slots(slots);
+    }
+
+    @Benchmark
+    public void mapToDTO(Blackhole blackhole) {
+        for (TimeSlot timeSlot : timeSlots) {
+            blackhole.consume(timeSlotService.mapToDTO(timeSlot));
+        }
+    }
+}
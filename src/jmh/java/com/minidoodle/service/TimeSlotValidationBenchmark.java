@@ -0,0 +1,48 @@
+package com.minidoodle.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slot validation on create and update, for a valid slot of each duration
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeSlotValidationBenchmark {
+
+    @Param({"15", "60", "480"})
+    private int durationMinutes;
+
+    private TimeSlotService timeSlotService;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    @Setup
+    public void setUp() {
+        // validateTimeSlot touches none of the service's collaborators
+        timeSlotService = new TimeSlotService(null, null, null, null, null, null);
+        startTime = LocalDateTime.now().plusDays(30).withNano(0);
+        endTime = startTime.plusMinutes(durationMinutes);
+    }
+
+    @Benchmark
+    public void validateTimeSlot() {
+        timeSlotService.validateTimeSlot(startTime, endTime);
+    }
+}
@@ -0,0 +1,266 @@
+package com.minidoodle.loadtest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Deterministic model of a user population's calendars. Everything about a user is
+ * drawn from a random stream seeded by (seed, user index) alone, so any user can be
+ * generated on any thread in any order with the same result, and a user's row counts
+ * can be planned up front without generating the rows.
+ *
+ * <ul>
+ *   <li>Slots per user follow a Pareto distribution (alpha 1.5), so a few heavy
+ *       hitters own far more slots than the median user.</li>
+ *   <li>Slots sit inside a per-user working day starting between 07:00 and 10:00,
+ *       Monday to Friday, and run past the horizon for users too busy to fit in it.</li>
+ *   <li>Booked slots are chosen by weight, clustering around mid-morning and early
+ *       afternoon, midweek, and the start of the horizon.</li>
+ *   <li>Participants are drawn with a power-law bias, so some users attend a large
+ *       share of all meetings.</li>
+ * </ul>
+ */
+final class CalendarModel {
+
+    private static final double PARETO_ALPHA = 1.5;
+    private static final int WORKING_DAY_MINUTES = 9 * 60;
+    private static final int[] DURATIONS = {15, 30, 30, 45, 60, 60, 90, 120};
+    private static final double BUSY_FRACTION = 0.08;
+    private static final double PARTICIPANT_SKEW = 3.0;
+    private static final int MAX_PARTICIPANTS = 50;
+
+    private static final List<String> FIRST_NAMES = List.of("Ada", "Ben", "Chloe", "David", "Elena", "Farid", "Grace",
+        "Hiro", "Ines", "Jonas", "Kira", "Liam", "Maya", "Noah", "Olga", "Pavel", "Quinn", "Rosa", "Sami", "Tara");
+    private static final List<String> LAST_NAMES = List.of("Anders", "Bauer", "Costa", "Dubois", "Evans", "Fischer",
+        "Garcia", "Hansen", "Ivanov", "Jensen", "Kowalski", "Lopez", "Muller", "Nakamura", "Olsen", "Petrov",
+        "Quint", "Rossi", "Schmidt", "Tanaka");
+    private static final List<String> TOPICS = List.of("Planning", "Sync", "Review", "Retro", "Interview", "1:1",
+        "Demo", "Onboarding", "Budget", "Roadmap", "Standup", "Workshop");
+    private static final List<String> SUBJECTS = List.of("backend", "mobile", "hiring", "Q3", "platform", "design",
+        "customer", "release", "security", "data", "billing", "search");
+
+    private final long seed;
+    private final int users;
+    private final double meanSlots;
+    private final int maxSlots;
+    private final double bookedFraction;
+    private final double meanParticipants;
+    private final LocalDate from;
+    private final int days;
+    private final long participantStride;
+
+    CalendarModel(long seed, int users, double meanSlots, double bookedFraction, double meanParticipants,
+                  LocalDate from, int days) {
+        this.seed = seed;
+        this.users = users;
+        this.meanSlots = meanSlots;
+        this.maxSlots = (int) Math.max(1, Math.round(meanSlots * 50));
+        this.bookedFraction = bookedFraction;
+        this.meanParticipants = meanParticipants;
+        this.from = from;
+        this.days = days;
+        this.participantStride = coprimeStride(users);
+    }
+
+    record UserPlan(int slots, int meetings, int dayStartHour) {
+    }
+
+    /**
+     * Ids the caller assigns to one user's rows; slot and meeting ids run consecutively
+     * from the first ones for as many rows as the user's {@link UserPlan} says
+     */
+    record UserIds(long userId, long calendarId, long firstSlotId, long firstMeetingId) {
+    }
+
+    /**
+     * Sink for generated rows, one array per row in {@link GeneratorTable} column order
+     */
+    interface Rows {
+        void add(GeneratorTable table, Object[] row);
+    }
+
+    UserPlan plan(int userIndex) {
+        return plan(random(userIndex));
+    }
+
+    void generateUser(int userIndex, UserIds ids, Rows rows) {
+        SplittableRandom random = random(userIndex);
+        plan(random);
+        String first = FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size()));
+        String last = LAST_NAMES.get(random.nextInt(LAST_NAMES.size()));
+        LocalDateTime createdAt = from.atStartOfDay().minusDays(1 + random.nextInt(365)).plusMinutes(random.nextInt(24 * 60));
+        rows.add(GeneratorTable.USERS, new Object[] {
+            ids.userId(), first + " " + last,
+            (first + "." + last + "." + ids.userId() + "@example.com").toLowerCase(), createdAt, createdAt});
+        rows.add(GeneratorTable.CALENDARS, new Object[] {ids.calendarId(), ids.userId(), "UTC", createdAt, createdAt});
+    }
+
+    /**
+     * Generates the user's slots, the meetings booked on them and their participants.
+     * {@code userIdOf} maps a user index to the id it was written with.
+     */
+    void generateCalendar(int userIndex, UserIds ids, IntToLongFunction userIdOf, Rows rows) {
+        SplittableRandom random = random(userIndex);
+        UserPlan plan = plan(random);
+
+        LocalDateTime[] starts = new LocalDateTime[plan.slots()];
+        int[] durations = new int[plan.slots()];
+        placeSlots(random, plan, starts, durations);
+        boolean[] booked = chooseBooked(random, starts, plan.meetings());
+
+        long meetingId = ids.firstMeetingId();
+        long[] participants = new long[MAX_PARTICIPANTS];
+        for (int i = 0; i < starts.length; i++) {
+            long slotId = ids.firstSlotId() + i;
+            LocalDateTime start = starts[i];
+            LocalDateTime createdAt = start.minusDays(1 + random.nextInt(60));
+            String status = booked[i] ? "BOOKED" : random.nextDouble() < BUSY_FRACTION ? "BUSY" : "FREE";
+            rows.add(GeneratorTable.TIME_SLOTS, new Object[] {
+                slotId, ids.calendarId(), start, start.plusMinutes(durations[i]), status, createdAt, createdAt, 0L});
+            if (!booked[i]) {
+                continue;
+            }
+
+            String title = TOPICS.get(random.nextInt(TOPICS.size())) + " " + SUBJECTS.get(random.nextInt(SUBJECTS.size()));
+            String description = random.nextBoolean() ? null
+                : "Agenda: " + SUBJECTS.get(random.nextInt(SUBJECTS.size())) + " and " + SUBJECTS.get(random.nextInt(SUBJECTS.size()));
+            LocalDateTime bookedAt = createdAt.plusHours(random.nextInt(24));
+            rows.add(GeneratorTable.MEETINGS, new Object[] {meetingId, title, description, slotId, bookedAt, bookedAt});
+
+            int count = drawParticipants(random, userIdOf, participants);
+            for (int p = 0; p < count; p++) {
+                rows.add(GeneratorTable.MEETING_PARTICIPANTS, new Object[] {meetingId, participants[p]});
+            }
+            meetingId++;
+        }
+    }
+
+    private UserPlan plan(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        double scale = meanSlots * (PARETO_ALPHA - 1) / PARETO_ALPHA;
+        int slots = (int) Math.min(maxSlots, Math.round(scale / Math.pow(u, 1 / PARETO_ALPHA)));
+        double fraction = Math.min(1.0, bookedFraction * (0.5 + random.nextDouble()));
+        int meetings = (int) Math.round(slots * fraction);
+        return new UserPlan(slots, meetings, 7 + random.nextInt(4));
+    }
+
+    private void placeSlots(SplittableRandom random, UserPlan plan, LocalDateTime[] starts, int[] durations) {
+        double perDay = Math.max(0.2, plan.slots() / (days * 5.0 / 7.0));
+        int placed = 0;
+        for (LocalDate day = from; placed < starts.length; day = day.plusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            int today = (int) Math.min(Math.floor(perDay + random.nextDouble()), WORKING_DAY_MINUTES / 15);
+            if (today == 0) {
+                continue;
+            }
+            // Each slot gets an equal share of the working day and starts somewhere inside it
+            int budget = WORKING_DAY_MINUTES / today;
+            LocalDateTime dayStart = day.atTime(plan.dayStartHour(), 0);
+            for (int n = 0; n < today && placed < starts.length; n++) {
+                int duration = DURATIONS[random.nextInt(DURATIONS.length)];
+                while (duration > 15 && duration > budget) {
+                    duration -= 15;
+                }
+                int offset = 15 * random.nextInt(1 + Math.max(0, budget - duration) / 15);
+                starts[placed] = dayStart.plusMinutes((long) n * budget + offset);
+                durations[placed] = duration;
+                placed++;
+            }
+        }
+    }
+
+    /**
+     * Picks exactly {@code count} slots by weighted sampling without replacement
+     * (Efraimidis-Spirakis: the largest {@code log(u) / weight} keys win)
+     */
+    private boolean[] chooseBooked(SplittableRandom random, LocalDateTime[] starts, int count) {
+        boolean[] booked = new boolean[starts.length];
+        if (count == 0) {
+            return booked;
+        }
+        double[] keys = new double[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            keys[i] = Math.log(1.0 - random.nextDouble()) / weight(starts[i]);
+        }
+        double[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        double threshold = sorted[sorted.length - count];
+        int chosen = 0;
+        for (int i = 0; i < keys.length && chosen < count; i++) {
+            if (keys[i] >= threshold) {
+                booked[i] = true;
+                chosen++;
+            }
+        }
+        return booked;
+    }
+
+    private double weight(LocalDateTime start) {
+        double hour = start.getHour() + start.getMinute() / 60.0;
+        double hourWeight = 0.3 + Math.exp(-Math.pow(hour - 10.5, 2) / 2) + 0.8 * Math.exp(-Math.pow(hour - 14.5, 2) / 2);
+        double dayWeight = switch (start.getDayOfWeek()) {
+            case TUESDAY, WEDNESDAY, THURSDAY -> 1.3;
+            case FRIDAY -> 0.7;
+            default -> 1.0;
+        };
+        long daysOut = Math.max(0, start.toLocalDate().toEpochDay() - from.toEpochDay());
+        return hourWeight * dayWeight * Math.exp(-daysOut / 45.0);
+    }
+
+    /**
+     * Draws a geometric number of distinct participants with mean {@code meanParticipants}.
+     * Users are picked as {@code users * u^skew}, which favours low ranks, and ranks are
+     * scattered over user indexes with a fixed stride so popular users are not adjacent.
+     */
+    private int drawParticipants(SplittableRandom random, IntToLongFunction userIdOf, long[] into) {
+        int count = 1;
+        if (meanParticipants > 1) {
+            double p = 1 / meanParticipants;
+            count += (int) Math.floor(Math.log(1.0 - random.nextDouble()) / Math.log(1 - p));
+        }
+        count = Math.min(count, Math.min(MAX_PARTICIPANTS, users));
+        int drawn = 0;
+        while (drawn < count) {
+            long rank = (long) (users * Math.pow(random.nextDouble(), PARTICIPANT_SKEW));
+            long userId = userIdOf.applyAsLong((int) ((rank * participantStride) % users));
+            boolean duplicate = false;
+            for (int i = 0; i < drawn && !duplicate; i++) {
+                duplicate = into[i] == userId;
+            }
+            if (!duplicate) {
+                into[drawn++] = userId;
+            }
+        }
+        return drawn;
+    }
+
+    private SplittableRandom random(int userIndex) {
+        return new SplittableRandom(mix(seed * 0x9E3779B97F4A7C15L + userIndex));
+    }
+
+    // SplitMix64 finalizer, so neighbouring user indexes get unrelated streams
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long coprimeStride(int users) {
+        long stride = Math.max(1, (long) (users * 0.6180339887));
+        while (gcd(stride, users) != 1) {
+            stride++;
+        }
+        return stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
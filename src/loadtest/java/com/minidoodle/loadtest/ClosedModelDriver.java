@@ -0,0 +1,114 @@
+package com.minidoodle.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives one scenario with a closed workload model: a fixed number of connections,
+ * each sending its next request as soon as the previous response arrives. Unlike
+ * {@link OpenModelDriver} the load backs off when the server slows down, so the figure
+ * to compare is throughput at a given concurrency rather than latency at a given rate.
+ * Connections are opened evenly over the first half of the warmup instead of all at
+ * once, which would only measure the server's accept backlog. Nothing blocks a thread
+ * while a request is outstanding, so one client holds thousands of connections.
+ */
+final class ClosedModelDriver implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(ClosedModelDriver.class);
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final Scenario scenario;
+    private final int connections;
+    private final Duration warmup;
+    private final Duration duration;
+    private final HttpClient http;
+    private final ScenarioStats stats = new ScenarioStats();
+    private final AtomicLong sequence = new AtomicLong();
+
+    ClosedModelDriver(Scenario scenario, int connections, Duration warmup, Duration duration, HttpClient http) {
+        this.scenario = scenario;
+        this.connections = connections;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.http = http;
+    }
+
+    Scenario scenario() {
+        return scenario;
+    }
+
+    int connections() {
+        return connections;
+    }
+
+    ScenarioStats stats() {
+        return stats;
+    }
+
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        double rampIntervalNanos = warmup.toNanos() / 2.0 / connections;
+
+        CountDownLatch finished = new CountDownLatch(connections);
+        for (int connection = 0; connection < connections; connection++) {
+            long wait = start + (long) (connection * rampIntervalNanos) - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(measureFrom, end, finished);
+        }
+        try {
+            if (!finished.await(end - System.nanoTime() + DRAIN_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS)) {
+                log.warn("Scenario {} still had {} connections busy after {}",
+                    scenario.name(), finished.getCount(), DRAIN_TIMEOUT);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(long measureFrom, long end, CountDownLatch finished) {
+        long sent = System.nanoTime();
+        if (sent - end >= 0) {
+            finished.countDown();
+            return;
+        }
+        long current = sequence.getAndIncrement();
+        HttpRequest request;
+        try {
+            request = scenario.request(current);
+        } catch (RuntimeException ex) {
+            log.warn("Scenario {} could not build request {}", scenario.name(), current, ex);
+            finished.countDown();
+            return;
+        }
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - sent;
+            boolean measured = sent - measureFrom >= 0;
+            if (error != null) {
+                if (measured) {
+                    stats.recordError(latency);
+                }
+            } else {
+                scenario.completed(current, response.statusCode());
+                if (measured) {
+                    stats.recordResponse(response.statusCode(), scenario.expected(response.statusCode()), latency);
+                }
+            }
+            send(measureFrom, end, finished);
+        });
+    }
+}
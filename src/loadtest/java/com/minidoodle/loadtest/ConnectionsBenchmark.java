@@ -0,0 +1,271 @@
+package com.minidoodle.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.management.UnixOperatingSystemMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Holds {@code --connections} (10000 by default) concurrent connections against the
+ * blocking read endpoints and then against their reactive mirrors, run with
+ * {@code ./gradlew connectionsBenchmark}. Each connection sends its next request as
+ * soon as the last one is answered ({@link ClosedModelDriver}), and the report compares
+ * throughput, latency, failures and what the server spent holding the connections.
+ *
+ * <p>The in-process instance starts on a PostgreSQL profile ({@code default} unless
+ * {@code --profile} says otherwise), since the reactive driver is not on the load
+ * generator's classpath for H2 and an in-memory database would never block anyway. It
+ * gets enough Tomcat connection slots for the run, keep-alive without a request limit
+ * and the rate limiter switched off. While a stack is measured, live threads, heap,
+ * Tomcat's busy request threads and each pool's waiting callers are sampled; client
+ * and server share the JVM, so thread and heap figures include the client's share,
+ * which is the same for both stacks. {@code --target} runs against an instance with
+ * {@code minidoodle.reactive.enabled=true} instead, without the server-side figures.
+ *
+ * <p>{@code --endpoint=availability} (default) reads availability for a week;
+ * {@code --endpoint=slots} lists the week's slots as a JSON array.
+ */
+public final class ConnectionsBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionsBenchmark.class);
+
+    private static final Map<String, String> STACKS = Map.of(
+        "blocking", "/api/v1/timeslots/users/",
+        "reactive", "/api/v1/reactive/timeslots/users/");
+    private static final List<String> STACK_ORDER = List.of("blocking", "reactive");
+    private static final Map<String, String> ENDPOINTS = Map.of(
+        "availability", "/availability",
+        "slots", "");
+    private static final int SLOTS_PER_USER = 4;
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(100);
+    private static final List<String> SERVER_FIGURES = List.of(
+        "peakThreads", "peakHeapMb", "peakTomcatBusyThreads", "peakJdbcPending", "peakReactivePending");
+
+    private ConnectionsBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int connections = options.connections();
+        String endpoint = options.values().getOrDefault("endpoint", "availability");
+        if (!ENDPOINTS.containsKey(endpoint)) {
+            throw new IllegalArgumentException("--endpoint must be one of " + ENDPOINTS.keySet());
+        }
+
+        ConfigurableApplicationContext application = null;
+        String baseUrl = options.target();
+        if (baseUrl == null) {
+            warnIfTooFewFileDescriptors(connections * 2);
+            application = LoadTest.startApplication(options.profile("default"), options.virtualThreads(), options.quietLogging(), List.of(
+                "--minidoodle.reactive.enabled=true",
+                "--minidoodle.reactive.max-connections=" + (connections + 100),
+                "--server.tomcat.accept-count=" + Math.min(connections, 10000),
+                "--server.tomcat.max-keep-alive-requests=-1",
+                "--server.tomcat.mbeanregistry.enabled=true"));
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort();
+        } else {
+            warnIfTooFewFileDescriptors(connections);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+        try {
+            run(options, endpoint, new LoadClient(baseUrl, executor), baseUrl, application);
+        } finally {
+            executor.shutdownNow();
+            if (application != null) {
+                application.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static void run(LoadTestOptions options, String endpoint, LoadClient client, String baseUrl,
+                            ConfigurableApplicationContext application) throws Exception {
+        log.info("Seeding {} users with {} slots each at {}", options.users(), SLOTS_PER_USER, baseUrl);
+        Fixture fixture = Fixture.seed(client, options.users(), options.users() * SLOTS_PER_USER, 0);
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<Map<String, Object>> stacks = new ArrayList<>();
+        for (String stack : STACK_ORDER) {
+            Scenario scenario = Scenarios.weekRead(client, fixture, stack + "-" + endpoint,
+                STACKS.get(stack), ENDPOINTS.get(endpoint));
+            ClosedModelDriver driver = new ClosedModelDriver(scenario, options.connections(),
+                options.warmup(), options.duration(), client.http());
+            log.info("Running {} over {} connections: {}s warmup, {}s measured",
+                scenario.name(), driver.connections(), options.warmup().toSeconds(), options.duration().toSeconds());
+
+            ServerSampler sampler = application != null ? new ServerSampler(application, options.warmup()) : null;
+            Thread samplerThread = sampler != null ? Thread.ofPlatform().daemon().name("sampler").start(sampler) : null;
+            driver.run();
+            if (sampler != null) {
+                sampler.stop();
+                samplerThread.join();
+            }
+            stacks.add(stack(stack, driver, options.duration(), sampler));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("target", options.target() != null ? baseUrl : "in-process (" + options.profile("default") + " profile)");
+        report.put("endpoint", endpoint);
+        report.put("connections", options.connections());
+        report.put("warmupSeconds", options.warmup().toSeconds());
+        report.put("durationSeconds", options.duration().toSeconds());
+        report.put("users", options.users());
+        if (application != null) {
+            report.put("threads", application.getEnvironment()
+                .getProperty("spring.threads.virtual.enabled", Boolean.class, false) ? "virtual" : "platform");
+        }
+        report.put("stacks", stacks);
+
+        String name = options.reportName() != null ? options.reportName()
+            : "connections-" + startedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Files.createDirectories(options.reportDir());
+        Path json = options.reportDir().resolve(name + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), report);
+        Files.writeString(options.reportDir().resolve(name + ".html"), html(report, stacks));
+
+        for (Map<String, Object> stack : stacks) {
+            log.info("{}: {} req/s, {} completed, {} unexpected, {} errors, latency {}, statuses {}",
+                stack.get("name"), stack.get("throughput"), stack.get("completed"), stack.get("unexpected"),
+                stack.get("errors"), stack.get("latencyMs"), stack.get("statuses"));
+        }
+        log.info("Report written to {} (and .html next to it)", json.toAbsolutePath());
+    }
+
+    private static Map<String, Object> stack(String name, ClosedModelDriver driver, Duration duration, ServerSampler sampler) {
+        ScenarioStats stats = driver.stats();
+        Map<String, Object> stack = new LinkedHashMap<>();
+        stack.put("name", name);
+        stack.put("throughput", ReportWriter.round(stats.completed() / (double) duration.toSeconds()));
+        stack.put("completed", stats.completed());
+        stack.put("unexpected", stats.unexpected());
+        stack.put("errors", stats.errors());
+        stack.put("statuses", stats.statuses());
+        stack.put("latencyMs", ReportWriter.latencyMs(stats.latencyMicros()));
+        if (sampler != null) {
+            stack.putAll(sampler.peaks());
+        }
+        return stack;
+    }
+
+    private static void warnIfTooFewFileDescriptors(long needed) {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof UnixOperatingSystemMXBean os
+                && os.getMaxFileDescriptorCount() < needed + 1000) {
+            log.warn("The file descriptor limit is {} but the run needs about {}; raise it with ulimit -n",
+                os.getMaxFileDescriptorCount(), needed + 1000);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String html(Map<String, Object> report, List<Map<String, Object>> stacks) {
+        StringBuilder html = new StringBuilder()
+            .append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>miniDoodle connections</title>\n")
+            .append("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}")
+            .append("td,th{border:1px solid #ccc;padding:4px 10px;text-align:right}th{background:#eee}")
+            .append("td:first-child{text-align:left}</style></head><body>\n")
+            .append("<h1>Blocking vs reactive reads</h1>\n<table>\n");
+        report.forEach((key, value) -> {
+            if (!"stacks".equals(key)) {
+                html.append("<tr><td>").append(ReportWriter.escape(key)).append("</td><td>")
+                    .append(ReportWriter.escape(value)).append("</td></tr>\n");
+            }
+        });
+        html.append("</table>\n<h2>Results</h2>\n<table>\n<tr><th></th>");
+        for (Map<String, Object> stack : stacks) {
+            html.append("<th>").append(ReportWriter.escape(stack.get("name"))).append("</th>");
+        }
+        html.append("</tr>\n");
+        List<String> rows = new ArrayList<>(List.of("throughput", "completed", "unexpected", "errors", "statuses"));
+        rows.addAll(SERVER_FIGURES);
+        for (String row : rows) {
+            if (stacks.stream().anyMatch(stack -> stack.containsKey(row))) {
+                html.append("<tr><td>").append(row).append("</td>");
+                stacks.forEach(stack -> html.append("<td>").append(ReportWriter.escape(stack.getOrDefault(row, "")))
+                    .append("</td>"));
+                html.append("</tr>\n");
+            }
+        }
+        for (String latency : ((Map<String, Object>) stacks.get(0).get("latencyMs")).keySet()) {
+            html.append("<tr><td>").append(latency).append(" ms</td>");
+            stacks.forEach(stack -> html.append("<td>")
+                .append(ReportWriter.escape(((Map<String, Object>) stack.get("latencyMs")).get(latency))).append("</td>"));
+            html.append("</tr>\n");
+        }
+        return html.append("</table>\n</body></html>\n").toString();
+    }
+
+    /**
+     * Samples the in-process server's resource use after the warmup, when every
+     * connection is open, and keeps the peaks
+     */
+    private static final class ServerSampler implements Runnable {
+
+        private final MeterRegistry meterRegistry;
+        private final Duration warmup;
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private long peakHeapBytes;
+        private double peakTomcatBusy;
+        private double peakJdbcPending;
+        private double peakReactivePending;
+
+        ServerSampler(ConfigurableApplicationContext application, Duration warmup) {
+            this.meterRegistry = application.getBean(MeterRegistry.class);
+            this.warmup = warmup;
+        }
+
+        @Override
+        public void run() {
+            LockSupport.parkNanos(warmup.toNanos());
+            threads.resetPeakThreadCount();
+            while (running.get()) {
+                Runtime runtime = Runtime.getRuntime();
+                peakHeapBytes = Math.max(peakHeapBytes, runtime.totalMemory() - runtime.freeMemory());
+                peakTomcatBusy = Math.max(peakTomcatBusy, gauge("tomcat.threads.busy"));
+                peakJdbcPending = Math.max(peakJdbcPending, gauge("hikaricp.connections.pending"));
+                peakReactivePending = Math.max(peakReactivePending, gauge("minidoodle.reactive.pool.pending"));
+                LockSupport.parkNanos(SAMPLE_INTERVAL.toNanos());
+            }
+        }
+
+        void stop() {
+            running.set(false);
+        }
+
+        Map<String, Object> peaks() {
+            Map<String, Object> peaks = new LinkedHashMap<>();
+            peaks.put("peakThreads", threads.getPeakThreadCount());
+            peaks.put("peakHeapMb", peakHeapBytes / (1024 * 1024));
+            peaks.put("peakTomcatBusyThreads", (long) peakTomcatBusy);
+            peaks.put("peakJdbcPending", (long) peakJdbcPending);
+            peaks.put("peakReactivePending", (long) peakReactivePending);
+            return peaks;
+        }
+
+        private double gauge(String name) {
+            return meterRegistry.find(name).gauges().stream().mapToDouble(Gauge::value).filter(Double::isFinite).sum();
+        }
+    }
+}
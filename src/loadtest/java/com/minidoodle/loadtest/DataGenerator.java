@@ -0,0 +1,267 @@
+package com.minidoodle.loadtest;
+
+import com.minidoodle.MiniDoodleApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Fills a database with synthetic users, calendars, slots, meetings and participants
+ * at scale, run with {@code ./gradlew generateData}. Rows are shaped by
+ * {@link CalendarModel} and written straight through JDBC, bypassing the
+ * application: users and calendars first, then everything else, each phase split
+ * into chunks of users that worker threads write in one transaction per chunk.
+ *
+ * <p>Ids are assigned here rather than by the database. Per-user row counts are
+ * planned before anything is written, which fixes every id up front, so output for
+ * a given seed, scale and {@code --from} is the same whatever the thread count. The
+ * horizon therefore starts on a fixed date unless {@code --from} moves it. Identity sequences
+ * are moved past the generated ids at the end, so the application can keep inserting.
+ */
+public final class DataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DataGenerator.class);
+
+    // A Monday, so the default horizon starts on a full working week
+    private static final LocalDate DEFAULT_FROM = LocalDate.of(2026, 1, 5);
+
+    private final Map<String, String> options;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private DataGenerator(Map<String, String> options) {
+        this.options = options;
+        this.url = options.getOrDefault("url", "jdbc:postgresql://" + env("DB_HOST", "localhost") + ":"
+            + env("DB_PORT", "5432") + "/" + env("DB_NAME", "minidoodle"));
+        this.username = options.getOrDefault("username", env("DB_USER", "postgres"));
+        this.password = options.getOrDefault("password", env("DB_PASSWORD", "postgres"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new DataGenerator(LoadTestOptions.parse(args).values()).run();
+    }
+
+    private void run() throws Exception {
+        int users = (int) number("users", 10_000);
+        int chunkSize = (int) number("chunk-size", 1_000);
+        int threads = (int) number("threads", Runtime.getRuntime().availableProcessors());
+        CalendarModel model = new CalendarModel(
+            number("seed", 42),
+            users,
+            decimal("slots-per-user", 100),
+            decimal("booked-fraction", 0.1),
+            decimal("participants-per-meeting", 3),
+            LocalDate.parse(options.getOrDefault("from", DEFAULT_FROM.toString())),
+            (int) number("days", 120));
+
+        if (!Boolean.parseBoolean(options.getOrDefault("skip-schema", "false"))) {
+            createSchema();
+        }
+
+        long started = System.nanoTime();
+        int chunks = (users + chunkSize - 1) / chunkSize;
+        long[] firstIds;
+        String product;
+        try (Connection connection = connect()) {
+            product = connection.getMetaData().getDatabaseProductName();
+            firstIds = new long[] {
+                nextId(connection, "users"), nextId(connection, "calendars"),
+                nextId(connection, "time_slots"), nextId(connection, "meetings")};
+        }
+        long userBase = firstIds[0];
+        long calendarBase = firstIds[1];
+
+        // Plan per-chunk slot and meeting counts, then turn them into each chunk's first ids
+        long[] chunkSlots = new long[chunks];
+        long[] chunkMeetings = new long[chunks];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            for (int user = chunk * chunkSize; user < Math.min(users, (chunk + 1) * chunkSize); user++) {
+                CalendarModel.UserPlan plan = model.plan(user);
+                chunkSlots[chunk] += plan.slots();
+                chunkMeetings[chunk] += plan.meetings();
+            }
+        });
+        long[] chunkFirstSlot = prefixSums(chunkSlots, firstIds[2]);
+        long[] chunkFirstMeeting = prefixSums(chunkMeetings, firstIds[3]);
+        log.info("Generating {} users, {} slots and {} meetings into {} ({}) with {} threads",
+            users, chunkFirstSlot[chunks] - firstIds[2], chunkFirstMeeting[chunks] - firstIds[3], url, product, threads);
+
+        RowWriter writer = RowWriter.forDatabase(product);
+        AtomicLongArray written = new AtomicLongArray(GeneratorTable.values().length);
+        runPhase("users", chunks, threads, writer, written, (chunk, rows) -> {
+            for (int user = chunk * chunkSize; user < Math.min(users, (chunk + 1) * chunkSize); user++) {
+                model.generateUser(user, new CalendarModel.UserIds(userBase + user, calendarBase + user, 0, 0), rows);
+            }
+        });
+        runPhase("calendars", chunks, threads, writer, written, (chunk, rows) -> {
+            long slotId = chunkFirstSlot[chunk];
+            long meetingId = chunkFirstMeeting[chunk];
+            for (int user = chunk * chunkSize; user < Math.min(users, (chunk + 1) * chunkSize); user++) {
+                model.generateCalendar(user, new CalendarModel.UserIds(userBase + user, calendarBase + user, slotId, meetingId),
+                    index -> userBase + index, rows);
+                CalendarModel.UserPlan plan = model.plan(user);
+                slotId += plan.slots();
+                meetingId += plan.meetings();
+            }
+        });
+
+        try (Connection connection = connect()) {
+            finish(connection, product);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        long total = 0;
+        for (GeneratorTable table : GeneratorTable.values()) {
+            total += written.get(table.ordinal());
+            log.info("{}: {} rows", table.tableName(), written.get(table.ordinal()));
+        }
+        log.info("Wrote {} rows in {}s ({} rows/s)", total, elapsed.toSeconds(),
+            total * 1000 / Math.max(1, elapsed.toMillis()));
+    }
+
+    private interface ChunkGenerator {
+        void generate(int chunk, CalendarModel.Rows rows);
+    }
+
+    private void runPhase(String phase, int chunks, int threads, RowWriter writer, AtomicLongArray written,
+                          ChunkGenerator generator) throws Exception {
+        AtomicInteger nextChunk = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int worker = 0; worker < threads; worker++) {
+                workers.add(executor.submit(() -> {
+                    try (Connection connection = connect()) {
+                        connection.setAutoCommit(false);
+                        for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                            Map<GeneratorTable, List<Object[]>> rows = new EnumMap<>(GeneratorTable.class);
+                            generator.generate(chunk, (table, row) -> rows.computeIfAbsent(table, key -> new ArrayList<>()).add(row));
+                            for (GeneratorTable table : GeneratorTable.values()) {
+                                List<Object[]> tableRows = rows.get(table);
+                                if (tableRows != null) {
+                                    writer.write(connection, table, tableRows);
+                                    written.addAndGet(table.ordinal(), tableRows.size());
+                                }
+                            }
+                            connection.commit();
+                            int finished = done.incrementAndGet();
+                            if (finished % Math.max(1, chunks / 20) == 0 || finished == chunks) {
+                                log.info("{}: {}/{} chunks", phase, finished, chunks);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Boots the application without a web server so the Flyway migrations run on
+     * PostgreSQL, or Hibernate creates the schema on H2, before rows are written
+     */
+    private void createSchema() {
+        log.info("Migrating the schema at {}", url);
+        SpringApplication application = new SpringApplication(MiniDoodleApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.datasource.url=" + url,
+            "--spring.datasource.username=" + username,
+            "--spring.datasource.password=" + password,
+            "--spring.datasource.driver-class-name=",
+            "--logging.level.root=WARN",
+            "--logging.level.com.minidoodle.loadtest=INFO"));
+        if (url.startsWith("jdbc:h2:")) {
+            args.add("--spring.flyway.enabled=false");
+            args.add("--spring.jpa.hibernate.ddl-auto=update");
+            args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        } else {
+            args.add("--spring.flyway.enabled=true");
+        }
+        application.run(args.toArray(String[]::new)).close();
+    }
+
+    /**
+     * Moves identity sequences past the generated ids and refreshes planner statistics
+     */
+    private void finish(Connection connection, String product) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (GeneratorTable table : GeneratorTable.values()) {
+                if (!table.hasIdentity()) {
+                    continue;
+                }
+                String name = table.tableName();
+                if ("PostgreSQL".equals(product)) {
+                    statement.execute("SELECT setval(pg_get_serial_sequence('" + name + "', 'id'), "
+                        + "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + name + "), false)");
+                } else {
+                    statement.execute("ALTER TABLE " + name + " ALTER COLUMN id RESTART WITH " + nextId(connection, name));
+                }
+            }
+            if ("PostgreSQL".equals(product)) {
+                statement.execute("ANALYZE");
+            }
+        }
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static long[] prefixSums(long[] counts, long first) {
+        long[] sums = new long[counts.length + 1];
+        sums[0] = first;
+        for (int i = 0; i < counts.length; i++) {
+            sums[i + 1] = sums[i] + counts[i];
+        }
+        return sums;
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    private long number(String name, long defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+
+    private double decimal(String name, double defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,72 @@
+package com.minidoodle.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Data the scenarios run against, created through the public API before the clock
+ * starts: users with calendars, one free slot per booking storm and a set of meetings
+ * whose participant lists get churned. Everything is created for fresh users, so
+ * repeated runs against the same database do not collide.
+ */
+record Fixture(List<Long> userIds, List<Long> stormSlotIds, List<Long> meetingIds, LocalDateTime seededFrom) {
+
+    static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    static final int SLOT_MINUTES = 30;
+
+    static Fixture seed(LoadClient client, int users, int stormSlots, int meetings)
+            throws IOException, InterruptedException {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<Map<String, String>> rows = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            rows.add(Map.of("name", "Load User " + i, "email", "load-" + run + "-" + i + "@example.com"));
+        }
+        List<Long> userIds = new ArrayList<>(users);
+        for (JsonNode row : client.send(client.post("/api/v1/users/bulk", rows)).path("rows")) {
+            userIds.add(row.path("userId").asLong());
+        }
+
+        // Seeded slots start a year out, one per user per half hour, so they never overlap
+        LocalDateTime seededFrom = LocalDate.now().plusYears(1).atTime(8, 0);
+        List<Long> stormSlotIds = new ArrayList<>(stormSlots);
+        for (int i = 0; i < stormSlots; i++) {
+            stormSlotIds.add(createSlot(client, userIds, seededFrom, i));
+        }
+        List<Long> meetingIds = new ArrayList<>(meetings);
+        for (int i = 0; i < meetings; i++) {
+            long slotId = createSlot(client, userIds, seededFrom, stormSlots + i);
+            Map<String, Object> meeting = Map.of(
+                "timeSlotId", slotId,
+                "title", "Load meeting " + i,
+                "participantIds", List.of(userIds.get((i + 1) % userIds.size())));
+            meetingIds.add(client.send(client.post("/api/v1/meetings", meeting)).path("id").asLong());
+        }
+        return new Fixture(userIds, stormSlotIds, meetingIds, seededFrom);
+    }
+
+    long user(long index) {
+        return userIds.get((int) Math.floorMod(index, (long) userIds.size()));
+    }
+
+    static Map<String, String> slotBody(LocalDateTime start) {
+        return Map.of(
+            "startTime", start.format(TIME_FORMAT),
+            "endTime", start.plusMinutes(SLOT_MINUTES).format(TIME_FORMAT));
+    }
+
+    private static long createSlot(LoadClient client, List<Long> userIds, LocalDateTime from, int index)
+            throws IOException, InterruptedException {
+        long userId = userIds.get(index % userIds.size());
+        LocalDateTime start = from.plusMinutes((long) SLOT_MINUTES * (index / userIds.size()));
+        return client.send(client.post("/api/v1/timeslots/users/" + userId, slotBody(start))).path("id").asLong();
+    }
+}
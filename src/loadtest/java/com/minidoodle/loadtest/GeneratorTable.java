@@ -0,0 +1,44 @@
+package com.minidoodle.loadtest;
+
+import java.util.List;
+
+/**
+ * Tables the data generator fills, in foreign key order, with the columns it writes.
+ * Ids are assigned by the generator, so identity columns are written explicitly.
+ */
+enum GeneratorTable {
+    USERS("users", List.of("id", "name", "email", "created_at", "updated_at")),
+    CALENDARS("calendars", List.of("id", "user_id", "timezone", "created_at", "updated_at")),
+    TIME_SLOTS("time_slots", List.of("id", "calendar_id", "start_time", "end_time", "status", "created_at", "updated_at", "version")),
+    MEETINGS("meetings", List.of("id", "title", "description", "time_slot_id", "created_at", "updated_at")),
+    MEETING_PARTICIPANTS("meeting_participants", List.of("meeting_id", "user_id"));
+
+    private final String tableName;
+    private final List<String> columns;
+
+    GeneratorTable(String tableName, List<String> columns) {
+        this.tableName = tableName;
+        this.columns = columns;
+    }
+
+    String tableName() {
+        return tableName;
+    }
+
+    List<String> columns() {
+        return columns;
+    }
+
+    boolean hasIdentity() {
+        return columns.get(0).equals("id");
+    }
+
+    String insertSql() {
+        return "INSERT INTO " + tableName + " (" + String.join(", ", columns) + ") VALUES ("
+            + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+    }
+
+    String copySql() {
+        return "COPY " + tableName + " (" + String.join(", ", columns) + ") FROM STDIN";
+    }
+}
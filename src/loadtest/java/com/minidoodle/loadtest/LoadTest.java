@@ -0,0 +1,179 @@
+package com.minidoodle.loadtest;
+
+import com.minidoodle.MiniDoodleApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Load generator entry point, run with {@code ./gradlew loadTest}. Starts the
+ * application in-process on a random port (H2 {@code test} profile by default, or any
+ * other profile, e.g. one pointing at a local PostgreSQL), or targets a running
+ * instance given by {@code --target}. It seeds data through the API, runs every
+ * scenario with a non-zero rate concurrently, and writes the reports.
+ *
+ * <p>{@code --virtual-threads=true|false} picks the in-process thread model; the report
+ * then also records how often virtual threads were pinned, and
+ * {@link ThreadModeComparison} runs both models back to back.
+ *
+ * <p>Exits non-zero when a booking storm booked a slot twice, so the run doubles as
+ * a concurrency check.
+ */
+public final class LoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final int PARTICIPANT_MEETINGS = 20;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext application = null;
+        String baseUrl = options.target();
+        if (baseUrl == null) {
+            application = startApplication(options.profile(), options.virtualThreads(), options.quietLogging(), List.of());
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+        int exitCode;
+        try {
+            exitCode = run(options, new LoadClient(baseUrl, executor), baseUrl, application);
+        } finally {
+            executor.shutdownNow();
+            if (application != null) {
+                application.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * Starts the application on a random port; {@code extraArgs} go last, so they win
+     */
+    static ConfigurableApplicationContext startApplication(String profile, Boolean virtualThreads, boolean quietLogging,
+                                                           List<String> extraArgs) {
+        log.info("Starting miniDoodle in-process with profile '{}'", profile);
+        SpringApplication application = new SpringApplication(MiniDoodleApplication.class);
+        application.setAdditionalProfiles(profile);
+        // All traffic comes from one address
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--minidoodle.rate-limit.enabled=false"));
+        if (quietLogging) {
+            // Per-statement logging would dominate the measurement
+            args.addAll(List.of(
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.minidoodle=INFO",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+                "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"));
+        }
+        if (virtualThreads != null) {
+            args.add("--spring.threads.virtual.enabled=" + virtualThreads);
+        }
+        args.addAll(extraArgs);
+        return application.run(args.toArray(String[]::new));
+    }
+
+    private static int run(LoadTestOptions options, LoadClient client, String baseUrl,
+                           ConfigurableApplicationContext application) throws Exception {
+        Duration warmup = options.warmup();
+        Duration duration = options.duration();
+        double availabilityRate = options.rate("availability", 200);
+        double slotRate = options.rate("slots", 20);
+        double bookingRate = options.rate("booking", 100);
+        double participantRate = options.rate("participants", 20);
+        int stormSize = options.stormSize();
+
+        int stormSlots = bookingRate > 0
+            ? Scenarios.stormSlotsNeeded(bookingRate, warmup.plus(duration).toSeconds(), stormSize) : 0;
+        log.info("Seeding {} users, {} storm slots and {} meetings at {}",
+            options.users(), stormSlots, participantRate > 0 ? PARTICIPANT_MEETINGS : 0, baseUrl);
+        Fixture fixture = Fixture.seed(client, options.users(), stormSlots, participantRate > 0 ? PARTICIPANT_MEETINGS : 0);
+
+        List<OpenModelDriver> drivers = new ArrayList<>();
+        addDriver(drivers, options, Scenarios.availability(client, fixture), availabilityRate, client);
+        addDriver(drivers, options, Scenarios.slotCreation(client, fixture), slotRate, client);
+        if (bookingRate > 0) {
+            addDriver(drivers, options, Scenarios.bookingStorm(client, fixture, stormSize), bookingRate, client);
+        }
+        if (participantRate > 0) {
+            addDriver(drivers, options, Scenarios.participants(client, fixture), participantRate, client);
+        }
+        if (drivers.isEmpty()) {
+            throw new IllegalArgumentException("Every scenario has rate 0");
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        log.info("Running {} scenarios: {}s warmup, {}s measured", drivers.size(), warmup.toSeconds(), duration.toSeconds());
+        List<Thread> threads = new ArrayList<>();
+        for (OpenModelDriver driver : drivers) {
+            Thread thread = new Thread(driver, "load-" + driver.scenario().name());
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("startedAt", startedAt.toString());
+        run.put("target", options.target() != null ? baseUrl : "in-process (" + options.profile() + " profile)");
+        run.put("warmupSeconds", warmup.toSeconds());
+        run.put("durationSeconds", duration.toSeconds());
+        run.put("users", options.users());
+        if (application != null) {
+            boolean virtual = application.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+            run.put("threads", virtual ? "virtual" : "platform");
+            run.put("quietLogging", options.quietLogging());
+            if (virtual) {
+                run.put("virtualThreadsPinned", application.getBean(MeterRegistry.class)
+                    .find("minidoodle.virtual-threads.pinned").counters().stream().mapToDouble(Counter::count).sum());
+            }
+        }
+        String name = options.reportName() != null ? options.reportName()
+            : "loadtest-" + startedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path report = new ReportWriter().write(options.reportDir(), name, run, drivers, duration);
+
+        int failures = 0;
+        for (OpenModelDriver driver : drivers) {
+            ScenarioStats stats = driver.stats();
+            log.info("{}: {} completed, {} unexpected, {} errors, {} dropped, p99 {} ms, statuses {} {}",
+                driver.scenario().name(), stats.completed(), stats.unexpected(), stats.errors(), stats.dropped(),
+                stats.latencyMicros().getValueAtPercentile(99) / 1000.0, stats.statuses(), driver.scenario().summary());
+            Object doubleBooked = driver.scenario().summary().get("slotsDoubleBooked");
+            if (doubleBooked instanceof Integer count && count > 0) {
+                log.error("{} slots were booked more than once", count);
+                failures++;
+            }
+        }
+        log.info("Report written to {} (and .html next to it)", report.toAbsolutePath());
+        return failures == 0 ? 0 : 1;
+    }
+
+    private static void addDriver(List<OpenModelDriver> drivers, LoadTestOptions options, Scenario scenario,
+                                  double rate, LoadClient client) {
+        if (rate > 0) {
+            drivers.add(new OpenModelDriver(scenario, rate, options.warmup(), options.duration(),
+                client.http(), options.maxInFlight()));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.minidoodle.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options in {@code --name=value} form; a later occurrence of an option
+ * wins, so the Gradle task can pass defaults ahead of the user's arguments.
+ */
+record LoadTestOptions(Map<String, String> values) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return new LoadTestOptions(values);
+    }
+
+    /**
+     * Base URL of a running instance, or null to start one in-process
+     */
+    String target() {
+        String target = values.get("target");
+        return target == null || target.isBlank() ? null : target.replaceAll("/+$", "");
+    }
+
+    /**
+     * Spring profile for the in-process instance; "test" is the in-memory H2 database
+     */
+    String profile() {
+        return profile("test");
+    }
+
+    String profile(String defaultProfile) {
+        return values.getOrDefault("profile", defaultProfile);
+    }
+
+    /**
+     * Whether the in-process instance serves requests on virtual threads, or null for
+     * the profile's own {@code spring.threads.virtual.enabled}
+     */
+    Boolean virtualThreads() {
+        String value = values.get("virtual-threads");
+        return value == null ? null : Boolean.valueOf(value);
+    }
+
+    /**
+     * Whether the in-process instance overrides its profile's logging with
+     * statement-free, INFO-level logging; false measures the profile's own logging
+     */
+    boolean quietLogging() {
+        return Boolean.parseBoolean(values.getOrDefault("quiet-logging", "true"));
+    }
+
+    Duration warmup() {
+        return Duration.ofSeconds(number("warmup", 5));
+    }
+
+    Duration duration() {
+        return Duration.ofSeconds(number("duration", 30));
+    }
+
+    int users() {
+        return (int) number("users", 100);
+    }
+
+    /**
+     * Requests started per second for a scenario; 0 leaves the scenario out
+     */
+    double rate(String scenario, double defaultRate) {
+        String value = values.get("rate." + scenario);
+        return value == null ? defaultRate : Double.parseDouble(value);
+    }
+
+    /**
+     * Booking attempts aimed at each slot before the storm moves to the next one
+     */
+    int stormSize() {
+        return (int) number("storm-size", 20);
+    }
+
+    /**
+     * Requests a scenario may have outstanding; arrivals beyond that are counted as dropped
+     */
+    int maxInFlight() {
+        return (int) number("max-in-flight", 1000);
+    }
+
+    /**
+     * Connections each closed-model run keeps busy
+     */
+    int connections() {
+        return (int) number("connections", 10000);
+    }
+
+    Path reportDir() {
+        return Path.of(values.getOrDefault("report-dir", "build/reports/loadtest"));
+    }
+
+    /**
+     * File name of the reports without extension, or null for one based on the start time
+     */
+    String reportName() {
+        return values.get("report-name");
+    }
+
+    private long number(String name, long defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+}
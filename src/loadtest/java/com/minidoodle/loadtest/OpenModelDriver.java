@@ -0,0 +1,121 @@
+package com.minidoodle.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives one scenario with an open workload model: arrivals are scheduled at a fixed
+ * rate whatever the server does, and each is sent asynchronously, so a slow server
+ * sees requests pile up as real clients would make them pile up, rather than the load
+ * backing off as it does with a fixed pool of looping clients. Arrivals scheduled
+ * during the warmup are sent but not recorded.
+ */
+final class OpenModelDriver implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenModelDriver.class);
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Scenario scenario;
+    private final double ratePerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final HttpClient http;
+    private final int maxInFlight;
+    private final ScenarioStats stats = new ScenarioStats();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenModelDriver(Scenario scenario, double ratePerSecond, Duration warmup, Duration duration,
+                    HttpClient http, int maxInFlight) {
+        this.scenario = scenario;
+        this.ratePerSecond = ratePerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.http = http;
+        this.maxInFlight = maxInFlight;
+    }
+
+    Scenario scenario() {
+        return scenario;
+    }
+
+    double ratePerSecond() {
+        return ratePerSecond;
+    }
+
+    ScenarioStats stats() {
+        return stats;
+    }
+
+    @Override
+    public void run() {
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long sequence = 0; ; sequence++) {
+            long scheduled = start + (long) (sequence * intervalNanos);
+            if (scheduled - end >= 0) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = scheduled - measureFrom >= 0;
+            if (inFlight.get() >= maxInFlight) {
+                if (measured) {
+                    stats.recordDropped();
+                }
+                continue;
+            }
+            send(sequence, scheduled, measured);
+        }
+        drain();
+    }
+
+    private void send(long sequence, long scheduled, boolean measured) {
+        HttpRequest request;
+        try {
+            request = scenario.request(sequence);
+        } catch (RuntimeException ex) {
+            log.warn("Scenario {} could not build request {}", scenario.name(), sequence, ex);
+            return;
+        }
+        inFlight.incrementAndGet();
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - scheduled;
+            inFlight.decrementAndGet();
+            if (error != null) {
+                if (measured) {
+                    stats.recordError(latency);
+                }
+                return;
+            }
+            int status = response.statusCode();
+            scenario.completed(sequence, status);
+            if (measured) {
+                stats.recordResponse(status, scenario.expected(status), latency);
+            }
+        });
+    }
+
+    private void drain() {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) {
+            log.warn("Scenario {} still had {} requests in flight after {}", scenario.name(), inFlight.get(), DRAIN_TIMEOUT);
+        }
+    }
+}
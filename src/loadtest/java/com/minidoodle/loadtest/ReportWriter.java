@@ -0,0 +1,154 @@
+package com.minidoodle.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a run as JSON (for comparing runs), as a single-page HTML summary, and as one
+ * HdrHistogram percentile file (.hgrm) per scenario that the HdrHistogram plotter reads.
+ */
+final class ReportWriter {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Writes the reports and returns the JSON file
+     */
+    Path write(Path dir, String name, Map<String, Object> run, List<OpenModelDriver> drivers, Duration duration)
+            throws IOException {
+        Files.createDirectories(dir);
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        for (OpenModelDriver driver : drivers) {
+            scenarios.add(scenario(driver, duration));
+            Files.writeString(dir.resolve(name + "-" + driver.scenario().name() + ".hgrm"),
+                percentileDistribution(driver.stats().latencyMicros()));
+        }
+        Map<String, Object> report = new LinkedHashMap<>(run);
+        report.put("scenarios", scenarios);
+
+        Path json = dir.resolve(name + ".json");
+        objectMapper.writeValue(json.toFile(), report);
+        Files.writeString(dir.resolve(name + ".html"), html(report, scenarios));
+        return json;
+    }
+
+    private Map<String, Object> scenario(OpenModelDriver driver, Duration duration) {
+        ScenarioStats stats = driver.stats();
+        Map<String, Object> scenario = new LinkedHashMap<>();
+        scenario.put("name", driver.scenario().name());
+        scenario.put("targetRate", driver.ratePerSecond());
+        scenario.put("achievedRate", round(stats.completed() / (double) duration.toSeconds()));
+        scenario.put("completed", stats.completed());
+        scenario.put("unexpected", stats.unexpected());
+        scenario.put("errors", stats.errors());
+        scenario.put("dropped", stats.dropped());
+        scenario.put("statuses", stats.statuses());
+        scenario.put("latencyMs", latencyMs(stats.latencyMicros()));
+        scenario.putAll(driver.scenario().summary());
+        return scenario;
+    }
+
+    /**
+     * Percentiles, max and mean of a microsecond histogram, in milliseconds
+     */
+    static Map<String, Object> latencyMs(Histogram histogram) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            latency.put("p" + format(percentile), millis(histogram.getValueAtPercentile(percentile)));
+        }
+        latency.put("max", millis(histogram.getMaxValue()));
+        latency.put("mean", round(histogram.getMean() / MICROS_PER_MILLI));
+        return latency;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String html(Map<String, Object> report, List<Map<String, Object>> scenarios) {
+        StringBuilder html = new StringBuilder()
+            .append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>miniDoodle load test</title>\n")
+            .append("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}")
+            .append("td,th{border:1px solid #ccc;padding:4px 10px;text-align:right}th{background:#eee}")
+            .append("td:first-child{text-align:left}.bad{color:#b00;font-weight:bold}</style></head><body>\n")
+            .append("<h1>miniDoodle load test</h1>\n<table>\n");
+        report.forEach((key, value) -> {
+            if (!"scenarios".equals(key)) {
+                html.append("<tr><td>").append(escape(key)).append("</td><td>").append(escape(value)).append("</td></tr>\n");
+            }
+        });
+        html.append("</table>\n<h2>Scenarios</h2>\n<table>\n<tr><th>scenario</th><th>target/s</th><th>achieved/s</th>")
+            .append("<th>completed</th><th>unexpected</th><th>errors</th><th>dropped</th>");
+        for (double percentile : PERCENTILES) {
+            html.append("<th>p").append(format(percentile)).append(" ms</th>");
+        }
+        html.append("<th>max ms</th><th>statuses</th></tr>\n");
+        for (Map<String, Object> scenario : scenarios) {
+            Map<String, Object> latency = (Map<String, Object>) scenario.get("latencyMs");
+            html.append("<tr><td>").append(escape(scenario.get("name"))).append("</td>");
+            for (String column : List.of("targetRate", "achievedRate", "completed")) {
+                html.append("<td>").append(escape(scenario.get(column))).append("</td>");
+            }
+            for (String column : List.of("unexpected", "errors", "dropped")) {
+                long value = (Long) scenario.get(column);
+                html.append(value > 0 ? "<td class=\"bad\">" : "<td>").append(value).append("</td>");
+            }
+            latency.forEach((key, value) -> {
+                if (!"mean".equals(key)) {
+                    html.append("<td>").append(escape(value)).append("</td>");
+                }
+            });
+            html.append("<td>").append(escape(scenario.get("statuses"))).append("</td></tr>\n");
+        }
+        html.append("</table>\n");
+        for (Map<String, Object> scenario : scenarios) {
+            Map<String, Object> extra = new LinkedHashMap<>(scenario);
+            extra.keySet().removeAll(List.of("name", "targetRate", "achievedRate", "completed", "unexpected",
+                "errors", "dropped", "statuses", "latencyMs"));
+            if (!extra.isEmpty()) {
+                html.append("<h3>").append(escape(scenario.get("name"))).append("</h3>\n<table>\n");
+                extra.forEach((key, value) -> html.append("<tr><td>").append(escape(key)).append("</td><td>")
+                    .append(escape(value)).append("</td></tr>\n"));
+                html.append("</table>\n");
+            }
+        }
+        return html.append("</body></html>\n").toString();
+    }
+
+    private static String percentileDistribution(Histogram histogram) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PrintStream print = new PrintStream(out, true, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(print, MICROS_PER_MILLI);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static double millis(long micros) {
+        return round(micros / MICROS_PER_MILLI);
+    }
+
+    static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    static String escape(Object value) {
+        return String.valueOf(value).replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,99 @@
+package com.minidoodle.loadtest;
+
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes generated rows over a connection: {@code COPY ... FROM STDIN} on PostgreSQL,
+ * JDBC batches anywhere else (H2).
+ */
+interface RowWriter {
+
+    void write(Connection connection, GeneratorTable table, List<Object[]> rows) throws SQLException;
+
+    static RowWriter forDatabase(String productName) {
+        return "PostgreSQL".equals(productName) ? new CopyRowWriter() : new BatchRowWriter();
+    }
+
+    final class BatchRowWriter implements RowWriter {
+
+        private static final int BATCH_SIZE = 1000;
+
+        @Override
+        public void write(Connection connection, GeneratorTable table, List<Object[]> rows) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement(table.insertSql())) {
+                int batched = 0;
+                for (Object[] row : rows) {
+                    for (int i = 0; i < row.length; i++) {
+                        statement.setObject(i + 1, row[i]);
+                    }
+                    statement.addBatch();
+                    if (++batched == BATCH_SIZE) {
+                        statement.executeBatch();
+                        batched = 0;
+                    }
+                }
+                if (batched > 0) {
+                    statement.executeBatch();
+                }
+            }
+        }
+    }
+
+    /**
+     * Streams rows in COPY text format: tab separated, {@code \N} for null, with
+     * backslash, tab and line breaks escaped
+     */
+    final class CopyRowWriter implements RowWriter {
+
+        private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        @Override
+        public void write(Connection connection, GeneratorTable table, List<Object[]> rows) throws SQLException {
+            StringBuilder text = new StringBuilder(rows.size() * 64);
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) {
+                        text.append('\t');
+                    }
+                    append(text, row[i]);
+                }
+                text.append('\n');
+            }
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(table.copySql(), new StringReader(text.toString()));
+            } catch (IOException ex) {
+                throw new SQLException("COPY into " + table.tableName() + " failed", ex);
+            }
+        }
+
+        private static void append(StringBuilder text, Object value) {
+            if (value == null) {
+                text.append("\\N");
+            } else if (value instanceof LocalDateTime time) {
+                text.append(TIMESTAMP.format(time));
+            } else if (value instanceof String string) {
+                for (int i = 0; i < string.length(); i++) {
+                    char c = string.charAt(i);
+                    switch (c) {
+                        case '\\' -> text.append("\\\\");
+                        case '\t' -> text.append("\\t");
+                        case '\n' -> text.append("\\n");
+                        case '\r' -> text.append("\\r");
+                        default -> text.append(c);
+                    }
+                }
+            } else {
+                text.append(value);
+            }
+        }
+    }
+}
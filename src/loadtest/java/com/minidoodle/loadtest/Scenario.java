@@ -0,0 +1,32 @@
+package com.minidoodle.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.Map;
+
+/**
+ * One kind of traffic in the mix. The driver numbers arrivals from 0 across warmup and
+ * measurement, and a scenario derives each request from that sequence number so runs
+ * are repeatable and arrivals never reuse each other's data by accident.
+ */
+interface Scenario {
+
+    String name();
+
+    HttpRequest request(long sequence);
+
+    /**
+     * Whether the status is a correct answer for this scenario, e.g. 400 for a booking
+     * that lost the race for a slot
+     */
+    boolean expected(int status);
+
+    default void completed(long sequence, int status) {
+    }
+
+    /**
+     * Scenario-specific figures for the report
+     */
+    default Map<String, Object> summary() {
+        return Map.of();
+    }
+}
@@ -0,0 +1,79 @@
+package com.minidoodle.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one scenario's measured arrivals. Latency runs from the
+ * arrival's scheduled start, not from when the request was actually sent, so a
+ * stalled server is charged for the queue it builds up (no coordinated omission).
+ */
+final class ScenarioStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder unexpected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    void recordResponse(int status, boolean expected, long latencyNanos) {
+        record(latencyNanos);
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (!expected) {
+            unexpected.increment();
+        }
+    }
+
+    /**
+     * A request that got no response (connect failure, reset or timeout)
+     */
+    void recordError(long latencyNanos) {
+        record(latencyNanos);
+        errors.increment();
+    }
+
+    /**
+     * An arrival that was not sent because the scenario already had the maximum in flight
+     */
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    Histogram latencyMicros() {
+        return latencyMicros;
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    long completed() {
+        return latencyMicros.getTotalCount();
+    }
+
+    long unexpected() {
+        return unexpected.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    private void record(long latencyNanos) {
+        latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+    }
+}
@@ -0,0 +1,174 @@
+package com.minidoodle.loadtest;
+
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The traffic mix: availability reads, slot creation, booking storms on single slots
+ * and participant churn on existing meetings.
+ */
+final class Scenarios {
+
+    private Scenarios() {
+    }
+
+    /**
+     * Number of free slots the booking storms need for the whole run
+     */
+    static int stormSlotsNeeded(double rate, long seconds, int stormSize) {
+        return (int) Math.ceil(rate * seconds / stormSize) + 1;
+    }
+
+    /**
+     * GET availability for a week of a user's calendar, across all seeded users
+     */
+    static Scenario availability(LoadClient client, Fixture fixture) {
+        return weekRead(client, fixture, "availability", "/api/v1/timeslots/users/", "/availability");
+    }
+
+    /**
+     * GET {@code prefix + userId + suffix} for the week the fixture's slots start in,
+     * across all seeded users
+     */
+    static Scenario weekRead(LoadClient client, Fixture fixture, String name, String prefix, String suffix) {
+        String window = "?startTime=" + fixture.seededFrom().format(Fixture.TIME_FORMAT)
+            + "&endTime=" + fixture.seededFrom().plusDays(7).format(Fixture.TIME_FORMAT);
+        return new Scenario() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public HttpRequest request(long sequence) {
+                // Stride by a prime so consecutive reads hit different users
+                long userId = fixture.user(sequence * 7919);
+                return client.get(prefix + userId + suffix + window);
+            }
+
+            @Override
+            public boolean expected(int status) {
+                return status == 200;
+            }
+        };
+    }
+
+    /**
+     * POST a new slot, round-robin over users, each user's slots back to back a year
+     * after the seeded ones so none overlap
+     */
+    static Scenario slotCreation(LoadClient client, Fixture fixture) {
+        LocalDateTime from = fixture.seededFrom().plusYears(1);
+        int users = fixture.userIds().size();
+        return new Scenario() {
+            @Override
+            public String name() {
+                return "slot-creation";
+            }
+
+            @Override
+            public HttpRequest request(long sequence) {
+                LocalDateTime start = from.plusMinutes(Fixture.SLOT_MINUTES * (sequence / users));
+                return client.post("/api/v1/timeslots/users/" + fixture.user(sequence), Fixture.slotBody(start));
+            }
+
+            @Override
+            public boolean expected(int status) {
+                return status == 201;
+            }
+        };
+    }
+
+    /**
+     * POST meetings in bursts of {@code stormSize} at the same free slot. Exactly one
+     * booking per slot may succeed and the rest must be refused with 400, so the
+     * summary also reports slots that were booked more than once.
+     */
+    static Scenario bookingStorm(LoadClient client, Fixture fixture, int stormSize) {
+        List<Long> slotIds = fixture.stormSlotIds();
+        AtomicIntegerArray attempts = new AtomicIntegerArray(slotIds.size());
+        AtomicIntegerArray bookings = new AtomicIntegerArray(slotIds.size());
+        return new Scenario() {
+            @Override
+            public String name() {
+                return "booking-storm";
+            }
+
+            @Override
+            public HttpRequest request(long sequence) {
+                int slot = slot(sequence);
+                attempts.incrementAndGet(slot);
+                Map<String, Object> body = Map.of(
+                    "timeSlotId", slotIds.get(slot),
+                    "title", "Storm " + sequence,
+                    "participantIds", List.of(fixture.user(sequence)));
+                return client.post("/api/v1/meetings", body);
+            }
+
+            @Override
+            public boolean expected(int status) {
+                return status == 201 || status == 400;
+            }
+
+            @Override
+            public void completed(long sequence, int status) {
+                if (status == 201) {
+                    bookings.incrementAndGet(slot(sequence));
+                }
+            }
+
+            @Override
+            public Map<String, Object> summary() {
+                int stormed = 0;
+                int booked = 0;
+                int doubleBooked = 0;
+                for (int i = 0; i < slotIds.size(); i++) {
+                    stormed += attempts.get(i) > 0 ? 1 : 0;
+                    booked += bookings.get(i) > 0 ? 1 : 0;
+                    doubleBooked += bookings.get(i) > 1 ? 1 : 0;
+                }
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("stormSize", stormSize);
+                summary.put("slotsStormed", stormed);
+                summary.put("slotsBooked", booked);
+                summary.put("slotsDoubleBooked", doubleBooked);
+                return summary;
+            }
+
+            private int slot(long sequence) {
+                return (int) Math.min(sequence / stormSize, slotIds.size() - 1);
+            }
+        };
+    }
+
+    /**
+     * Add a user to a meeting and remove them again with the next arrival, rotating over
+     * the seeded meetings so consecutive pairs touch different meetings
+     */
+    static Scenario participants(LoadClient client, Fixture fixture) {
+        List<Long> meetingIds = fixture.meetingIds();
+        return new Scenario() {
+            @Override
+            public String name() {
+                return "participants";
+            }
+
+            @Override
+            public HttpRequest request(long sequence) {
+                long pair = sequence / 2;
+                long meetingId = meetingIds.get((int) (pair % meetingIds.size()));
+                String path = "/api/v1/meetings/" + meetingId + "/participants/" + fixture.user(pair / meetingIds.size());
+                return sequence % 2 == 0 ? client.post(path, null) : client.delete(path);
+            }
+
+            @Override
+            public boolean expected(int status) {
+                return status == 200;
+            }
+        };
+    }
+}
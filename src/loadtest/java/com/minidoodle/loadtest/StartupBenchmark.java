@@ -0,0 +1,302 @@
+package com.minidoodle.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures time to first request of the extracted application ({@code --app-jar}, laid
+ * out by {@code extractedJar}), run with {@code ./gradlew measureStartup}. Every run is
+ * a fresh JVM; the clock starts when the process is launched and stops at the first
+ * 2xx answer to {@code --path}, polled every 10 ms. The modes, each run
+ * {@code --runs} times (3 by default) in interleaved rounds:
+ * <ul>
+ *   <li>{@code ddl-update}: the old boot path, Hibernate inspecting and updating the schema</li>
+ *   <li>{@code plain}: the schema is migrated beforehand, as the prod profile expects</li>
+ *   <li>{@code cds}: plus a class data sharing archive from a training run</li>
+ *   <li>{@code aot} and {@code aot-cds}: plus Spring's AOT-generated bean definitions,
+ *       when the jar was built with {@code -Paot} for the measured profile</li>
+ * </ul>
+ *
+ * <p>The instances start on {@code --profile} ({@code prod} unless it says otherwise)
+ * with the environment of this process, so {@code DB_HOST} and friends pick the
+ * database. Before measuring, one run migrates that database and the training runs
+ * write the archives; both stop once the context is refreshed. Each instance's output
+ * goes to a log file next to the report, from which Spring's own startup time is read.
+ */
+public final class StartupBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupBenchmark.class);
+
+    private static final Pattern STARTED = Pattern.compile("Started MiniDoodleApplication in ([0-9.]+) seconds");
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(3);
+
+    private final LoadTestOptions options;
+    private final Path appJar;
+    private final String profile;
+    private final Path workDir;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private StartupBenchmark(LoadTestOptions options, Path workDir) {
+        this.options = options;
+        this.appJar = Path.of(options.values().getOrDefault("app-jar", "build/extracted/minidoodle.jar")).toAbsolutePath();
+        this.profile = options.profile("prod");
+        this.workDir = workDir;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LocalDateTime startedAt = LocalDateTime.now();
+        String name = options.reportName() != null ? options.reportName()
+            : "startup-" + startedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Files.createDirectories(options.reportDir().resolve(name));
+        new StartupBenchmark(options, options.reportDir().resolve(name)).run(startedAt, name);
+    }
+
+    private void run(LocalDateTime startedAt, String name) throws Exception {
+        if (!Files.isRegularFile(appJar)) {
+            throw new IllegalArgumentException("No application jar at " + appJar + "; run ./gradlew extractedJar first");
+        }
+        int runs = Integer.parseInt(options.values().getOrDefault("runs", "3"));
+        String path = options.values().getOrDefault("path", "/api/v1/users?limit=1");
+
+        List<Mode> modes = new ArrayList<>(List.of(
+            new Mode("ddl-update", false, List.of(), List.of("--spring.jpa.hibernate.ddl-auto=update")),
+            new Mode("plain", false, List.of(), List.of()),
+            new Mode("cds", true, List.of(), List.of())));
+        String aotProfiles = options.values().get("aot-profiles");
+        if (aotProfiles != null && aotProfiles.equals(profile)) {
+            modes.add(new Mode("aot", false, List.of("-Dspring.aot.enabled=true"), List.of()));
+            modes.add(new Mode("aot-cds", true, List.of("-Dspring.aot.enabled=true"), List.of()));
+        } else if (aotProfiles != null) {
+            log.warn("Skipping the AOT modes: the jar was processed for profile {} but --profile is {}", aotProfiles, profile);
+        }
+
+        log.info("Migrating the {} profile's database", profile);
+        refreshOnly("migrate", List.of(), List.of("--spring.flyway.enabled=true"));
+        for (Mode mode : modes) {
+            if (mode.cds()) {
+                log.info("Training run for {}", mode.name());
+                List<String> jvmArgs = new ArrayList<>(mode.jvmArgs());
+                jvmArgs.add("-XX:ArchiveClassesAtExit=" + mode.archive(workDir));
+                refreshOnly("train-" + mode.name(), jvmArgs, mode.args());
+            }
+        }
+
+        Map<String, List<Long>> firstRequestMs = new LinkedHashMap<>();
+        Map<String, List<Double>> startedSeconds = new LinkedHashMap<>();
+        for (int round = 1; round <= runs; round++) {
+            for (Mode mode : modes) {
+                Measurement measurement = measure(mode, round, path);
+                log.info("{} run {}: first request after {} ms (Spring reported {} s)",
+                    mode.name(), round, measurement.firstRequestMs(), measurement.startedSeconds());
+                firstRequestMs.computeIfAbsent(mode.name(), key -> new ArrayList<>()).add(measurement.firstRequestMs());
+                if (measurement.startedSeconds() != null) {
+                    startedSeconds.computeIfAbsent(mode.name(), key -> new ArrayList<>()).add(measurement.startedSeconds());
+                }
+            }
+        }
+
+        long baselineMs = median(firstRequestMs.get("ddl-update"));
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Mode mode : modes) {
+            List<Long> times = firstRequestMs.get(mode.name());
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("name", mode.name());
+            result.put("firstRequestMsMedian", median(times));
+            result.put("firstRequestMsMin", times.stream().mapToLong(Long::longValue).min().orElseThrow());
+            result.put("firstRequestMsMax", times.stream().mapToLong(Long::longValue).max().orElseThrow());
+            result.put("firstRequestMs", times);
+            List<Double> started = startedSeconds.getOrDefault(mode.name(), List.of());
+            result.put("springStartedSeconds", started);
+            result.put("vsDdlUpdate", ReportWriter.round(median(times) / (double) baselineMs));
+            results.add(result);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("appJar", appJar.toString());
+        report.put("profile", profile);
+        report.put("path", path);
+        report.put("runs", runs);
+        report.put("aotProfiles", aotProfiles != null ? aotProfiles : "not built with -Paot");
+        report.put("cpus", Runtime.getRuntime().availableProcessors());
+        report.put("modes", results);
+
+        Path json = options.reportDir().resolve(name + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), report);
+        Files.writeString(options.reportDir().resolve(name + ".html"), html(report, results));
+
+        for (Map<String, Object> result : results) {
+            log.info("{}: median {} ms to first request ({}x ddl-update), runs {}, Spring reported {} s",
+                result.get("name"), result.get("firstRequestMsMedian"), result.get("vsDdlUpdate"),
+                result.get("firstRequestMs"), result.get("springStartedSeconds"));
+        }
+        log.info("Report written to {} (and .html next to it, instance logs in {})", json.toAbsolutePath(), workDir.toAbsolutePath());
+    }
+
+    /**
+     * Starts an instance that exits as soon as its context is refreshed, as migration
+     * and CDS training runs do
+     */
+    private void refreshOnly(String name, List<String> jvmArgs, List<String> args) throws Exception {
+        List<String> refreshArgs = new ArrayList<>(jvmArgs);
+        refreshArgs.add("-Dspring.context.exit=onRefresh");
+        Process process = start(name, refreshArgs, args, freePort());
+        if (!process.waitFor(START_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException(name + " did not finish; see " + logFile(name));
+        }
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException(name + " exited with " + process.exitValue() + "; see " + logFile(name));
+        }
+    }
+
+    private Measurement measure(Mode mode, int round, String path) throws Exception {
+        String name = mode.name() + "-" + round;
+        List<String> jvmArgs = new ArrayList<>(mode.jvmArgs());
+        if (mode.cds()) {
+            jvmArgs.add("-XX:SharedArchiveFile=" + mode.archive(workDir));
+        }
+        int port = freePort();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .timeout(Duration.ofSeconds(30)).build();
+
+        long launchedAt = System.nanoTime();
+        Process process = start(name, jvmArgs, mode.args(), port);
+        try {
+            while (System.nanoTime() - launchedAt < START_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(name + " exited with " + process.exitValue() + "; see " + logFile(name));
+                }
+                try {
+                    HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() / 100 == 2) {
+                        long firstRequestMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchedAt);
+                        return new Measurement(firstRequestMs, startedSeconds(name));
+                    }
+                } catch (IOException notListeningYet) {
+                    // Tomcat binds its port late in the refresh
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException(name + " did not answer " + path + " within " + START_TIMEOUT);
+        } finally {
+            stop(process);
+        }
+    }
+
+    private Process start(String name, List<String> jvmArgs, List<String> args, int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(appJar.toString());
+        command.add("--spring.profiles.active=" + profile);
+        command.add("--server.port=" + port);
+        command.addAll(args);
+        return new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(logFile(name).toFile())
+            .start();
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    /**
+     * Spring's "Started ... in N seconds", which the instance may log just after
+     * answering the first request
+     */
+    private Double startedSeconds(String name) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            Matcher matcher = STARTED.matcher(Files.readString(logFile(name)));
+            if (matcher.find()) {
+                return Double.valueOf(matcher.group(1));
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        return null;
+    }
+
+    private Path logFile(String name) {
+        return workDir.resolve(name + ".log");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static String html(Map<String, Object> report, List<Map<String, Object>> results) {
+        StringBuilder html = new StringBuilder()
+            .append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>miniDoodle startup</title>\n")
+            .append("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}")
+            .append("td,th{border:1px solid #ccc;padding:4px 10px;text-align:right}th{background:#eee}")
+            .append("td:first-child{text-align:left}</style></head><body>\n")
+            .append("<h1>Time to first request</h1>\n<table>\n");
+        report.forEach((key, value) -> {
+            if (!"modes".equals(key)) {
+                html.append("<tr><td>").append(ReportWriter.escape(key)).append("</td><td>")
+                    .append(ReportWriter.escape(value)).append("</td></tr>\n");
+            }
+        });
+        html.append("</table>\n<h2>Results</h2>\n<table>\n<tr><th></th>");
+        for (Map<String, Object> result : results) {
+            html.append("<th>").append(ReportWriter.escape(result.get("name"))).append("</th>");
+        }
+        html.append("</tr>\n");
+        for (String row : List.of("firstRequestMsMedian", "firstRequestMsMin", "firstRequestMsMax", "vsDdlUpdate",
+                "firstRequestMs", "springStartedSeconds")) {
+            html.append("<tr><td>").append(row).append("</td>");
+            results.forEach(result -> html.append("<td>").append(ReportWriter.escape(result.get(row))).append("</td>"));
+            html.append("</tr>\n");
+        }
+        return html.append("</table>\n</body></html>\n").toString();
+    }
+
+    /**
+     * A way of starting the instance; CDS modes share one archive per mode, written
+     * by a training run with the same flags
+     */
+    private record Mode(String name, boolean cds, List<String> jvmArgs, List<String> args) {
+
+        Path archive(Path workDir) {
+            return workDir.resolve(name + ".jsa").toAbsolutePath();
+        }
+    }
+
+    private record Measurement(long firstRequestMs, Double startedSeconds) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.minidoodle.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the same load test against an in-process instance on platform threads and then
+ * on virtual threads, run with {@code ./gradlew compareThreadModes}. Each run is a
+ * separate JVM so neither inherits the other's JIT state, heap or pools. Writes both
+ * runs' usual reports plus a side-by-side comparison of throughput, latency
+ * percentiles and failures per scenario.
+ *
+ * <p>Thread models differ only once requests block long enough to exhaust Tomcat's
+ * 200 platform threads, so rates well above the defaults (or a PostgreSQL profile)
+ * make the comparison meaningful.
+ */
+public final class ThreadModeComparison {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadModeComparison.class);
+
+    private static final List<String> MODES = List.of("platform", "virtual");
+    private static final List<String> LATENCIES = List.of("p50", "p90", "p99", "p99.9", "max");
+    private static final List<String> COUNTS = List.of("achievedRate", "completed", "unexpected", "errors", "dropped");
+
+    private ThreadModeComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        if (options.target() != null) {
+            throw new IllegalArgumentException("The comparison starts its own instances; --target is not supported");
+        }
+        String name = "threads-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        ObjectNode comparison = objectMapper.createObjectNode();
+        int exitCode = 0;
+        for (String mode : MODES) {
+            String reportName = name + "-" + mode;
+            log.info("Running load test on {} threads", mode);
+            int status = runLoadTest(args, mode, reportName);
+            if (status != 0) {
+                log.error("Load test on {} threads exited with {}", mode, status);
+                exitCode = status;
+            }
+            Path report = options.reportDir().resolve(reportName + ".json");
+            if (!Files.exists(report)) {
+                throw new IllegalStateException("Load test on " + mode + " threads wrote no report");
+            }
+            comparison.set(mode, objectMapper.readTree(report.toFile()));
+        }
+
+        Path json = options.reportDir().resolve(name + ".json");
+        objectMapper.writeValue(json.toFile(), comparison);
+        Files.writeString(options.reportDir().resolve(name + ".html"), html(comparison));
+        log.info("Comparison written to {} (and .html next to it)", json.toAbsolutePath());
+        System.exit(exitCode);
+    }
+
+    private static int runLoadTest(String[] args, String mode, String reportName) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadTest.class.getName());
+        command.addAll(List.of(args));
+        command.add("--virtual-threads=" + mode.equals("virtual"));
+        command.add("--report-name=" + reportName);
+        return new ProcessBuilder(command).inheritIO().start().waitFor();
+    }
+
+    private static String html(JsonNode comparison) {
+        StringBuilder html = new StringBuilder()
+            .append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>miniDoodle thread models</title>\n")
+            .append("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}")
+            .append("td,th{border:1px solid #ccc;padding:4px 10px;text-align:right}th{background:#eee}")
+            .append("td:first-child{text-align:left}</style></head><body>\n")
+            .append("<h1>Platform vs virtual threads</h1>\n<p>Virtual threads pinned during the run: ")
+            .append(ReportWriter.escape(comparison.path("virtual").path("virtualThreadsPinned").asText("n/a")))
+            .append("</p>\n");
+        for (JsonNode platform : comparison.path("platform").path("scenarios")) {
+            String scenario = platform.path("name").asText();
+            JsonNode virtual = scenario(comparison.path("virtual"), scenario);
+            html.append("<h2>").append(ReportWriter.escape(scenario)).append("</h2>\n<table>\n")
+                .append("<tr><th></th><th>platform</th><th>virtual</th><th>virtual / platform</th></tr>\n");
+            for (String count : COUNTS) {
+                row(html, count, platform.path(count), virtual.path(count));
+            }
+            for (String latency : LATENCIES) {
+                row(html, latency + " ms", platform.path("latencyMs").path(latency), virtual.path("latencyMs").path(latency));
+            }
+            html.append("</table>\n");
+        }
+        return html.append("</body></html>\n").toString();
+    }
+
+    private static JsonNode scenario(JsonNode report, String name) {
+        for (JsonNode scenario : report.path("scenarios")) {
+            if (name.equals(scenario.path("name").asText())) {
+                return scenario;
+            }
+        }
+        return MissingNode.getInstance();
+    }
+
+    private static void row(StringBuilder html, String label, JsonNode platform, JsonNode virtual) {
+        String ratio = platform.isNumber() && virtual.isNumber() && platform.asDouble() != 0
+            ? String.format("%.2f", virtual.asDouble() / platform.asDouble()) : "";
+        html.append("<tr><td>").append(label).append("</td><td>").append(ReportWriter.escape(platform.asText()))
+            .append("</td><td>").append(ReportWriter.escape(virtual.asText())).append("</td><td>").append(ratio)
+            .append("</td></tr>\n");
+    }
+}
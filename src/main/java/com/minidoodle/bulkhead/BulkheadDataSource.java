@@ -0,0 +1,89 @@
+package com.minidoodle.bulkhead;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Takes a permit of its bulkhead ({@link BulkheadType#DATABASE} or
+ * {@link BulkheadType#DATABASE_REPLICA}) for every connection it hands out and returns
+ * it when the connection is closed. It wraps a physical pool, so a permit stands for
+ * a real pooled connection and each pool is capped separately. On platform threads the servlet container's
+ * thread pool caps how many requests can want a connection at once; on virtual threads
+ * nothing does, so without this thousands of callers would queue inside the connection
+ * pool and fail together on its timeout. The semaphore queues them fairly, sheds them
+ * after {@code minidoodle.bulkhead.database.max-wait-ms} and reports queue length.
+ *
+ * <p>The registry is looked up on first use, as it depends on the meter registry,
+ * which in turn binds pool metrics from this datasource.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final BulkheadType type;
+    private final Supplier<BulkheadRegistry> bulkheadRegistry;
+
+    public BulkheadDataSource(DataSource target, BulkheadType type, Supplier<BulkheadRegistry> bulkheadRegistry) {
+        super(target);
+        this.type = type;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        BulkheadRegistry registry = bulkheadRegistry.get();
+        registry.acquire(type);
+        try {
+            return releasing(obtainTargetDataSource().getConnection(), type, registry);
+        } catch (SQLException | RuntimeException ex) {
+            registry.release(type);
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        BulkheadRegistry registry = bulkheadRegistry.get();
+        registry.acquire(type);
+        try {
+            return releasing(obtainTargetDataSource().getConnection(username, password), type, registry);
+        } catch (SQLException | RuntimeException ex) {
+            registry.release(type);
+            throw ex;
+        }
+    }
+
+    private static Connection releasing(Connection target, BulkheadType type, BulkheadRegistry registry) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "close" -> {
+                    try {
+                        yield invoke(target, method, args);
+                    } finally {
+                        // After the pool has the connection back, so the next permit holder finds it free
+                        if (released.compareAndSet(false, true)) {
+                            registry.release(type);
+                        }
+                    }
+                }
+                default -> invoke(target, method, args);
+            });
+    }
+
+    private static Object invoke(Connection target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
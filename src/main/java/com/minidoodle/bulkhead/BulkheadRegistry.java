@@ -0,0 +1,120 @@
+package com.minidoodle.bulkhead;
+
+import com.minidoodle.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds one semaphore per {@link BulkheadType}, sized from
+ * {@code minidoodle.bulkhead.<key>.max-concurrent}. A caller waits at most
+ * {@code max-wait-ms} for a permit and is then rejected, instead of queueing on the
+ * connection pool for its full connection timeout.
+ */
+@Component
+@Slf4j
+public class BulkheadRegistry {
+
+    private static final int DEFAULT_MAX_CONCURRENT = 10;
+    private static final long DEFAULT_MAX_WAIT_MS = 100;
+
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final Map<BulkheadType, Limiter> limiters = new EnumMap<>(BulkheadType.class);
+
+    public BulkheadRegistry(Environment environment, MeterRegistry meterRegistry) {
+        this.enabled = environment.getProperty("minidoodle.bulkhead.enabled", Boolean.class, true);
+        this.retryAfterSeconds = environment.getProperty("minidoodle.bulkhead.retry-after-seconds", Long.class, 1L);
+        for (BulkheadType type : BulkheadType.values()) {
+            String prefix = "minidoodle.bulkhead." + type.key() + ".";
+            int maxConcurrent = environment.getProperty(prefix + "max-concurrent", Integer.class, DEFAULT_MAX_CONCURRENT);
+            long maxWaitMs = environment.getProperty(prefix + "max-wait-ms", Long.class, DEFAULT_MAX_WAIT_MS);
+            limiters.put(type, new Limiter(type, maxConcurrent, maxWaitMs, meterRegistry));
+        }
+    }
+
+    /**
+     * Takes a permit, waiting up to the bulkhead's max wait
+     *
+     * @throws BulkheadFullException if no permit frees up in time
+     */
+    public void acquire(BulkheadType type) {
+        if (!enabled) {
+            return;
+        }
+        Limiter limiter = limiters.get(type);
+        boolean acquired;
+        long started = System.nanoTime();
+        try {
+            acquired = limiter.semaphore.tryAcquire(limiter.maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        limiter.waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            limiter.rejected.increment();
+            log.debug("Bulkhead {} full, rejecting request", type.key());
+            throw new BulkheadFullException(type.key(), retryAfterSeconds);
+        }
+    }
+
+    public void release(BulkheadType type) {
+        if (enabled) {
+            limiters.get(type).semaphore.release();
+        }
+    }
+
+    /**
+     * Permits currently held
+     */
+    public int active(BulkheadType type) {
+        Limiter limiter = limiters.get(type);
+        return limiter.maxConcurrent - limiter.semaphore.availablePermits();
+    }
+
+    private static final class Limiter {
+
+        private final int maxConcurrent;
+        private final long maxWaitMs;
+        private final Semaphore semaphore;
+        private final Counter rejected;
+        private final Timer waitTimer;
+
+        Limiter(BulkheadType type, int maxConcurrent, long maxWaitMs, MeterRegistry meterRegistry) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaitMs = maxWaitMs;
+            // Fair, so a steady stream of arrivals cannot starve a request already waiting
+            this.semaphore = new Semaphore(maxConcurrent, true);
+            this.rejected = Counter.builder("minidoodle.bulkhead.rejected")
+                .description("Requests rejected because the bulkhead was full")
+                .tag("bulkhead", type.key())
+                .register(meterRegistry);
+            this.waitTimer = Timer.builder("minidoodle.bulkhead.wait")
+                .description("Time spent waiting for a bulkhead permit")
+                .tag("bulkhead", type.key())
+                .register(meterRegistry);
+            Gauge.builder("minidoodle.bulkhead.active", semaphore, s -> maxConcurrent - s.availablePermits())
+                .description("Permits in use")
+                .tag("bulkhead", type.key())
+                .register(meterRegistry);
+            Gauge.builder("minidoodle.bulkhead.saturation", semaphore, s -> (maxConcurrent - s.availablePermits()) / (double) maxConcurrent)
+                .description("Fraction of permits in use")
+                .tag("bulkhead", type.key())
+                .register(meterRegistry);
+            Gauge.builder("minidoodle.bulkhead.queued", semaphore, Semaphore::getQueueLength)
+                .description("Requests waiting for a permit")
+                .tag("bulkhead", type.key())
+                .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.minidoodle.bulkhead;
+
+/**
+ * Independently limited groups of endpoints. Their limits add up to no more than the
+ * connection pool, so no group can take every connection from the others.
+ * {@link #DATABASE} and {@link #DATABASE_REPLICA} instead limit connection checkouts
+ * from the primary and replica pools themselves.
+ */
+public enum BulkheadType {
+    /** Creating, changing and cancelling meetings, and poll votes and finalization */
+    BOOKING("booking"),
+    /** Time slot writes and range operations */
+    SLOTS("slots"),
+    /** Read-only queries */
+    READS("reads"),
+    /** Streamed exports, which hold their permit and connection until the last row is written */
+    STREAMS("streams"),
+    /** Open primary connections, enforced by {@link BulkheadDataSource} when requests run on virtual threads */
+    DATABASE("database"),
+    /** Open read replica connections, likewise */
+    DATABASE_REPLICA("database-replica");
+
+    private final String key;
+
+    BulkheadType(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Name used in {@code minidoodle.bulkhead.<key>.*} properties and metric tags
+     */
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,23 @@
+package com.minidoodle.config;
+
+import com.minidoodle.metrics.Measured;
+import com.minidoodle.metrics.MeasuredBeanPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Times the operations of {@link Measured} services. The post-processor is static and
+ * only resolves the meter registry on the first measured call, so registering it
+ * does not pull the registry and its dependencies forward in startup.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    static MeasuredBeanPostProcessor measuredBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MeasuredBeanPostProcessor(SingletonSupplier.of(meterRegistry::getObject));
+    }
+}
@@ -0,0 +1,32 @@
+package com.minidoodle.config;
+
+import com.minidoodle.querybudget.QueryCounter;
+import com.minidoodle.querybudget.QueryCountingIntegrator;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Feeds {@link QueryCounter} from Hibernate, for the per-request statement budget in
+ * {@link com.minidoodle.querybudget.QueryBudgetFilter} and the {@code @MaxQueries}
+ * test guard. Counting is a thread-local increment, cheap enough to leave on in
+ * production.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "minidoodle.query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, QueryCountingIntegrator.STATEMENT_INSPECTOR);
+            properties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(new QueryCountingIntegrator()));
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.minidoodle.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Owns the R2DBC pool of the reactive read API. Deliberately not a
+ * {@link ConnectionFactory} bean itself: Spring Boot backs off its JDBC
+ * {@code DataSource} when one exists. Publishes the pool's state as
+ * {@code minidoodle.reactive.pool.*} gauges.
+ */
+public class ReactiveConnectionPool {
+
+    private final ConnectionPool pool;
+
+    public ReactiveConnectionPool(ConnectionPool pool, MeterRegistry meterRegistry) {
+        this.pool = pool;
+        gauge(meterRegistry, "acquired", "Connections in use", PoolMetrics::acquiredSize);
+        gauge(meterRegistry, "idle", "Idle connections", PoolMetrics::idleSize);
+        gauge(meterRegistry, "pending", "Subscribers waiting for a connection", PoolMetrics::pendingAcquireSize);
+    }
+
+    public ConnectionFactory connectionFactory() {
+        return pool;
+    }
+
+    public void close() {
+        pool.dispose();
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String name, String description, ToIntFunction<PoolMetrics> value) {
+        Gauge.builder("minidoodle.reactive.pool." + name, pool,
+                p -> p.getMetrics().map(value::applyAsInt).orElse(0))
+            .description(description)
+            .register(meterRegistry);
+    }
+}
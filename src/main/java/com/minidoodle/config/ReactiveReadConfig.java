@@ -0,0 +1,82 @@
+package com.minidoodle.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * R2DBC connection pool for the reactive read API, enabled by
+ * {@code minidoodle.reactive.enabled}. It is a separate pool next to the JDBC one, so
+ * {@code minidoodle.reactive.pool.max-size} adds to the connections PostgreSQL has to
+ * allow. Spring Boot's own R2DBC auto-configuration is excluded in application.yml:
+ * it would register a second transaction manager beside the JPA one, and the JPA
+ * write path stays the only one that writes.
+ * <p>
+ * Reactive requests hold their connection without a thread while they wait on the
+ * pool, so Tomcat's connection limit is raised to {@code minidoodle.reactive.max-connections}
+ * only while this API is on.
+ */
+@Configuration
+@ConditionalOnProperty(name = "minidoodle.reactive.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReactiveConnectionPool reactiveConnectionPool(
+        @Value("${minidoodle.reactive.url}") String url,
+        @Value("${minidoodle.reactive.username:}") String username,
+        @Value("${minidoodle.reactive.password:}") String password,
+        @Value("${minidoodle.reactive.pool.initial-size:5}") int initialSize,
+        @Value("${minidoodle.reactive.pool.max-size:20}") int maxSize,
+        @Value("${minidoodle.reactive.pool.max-acquire-time-ms:5000}") long maxAcquireTimeMs,
+        MeterRegistry meterRegistry
+    ) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options.build());
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+            .name("reactive")
+            .initialSize(initialSize)
+            .maxSize(maxSize)
+            .maxAcquireTime(Duration.ofMillis(maxAcquireTimeMs))
+            .build());
+        return new ReactiveConnectionPool(pool, meterRegistry);
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ReactiveConnectionPool reactiveConnectionPool) {
+        return DatabaseClient.create(reactiveConnectionPool.connectionFactory());
+    }
+
+    /**
+     * Runs after Boot's own Tomcat customizer, so this limit replaces
+     * {@code server.tomcat.max-connections}
+     */
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> reactiveMaxConnections(
+        @Value("${minidoodle.reactive.max-connections:10000}") int maxConnections
+    ) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            if (connector.getProtocolHandler() instanceof AbstractProtocol<?> protocol) {
+                protocol.setMaxConnections(maxConnections);
+            }
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.minidoodle.config;
+
+/**
+ * Per-request state for read-your-writes routing. While a request scope is open on
+ * the thread, a read-write transaction pins the rest of the request to the primary,
+ * so reads that follow a write in the same request see it. Outside a request scope
+ * (background jobs, schedulers) nothing is recorded.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<boolean[]> PINNED = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    /**
+     * Opens a request scope, pinned to the primary from the start if {@code pinned}
+     */
+    public static void begin(boolean pinned) {
+        PINNED.set(new boolean[] {pinned});
+    }
+
+    public static void end() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        boolean[] pinned = PINNED.get();
+        return pinned != null && pinned[0];
+    }
+
+    static void recordWrite() {
+        boolean[] pinned = PINNED.get();
+        if (pinned != null) {
+            pinned[0] = true;
+        }
+    }
+}
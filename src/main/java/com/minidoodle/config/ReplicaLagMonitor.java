@@ -0,0 +1,76 @@
+package com.minidoodle.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Polls the replica for its replication lag and decides whether read-only
+ * transactions may use it. The replica starts out unusable and becomes usable after
+ * the first check under {@code maxLagMs}; a failed check counts as unusable, so
+ * reads fall back to the primary until the replica answers again.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * Milliseconds since the last replayed transaction on a PostgreSQL standby, or 0
+     * when it has replayed everything it received (an idle primary writes nothing to replay)
+     */
+    public static final String POSTGRES_LAG_QUERY =
+        "SELECT CAST(CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END AS BIGINT)";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final long maxLagMs;
+
+    private volatile long lagMs = -1;
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagMs, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+        Gauge.builder("minidoodle.datasource.replica.lag", this, monitor -> monitor.lagMs)
+            .description("Replication lag of the read replica in milliseconds, -1 when unreachable")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder("minidoodle.datasource.replica.usable", this, monitor -> monitor.replicaUsable ? 1 : 0)
+            .description("Whether read-only transactions are routed to the replica")
+            .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${minidoodle.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        Long lag;
+        try {
+            lag = replicaJdbcTemplate.queryForObject(lagQuery, Long.class);
+        } catch (DataAccessException ex) {
+            lag = null;
+            if (replicaUsable) {
+                log.warn("Replica lag check failed, routing reads to the primary", ex);
+            }
+        }
+        lagMs = lag != null ? lag : -1;
+
+        boolean usable = lag != null && lag <= maxLagMs;
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Replica lag {} ms, routing read-only transactions to the replica", lag);
+            } else if (lag != null) {
+                log.warn("Replica lag {} ms exceeds {} ms, routing reads to the primary", lag, maxLagMs);
+            }
+        }
+        replicaUsable = usable;
+    }
+}
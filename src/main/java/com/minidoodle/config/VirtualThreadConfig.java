@@ -0,0 +1,55 @@
+package com.minidoodle.config;
+
+import com.minidoodle.bulkhead.BulkheadDataSource;
+import com.minidoodle.bulkhead.BulkheadRegistry;
+import com.minidoodle.bulkhead.BulkheadType;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.time.Duration;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled}. Spring Boot already runs
+ * Tomcat, {@code @Async} and {@code @Scheduled} work on virtual threads then; with no
+ * thread pool left to cap concurrency, each physical connection pool is wrapped in a
+ * {@link BulkheadDataSource} so checkouts are bounded by the {@code database} bulkhead,
+ * or {@code database-replica} for the replica pool, and carrier-thread pinning is
+ * reported. Wrapping the pools rather than the routing datasource in front of them
+ * gives each pool its own cap and takes a permit only for a real checkout.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor bulkheadDataSourcePostProcessor(ObjectProvider<BulkheadRegistry> bulkheadRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    BulkheadType type = "replicaDataSource".equals(beanName) ? BulkheadType.DATABASE_REPLICA : BulkheadType.DATABASE;
+                    return new BulkheadDataSource(dataSource, type, SingletonSupplier.of(bulkheadRegistry::getObject));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "minidoodle.virtual-threads.pinning.enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+        MeterRegistry meterRegistry,
+        @Value("${minidoodle.virtual-threads.pinning.threshold-ms:20}") long thresholdMs
+    ) {
+        return new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(thresholdMs));
+    }
+}
@@ -0,0 +1,99 @@
+package com.minidoodle.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event in-process and reports where
+ * virtual threads blocked while pinned to their carrier, for instance inside a
+ * {@code synchronized} block or a native frame. Pins are attributed to the first
+ * {@code com.minidoodle} frame on the stack, or {@code external} when the pinning
+ * code is entirely in a library, and counted in
+ * {@code minidoodle.virtual-threads.pinned}. The first pin at each location is logged
+ * at WARN with its stack, later ones at DEBUG.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.minidoodle.";
+    private static final String EXTERNAL = "external";
+
+    private final MeterRegistry meterRegistry;
+    private final RecordingStream stream;
+    private final Set<String> reportedLocations = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void close() {
+        stream.close();
+    }
+
+    void onPinned(RecordedEvent event) {
+        String location = location(event.getStackTrace());
+        Counter.builder("minidoodle.virtual-threads.pinned")
+            .description("Times a virtual thread blocked while pinned to its carrier thread")
+            .tag("location", location)
+            .register(meterRegistry)
+            .increment();
+        Timer.builder("minidoodle.virtual-threads.pinned.duration")
+            .description("How long virtual threads stayed pinned while blocked")
+            .tag("location", location)
+            .register(meterRegistry)
+            .record(event.getDuration());
+
+        if (reportedLocations.add(location)) {
+            log.warn("Virtual thread pinned for {} ms at {}:\n{}",
+                event.getDuration().toMillis(), location, format(event.getStackTrace()));
+        } else {
+            log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), location);
+        }
+    }
+
+    static String location(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return EXTERNAL;
+        }
+        return stackTrace.getFrames().stream()
+            .filter(RecordedFrame::isJavaFrame)
+            .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+            .findFirst()
+            .map(frame -> {
+                String type = frame.getMethod().getType().getName();
+                return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+            })
+            .orElse(EXTERNAL);
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        StringBuilder formatted = new StringBuilder();
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            formatted.append("\tat ").append(frame.getMethod().getType().getName())
+                .append('.').append(frame.getMethod().getName())
+                .append(':').append(frame.getLineNumber()).append('\n');
+        }
+        return formatted.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.minidoodle.controller;
+
+import com.minidoodle.dto.BatchRequest;
+import com.minidoodle.dto.BatchResponse;
+import com.minidoodle.ratelimit.RateLimitRegistry;
+import com.minidoodle.service.BatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/batch")
+@RequiredArgsConstructor
+@Tag(name = "Batch", description = "Run several API operations in one request")
+public class BatchController {
+
+    private final BatchService batchService;
+    private final RateLimitRegistry rateLimitRegistry;
+
+    @PostMapping
+    @Operation(summary = "Run user, time slot and meeting operations in one round trip",
+        description = "Read-only batches run in parallel; batches with writes run in order, in one transaction when atomic is set")
+    public ResponseEntity<BatchResponse> execute(@Valid @RequestBody BatchRequest request, HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(batchService.execute(request, rateLimitRegistry.caller(httpRequest)));
+    }
+}
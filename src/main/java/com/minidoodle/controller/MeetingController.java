@@ -1,7 +1,11 @@
 package com.minidoodle.controller;
 
+import com.minidoodle.bulkhead.Bulkhead;
+import com.minidoodle.bulkhead.BulkheadType;
+import com.minidoodle.dto.BulkOperationResult;
 import com.minidoodle.dto.CreateMeetingRequest;
 import com.minidoodle.dto.MeetingDTO;
+import com.minidoodle.dto.MeetingSearchResponse;
 import com.minidoodle.service.MeetingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -25,6 +29,7 @@ public class MeetingController {
 
     @PostMapping
     @Operation(summary = "Create a new meeting from a time slot")
+    @Bulkhead(BulkheadType.BOOKING)
     public ResponseEntity<MeetingDTO> createMeeting(@Valid @RequestBody CreateMeetingRequest request) {
         MeetingDTO created = meetingService.createMeeting(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
@@ -32,6 +37,7 @@ public class MeetingController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get meeting by ID")
+    @Bulkhead(BulkheadType.READS)
     public ResponseEntity<MeetingDTO> getMeeting(@PathVariable Long id) {
         MeetingDTO meeting = meetingService.getMeeting(id);
         return ResponseEntity.ok(meeting);
@@ -39,6 +45,7 @@ public class MeetingController {
 
     @PutMapping("/{id}")
     @Operation(summary = "Update meeting")
+    @Bulkhead(BulkheadType.BOOKING)
     public ResponseEntity<MeetingDTO> updateMeeting(
         @PathVariable Long id,
         @Valid @RequestBody CreateMeetingRequest request
@@ -49,6 +56,7 @@ public class MeetingController {
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Cancel meeting")
+    @Bulkhead(BulkheadType.BOOKING)
     public ResponseEntity<Void> cancelMeeting(@PathVariable Long id) {
         meetingService.cancelMeeting(id);
         return ResponseEntity.noContent().build();
@@ -56,6 +64,7 @@ public class MeetingController {
 
     @GetMapping("/users/{userId}")
     @Operation(summary = "Get all meetings for a user (as participant) within a time range")
+    @Bulkhead(BulkheadType.READS)
     public ResponseEntity<List<MeetingDTO>> getMeetingsByUser(
         @PathVariable Long userId,
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
@@ -67,6 +76,7 @@ public class MeetingController {
 
     @GetMapping("/users/{userId}/owned")
     @Operation(summary = "Get all meetings owned by a user within a time range")
+    @Bulkhead(BulkheadType.READS)
     public ResponseEntity<List<MeetingDTO>> getMeetingsByOwner(
         @PathVariable Long userId,
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
@@ -76,8 +86,23 @@ public class MeetingController {
         return ResponseEntity.ok(meetings);
     }
 
+    @GetMapping("/users/{userId}/search")
+    @Operation(summary = "Full-text search over meetings a user owns or attends, ranked and keyset-paginated")
+    @Bulkhead(BulkheadType.READS)
+    public ResponseEntity<MeetingSearchResponse> searchMeetings(
+        @PathVariable Long userId,
+        @RequestParam("q") String query,
+        @RequestParam(required = false) Double afterRank,
+        @RequestParam(required = false) Long afterId,
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        MeetingSearchResponse result = meetingService.searchMeetings(userId, query, afterRank, afterId, limit);
+        return ResponseEntity.ok(result);
+    }
+
     @PostMapping("/{meetingId}/participants/{userId}")
     @Operation(summary = "Add participant to meeting")
+    @Bulkhead(BulkheadType.BOOKING)
     public ResponseEntity<MeetingDTO> addParticipant(
         @PathVariable Long meetingId,
         @PathVariable Long userId
@@ -88,6 +113,7 @@ public class MeetingController {
 
     @DeleteMapping("/{meetingId}/participants/{userId}")
     @Operation(summary = "Remove participant from meeting")
+    @Bulkhead(BulkheadType.BOOKING)
     public ResponseEntity<MeetingDTO> removeParticipant(
         @PathVariable Long meetingId,
         @PathVariable Long userId
@@ -95,4 +121,16 @@ public class MeetingController {
         MeetingDTO updated = meetingService.removeParticipant(meetingId, userId);
         return ResponseEntity.ok(updated);
     }
+
+    @DeleteMapping("/users/{userId}")
+    @Operation(summary = "Cancel all meetings owned by a user within a time range")
+    @Bulkhead(BulkheadType.SLOTS)
+    public ResponseEntity<BulkOperationResult> cancelMeetingsInRange(
+        @PathVariable Long userId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime
+    ) {
+        BulkOperationResult result = meetingService.cancelMeetingsInRange(userId, startTime, endTime);
+        return ResponseEntity.ok(result);
+    }
 }
@@ -0,0 +1,59 @@
+package com.minidoodle.controller;
+
+import com.minidoodle.bulkhead.Bulkhead;
+import com.minidoodle.bulkhead.BulkheadType;
+import com.minidoodle.dto.CreatePollRequest;
+import com.minidoodle.dto.PollDTO;
+import com.minidoodle.dto.VoteRequest;
+import com.minidoodle.service.PollService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/polls")
+@RequiredArgsConstructor
+@Tag(name = "Poll Management", description = "APIs for scheduling polls over candidate time slots")
+public class PollController {
+
+    private final PollService pollService;
+
+    @PostMapping
+    @Operation(summary = "Create a poll proposing several of the organizer's free time slots")
+    @Bulkhead(BulkheadType.BOOKING)
+    public ResponseEntity<PollDTO> createPoll(@Valid @RequestBody CreatePollRequest request) {
+        PollDTO created = pollService.createPoll(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get poll with current vote tallies")
+    @Bulkhead(BulkheadType.READS)
+    public ResponseEntity<PollDTO> getPoll(@PathVariable Long id) {
+        PollDTO poll = pollService.getPoll(id);
+        return ResponseEntity.ok(poll);
+    }
+
+    @PostMapping("/{id}/votes")
+    @Operation(summary = "Vote for one or more poll options")
+    @Bulkhead(BulkheadType.BOOKING)
+    public ResponseEntity<Void> vote(
+        @PathVariable Long id,
+        @Valid @RequestBody VoteRequest request
+    ) {
+        pollService.vote(id, request);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/{id}/finalize")
+    @Operation(summary = "Book the winning option as a meeting")
+    @Bulkhead(BulkheadType.BOOKING)
+    public ResponseEntity<PollDTO> finalizePoll(@PathVariable Long id) {
+        PollDTO finalized = pollService.finalizePoll(id);
+        return ResponseEntity.ok(finalized);
+    }
+}
@@ -0,0 +1,55 @@
+package com.minidoodle.controller;
+
+import com.minidoodle.dto.MeetingDTO;
+import com.minidoodle.service.ReactiveReadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive mirror of the {@code GET} endpoints of {@link MeetingController}, apart from
+ * search, which stays on the JDBC stack
+ */
+@RestController
+@RequestMapping("/api/v1/reactive/meetings")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "minidoodle.reactive.enabled", havingValue = "true")
+@Tag(name = "Reactive Reads", description = "Non-blocking read APIs over R2DBC")
+public class ReactiveMeetingController {
+
+    private final ReactiveReadService reactiveReadService;
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get meeting by ID")
+    public Mono<MeetingDTO> getMeeting(@PathVariable Long id) {
+        return reactiveReadService.getMeeting(id);
+    }
+
+    @GetMapping(value = "/users/{userId}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream all meetings for a user (as participant) within a time range")
+    public Flux<MeetingDTO> getMeetingsByUser(
+        @PathVariable Long userId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime
+    ) {
+        return reactiveReadService.getMeetingsByUser(userId, startTime, endTime);
+    }
+
+    @GetMapping(value = "/users/{userId}/owned", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream all meetings owned by a user within a time range")
+    public Flux<MeetingDTO> getMeetingsByOwner(
+        @PathVariable Long userId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime
+    ) {
+        return reactiveReadService.getMeetingsByOwner(userId, startTime, endTime);
+    }
+}
@@ -0,0 +1,57 @@
+package com.minidoodle.controller;
+
+import com.minidoodle.dto.AvailabilityResponse;
+import com.minidoodle.dto.TimeSlotDTO;
+import com.minidoodle.service.ReactiveReadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive mirror of the {@code GET} endpoints of {@link TimeSlotController}. The
+ * request thread is released while the query runs; listings stream as NDJSON unless
+ * the client asks for {@code application/json}.
+ */
+@RestController
+@RequestMapping("/api/v1/reactive/timeslots")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "minidoodle.reactive.enabled", havingValue = "true")
+@Tag(name = "Reactive Reads", description = "Non-blocking read APIs over R2DBC")
+public class ReactiveTimeSlotController {
+
+    private final ReactiveReadService reactiveReadService;
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get time slot by ID")
+    public Mono<TimeSlotDTO> getTimeSlot(@PathVariable Long id) {
+        return reactiveReadService.getTimeSlot(id);
+    }
+
+    @GetMapping(value = "/users/{userId}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream all time slots for a user within a time range")
+    public Flux<TimeSlotDTO> getTimeSlots(
+        @PathVariable Long userId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime
+    ) {
+        return reactiveReadService.getSlotsByUserAndTimeRange(userId, startTime, endTime);
+    }
+
+    @GetMapping("/users/{userId}/availability")
+    @Operation(summary = "Get user availability (free and busy slots) within a time range")
+    public Mono<AvailabilityResponse> getAvailability(
+        @PathVariable Long userId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime
+    ) {
+        return reactiveReadService.getAvailability(userId, startTime, endTime);
+    }
+}
@@ -1,7 +1,10 @@
 package com.minidoodle.controller;
 
+import com.minidoodle.bulkhead.Bulkhead;
+import com.minidoodle.bulkhead.BulkheadType;
 import com.minidoodle.domain.SlotStatus;
 import com.minidoodle.dto.AvailabilityResponse;
+import com.minidoodle.dto.BulkOperationResult;
 import com.minidoodle.dto.CreateTimeSlotRequest;
 import com.minidoodle.dto.TimeSlotDTO;
 import com.minidoodle.service.TimeSlotService;
@@ -27,6 +30,7 @@ public class TimeSlotController {
 
     @PostMapping("/users/{userId}")
     @Operation(summary = "Create a new time slot for a user")
+    @Bulkhead(BulkheadType.SLOTS)
     public ResponseEntity<TimeSlotDTO> createTimeSlot(
         @PathVariable Long userId,
         @Valid @RequestBody CreateTimeSlotRequest request
@@ -37,6 +41,7 @@ public class TimeSlotController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get time slot by ID")
+    @Bulkhead(BulkheadType.READS)
     public ResponseEntity<TimeSlotDTO> getTimeSlot(@PathVariable Long id) {
         TimeSlotDTO timeSlot = timeSlotService.getTimeSlot(id);
         return ResponseEntity.ok(timeSlot);
@@ -44,6 +49,7 @@ public class TimeSlotController {
 
     @PutMapping("/{id}")
     @Operation(summary = "Update time slot")
+    @Bulkhead(BulkheadType.SLOTS)
     public ResponseEntity<TimeSlotDTO> updateTimeSlot(
         @PathVariable Long id,
         @Valid @RequestBody CreateTimeSlotRequest request
@@ -54,6 +60,7 @@ public class TimeSlotController {
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete time slot")
+    @Bulkhead(BulkheadType.SLOTS)
     public ResponseEntity<Void> deleteTimeSlot(@PathVariable Long id) {
         timeSlotService.deleteTimeSlot(id);
         return ResponseEntity.noContent().build();
@@ -61,6 +68,7 @@ public class TimeSlotController {
 
     @PatchMapping("/{id}/status")
     @Operation(summary = "Update time slot status")
+    @Bulkhead(BulkheadType.SLOTS)
     public ResponseEntity<TimeSlotDTO> updateStatus(
         @PathVariable Long id,
         @RequestParam SlotStatus status
@@ -71,6 +79,7 @@ public class TimeSlotController {
 
     @PatchMapping("/{id}/mark-busy")
     @Operation(summary = "Mark time slot as busy")
+    @Bulkhead(BulkheadType.SLOTS)
     public ResponseEntity<TimeSlotDTO> markAsBusy(@PathVariable Long id) {
         TimeSlotDTO updated = timeSlotService.markSlotAsBusy(id);
         return ResponseEntity.ok(updated);
@@ -78,6 +87,7 @@ public class TimeSlotController {
 
     @PatchMapping("/{id}/mark-free")
     @Operation(summary = "Mark time slot as free")
+    @Bulkhead(BulkheadType.SLOTS)
     public ResponseEntity<TimeSlotDTO> markAsFree(@PathVariable Long id) {
         TimeSlotDTO updated = timeSlotService.markSlotAsFree(id);
         return ResponseEntity.ok(updated);
@@ -85,6 +95,7 @@ public class TimeSlotController {
 
     @GetMapping("/users/{userId}")
     @Operation(summary = "Get all time slots for a user within a time range")
+    @Bulkhead(BulkheadType.READS)
     public ResponseEntity<List<TimeSlotDTO>> getTimeSlots(
         @PathVariable Long userId,
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
@@ -96,6 +107,7 @@ public class TimeSlotController {
 
     @GetMapping("/users/{userId}/availability")
     @Operation(summary = "Get user availability (free and busy slots) within a time range")
+    @Bulkhead(BulkheadType.READS)
     public ResponseEntity<AvailabilityResponse> getAvailability(
         @PathVariable Long userId,
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
@@ -104,4 +116,16 @@ public class TimeSlotController {
         AvailabilityResponse availability = timeSlotService.getAvailability(userId, startTime, endTime);
         return ResponseEntity.ok(availability);
     }
+
+    @DeleteMapping("/users/{userId}")
+    @Operation(summary = "Delete all free time slots of a user within a time range")
+    @Bulkhead(BulkheadType.SLOTS)
+    public ResponseEntity<BulkOperationResult> deleteFreeSlotsInRange(
+        @PathVariable Long userId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime
+    ) {
+        BulkOperationResult result = timeSlotService.deleteFreeSlotsInRange(userId, startTime, endTime);
+        return ResponseEntity.ok(result);
+    }
 }
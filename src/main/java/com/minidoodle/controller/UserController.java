@@ -1,15 +1,27 @@
 package com.minidoodle.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.minidoodle.bulkhead.Bulkhead;
+import com.minidoodle.bulkhead.BulkheadType;
+import com.minidoodle.dto.BulkProvisionResult;
 import com.minidoodle.dto.UserDTO;
+import com.minidoodle.dto.UserDeletionJobDTO;
+import com.minidoodle.service.UserProvisioningService;
 import com.minidoodle.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -18,7 +30,11 @@ import java.util.List;
 @Tag(name = "User Management", description = "APIs for managing users")
 public class UserController {
 
+    static final String NEXT_AFTER_ID_HEADER = "X-Next-After-Id";
+
     private final UserService userService;
+    private final UserProvisioningService userProvisioningService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Create a new user")
@@ -27,22 +43,74 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Provision many users from a JSON array",
+        description = "Creates each user with a calendar and reports CREATED, DUPLICATE or INVALID per row")
+    public ResponseEntity<BulkProvisionResult> provisionUsers(@RequestBody List<UserDTO> users) {
+        return ResponseEntity.ok(userProvisioningService.provisionUsers(users));
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @Operation(summary = "Provision many users from CSV",
+        description = "Rows are name,email; a header row is optional")
+    public ResponseEntity<BulkProvisionResult> provisionUsersFromCsv(@RequestBody String csv) {
+        return ResponseEntity.ok(userProvisioningService.provisionUsersFromCsv(csv));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID")
+    @Bulkhead(BulkheadType.READS)
     public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
         UserDTO user = userService.getUserById(id);
         return ResponseEntity.ok(user);
     }
 
     @GetMapping
-    @Operation(summary = "Get all users")
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    @Operation(summary = "List users by id, one keyset page at a time",
+        description = "When the page is full, the X-Next-After-Id header holds the afterId for the next page")
+    @Bulkhead(BulkheadType.READS)
+    public ResponseEntity<List<UserDTO>> getUsers(
+        @RequestParam(required = false) Long afterId,
+        @RequestParam(defaultValue = "100") int limit,
+        @RequestParam(required = false) String namePrefix,
+        @RequestParam(required = false) String emailPrefix
+    ) {
+        List<UserDTO> users = userService.getUsers(afterId, limit, namePrefix, emailPrefix);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!users.isEmpty() && users.size() == UserService.pageSize(limit)) {
+            response.header(NEXT_AFTER_ID_HEADER, String.valueOf(users.get(users.size() - 1).getId()));
+        }
+        return response.body(users);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all users as newline-delimited JSON")
+    @Bulkhead(BulkheadType.STREAMS)
+    public ResponseEntity<StreamingResponseBody> streamUsers(
+        @RequestParam(required = false) String namePrefix,
+        @RequestParam(required = false) String emailPrefix
+    ) {
+        StreamingResponseBody body = outputStream -> {
+            SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(outputStream);
+            userService.streamUsers(namePrefix, emailPrefix, user -> {
+                try {
+                    writer.write(user);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
     }
 
     @GetMapping("/email/{email}")
     @Operation(summary = "Get user by email")
+    @Bulkhead(BulkheadType.READS)
     public ResponseEntity<UserDTO> getUserByEmail(@PathVariable String email) {
         UserDTO user = userService.getUserByEmail(email);
         return ResponseEntity.ok(user);
@@ -59,9 +127,19 @@ public class UserController {
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete user")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
-        return ResponseEntity.noContent().build();
+    @Operation(summary = "Delete user",
+        description = "Hides the user immediately and purges their data in the background; poll the returned job for progress")
+    public ResponseEntity<UserDeletionJobDTO> deleteUser(@PathVariable Long id) {
+        UserDeletionJobDTO job = userService.deleteUser(id);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/v1/users/deletions/" + job.getId()))
+            .body(job);
+    }
+
+    @GetMapping("/deletions/{jobId}")
+    @Operation(summary = "Get user deletion progress")
+    @Bulkhead(BulkheadType.READS)
+    public ResponseEntity<UserDeletionJobDTO> getDeletionJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(userService.getDeletionJob(jobId));
     }
 }
@@ -0,0 +1,8 @@
+package com.minidoodle.domain;
+
+public enum DeletionStatus {
+    PENDING,        // User marked deleted, purge not started
+    RUNNING,        // Purging owned data in chunks, on the instance holding the lease
+    COMPLETED,      // User and all owned data removed
+    FAILED          // Purge stopped; retried with backoff from retryAt
+}
@@ -0,0 +1,33 @@
+package com.minidoodle.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "poll_options", indexes = {
+    @Index(name = "idx_poll_option_poll", columnList = "poll_id"),
+    @Index(name = "idx_poll_option_timeslot", columnList = "time_slot_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PollOption {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "poll_id", nullable = false)
+    private Poll poll;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "time_slot_id", nullable = false)
+    private TimeSlot timeSlot;
+
+    // Persisted tally, advanced in batches by PollTallyService; poll_votes is the source of truth
+    @Column(nullable = false)
+    private long voteCount;
+}
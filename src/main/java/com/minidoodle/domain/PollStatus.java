@@ -0,0 +1,6 @@
+package com.minidoodle.domain;
+
+public enum PollStatus {
+    OPEN,           // Collecting votes
+    FINALIZED       // Winning option booked as a meeting
+}
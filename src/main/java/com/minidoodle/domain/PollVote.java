@@ -0,0 +1,41 @@
+package com.minidoodle.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "poll_votes",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_poll_vote_option_user", columnNames = {"poll_option_id", "user_id"})
+    },
+    indexes = {
+        @Index(name = "idx_poll_vote_user", columnList = "user_id")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PollVote {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "poll_option_id", nullable = false)
+    private PollOption option;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -2,21 +2,35 @@ package com.minidoodle.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "users", indexes = {
-    @Index(name = "idx_user_email", columnList = "email", unique = true)
-})
+    @Index(name = User.EMAIL_INDEX, columnList = "email", unique = true),
+    @Index(name = "idx_user_name", columnList = "name,id")
+}, uniqueConstraints = @UniqueConstraint(name = User.EMAIL_UNIQUE_KEY, columnNames = "email"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@SQLRestriction("deleted_at IS NULL")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 public class User {
 
+    // Unique keys on email: the inline UNIQUE of V1__baseline.sql (also given to the schema
+    // Hibernate creates), and the index a schema built by ddl-auto update enforces it with
+    public static final String EMAIL_UNIQUE_KEY = "users_email_key";
+    public static final String EMAIL_INDEX = "idx_user_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -24,7 +38,8 @@ public class User {
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false, unique = true)
+    @NaturalId(mutable = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false, updatable = false)
@@ -33,8 +48,9 @@ public class User {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Calendar calendar;
+    // Set when deletion is requested; the row is purged later by the deletion job
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 
     @ManyToMany(mappedBy = "participants")
     @Builder.Default
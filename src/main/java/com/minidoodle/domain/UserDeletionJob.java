@@ -0,0 +1,73 @@
+package com.minidoodle.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_deletion_jobs", indexes = {
+    @Index(name = "idx_user_deletion_job_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDeletionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain id, not a relation: the user row is gone once the job completes
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private DeletionStatus status = DeletionStatus.PENDING;
+
+    private long votesDeleted;
+
+    private long participationsRemoved;
+
+    private long pollsDeleted;
+
+    private long meetingsDeleted;
+
+    private long slotsDeleted;
+
+    @Column(length = 1000)
+    private String error;
+
+    // Instance running the job, and until when; see UserDeletionJobRepository#claim
+    @Column(length = 100)
+    private String owner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    // Failed runs so far, and when a FAILED job may be claimed again
+    private int attempts;
+
+    private LocalDateTime retryAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,27 @@
+package com.minidoodle.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperation {
+
+    // Client reference echoed in the result
+    private String id;
+
+    @NotBlank(message = "Method is required")
+    private String method;
+
+    // Path of an API endpoint, with or without the /api/v1 prefix, including any query string
+    @NotBlank(message = "Path is required")
+    private String path;
+
+    private JsonNode body;
+}
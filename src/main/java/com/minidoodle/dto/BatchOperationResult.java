@@ -0,0 +1,16 @@
+package com.minidoodle.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationResult {
+    private String id;
+    private int status;
+    private Object body;
+}
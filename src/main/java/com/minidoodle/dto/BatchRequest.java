@@ -0,0 +1,23 @@
+package com.minidoodle.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+
+    @NotEmpty(message = "At least one operation is required")
+    private List<@Valid BatchOperation> operations;
+
+    // Run every operation in one transaction, rolling all of them back if one fails
+    private boolean atomic;
+}
@@ -0,0 +1,19 @@
+package com.minidoodle.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProvisionResult {
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private List<BulkUserRowResult> rows;
+}
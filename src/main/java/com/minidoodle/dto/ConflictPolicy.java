@@ -0,0 +1,7 @@
+package com.minidoodle.dto;
+
+public enum ConflictPolicy {
+    IGNORE,         // Book without looking at participants' other commitments
+    WARN,           // Book and report double-booked participants
+    REJECT          // Refuse to book if any participant is double-booked
+}
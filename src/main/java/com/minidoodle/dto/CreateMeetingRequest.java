@@ -24,4 +24,7 @@ public class CreateMeetingRequest {
     private String description;
 
     private Set<Long> participantIds;
+
+    // Optional check for participants already busy at this time; defaults to IGNORE
+    private ConflictPolicy conflictPolicy;
 }
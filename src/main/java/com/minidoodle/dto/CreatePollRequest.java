@@ -0,0 +1,35 @@
+package com.minidoodle.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreatePollRequest {
+
+    @NotNull(message = "Organizer ID is required")
+    private Long organizerId;
+
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    private String description;
+
+    // Free slots in the organizer's calendar proposed as options
+    @NotEmpty(message = "At least one time slot is required")
+    private List<Long> timeSlotIds;
+
+    @NotNull(message = "Quorum is required")
+    @Positive(message = "Quorum must be positive")
+    private Integer quorum;
+}
@@ -28,6 +28,9 @@ public class MeetingDTO {
     private Set<Long> participantIds;
     private Set<UserDTO> participants;
 
+    // Participants found busy elsewhere at booking time (only set when checked with WARN)
+    private Set<Long> conflictingParticipantIds;
+
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private LocalDateTime createdAt;
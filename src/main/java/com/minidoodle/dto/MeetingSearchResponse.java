@@ -0,0 +1,20 @@
+package com.minidoodle.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingSearchResponse {
+    private List<MeetingDTO> meetings;
+
+    // Keyset cursor for the next page; both are null when there are no more results
+    private Double nextAfterRank;
+    private Long nextAfterId;
+}
@@ -0,0 +1,27 @@
+package com.minidoodle.dto;
+
+import com.minidoodle.domain.PollStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollDTO {
+    private Long id;
+    private String title;
+    private String description;
+    private Long organizerId;
+    private int quorum;
+    private PollStatus status;
+    private Long meetingId;
+    private List<PollOptionDTO> options;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,20 @@
+package com.minidoodle.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollOptionDTO {
+    private Long id;
+    private Long timeSlotId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private long voteCount;
+}
@@ -0,0 +1,28 @@
+package com.minidoodle.dto;
+
+import com.minidoodle.domain.DeletionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDeletionJobDTO {
+    private Long id;
+    private Long userId;
+    private DeletionStatus status;
+    private long votesDeleted;
+    private long participationsRemoved;
+    private long pollsDeleted;
+    private long meetingsDeleted;
+    private long slotsDeleted;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
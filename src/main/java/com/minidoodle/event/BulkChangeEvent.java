@@ -0,0 +1,20 @@
+package com.minidoodle.event;
+
+import java.util.List;
+
+/**
+ * One aggregated change record per chunk of a bulk operation, published inside the
+ * chunk's transaction. Listeners that need committed data should use
+ * {@code @TransactionalEventListener}.
+ */
+public record BulkChangeEvent(Type type, Long userId, List<Long> ids) {
+
+    public enum Type {
+        MEETINGS_CANCELLED,
+        SLOTS_DELETED
+    }
+
+    public int count() {
+        return ids.size();
+    }
+}
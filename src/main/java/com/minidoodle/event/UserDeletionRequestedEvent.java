@@ -0,0 +1,8 @@
+package com.minidoodle.event;
+
+/**
+ * Published when a user is marked deleted. The purge starts once the marking
+ * transaction commits.
+ */
+public record UserDeletionRequestedEvent(Long jobId, Long userId) {
+}
@@ -0,0 +1,16 @@
+package com.minidoodle.exception;
+
+import lombok.Getter;
+
+@Getter
+public class BulkheadFullException extends RuntimeException {
+
+    private final String bulkhead;
+    private final long retryAfterSeconds;
+
+    public BulkheadFullException(String bulkhead, long retryAfterSeconds) {
+        super("Too many concurrent " + bulkhead + " requests, retry later");
+        this.bulkhead = bulkhead;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,7 +1,20 @@
 package com.minidoodle.exception;
 
-public class BusinessException extends RuntimeException {
+public class BusinessException extends DomainException {
+
+    public static final BusinessException SLOT_NOT_AVAILABLE = new BusinessException(ErrorCode.SLOT_NOT_AVAILABLE);
+    public static final BusinessException MEETING_ALREADY_EXISTS = new BusinessException(ErrorCode.MEETING_ALREADY_EXISTS);
+    public static final BusinessException VOTE_ALREADY_RECORDED = new BusinessException(ErrorCode.VOTE_ALREADY_RECORDED);
+
     public BusinessException(String message) {
-        super(message);
+        this(ErrorCode.BUSINESS_RULE_VIOLATION, message);
+    }
+
+    public BusinessException(ErrorCode code, String message) {
+        super(code, message);
+    }
+
+    private BusinessException(ErrorCode code) {
+        super(code);
     }
 }
@@ -0,0 +1,26 @@
+package com.minidoodle.exception;
+
+import lombok.Getter;
+
+/**
+ * Base of the exceptions thrown for expected outcomes: a missing id, a rule the request
+ * breaks, a conflict with existing data. These end a request in normal control flow,
+ * often many times a second during a booking storm, and are answered from their
+ * {@link ErrorCode} alone, so they skip the stack trace, which is most of what a
+ * throw costs, and suppression. Without either they carry no mutable state, so an
+ * instance with a fixed message can be created once and thrown from any thread.
+ */
+@Getter
+public abstract class DomainException extends RuntimeException {
+
+    private final ErrorCode code;
+
+    protected DomainException(ErrorCode code, String message) {
+        super(message, null, false, false);
+        this.code = code;
+    }
+
+    protected DomainException(ErrorCode code) {
+        this(code, code.getDefaultMessage());
+    }
+}
@@ -0,0 +1,55 @@
+package com.minidoodle.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Stable, machine-readable reason for an error response, returned as
+ * {@link ErrorResponse#getCode()} next to the human-readable message. Clients should
+ * branch on the code, never on the message. Codes with a default message describe a
+ * fixed outcome and can be thrown as preallocated exceptions.
+ */
+@Getter
+public enum ErrorCode {
+
+    USER_NOT_FOUND(HttpStatus.NOT_FOUND),
+    CALENDAR_NOT_FOUND(HttpStatus.NOT_FOUND),
+    TIME_SLOT_NOT_FOUND(HttpStatus.NOT_FOUND),
+    MEETING_NOT_FOUND(HttpStatus.NOT_FOUND),
+    POLL_NOT_FOUND(HttpStatus.NOT_FOUND),
+    DELETION_JOB_NOT_FOUND(HttpStatus.NOT_FOUND),
+    RESOURCE_NOT_FOUND(HttpStatus.NOT_FOUND),
+
+    SLOT_NOT_AVAILABLE(HttpStatus.BAD_REQUEST, "Time slot is not available for booking"),
+    MEETING_ALREADY_EXISTS(HttpStatus.BAD_REQUEST, "Meeting already exists for this time slot"),
+    SLOT_BOOKED(HttpStatus.BAD_REQUEST),
+    INVALID_TIME_RANGE(HttpStatus.BAD_REQUEST),
+    EMAIL_TAKEN(HttpStatus.BAD_REQUEST),
+    POLL_CLOSED(HttpStatus.BAD_REQUEST),
+    VOTE_ALREADY_RECORDED(HttpStatus.BAD_REQUEST, "Vote already recorded"),
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST),
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST),
+    BUSINESS_RULE_VIOLATION(HttpStatus.BAD_REQUEST),
+
+    SLOT_OVERLAP(HttpStatus.CONFLICT, "Time slot overlaps with an existing slot"),
+    PARTICIPANTS_DOUBLE_BOOKED(HttpStatus.CONFLICT),
+    SLOT_CONFLICT(HttpStatus.CONFLICT),
+
+    BATCH_ROLLED_BACK(HttpStatus.FAILED_DEPENDENCY),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS),
+    OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR),
+    BATCH_OPERATION_TIMEOUT(HttpStatus.GATEWAY_TIMEOUT);
+
+    private final HttpStatus status;
+    private final String defaultMessage;
+
+    ErrorCode(HttpStatus status) {
+        this(status, null);
+    }
+
+    ErrorCode(HttpStatus status, String defaultMessage) {
+        this.status = status;
+        this.defaultMessage = defaultMessage;
+    }
+}
@@ -16,6 +16,7 @@ public class ErrorResponse {
     private LocalDateTime timestamp;
     private int status;
     private String error;
+    private ErrorCode code;
     private String message;
     private Map<String, String> details;
 }
@@ -1,8 +1,12 @@
 package com.minidoodle.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -12,49 +16,96 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Maps exceptions to error responses, each with an {@link ErrorCode}. Expected failures
+ * (a missing resource, a rejected request, a conflict, a full bulkhead, invalid input)
+ * are part of normal traffic, so they are counted in {@code minidoodle.api.errors{error}}
+ * and only logged at DEBUG; only unexpected exceptions are logged at ERROR. The response
+ * status always comes from the {@link ErrorCode}.
+ */
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private final Counter notFound;
+    private final Counter rejected;
+    private final Counter conflict;
+    private final Counter overloaded;
+    private final Counter invalid;
+    private final Counter unexpected;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.notFound = errors(meterRegistry, "not_found");
+        this.rejected = errors(meterRegistry, "rejected");
+        this.conflict = errors(meterRegistry, "conflict");
+        this.overloaded = errors(meterRegistry, "overloaded");
+        this.invalid = errors(meterRegistry, "invalid");
+        this.unexpected = errors(meterRegistry, "unexpected");
+    }
+
+    private static Counter errors(MeterRegistry meterRegistry, String error) {
+        return Counter.builder("minidoodle.api.errors")
+            .description("Error responses by kind of error")
+            .tag("error", error)
+            .register(meterRegistry);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        log.error("Resource not found: {}", ex.getMessage());
-        ErrorResponse error = ErrorResponse.builder()
-            .timestamp(LocalDateTime.now())
-            .status(HttpStatus.NOT_FOUND.value())
-            .error("Not Found")
-            .message(ex.getMessage())
-            .build();
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        notFound.increment();
+        log.debug("Resource not found: {}", ex.getMessage());
+        return respond(ex);
     }
 
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
-        log.error("Business exception: {}", ex.getMessage());
-        ErrorResponse error = ErrorResponse.builder()
-            .timestamp(LocalDateTime.now())
-            .status(HttpStatus.BAD_REQUEST.value())
-            .error("Bad Request")
-            .message(ex.getMessage())
-            .build();
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        rejected.increment();
+        log.debug("Business exception: {}", ex.getMessage());
+        return respond(ex);
     }
 
     @ExceptionHandler(SlotConflictException.class)
     public ResponseEntity<ErrorResponse> handleSlotConflictException(SlotConflictException ex) {
-        log.error("Slot conflict: {}", ex.getMessage());
+        conflict.increment();
+        log.debug("Slot conflict: {}", ex.getMessage());
+        return respond(ex);
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ErrorResponse> handleBulkheadFullException(BulkheadFullException ex) {
+        overloaded.increment();
+        log.debug("Bulkhead full: {}", ex.getBulkhead());
+        HttpStatus status = ErrorCode.OVERLOADED.getStatus();
         ErrorResponse error = ErrorResponse.builder()
             .timestamp(LocalDateTime.now())
-            .status(HttpStatus.CONFLICT.value())
-            .error("Conflict")
+            .status(status.value())
+            .error(status.getReasonPhrase())
+            .code(ErrorCode.OVERLOADED)
             .message(ex.getMessage())
             .build();
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        return ResponseEntity.status(status)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+            .body(error);
+    }
+
+    /**
+     * A full {@code database} bulkhead is hit while the transaction manager opens its
+     * connection, which wraps it; answer it like any other full bulkhead
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkheadFullException bulkheadFull) {
+                return handleBulkheadFullException(bulkheadFull);
+            }
+        }
+        return handleGlobalException(ex);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        log.error("Validation error: {}", ex.getMessage());
+        invalid.increment();
+        log.debug("Validation error: {}", ex.getMessage());
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
@@ -62,25 +113,46 @@ public class GlobalExceptionHandler {
             errors.put(fieldName, errorMessage);
         });
 
+        HttpStatus status = ErrorCode.VALIDATION_FAILED.getStatus();
         ErrorResponse error = ErrorResponse.builder()
             .timestamp(LocalDateTime.now())
-            .status(HttpStatus.BAD_REQUEST.value())
+            .status(status.value())
             .error("Validation Failed")
+            .code(ErrorCode.VALIDATION_FAILED)
             .message("Invalid input")
             .details(errors)
             .build();
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ResponseEntity.status(status).body(error);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex) {
+        unexpected.increment();
         log.error("Unexpected error: ", ex);
+        HttpStatus status = ErrorCode.INTERNAL_ERROR.getStatus();
         ErrorResponse error = ErrorResponse.builder()
             .timestamp(LocalDateTime.now())
-            .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
-            .error("Internal Server Error")
+            .status(status.value())
+            .error(status.getReasonPhrase())
+            .code(ErrorCode.INTERNAL_ERROR)
             .message("An unexpected error occurred")
             .build();
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        return ResponseEntity.status(status).body(error);
+    }
+
+    /**
+     * Answers a domain exception with the status of its {@link ErrorCode}, so a code
+     * always comes back with the same status whichever exception carries it
+     */
+    private static ResponseEntity<ErrorResponse> respond(DomainException ex) {
+        HttpStatus status = ex.getCode().getStatus();
+        ErrorResponse error = ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(status.value())
+            .error(status.getReasonPhrase())
+            .code(ex.getCode())
+            .message(ex.getMessage())
+            .build();
+        return ResponseEntity.status(status).body(error);
     }
 }
@@ -1,7 +1,12 @@
 package com.minidoodle.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends DomainException {
+
     public ResourceNotFoundException(String message) {
-        super(message);
+        this(ErrorCode.RESOURCE_NOT_FOUND, message);
+    }
+
+    public ResourceNotFoundException(ErrorCode code, String message) {
+        super(code, message);
     }
 }
@@ -1,7 +1,18 @@
 package com.minidoodle.exception;
 
-public class SlotConflictException extends RuntimeException {
+public class SlotConflictException extends DomainException {
+
+    public static final SlotConflictException OVERLAP = new SlotConflictException(ErrorCode.SLOT_OVERLAP);
+
     public SlotConflictException(String message) {
-        super(message);
+        this(ErrorCode.SLOT_CONFLICT, message);
+    }
+
+    public SlotConflictException(ErrorCode code, String message) {
+        super(code, message);
+    }
+
+    private SlotConflictException(ErrorCode code) {
+        super(code);
     }
 }
@@ -0,0 +1,82 @@
+package com.minidoodle.logging;
+
+import com.minidoodle.querybudget.QueryCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs one line per sampled API request. The method, route, status, duration and, when
+ * the query budget is on, the statements and entity loads also go out as key-value
+ * pairs, which the {@code prod} profile's JSON encoder writes as fields. {@code minidoodle.request-log.sample-rate} of the
+ * requests are logged; server errors and requests slower than {@code slow-threshold-ms}
+ * always are. Runs inside {@link com.minidoodle.querybudget.QueryBudgetFilter} so it
+ * sees the request's counts.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+@Slf4j
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/";
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public RequestLogFilter(Environment environment) {
+        this.enabled = environment.getProperty("minidoodle.request-log.enabled", Boolean.class, true);
+        this.sampleRate = environment.getProperty("minidoodle.request-log.sample-rate", Double.class, 0.01);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(
+            environment.getProperty("minidoodle.request-log.slow-threshold-ms", Long.class, 1000L));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !log.isInfoEnabled() || !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        long start = System.nanoTime();
+        chain.doFilter(request, response);
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        int status = response.getStatus();
+        if (status < 500 && elapsed < slowThresholdNanos && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "unmapped";
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        LoggingEventBuilder line = log.atInfo()
+            .addKeyValue("method", request.getMethod())
+            .addKeyValue("uri", uri)
+            .addKeyValue("status", status)
+            .addKeyValue("durationMs", durationMs);
+        QueryCounter.Scope scope = QueryCounter.current();
+        if (scope != null) {
+            line = line.addKeyValue("statements", scope.statements())
+                .addKeyValue("entityLoads", scope.entityLoads());
+        }
+        // Formatted here rather than by placeholders, which the JSON encoder would leave unfilled
+        line.log(request.getMethod() + " " + uri + " " + status + " in " + durationMs + " ms");
+    }
+}
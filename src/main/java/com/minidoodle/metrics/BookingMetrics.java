@@ -0,0 +1,113 @@
+package com.minidoodle.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Domain metrics for booking and slot writes, next to the per-operation timers of
+ * {@link OperationTimer}:
+ * <ul>
+ *   <li>{@code minidoodle.booking.attempts{outcome}}: bookings made, and bookings
+ *       refused because the slot was taken or a participant was already booked</li>
+ *   <li>{@code minidoodle.lock.wait{lock}}: time to take a slot's or a calendar's row
+ *       lock, which is mostly time spent queued behind other writers</li>
+ *   <li>{@code minidoodle.slot.overlap.checks{outcome}}: overlap checks that passed
+ *       or rejected the slot</li>
+ *   <li>{@code minidoodle.meeting.participants}: participants per booked meeting</li>
+ * </ul>
+ * Every meter is registered up front with tags from a fixed set.
+ */
+@Component
+public class BookingMetrics {
+
+    private static final Duration[] LOCK_WAIT_SLOS = {
+        Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(50),
+        Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(5)
+    };
+    private static final double[] PARTICIPANT_SLOS = {1, 2, 3, 5, 10, 20, 50, 100};
+
+    public enum BookingOutcome {
+        BOOKED("booked"),
+        SLOT_TAKEN("slot_taken"),
+        PARTICIPANT_CONFLICT("participant_conflict");
+
+        private final String tag;
+
+        BookingOutcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum Lock {
+        SLOT("slot"),
+        CALENDAR("calendar");
+
+        private final String tag;
+
+        Lock(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Map<BookingOutcome, Counter> bookings = new EnumMap<>(BookingOutcome.class);
+    private final Map<Lock, Timer> lockWaits = new EnumMap<>(Lock.class);
+    private final Counter overlapPassed;
+    private final Counter overlapRejected;
+    private final DistributionSummary participants;
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        for (BookingOutcome outcome : BookingOutcome.values()) {
+            bookings.put(outcome, Counter.builder("minidoodle.booking.attempts")
+                .description("Booking attempts by outcome")
+                .tag("outcome", outcome.tag)
+                .register(meterRegistry));
+        }
+        for (Lock lock : Lock.values()) {
+            lockWaits.put(lock, Timer.builder("minidoodle.lock.wait")
+                .description("Time to acquire a pessimistic row lock, including the locking query")
+                .tag("lock", lock.tag)
+                .serviceLevelObjectives(LOCK_WAIT_SLOS)
+                .register(meterRegistry));
+        }
+        this.overlapPassed = overlapChecks(meterRegistry, "passed");
+        this.overlapRejected = overlapChecks(meterRegistry, "rejected");
+        this.participants = DistributionSummary.builder("minidoodle.meeting.participants")
+            .description("Participants per booked meeting")
+            .serviceLevelObjectives(PARTICIPANT_SLOS)
+            .register(meterRegistry);
+    }
+
+    public void booking(BookingOutcome outcome) {
+        bookings.get(outcome).increment();
+    }
+
+    /**
+     * Runs the locking query and records how long it took
+     */
+    public <T> T lock(Lock lock, Supplier<T> query) {
+        return lockWaits.get(lock).record(query);
+    }
+
+    public void overlapCheck(boolean rejected) {
+        (rejected ? overlapRejected : overlapPassed).increment();
+    }
+
+    public void participants(int count) {
+        participants.record(count);
+    }
+
+    private static Counter overlapChecks(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("minidoodle.slot.overlap.checks")
+            .description("Slot overlap checks by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
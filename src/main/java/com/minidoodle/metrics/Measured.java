@@ -0,0 +1,22 @@
+package com.minidoodle.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Times every public method of the annotated bean as one operation of the given
+ * service; see {@link OperationTimer}
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Measured {
+
+    /**
+     * Value of the {@code service} tag
+     */
+    String value();
+}
@@ -0,0 +1,36 @@
+package com.minidoodle.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+/**
+ * Applies {@link OperationTimer} to the public methods of {@link Measured} beans. The
+ * advisor goes in front of any existing ones, such as {@code @Transactional}, so the
+ * recorded time covers the whole call as its callers see it.
+ */
+public class MeasuredBeanPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public MeasuredBeanPostProcessor(Supplier<MeterRegistry> meterRegistry) {
+        this.advisor = new DefaultPointcutAdvisor(new PublicMethodsOfMeasured(), new OperationTimer(meterRegistry));
+        setBeforeExistingAdvisors(true);
+    }
+
+    private static final class PublicMethodsOfMeasured extends StaticMethodMatcherPointcut {
+
+        PublicMethodsOfMeasured() {
+            setClassFilter(type -> AnnotatedElementUtils.hasAnnotation(type, Measured.class));
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+        }
+    }
+}
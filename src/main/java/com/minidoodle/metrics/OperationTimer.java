@@ -0,0 +1,89 @@
+package com.minidoodle.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records each call of a {@link Measured} bean's public methods in
+ * {@code minidoodle.service.operation}, tagged with the service, the method name and
+ * the {@link Outcome}. Tags only take values from that fixed set, never ids or
+ * messages, so the number of series stays bounded. Each timer publishes cumulative
+ * buckets at {@link #SLOS} for latency objectives, and a max.
+ *
+ * <p>The interceptor sits outside the transaction interceptor, so the time includes
+ * the commit and an outcome reflects a failed commit too. Timers are looked up once
+ * per method and outcome and then reused.
+ */
+public class OperationTimer implements MethodInterceptor {
+
+    static final String METRIC = "minidoodle.service.operation";
+
+    static final Duration[] SLOS = {
+        Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+        Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1),
+        Duration.ofMillis(2500)
+    };
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param meterRegistry resolved on first use, since the interceptor is built
+     *                      while bean post-processors are still being created
+     */
+    public OperationTimer(Supplier<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long started = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            Object result = invocation.proceed();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } catch (Throwable ex) {
+            outcome = Outcome.of(ex);
+            throw ex;
+        } finally {
+            timer(invocation, outcome).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(MethodInvocation invocation, Outcome outcome) {
+        Timer[] byOutcome = timers.computeIfAbsent(invocation.getMethod(), method -> new Timer[OUTCOMES.length]);
+        Timer timer = byOutcome[outcome.ordinal()];
+        if (timer == null) {
+            // Registering twice from racing calls returns the same timer
+            timer = register(invocation, outcome);
+            byOutcome[outcome.ordinal()] = timer;
+        }
+        return timer;
+    }
+
+    private Timer register(MethodInvocation invocation, Outcome outcome) {
+        Class<?> targetClass = AopUtils.getTargetClass(invocation.getThis());
+        Measured measured = AnnotationUtils.findAnnotation(targetClass, Measured.class);
+        return Timer.builder(METRIC)
+            .description("Service operations by outcome")
+            .tag("service", measured != null ? measured.value() : targetClass.getSimpleName())
+            .tag("operation", invocation.getMethod().getName())
+            .tag("outcome", outcome.tag())
+            .serviceLevelObjectives(SLOS)
+            .register(meterRegistry.get());
+    }
+}
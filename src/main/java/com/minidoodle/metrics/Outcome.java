@@ -0,0 +1,42 @@
+package com.minidoodle.metrics;
+
+import com.minidoodle.exception.BusinessException;
+import com.minidoodle.exception.ResourceNotFoundException;
+import com.minidoodle.exception.SlotConflictException;
+
+/**
+ * How a measured operation ended, as the {@code outcome} tag. Mirrors the status
+ * {@code GlobalExceptionHandler} answers with, so a dashboard can tell rejected
+ * input from failures without tagging by exception class.
+ */
+public enum Outcome {
+
+    SUCCESS("success"),
+    NOT_FOUND("not_found"),
+    REJECTED("rejected"),
+    CONFLICT("conflict"),
+    ERROR("error");
+
+    private final String tag;
+
+    Outcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    public static Outcome of(Throwable ex) {
+        if (ex instanceof ResourceNotFoundException) {
+            return NOT_FOUND;
+        }
+        if (ex instanceof SlotConflictException) {
+            return CONFLICT;
+        }
+        if (ex instanceof BusinessException) {
+            return REJECTED;
+        }
+        return ERROR;
+    }
+}
@@ -0,0 +1,148 @@
+package com.minidoodle.querybudget;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL statements and entity loads of each API request and records them per
+ * endpoint as {@code minidoodle.request.statements} and
+ * {@code minidoodle.request.entity-loads}. A request over
+ * {@code minidoodle.query-budget.max-statements} or {@code max-entity-loads} is
+ * logged and counted in {@code minidoodle.request.query-budget.exceeded}, which is
+ * usually an N+1 that only shows once a calendar has enough data. With
+ * {@code response-header} on (the dev and test profiles) the counts so far are also
+ * returned as {@code X-Query-Count} and {@code X-Entity-Load-Count}, set just before
+ * the body is written. Asynchronous requests finish on another thread and are not
+ * measured.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(prefix = "minidoodle.query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String ENTITY_LOAD_COUNT_HEADER = "X-Entity-Load-Count";
+
+    private static final String API_PREFIX = "/api/";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final int maxEntityLoads;
+    private final boolean responseHeader;
+    private final Counter exceeded;
+
+    public QueryBudgetFilter(Environment environment, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = environment.getProperty("minidoodle.query-budget.max-statements", Integer.class, 20);
+        this.maxEntityLoads = environment.getProperty("minidoodle.query-budget.max-entity-loads", Integer.class, 1000);
+        this.responseHeader = environment.getProperty("minidoodle.query-budget.response-header", Boolean.class, false);
+        this.exceeded = Counter.builder("minidoodle.request.query-budget.exceeded")
+            .description("API requests over the statement or entity load budget")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            HttpServletResponse target = responseHeader ? new CountHeaderResponse(response, scope) : response;
+            chain.doFilter(request, target);
+            if (request.isAsyncStarted()) {
+                return;
+            }
+            if (target instanceof CountHeaderResponse headerResponse) {
+                headerResponse.writeCounts();
+            }
+            record(request, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCounter.Scope scope) {
+        String uri = endpoint(request);
+        DistributionSummary.builder("minidoodle.request.statements")
+            .description("SQL statements prepared per API request")
+            .tags("method", request.getMethod(), "uri", uri)
+            .register(meterRegistry)
+            .record(scope.statements());
+        DistributionSummary.builder("minidoodle.request.entity-loads")
+            .description("Entities loaded per API request")
+            .tags("method", request.getMethod(), "uri", uri)
+            .register(meterRegistry)
+            .record(scope.entityLoads());
+
+        if (scope.statements() > maxStatements || scope.entityLoads() > maxEntityLoads) {
+            exceeded.increment();
+            log.warn("{} {} ran {} statements and loaded {} entities (budget {} / {})",
+                request.getMethod(), uri, scope.statements(), scope.entityLoads(), maxStatements, maxEntityLoads);
+        }
+    }
+
+    // The matched route pattern keeps the tag bounded; raw URIs carry ids
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "unmapped";
+    }
+
+    /**
+     * Adds the count headers when the body is first written, since headers cannot be
+     * changed once the response is committed
+     */
+    private static final class CountHeaderResponse extends HttpServletResponseWrapper {
+
+        private final QueryCounter.Scope scope;
+
+        CountHeaderResponse(HttpServletResponse response, QueryCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeCounts();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeCounts();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeCounts();
+            super.flushBuffer();
+        }
+
+        void writeCounts() {
+            if (!isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, Integer.toString(scope.statements()));
+                setHeader(ENTITY_LOAD_COUNT_HEADER, Integer.toString(scope.entityLoads()));
+            }
+        }
+    }
+}
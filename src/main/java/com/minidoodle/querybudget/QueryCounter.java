@@ -0,0 +1,76 @@
+package com.minidoodle.querybudget;
+
+/**
+ * Counts the SQL statements Hibernate prepares and the entities it loads on the
+ * current thread while a {@link Scope} is open. Scopes nest, and a count goes to
+ * every open scope, so a test can measure several requests that each have their own
+ * scope. Nothing is counted on a thread without an open scope.
+ *
+ * <p>Statements run through {@code JdbcTemplate}, and queries of the reactive read
+ * API, bypass Hibernate and are not counted.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Opens a scope on the current thread; close it on the same thread
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * The innermost open scope, or null
+     */
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    static void statementPrepared() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.entityLoads++;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private int statements;
+        private int entityLoads;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public int entityLoads() {
+            return entityLoads;
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+    }
+}
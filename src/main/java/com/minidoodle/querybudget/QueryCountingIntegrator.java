@@ -0,0 +1,46 @@
+package com.minidoodle.querybudget;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Hooks {@link QueryCounter} into Hibernate: the statement inspector sees every SQL
+ * string before it is prepared, and a post-load listener sees every entity Hibernate
+ * materializes, from a result set or from the second-level cache.
+ */
+public class QueryCountingIntegrator implements Integrator {
+
+    /**
+     * Passes SQL through unchanged and counts it
+     */
+    public static final StatementInspector STATEMENT_INSPECTOR = sql -> {
+        QueryCounter.statementPrepared();
+        return sql;
+    };
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+            .appendListeners(EventType.POST_LOAD, new EntityLoadListener());
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    private static final class EntityLoadListener implements PostLoadEventListener {
+
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            QueryCounter.entityLoaded();
+        }
+    }
+}
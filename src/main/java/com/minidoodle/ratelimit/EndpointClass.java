@@ -0,0 +1,42 @@
+package com.minidoodle.ratelimit;
+
+/**
+ * Groups of endpoints that are rate limited separately, so a caller exhausting one
+ * (typically availability polling) can still use the others
+ */
+public enum EndpointClass {
+    /** {@code GET /api/v1/timeslots/users/{userId}/availability}, and its reactive mirror */
+    AVAILABILITY("availability"),
+    /** Every other {@code GET} or {@code HEAD} */
+    READS("reads"),
+    /** Everything else */
+    WRITES("writes");
+
+    private static final String AVAILABILITY_PREFIX = "/api/v1/timeslots/users/";
+    private static final String REACTIVE_AVAILABILITY_PREFIX = "/api/v1/reactive/timeslots/users/";
+    private static final String AVAILABILITY_SUFFIX = "/availability";
+
+    private final String key;
+
+    EndpointClass(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Name used in {@code minidoodle.rate-limit.<key>.*} properties and metric tags
+     */
+    public String key() {
+        return key;
+    }
+
+    public static EndpointClass of(String method, String path) {
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return WRITES;
+        }
+        if ((path.startsWith(AVAILABILITY_PREFIX) || path.startsWith(REACTIVE_AVAILABILITY_PREFIX))
+            && path.endsWith(AVAILABILITY_SUFFIX)) {
+            return AVAILABILITY;
+        }
+        return READS;
+    }
+}
@@ -0,0 +1,68 @@
+package com.minidoodle.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minidoodle.exception.ErrorCode;
+import com.minidoodle.exception.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Rate limits API requests per caller and {@link EndpointClass} before they reach
+ * the controllers, answering 429 with Retry-After once a caller's bucket is empty.
+ * Rates are configured per class under {@code minidoodle.rate-limit.<class>}; see
+ * {@link RateLimitRegistry}. The batch endpoint is left to the batch service, which
+ * charges each of its operations to that operation's own class.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/";
+    private static final String BATCH_PATH = "/api/v1/batch";
+
+    private final RateLimitRegistry rateLimitRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !rateLimitRegistry.enabled() || !uri.startsWith(API_PREFIX) || uri.equals(BATCH_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request.getMethod(), request.getRequestURI());
+        long waitNanos = rateLimitRegistry.tryAcquire(endpointClass, rateLimitRegistry.caller(request));
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ErrorResponse error = ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(HttpStatus.TOO_MANY_REQUESTS.value())
+            .error("Too Many Requests")
+            .code(ErrorCode.RATE_LIMITED)
+            .message("Rate limit exceeded for " + endpointClass.key() + " requests")
+            .build();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(RateLimitRegistry.retryAfterSeconds(waitNanos)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,98 @@
+package com.minidoodle.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holds one {@link TokenBucketLimiter} per {@link EndpointClass}, sized from
+ * {@code minidoodle.rate-limit.<class>}. Used by {@link RateLimitFilter} for single
+ * requests and by the batch endpoint for each operation it runs. The caller is the
+ * value of {@code minidoodle.rate-limit.caller-header} when set (for a gateway that
+ * puts an authenticated client id there), otherwise the remote address. The remote
+ * address only identifies a client once {@code server.forward-headers-strategy} resolves
+ * it from the proxy's forwarded headers; with neither configured every client behind a
+ * proxy would share one bucket, so the limiter stays off.
+ */
+@Slf4j
+@Component
+public class RateLimitRegistry {
+
+    private final boolean enabled;
+    private final String callerHeader;
+    private final Map<EndpointClass, TokenBucketLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+
+    public RateLimitRegistry(Environment environment, MeterRegistry meterRegistry) {
+        String header = environment.getProperty("minidoodle.rate-limit.caller-header", "");
+        this.callerHeader = header.isBlank() ? null : header;
+        boolean requested = environment.getProperty("minidoodle.rate-limit.enabled", Boolean.class, true);
+        String forwardHeaders = environment.getProperty("server.forward-headers-strategy", "none");
+        boolean callerIdentified = callerHeader != null || !forwardHeaders.equalsIgnoreCase("none");
+        if (requested && !callerIdentified) {
+            log.warn("Rate limiting disabled: set minidoodle.rate-limit.caller-header or server.forward-headers-strategy "
+                + "so callers are not all keyed by the proxy's address");
+        }
+        this.enabled = requested && callerIdentified;
+        int maxCallers = environment.getProperty("minidoodle.rate-limit.max-callers", Integer.class, 100_000);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = "minidoodle.rate-limit." + endpointClass.key() + ".";
+            double rate = environment.getProperty(prefix + "requests-per-second", Double.class, 50.0);
+            int burst = environment.getProperty(prefix + "burst", Integer.class, 100);
+            limiters.put(endpointClass, new TokenBucketLimiter(rate, burst, maxCallers, System::nanoTime));
+            rejections.put(endpointClass, Counter.builder("minidoodle.ratelimit.rejected")
+                .description("Requests rejected by the rate limiter")
+                .tag("endpoint", endpointClass.key())
+                .register(meterRegistry));
+        }
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a permit from the caller's bucket for the endpoint class, counting a rejection
+     *
+     * @return 0 if admitted, otherwise the nanoseconds until a permit is available
+     */
+    public long tryAcquire(EndpointClass endpointClass, String caller) {
+        if (!enabled) {
+            return 0;
+        }
+        long waitNanos = limiters.get(endpointClass).tryAcquire(caller);
+        if (waitNanos != 0) {
+            rejections.get(endpointClass).increment();
+        }
+        return waitNanos;
+    }
+
+    public String caller(HttpServletRequest request) {
+        if (callerHeader != null) {
+            String caller = request.getHeader(callerHeader);
+            if (caller != null && !caller.isEmpty()) {
+                return caller;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * Whole seconds a rejected caller should wait, for Retry-After
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    @Scheduled(fixedDelayString = "${minidoodle.rate-limit.eviction-interval-ms:10000}")
+    public void evictIdleCallers() {
+        limiters.values().forEach(TokenBucketLimiter::evictIdle);
+    }
+}
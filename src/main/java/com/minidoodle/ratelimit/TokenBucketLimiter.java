@@ -0,0 +1,97 @@
+package com.minidoodle.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limiter per key, implemented as the generic cell rate algorithm:
+ * each key stores only its theoretical arrival time (TAT), the instant its bucket
+ * would be full again, and a request is admitted by moving the TAT forward one
+ * emission interval with a CAS. No locks and no allocation for known keys.
+ *
+ * <p>A key whose TAT has passed is indistinguishable from a new one, so
+ * {@link #evictIdle} can drop it at any time; that keeps the map to recently active
+ * keys. At {@code maxKeys}, a new key first triggers an inline eviction, at most once
+ * a second so a flood of new keys cannot turn every call into a scan. If that frees
+ * nothing, new keys share one overflow bucket until room opens up, so the map stays
+ * bounded (give or take callers racing past the size check).
+ */
+public final class TokenBucketLimiter {
+
+    private static final long INLINE_EVICTION_SPACING_NANOS = 1_000_000_000L;
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+    private final AtomicLong lastInlineEviction;
+
+    /**
+     * @param permitsPerSecond sustained rate per key
+     * @param burst            requests a key may make at once after being idle
+     */
+    public TokenBucketLimiter(double permitsPerSecond, int burst, int maxKeys, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("Rate, burst and max keys must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        this.overflow = new AtomicLong(now);
+        this.lastInlineEviction = new AtomicLong(now - INLINE_EVICTION_SPACING_NANOS);
+    }
+
+    /**
+     * Takes a permit for the key
+     *
+     * @return 0 if admitted, otherwise the nanoseconds until a permit is available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong arrival = arrivals.get(key);
+        long now = nanoClock.getAsLong();
+        if (arrival == null) {
+            arrival = newKey(key, now);
+        }
+        while (true) {
+            long tat = arrival.get();
+            long start = tat - now > 0 ? tat : now;
+            long ahead = start - now;
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+            if (arrival.compareAndSet(tat, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private AtomicLong newKey(String key, long now) {
+        if (arrivals.size() >= maxKeys) {
+            long last = lastInlineEviction.get();
+            if (now - last >= INLINE_EVICTION_SPACING_NANOS && lastInlineEviction.compareAndSet(last, now)) {
+                evictIdle();
+            }
+            if (arrivals.size() >= maxKeys) {
+                return overflow;
+            }
+        }
+        return arrivals.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    /**
+     * Drops keys whose bucket has refilled completely
+     */
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        arrivals.values().removeIf(arrival -> arrival.get() - now <= 0);
+    }
+
+    public int size() {
+        return arrivals.size();
+    }
+}
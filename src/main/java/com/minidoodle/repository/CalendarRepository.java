@@ -11,10 +11,27 @@ import java.util.Optional;
 @Repository
 public interface CalendarRepository extends JpaRepository<Calendar, Long> {
 
-    Optional<Calendar> findByUserId(Long userId);
+    /**
+     * Find the calendar of a user that has not been deleted
+     */
+    @Query("SELECT c FROM Calendar c JOIN c.user u WHERE u.id = :userId AND u.deletedAt IS NULL")
+    Optional<Calendar> findByUserId(@Param("userId") Long userId);
 
-    @Query("SELECT c FROM Calendar c JOIN FETCH c.user WHERE c.user.id = :userId")
+    @Query("SELECT c FROM Calendar c JOIN FETCH c.user u WHERE u.id = :userId AND u.deletedAt IS NULL")
     Optional<Calendar> findByUserIdWithUser(@Param("userId") Long userId);
 
+    /**
+     * Find only the calendar id of a user that has not been deleted
+     */
+    @Query("SELECT c.id FROM Calendar c JOIN c.user u WHERE u.id = :userId AND u.deletedAt IS NULL")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    /**
+     * Lock the calendar row until the transaction ends, so slot writes on one calendar
+     * take turns; empty if the calendar is gone
+     */
+    @Query(value = "SELECT id FROM calendars WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
     boolean existsByUserId(Long userId);
 }
@@ -1,17 +1,25 @@
 package com.minidoodle.repository;
 
 import com.minidoodle.domain.Meeting;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
 
 @Repository
-public interface MeetingRepository extends JpaRepository<Meeting, Long> {
+public interface MeetingRepository extends JpaRepository<Meeting, Long>, MeetingSearchRepository {
 
     /**
      * Find meeting by time slot id
@@ -19,14 +27,19 @@ public interface MeetingRepository extends JpaRepository<Meeting, Long> {
     Optional<Meeting> findByTimeSlotId(Long timeSlotId);
 
     /**
-     * Find all meetings for a user within a time range
+     * Find all meetings for a user within a time range, with time slot and participants
+     * loaded. The filtering participant join matches at most one row per meeting, and
+     * Hibernate collapses the rows of the participants fetch, so no DISTINCT, which the
+     * ORDER BY on the slot would not allow
      */
-    @Query("SELECT DISTINCT m FROM Meeting m " +
+    @Query("SELECT m FROM Meeting m " +
+           "JOIN FETCH m.timeSlot ts " +
            "JOIN m.participants p " +
+           "LEFT JOIN FETCH m.participants " +
            "WHERE p.id = :userId " +
-           "AND m.timeSlot.startTime >= :startTime " +
-           "AND m.timeSlot.endTime <= :endTime " +
-           "ORDER BY m.timeSlot.startTime")
+           "AND ts.startTime >= :startTime " +
+           "AND ts.endTime <= :endTime " +
+           "ORDER BY ts.startTime")
     List<Meeting> findByParticipantIdAndTimeRange(
         @Param("userId") Long userId,
         @Param("startTime") LocalDateTime startTime,
@@ -34,22 +47,75 @@ public interface MeetingRepository extends JpaRepository<Meeting, Long> {
     );
 
     /**
-     * Find meetings created by user (owner through calendar)
+     * Find meetings created by user (owner through calendar), with time slot and participants loaded
      */
     @Query("SELECT m FROM Meeting m " +
-           "WHERE m.timeSlot.calendar.user.id = :userId " +
-           "AND m.timeSlot.startTime >= :startTime " +
-           "AND m.timeSlot.endTime <= :endTime " +
-           "ORDER BY m.timeSlot.startTime")
+           "JOIN FETCH m.timeSlot ts " +
+           "LEFT JOIN FETCH m.participants " +
+           "WHERE ts.calendar.user.id = :userId " +
+           "AND ts.startTime >= :startTime " +
+           "AND ts.endTime <= :endTime " +
+           "ORDER BY ts.startTime")
     List<Meeting> findByOwnerIdAndTimeRange(
         @Param("userId") Long userId,
         @Param("startTime") LocalDateTime startTime,
         @Param("endTime") LocalDateTime endTime
     );
 
+    /**
+     * Find which of the given users attend a meeting overlapping the time range
+     */
+    @Query("SELECT DISTINCT p.id FROM Meeting m " +
+           "JOIN m.participants p " +
+           "WHERE p.id IN :userIds " +
+           "AND m.timeSlot.startTime < :endTime " +
+           "AND m.timeSlot.endTime > :startTime")
+    Set<Long> findParticipantIdsWithOverlappingMeetings(
+        @Param("userIds") Collection<Long> userIds,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime
+    );
+
     /**
      * Find meeting with participants loaded
      */
     @Query("SELECT m FROM Meeting m LEFT JOIN FETCH m.participants WHERE m.id = :id")
     Optional<Meeting> findByIdWithParticipants(@Param("id") Long id);
+
+    /**
+     * Find meetings by ids with time slot and participants loaded
+     */
+    @Query("SELECT DISTINCT m FROM Meeting m JOIN FETCH m.timeSlot LEFT JOIN FETCH m.participants WHERE m.id IN :ids")
+    List<Meeting> findAllByIdWithParticipants(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find (meetingId, timeSlotId) pairs of meetings on a calendar within a time range, one chunk at a time
+     */
+    @Query("SELECT m.id, ts.id FROM Meeting m JOIN m.timeSlot ts " +
+           "WHERE ts.calendar.id = :calendarId " +
+           "AND ts.startTime >= :startTime " +
+           "AND ts.endTime <= :endTime")
+    List<Object[]> findMeetingAndSlotIdsInRange(
+        @Param("calendarId") Long calendarId,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime,
+        Pageable pageable
+    );
+
+    /**
+     * Remove all participants of the given meetings. The query space tells Hibernate
+     * which table the native statement touches, so it invalidates only cache regions
+     * backed by meeting_participants instead of every region.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "meeting_participants"))
+    @Query(value = "DELETE FROM meeting_participants WHERE meeting_id IN (:meetingIds)", nativeQuery = true)
+    int deleteParticipantsByMeetingIds(@Param("meetingIds") Collection<Long> meetingIds);
+
+    /**
+     * Delete meetings by ids without loading them
+     */
+    @Modifying
+    @Query("DELETE FROM Meeting m WHERE m.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
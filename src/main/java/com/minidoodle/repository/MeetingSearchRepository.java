@@ -0,0 +1,17 @@
+package com.minidoodle.repository;
+
+import java.util.List;
+
+public interface MeetingSearchRepository {
+
+    /**
+     * Full-text search over meeting title and description, limited to meetings
+     * the user owns (through their calendar) or attends as a participant.
+     * Hits are ordered by rank descending, then id descending, and paged with a
+     * (rank, id) keyset: pass the last hit's rank and id to fetch the next page.
+     */
+    List<SearchHit> searchByUser(Long userId, String query, Double afterRank, Long afterId, int limit);
+
+    record SearchHit(Long meetingId, double rank) {
+    }
+}
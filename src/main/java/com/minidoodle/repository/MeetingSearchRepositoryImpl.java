@@ -0,0 +1,113 @@
+package com.minidoodle.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Uses the generated {@code meetings.search_vector} column and its GIN index on
+ * PostgreSQL (see {@code db/migration/V2__meeting_search.sql}). Other databases (H2 in
+ * tests) fall back to a case-insensitive LIKE match on every search term, with a
+ * constant rank so the same keyset contract holds.
+ */
+public class MeetingSearchRepositoryImpl implements MeetingSearchRepository {
+
+    private static final String SCOPE =
+        "(c.user_id = :userId OR EXISTS (SELECT 1 FROM meeting_participants mp " +
+        "WHERE mp.meeting_id = m.id AND mp.user_id = :userId)) ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Boolean postgres;
+
+    @Override
+    public List<SearchHit> searchByUser(Long userId, String query, Double afterRank, Long afterId, int limit) {
+        return isPostgres()
+            ? searchWithTsVector(userId, query, afterRank, afterId, limit)
+            : searchWithLike(userId, query, afterId, limit);
+    }
+
+    private List<SearchHit> searchWithTsVector(Long userId, String query, Double afterRank, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(
+            "SELECT m.id, CAST(ts_rank(m.search_vector, q) AS float8) AS rank " +
+            "FROM meetings m " +
+            "JOIN time_slots ts ON ts.id = m.time_slot_id " +
+            "JOIN calendars c ON c.id = ts.calendar_id " +
+            "CROSS JOIN websearch_to_tsquery('simple', :query) q " +
+            "WHERE m.search_vector @@ q AND ").append(SCOPE);
+        if (afterId != null) {
+            sql.append("AND (CAST(ts_rank(m.search_vector, q) AS float8), m.id) < (:afterRank, :afterId) ");
+        }
+        sql.append("ORDER BY rank DESC, m.id DESC LIMIT :limit");
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString())
+            .setParameter("query", query)
+            .setParameter("userId", userId)
+            .setParameter("limit", limit);
+        if (afterId != null) {
+            nativeQuery.setParameter("afterRank", afterRank != null ? afterRank : Double.MAX_VALUE);
+            nativeQuery.setParameter("afterId", afterId);
+        }
+        return toHits(nativeQuery.getResultList());
+    }
+
+    private List<SearchHit> searchWithLike(Long userId, String query, Long afterId, int limit) {
+        String[] terms = query.toLowerCase(Locale.ROOT).trim().split("\\s+");
+
+        StringBuilder sql = new StringBuilder(
+            "SELECT m.id, CAST(0 AS DOUBLE PRECISION) AS rank " +
+            "FROM meetings m " +
+            "JOIN time_slots ts ON ts.id = m.time_slot_id " +
+            "JOIN calendars c ON c.id = ts.calendar_id " +
+            "WHERE ").append(SCOPE);
+        for (int i = 0; i < terms.length; i++) {
+            sql.append("AND (LOWER(m.title) LIKE :term").append(i)
+                .append(" ESCAPE '\\' OR LOWER(m.description) LIKE :term").append(i).append(" ESCAPE '\\') ");
+        }
+        if (afterId != null) {
+            sql.append("AND m.id < :afterId ");
+        }
+        sql.append("ORDER BY m.id DESC LIMIT :limit");
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString())
+            .setParameter("userId", userId)
+            .setParameter("limit", limit);
+        for (int i = 0; i < terms.length; i++) {
+            nativeQuery.setParameter("term" + i, "%" + escapeLike(terms[i]) + "%");
+        }
+        if (afterId != null) {
+            nativeQuery.setParameter("afterId", afterId);
+        }
+        return toHits(nativeQuery.getResultList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SearchHit> toHits(List<?> rows) {
+        List<SearchHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : (List<Object[]>) rows) {
+            hits.add(new SearchHit(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue()));
+        }
+        return hits;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgres;
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,52 @@
+package com.minidoodle.repository;
+
+import com.minidoodle.domain.PollOption;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PollOptionRepository extends JpaRepository<PollOption, Long> {
+
+    /**
+     * Find option ids belonging to a poll
+     */
+    @Query("SELECT o.id FROM PollOption o WHERE o.poll.id = :pollId")
+    List<Long> findIdsByPollId(@Param("pollId") Long pollId);
+
+    /**
+     * Find the poll of each option, as (option id, poll id) pairs
+     */
+    @Query("SELECT o.id, o.poll.id FROM PollOption o WHERE o.id IN :ids")
+    List<Object[]> findPollIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lock a poll's options FOR UPDATE. This conflicts with the key share lock a vote's
+     * foreign key check takes on its option, so it waits for votes already inserted
+     * and holds back new ones until the caller commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM PollOption o WHERE o.poll.id = :pollId ORDER BY o.id")
+    List<PollOption> lockByPollId(@Param("pollId") Long pollId);
+
+    /**
+     * Add a batch of votes to an option's persisted tally
+     */
+    @Modifying
+    @Query("UPDATE PollOption o SET o.voteCount = o.voteCount + :delta WHERE o.id = :id")
+    int incrementVoteCount(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Overwrite an option's persisted tally with an exact count
+     */
+    @Modifying
+    @Query("UPDATE PollOption o SET o.voteCount = :voteCount WHERE o.id = :id")
+    int setVoteCount(@Param("id") Long id, @Param("voteCount") long voteCount);
+}
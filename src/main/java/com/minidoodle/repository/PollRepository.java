@@ -0,0 +1,48 @@
+package com.minidoodle.repository;
+
+import com.minidoodle.domain.Poll;
+import com.minidoodle.domain.PollStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PollRepository extends JpaRepository<Poll, Long> {
+
+    /**
+     * Find poll with options and their time slots loaded
+     */
+    @Query("SELECT DISTINCT p FROM Poll p " +
+           "LEFT JOIN FETCH p.options o " +
+           "LEFT JOIN FETCH o.timeSlot " +
+           "WHERE p.id = :id")
+    Optional<Poll> findByIdWithOptions(@Param("id") Long id);
+
+    /**
+     * Find poll with pessimistic lock so it is finalized only once
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Poll p WHERE p.id = :id")
+    Optional<Poll> findByIdWithLock(@Param("id") Long id);
+
+    /**
+     * Read a poll's status without locking the row, which every vote reads
+     */
+    @Query("SELECT p.status FROM Poll p WHERE p.id = :id")
+    Optional<PollStatus> findStatusById(@Param("id") Long id);
+
+    /**
+     * Find those of the polls still in the given status under a shared lock, so a
+     * finalization in progress is waited for and then excluded
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT p FROM Poll p WHERE p.id IN :ids AND p.status = :status ORDER BY p.id")
+    List<Poll> findByIdInAndStatusForShare(@Param("ids") Collection<Long> ids, @Param("status") PollStatus status);
+}
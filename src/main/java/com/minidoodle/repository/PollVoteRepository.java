@@ -0,0 +1,36 @@
+package com.minidoodle.repository;
+
+import com.minidoodle.domain.PollVote;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+public interface PollVoteRepository extends JpaRepository<PollVote, Long> {
+
+    /**
+     * Find which of the given options a user has already voted for
+     */
+    @Query("SELECT v.option.id FROM PollVote v WHERE v.user.id = :userId AND v.option.id IN :optionIds")
+    Set<Long> findVotedOptionIds(
+        @Param("userId") Long userId,
+        @Param("optionIds") Collection<Long> optionIds
+    );
+
+    /**
+     * Exact vote count per option of a poll, as (optionId, count) rows
+     */
+    @Query("SELECT v.option.id, COUNT(v) FROM PollVote v WHERE v.option.poll.id = :pollId GROUP BY v.option.id")
+    List<Object[]> countVotesByOption(@Param("pollId") Long pollId);
+
+    /**
+     * Find the users who voted for an option
+     */
+    @Query("SELECT v.user.id FROM PollVote v WHERE v.option.id = :optionId")
+    Set<Long> findVoterIdsByOptionId(@Param("optionId") Long optionId);
+}
@@ -0,0 +1,207 @@
+package com.minidoodle.repository;
+
+import com.minidoodle.domain.SlotStatus;
+import com.minidoodle.dto.MeetingDTO;
+import com.minidoodle.dto.TimeSlotDTO;
+import com.minidoodle.dto.UserDTO;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+
+/**
+ * Read-only queries over R2DBC for the reactive API. Rows map straight to DTOs; there
+ * are no entities, lazy associations or persistence context on this path. The queries
+ * mirror the JPA ones in {@link TimeSlotRepository} and {@link MeetingRepository},
+ * including hiding deleted users as {@code @SQLRestriction} does there. Results
+ * stream row by row as the subscriber asks for them; meeting listings are read in
+ * keyset pages, so each query finishes, and gives its connection back, before the
+ * next one starts.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "minidoodle.reactive.enabled", havingValue = "true")
+public class ReactiveReadRepository {
+
+    private static final String SLOT_COLUMNS =
+        "ts.id, ts.calendar_id, ts.start_time, ts.end_time, ts.status, ts.created_at, ts.updated_at";
+
+    private static final String MEETING_COLUMNS =
+        "m.id, m.title, m.description, m.time_slot_id, ts.start_time, ts.end_time, m.created_at, m.updated_at";
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    public Mono<TimeSlotDTO> findSlot(Long id) {
+        return reactiveDatabaseClient.sql("SELECT " + SLOT_COLUMNS + " FROM time_slots ts WHERE ts.id = :id")
+            .bind("id", id)
+            .map(ReactiveReadRepository::toSlot)
+            .one();
+    }
+
+    /**
+     * Find the calendar id of a user that has not been deleted
+     */
+    public Mono<Long> findCalendarId(Long userId) {
+        return reactiveDatabaseClient.sql(
+                "SELECT c.id FROM calendars c JOIN users u ON u.id = c.user_id " +
+                "WHERE c.user_id = :userId AND u.deleted_at IS NULL")
+            .bind("userId", userId)
+            .map(row -> row.get("id", Long.class))
+            .one();
+    }
+
+    /**
+     * Find all time slots of a calendar within a time range
+     */
+    public Flux<TimeSlotDTO> findSlotsByCalendar(Long calendarId, LocalDateTime startTime, LocalDateTime endTime) {
+        return reactiveDatabaseClient.sql(
+                "SELECT " + SLOT_COLUMNS + " FROM time_slots ts WHERE ts.calendar_id = :calendarId " +
+                "AND ts.start_time >= :startTime AND ts.end_time <= :endTime ORDER BY ts.start_time")
+            .bind("calendarId", calendarId)
+            .bind("startTime", startTime)
+            .bind("endTime", endTime)
+            .map(ReactiveReadRepository::toSlot)
+            .all();
+    }
+
+    /**
+     * Find a user's slots with one of the given statuses within a time range
+     */
+    public Flux<TimeSlotDTO> findSlotsByUserAndStatus(Long userId, Collection<SlotStatus> statuses,
+                                                      LocalDateTime startTime, LocalDateTime endTime) {
+        return reactiveDatabaseClient.sql(
+                "SELECT " + SLOT_COLUMNS + " FROM time_slots ts " +
+                "JOIN calendars c ON c.id = ts.calendar_id " +
+                "JOIN users u ON u.id = c.user_id AND u.deleted_at IS NULL " +
+                "WHERE c.user_id = :userId AND ts.status IN (:statuses) " +
+                "AND ts.start_time >= :startTime AND ts.end_time <= :endTime ORDER BY ts.start_time")
+            .bind("userId", userId)
+            .bind("statuses", statuses.stream().map(SlotStatus::name).toList())
+            .bind("startTime", startTime)
+            .bind("endTime", endTime)
+            .map(ReactiveReadRepository::toSlot)
+            .all();
+    }
+
+    /**
+     * Find a meeting without its participants
+     */
+    public Mono<MeetingDTO> findMeeting(Long id) {
+        return reactiveDatabaseClient.sql(
+                "SELECT " + MEETING_COLUMNS + " FROM meetings m JOIN time_slots ts ON ts.id = m.time_slot_id " +
+                "WHERE m.id = :id")
+            .bind("id", id)
+            .map(ReactiveReadRepository::toMeeting)
+            .one();
+    }
+
+    /**
+     * Find a page of the meetings the user attends within a time range, without their
+     * participants, ordered by start time and id and following {@code after} (null for
+     * the first page)
+     */
+    public Flux<MeetingDTO> findMeetingsByParticipant(Long userId, LocalDateTime startTime, LocalDateTime endTime,
+                                                      MeetingDTO after, int limit) {
+        return page(reactiveDatabaseClient.sql(
+                "SELECT " + MEETING_COLUMNS + " FROM meetings m JOIN time_slots ts ON ts.id = m.time_slot_id " +
+                "JOIN meeting_participants mp ON mp.meeting_id = m.id AND mp.user_id = :userId " +
+                "JOIN users u ON u.id = mp.user_id AND u.deleted_at IS NULL " +
+                "WHERE ts.start_time >= :startTime AND ts.end_time <= :endTime" + keysetPage(after))
+            .bind("userId", userId)
+            .bind("startTime", startTime)
+            .bind("endTime", endTime), after, limit)
+            .map(ReactiveReadRepository::toMeeting)
+            .all();
+    }
+
+    /**
+     * Find a page of the meetings booked on the user's calendar within a time range,
+     * without their participants, ordered by start time and id and following
+     * {@code after} (null for the first page)
+     */
+    public Flux<MeetingDTO> findMeetingsByOwner(Long userId, LocalDateTime startTime, LocalDateTime endTime,
+                                                MeetingDTO after, int limit) {
+        return page(reactiveDatabaseClient.sql(
+                "SELECT " + MEETING_COLUMNS + " FROM meetings m JOIN time_slots ts ON ts.id = m.time_slot_id " +
+                "JOIN calendars c ON c.id = ts.calendar_id " +
+                "JOIN users u ON u.id = c.user_id AND u.deleted_at IS NULL " +
+                "WHERE c.user_id = :userId AND ts.start_time >= :startTime AND ts.end_time <= :endTime" +
+                keysetPage(after))
+            .bind("userId", userId)
+            .bind("startTime", startTime)
+            .bind("endTime", endTime), after, limit)
+            .map(ReactiveReadRepository::toMeeting)
+            .all();
+    }
+
+    /**
+     * Find the participants of several meetings at once
+     */
+    public Flux<Participant> findParticipants(Collection<Long> meetingIds) {
+        return reactiveDatabaseClient.sql(
+                "SELECT mp.meeting_id, u.id, u.name, u.email FROM meeting_participants mp " +
+                "JOIN users u ON u.id = mp.user_id AND u.deleted_at IS NULL WHERE mp.meeting_id IN (:meetingIds)")
+            .bind("meetingIds", meetingIds)
+            .map(row -> new Participant(row.get("meeting_id", Long.class), UserDTO.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .email(row.get("email", String.class))
+                .build()))
+            .all();
+    }
+
+    public record Participant(Long meetingId, UserDTO user) {
+    }
+
+    private static String keysetPage(MeetingDTO after) {
+        String cursor = after == null ? ""
+            : " AND (ts.start_time > :afterStartTime OR (ts.start_time = :afterStartTime AND m.id > :afterId))";
+        return cursor + " ORDER BY ts.start_time, m.id LIMIT :limit";
+    }
+
+    private static GenericExecuteSpec page(GenericExecuteSpec spec, MeetingDTO after, int limit) {
+        if (after != null) {
+            spec = spec.bind("afterStartTime", after.getStartTime()).bind("afterId", after.getId());
+        }
+        return spec.bind("limit", limit);
+    }
+
+    private static TimeSlotDTO toSlot(Readable row) {
+        LocalDateTime startTime = row.get("start_time", LocalDateTime.class);
+        LocalDateTime endTime = row.get("end_time", LocalDateTime.class);
+        return TimeSlotDTO.builder()
+            .id(row.get("id", Long.class))
+            .calendarId(row.get("calendar_id", Long.class))
+            .startTime(startTime)
+            .endTime(endTime)
+            .status(SlotStatus.valueOf(row.get("status", String.class)))
+            .durationMinutes((int) Duration.between(startTime, endTime).toMinutes())
+            .createdAt(row.get("created_at", LocalDateTime.class))
+            .updatedAt(row.get("updated_at", LocalDateTime.class))
+            .build();
+    }
+
+    private static MeetingDTO toMeeting(Readable row) {
+        return MeetingDTO.builder()
+            .id(row.get("id", Long.class))
+            .title(row.get("title", String.class))
+            .description(row.get("description", String.class))
+            .timeSlotId(row.get("time_slot_id", Long.class))
+            .startTime(row.get("start_time", LocalDateTime.class))
+            .endTime(row.get("end_time", LocalDateTime.class))
+            .participants(new HashSet<>())
+            .participantIds(new HashSet<>())
+            .createdAt(row.get("created_at", LocalDateTime.class))
+            .updatedAt(row.get("updated_at", LocalDateTime.class))
+            .build();
+    }
+}
@@ -3,23 +3,29 @@ package com.minidoodle.repository;
 import com.minidoodle.domain.SlotStatus;
 import com.minidoodle.domain.TimeSlot;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
 
     /**
-     * Find all time slots for a calendar within a time range
+     * Find all time slots for a calendar within a time range. The inverse
+     * {@link TimeSlot#getMeeting() meeting} side is always loaded, so it is fetched here
+     * rather than with one query per slot; the same goes for the range queries below
      */
-    @Query("SELECT ts FROM TimeSlot ts WHERE ts.calendar.id = :calendarId " +
+    @Query("SELECT ts FROM TimeSlot ts LEFT JOIN FETCH ts.meeting WHERE ts.calendar.id = :calendarId " +
            "AND ts.startTime >= :startTime AND ts.endTime <= :endTime " +
            "ORDER BY ts.startTime")
     List<TimeSlot> findByCalendarIdAndTimeRange(
@@ -31,7 +37,7 @@ public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
     /**
      * Find all time slots for a calendar with specific status within time range
      */
-    @Query("SELECT ts FROM TimeSlot ts WHERE ts.calendar.id = :calendarId " +
+    @Query("SELECT ts FROM TimeSlot ts LEFT JOIN FETCH ts.meeting WHERE ts.calendar.id = :calendarId " +
            "AND ts.status = :status " +
            "AND ts.startTime >= :startTime AND ts.endTime <= :endTime " +
            "ORDER BY ts.startTime")
@@ -65,7 +71,7 @@ public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
     /**
      * Find all FREE slots for a user within a time range
      */
-    @Query("SELECT ts FROM TimeSlot ts WHERE ts.calendar.user.id = :userId " +
+    @Query("SELECT ts FROM TimeSlot ts LEFT JOIN FETCH ts.meeting WHERE ts.calendar.user.id = :userId " +
            "AND ts.status = 'FREE' " +
            "AND ts.startTime >= :startTime AND ts.endTime <= :endTime " +
            "ORDER BY ts.startTime")
@@ -78,7 +84,7 @@ public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
     /**
      * Find all BUSY/BOOKED slots for a user within a time range
      */
-    @Query("SELECT ts FROM TimeSlot ts WHERE ts.calendar.user.id = :userId " +
+    @Query("SELECT ts FROM TimeSlot ts LEFT JOIN FETCH ts.meeting WHERE ts.calendar.user.id = :userId " +
            "AND ts.status IN ('BUSY', 'BOOKED') " +
            "AND ts.startTime >= :startTime AND ts.endTime <= :endTime " +
            "ORDER BY ts.startTime")
@@ -88,8 +94,57 @@ public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
         @Param("endTime") LocalDateTime endTime
     );
 
+    /**
+     * Find which of the given users have a BUSY/BOOKED slot in their own calendar overlapping the time range
+     */
+    @Query("SELECT DISTINCT ts.calendar.user.id FROM TimeSlot ts " +
+           "WHERE ts.calendar.user.id IN :userIds " +
+           "AND ts.status IN ('BUSY', 'BOOKED') " +
+           "AND ts.startTime < :endTime AND ts.endTime > :startTime " +
+           "AND ts.id != :excludeId")
+    Set<Long> findUserIdsWithOverlappingBusySlots(
+        @Param("userIds") Collection<Long> userIds,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime,
+        @Param("excludeId") Long excludeId
+    );
+
     /**
      * Count slots by calendar and status
      */
     long countByCalendarIdAndStatus(Long calendarId, SlotStatus status);
+
+    /**
+     * Find ids of slots with a status within a time range that no poll proposes, one chunk at a time
+     */
+    @Query("SELECT ts.id FROM TimeSlot ts WHERE ts.calendar.id = :calendarId " +
+           "AND ts.status = :status " +
+           "AND ts.startTime >= :startTime AND ts.endTime <= :endTime " +
+           "AND NOT EXISTS (SELECT o.id FROM PollOption o WHERE o.timeSlot.id = ts.id)")
+    List<Long> findDeletableSlotIds(
+        @Param("calendarId") Long calendarId,
+        @Param("status") SlotStatus status,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime,
+        Pageable pageable
+    );
+
+    /**
+     * Delete slots by ids, skipping any whose status changed since they were selected
+     */
+    @Modifying
+    @Query("DELETE FROM TimeSlot ts WHERE ts.id IN :ids AND ts.status = :status")
+    int deleteByIdsAndStatus(@Param("ids") Collection<Long> ids, @Param("status") SlotStatus status);
+
+    /**
+     * Set the status of slots by ids without loading them
+     */
+    @Modifying
+    @Query("UPDATE TimeSlot ts SET ts.status = :status, ts.version = ts.version + 1, ts.updatedAt = :now " +
+           "WHERE ts.id IN :ids")
+    int updateStatusByIds(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") SlotStatus status,
+        @Param("now") LocalDateTime now
+    );
 }
@@ -0,0 +1,84 @@
+package com.minidoodle.repository;
+
+import com.minidoodle.dto.UserDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch inserts for bulk user provisioning. The JPA entities use IDENTITY ids,
+ * which makes Hibernate insert one row per statement; here users go in as one JDBC
+ * batch (rewritten into multi-row INSERTs by the PostgreSQL driver when
+ * {@code reWriteBatchedInserts=true}) returning the generated ids, and their
+ * calendars as a second batch keyed by those ids.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert users with a calendar each and return their ids by email
+     */
+    public Map<String, Long> insertUsersWithCalendars(List<UserDTO> users, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(
+                "INSERT INTO users (name, email, created_at, updated_at) VALUES (?, ?, ?, ?)",
+                new String[] {"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    UserDTO user = users.get(i);
+                    ps.setString(1, user.getName());
+                    ps.setString(2, user.getEmail());
+                    ps.setTimestamp(3, timestamp);
+                    ps.setTimestamp(4, timestamp);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return users.size();
+                }
+            },
+            keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        Map<String, Long> ids = new HashMap<>(users.size() * 2);
+        long[] userIds = new long[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            userIds[i] = ((Number) keys.get(i).values().iterator().next()).longValue();
+            ids.put(users.get(i).getEmail(), userIds[i]);
+        }
+
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO calendars (user_id, timezone, created_at, updated_at) VALUES (?, 'UTC', ?, ?)",
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, userIds[i]);
+                    ps.setTimestamp(2, timestamp);
+                    ps.setTimestamp(3, timestamp);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return userIds.length;
+                }
+            });
+        return ids;
+    }
+}
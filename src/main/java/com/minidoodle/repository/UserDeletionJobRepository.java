@@ -0,0 +1,66 @@
+package com.minidoodle.repository;
+
+import com.minidoodle.domain.DeletionStatus;
+import com.minidoodle.domain.UserDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserDeletionJobRepository extends JpaRepository<UserDeletionJob, Long> {
+
+    /**
+     * Find the ids of jobs {@link #claim} would take at {@code now}, oldest first
+     */
+    @Query("SELECT j.id FROM UserDeletionJob j WHERE j.status = :pending " +
+           "OR (j.status = :failed AND (j.retryAt IS NULL OR j.retryAt <= :now)) " +
+           "OR (j.status = :running AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)) " +
+           "ORDER BY j.id")
+    List<Long> findClaimableIds(
+        @Param("pending") DeletionStatus pending,
+        @Param("failed") DeletionStatus failed,
+        @Param("running") DeletionStatus running,
+        @Param("now") LocalDateTime now);
+
+    /**
+     * Mark the job RUNNING for {@code owner} if it is claimable: PENDING, FAILED with its
+     * retry time passed, or RUNNING with an expired lease. The single UPDATE makes the
+     * claim atomic, so only one instance runs a job.
+     *
+     * @return 1 if the job was claimed, 0 if it is done, waiting to be retried or held by another instance
+     */
+    @Modifying
+    @Query("UPDATE UserDeletionJob j SET j.status = :running, j.owner = :owner, j.leaseExpiresAt = :leaseExpiresAt, " +
+           "j.error = NULL, j.updatedAt = :now " +
+           "WHERE j.id = :id AND (j.status = :pending " +
+           "OR (j.status = :failed AND (j.retryAt IS NULL OR j.retryAt <= :now)) " +
+           "OR (j.status = :running AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)))")
+    int claim(
+        @Param("id") Long id,
+        @Param("owner") String owner,
+        @Param("pending") DeletionStatus pending,
+        @Param("failed") DeletionStatus failed,
+        @Param("running") DeletionStatus running,
+        @Param("now") LocalDateTime now,
+        @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    /**
+     * Extend the lease of a RUNNING job held by {@code owner}. The row stays locked
+     * until the caller commits, so no other instance can claim it in between.
+     *
+     * @return 1 if the lease was extended, 0 if the job is no longer held by {@code owner}
+     */
+    @Modifying
+    @Query("UPDATE UserDeletionJob j SET j.leaseExpiresAt = :leaseExpiresAt " +
+           "WHERE j.id = :id AND j.owner = :owner AND j.status = :running")
+    int renewLease(
+        @Param("id") Long id,
+        @Param("owner") String owner,
+        @Param("running") DeletionStatus running,
+        @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+}
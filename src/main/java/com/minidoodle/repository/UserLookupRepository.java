@@ -0,0 +1,22 @@
+package com.minidoodle.repository;
+
+import com.minidoodle.domain.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * User lookups that go through the Hibernate second-level cache: by the {@code email}
+ * natural id, and by a batch of ids.
+ */
+public interface UserLookupRepository {
+
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Load the users that exist among the given ids, serving cached ones from the
+     * second-level cache and fetching the rest in one query
+     */
+    List<User> loadAllById(Collection<Long> ids);
+}
@@ -0,0 +1,44 @@
+package com.minidoodle.repository;
+
+import com.minidoodle.domain.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * {@link Session#bySimpleNaturalId} resolves email to id through the natural-id cache
+ * region and {@link Session#byMultipleIds} checks the entity region before querying,
+ * which derived JPQL queries such as {@code findAllById} never do.
+ */
+@Transactional(readOnly = true)
+public class UserLookupRepositoryImpl implements UserLookupRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(User.class)
+            .loadOptional(email);
+    }
+
+    @Override
+    public List<User> loadAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<User> users = entityManager.unwrap(Session.class)
+            .byMultipleIds(User.class)
+            .multiLoad(new ArrayList<>(ids));
+        // Missing and deleted users come back as nulls
+        return users.stream().filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,156 @@
+package com.minidoodle.repository;
+
+import com.minidoodle.domain.Calendar;
+import com.minidoodle.domain.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based deletes for purging a deleted user's data without loading entities.
+ * Each {@code delete...} method removes at most {@code limit} rows of its kind (plus
+ * their dependent rows) and returns how many it removed, so callers can run them in
+ * bounded chunks until a call removes fewer than {@code limit}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserPurgeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Find the id of the user's calendar, or null if it is already gone
+     */
+    public Long findCalendarId(Long userId) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM calendars WHERE user_id = ?", Long.class, userId);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    /**
+     * Delete votes the user cast and take them off the options' tallies. Votes are
+     * deleted one statement each, and only those a statement actually removed are taken
+     * off, so a vote deleted concurrently (by a poll deletion, or another purge) is not
+     * subtracted twice.
+     */
+    public int deleteVotesByUser(Long userId, int limit) {
+        List<Map<String, Object>> votes = jdbcTemplate.queryForList(
+            "SELECT id, poll_option_id FROM poll_votes WHERE user_id = ? LIMIT ?", userId, limit);
+        if (votes.isEmpty()) {
+            return 0;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate("DELETE FROM poll_votes WHERE id = ?", votes, votes.size(),
+            (ps, vote) -> ps.setLong(1, toLong(vote.get("id"))));
+
+        Map<Long, Long> votesPerOption = new HashMap<>();
+        int deleted = 0;
+        for (int i = 0; i < votes.size(); i++) {
+            if (counts[0][i] > 0) {
+                votesPerOption.merge(toLong(votes.get(i).get("poll_option_id")), 1L, Long::sum);
+                deleted++;
+            }
+        }
+        if (!votesPerOption.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "UPDATE poll_options SET vote_count = vote_count - ? WHERE id = ?",
+                List.copyOf(votesPerOption.entrySet()),
+                votesPerOption.size(),
+                (ps, entry) -> {
+                    ps.setLong(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+        }
+        return deleted;
+    }
+
+    /**
+     * Remove the user from meetings they attend
+     */
+    public int deleteParticipations(Long userId, int limit) {
+        List<Long> meetingIds = jdbcTemplate.queryForList(
+            "SELECT meeting_id FROM meeting_participants WHERE user_id = ? LIMIT ?", Long.class, userId, limit);
+        if (meetingIds.isEmpty()) {
+            return 0;
+        }
+        return namedParameterJdbcTemplate.update(
+            "DELETE FROM meeting_participants WHERE user_id = :userId AND meeting_id IN (:meetingIds)",
+            new MapSqlParameterSource("userId", userId).addValue("meetingIds", meetingIds));
+    }
+
+    /**
+     * Delete polls the user organized, with their options and votes
+     */
+    public int deletePollsByOrganizer(Long userId, int limit) {
+        List<Long> pollIds = jdbcTemplate.queryForList(
+            "SELECT id FROM polls WHERE organizer_id = ? LIMIT ?", Long.class, userId, limit);
+        if (pollIds.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("pollIds", pollIds);
+        namedParameterJdbcTemplate.update(
+            "DELETE FROM poll_votes WHERE poll_option_id IN " +
+            "(SELECT o.id FROM poll_options o WHERE o.poll_id IN (:pollIds))", params);
+        namedParameterJdbcTemplate.update("DELETE FROM poll_options WHERE poll_id IN (:pollIds)", params);
+        return deleteByIds("polls", "id", pollIds);
+    }
+
+    /**
+     * Delete meetings booked on the calendar's slots, with their participants
+     */
+    public int deleteMeetingsByCalendar(Long calendarId, int limit) {
+        List<Long> meetingIds = jdbcTemplate.queryForList(
+            "SELECT m.id FROM meetings m JOIN time_slots ts ON ts.id = m.time_slot_id " +
+            "WHERE ts.calendar_id = ? LIMIT ?", Long.class, calendarId, limit);
+        if (meetingIds.isEmpty()) {
+            return 0;
+        }
+        deleteByIds("meeting_participants", "meeting_id", meetingIds);
+        return deleteByIds("meetings", "id", meetingIds);
+    }
+
+    /**
+     * Delete the calendar's time slots
+     */
+    public int deleteSlotsByCalendar(Long calendarId, int limit) {
+        List<Long> slotIds = jdbcTemplate.queryForList(
+            "SELECT id FROM time_slots WHERE calendar_id = ? LIMIT ?", Long.class, calendarId, limit);
+        if (slotIds.isEmpty()) {
+            return 0;
+        }
+        return deleteByIds("time_slots", "id", slotIds);
+    }
+
+    /**
+     * Delete the user's calendar and the user row itself, and evict both from the
+     * second-level cache, which JDBC deletes bypass
+     */
+    public void deleteCalendarAndUser(Long userId) {
+        Long calendarId = findCalendarId(userId);
+        jdbcTemplate.update("DELETE FROM calendars WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+
+        Cache cache = entityManagerFactory.getCache();
+        if (calendarId != null) {
+            cache.evict(Calendar.class, calendarId);
+        }
+        cache.evict(User.class, userId);
+    }
+
+    private int deleteByIds(String table, String column, List<Long> ids) {
+        return namedParameterJdbcTemplate.update(
+            "DELETE FROM " + table + " WHERE " + column + " IN (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+
+    private static Long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+}
@@ -1,15 +1,82 @@
 package com.minidoodle.repository;
 
 import com.minidoodle.domain.User;
+import com.minidoodle.dto.UserDTO;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-@Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
-    Optional<User> findByEmail(String email);
+@Repository
+public interface UserRepository extends JpaRepository<User, Long>, UserLookupRepository {
 
     boolean existsByEmail(String email);
+
+    /**
+     * Find a user that is not deleted and lock the row, so concurrent deletions of the
+     * same user are serialized and only the first finds it
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Find a page of users after the given id, optionally filtered by name/email prefix patterns.
+     * Projects straight into DTOs so no entities enter the persistence context.
+     */
+    @Query("SELECT new com.minidoodle.dto.UserDTO(u.id, u.name, u.email, u.createdAt, u.updatedAt) " +
+           "FROM User u WHERE u.id > :afterId " +
+           "AND (:namePattern IS NULL OR u.name LIKE :namePattern ESCAPE '\\') " +
+           "AND (:emailPattern IS NULL OR u.email LIKE :emailPattern ESCAPE '\\') " +
+           "ORDER BY u.id")
+    List<UserDTO> findPageAfterId(
+        @Param("afterId") Long afterId,
+        @Param("namePattern") String namePattern,
+        @Param("emailPattern") String emailPattern,
+        Pageable pageable
+    );
+
+    /**
+     * Stream all users in id order, optionally filtered by name/email prefix patterns.
+     * Must be consumed inside a transaction; rows are fetched from the cursor in batches.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.minidoodle.dto.UserDTO(u.id, u.name, u.email, u.createdAt, u.updatedAt) " +
+           "FROM User u WHERE (:namePattern IS NULL OR u.name LIKE :namePattern ESCAPE '\\') " +
+           "AND (:emailPattern IS NULL OR u.email LIKE :emailPattern ESCAPE '\\') " +
+           "ORDER BY u.id")
+    Stream<UserDTO> streamAll(
+        @Param("namePattern") String namePattern,
+        @Param("emailPattern") String emailPattern
+    );
+
+    /**
+     * Stream every user email, for warming the in-memory email index
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamAllEmails();
+
+    /**
+     * Find which of the given emails are already taken
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
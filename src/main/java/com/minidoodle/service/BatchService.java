@@ -0,0 +1,456 @@
+package com.minidoodle.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minidoodle.bulkhead.BulkheadRegistry;
+import com.minidoodle.bulkhead.BulkheadType;
+import com.minidoodle.config.ReadYourWritesContext;
+import com.minidoodle.dto.BatchOperation;
+import com.minidoodle.dto.BatchOperationResult;
+import com.minidoodle.dto.BatchRequest;
+import com.minidoodle.dto.BatchResponse;
+import com.minidoodle.dto.CreateMeetingRequest;
+import com.minidoodle.dto.CreateTimeSlotRequest;
+import com.minidoodle.dto.UserDTO;
+import com.minidoodle.exception.BusinessException;
+import com.minidoodle.exception.ErrorCode;
+import com.minidoodle.exception.ErrorResponse;
+import com.minidoodle.exception.GlobalExceptionHandler;
+import com.minidoodle.exception.ResourceNotFoundException;
+import com.minidoodle.ratelimit.EndpointClass;
+import com.minidoodle.ratelimit.RateLimitRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs several API operations from one request against the services, using a route
+ * table that mirrors the controllers. Read-only batches run in parallel on a bounded
+ * executor, one read-only transaction per operation. Batches with a write run in
+ * order so later operations see earlier ones, either each in its own transaction or,
+ * when atomic, all in one. Failures are reported per operation with the status and
+ * body the endpoint itself would have returned.
+ * <p>
+ * Each operation is charged to the rate limit of the endpoint it targets and holds
+ * that endpoint's bulkhead permit while it runs, so a batch costs what the same
+ * requests sent one by one would.
+ */
+@Service
+@Slf4j
+public class BatchService {
+
+    private static final String API_PREFIX = "/api/v1";
+
+    private final UserService userService;
+    private final TimeSlotService timeSlotService;
+    private final MeetingService meetingService;
+    private final GlobalExceptionHandler globalExceptionHandler;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final RateLimitRegistry rateLimitRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final int maxOperations;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor readExecutor;
+    private final ExceptionHandlerMethodResolver exceptionHandlers =
+        new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class);
+    private final List<Route> routes;
+
+    public BatchService(
+        UserService userService,
+        TimeSlotService timeSlotService,
+        MeetingService meetingService,
+        GlobalExceptionHandler globalExceptionHandler,
+        ObjectMapper objectMapper,
+        Validator validator,
+        TransactionTemplate transactionTemplate,
+        RateLimitRegistry rateLimitRegistry,
+        BulkheadRegistry bulkheadRegistry,
+        @Value("${minidoodle.batch.max-operations:50}") int maxOperations,
+        @Value("${minidoodle.batch.parallelism:4}") int parallelism,
+        @Value("${minidoodle.batch.timeout-ms:10000}") long timeoutMs
+    ) {
+        this.userService = userService;
+        this.timeSlotService = timeSlotService;
+        this.meetingService = meetingService;
+        this.globalExceptionHandler = globalExceptionHandler;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.rateLimitRegistry = rateLimitRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.maxOperations = maxOperations;
+        this.timeoutMs = timeoutMs;
+        // Shared by all batches, so batched reads never hold more than parallelism connections;
+        // when the queue is full the request thread runs the read itself
+        this.readExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(parallelism * 64), new CustomizableThreadFactory("batch-read-"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        this.routes = routes();
+    }
+
+    /**
+     * @param caller rate limit key of the client sending the batch
+     */
+    public BatchResponse execute(BatchRequest request, String caller) {
+        List<BatchOperation> operations = request.getOperations();
+        if (operations.size() > maxOperations) {
+            throw new BusinessException("A batch can hold at most " + maxOperations + " operations");
+        }
+        List<Bound> bound = operations.stream().map(operation -> charge(bind(operation), caller)).toList();
+        boolean hasWrites = bound.stream().anyMatch(b -> b.route() != null && b.route().write());
+        log.debug("Running batch of {} operations (writes: {}, atomic: {})", operations.size(), hasWrites, request.isAtomic());
+
+        BatchOperationResult[] results;
+        if (request.isAtomic()) {
+            results = runAtomically(bound);
+        } else if (hasWrites) {
+            results = bound.stream().map(this::run).toArray(BatchOperationResult[]::new);
+        } else {
+            results = runInParallel(bound);
+        }
+        return BatchResponse.builder().results(Arrays.asList(results)).build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        readExecutor.shutdown();
+    }
+
+    /**
+     * Runs the reads on the read executor. Their threads do not have the request's
+     * read-your-writes state, so a batch from a client pinned to the primary carries
+     * the pin over to every read
+     */
+    private BatchOperationResult[] runInParallel(List<Bound> bound) {
+        boolean pinned = ReadYourWritesContext.isPinned();
+        List<CompletableFuture<BatchOperationResult>> futures = bound.stream()
+            .map(b -> CompletableFuture.supplyAsync(() -> {
+                ReadYourWritesContext.begin(pinned);
+                try {
+                    return run(b);
+                } finally {
+                    ReadYourWritesContext.end();
+                }
+            }, readExecutor))
+            .toList();
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.warn("Batch reads did not finish within {} ms", timeoutMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            // run() reports failures as results; nothing completes exceptionally
+        }
+
+        BatchOperationResult[] results = new BatchOperationResult[bound.size()];
+        for (int i = 0; i < results.length; i++) {
+            BatchOperationResult result = futures.get(i).getNow(null);
+            results[i] = result != null ? result
+                : result(bound.get(i).operation(), ErrorCode.BATCH_OPERATION_TIMEOUT, "Operation did not finish in time");
+        }
+        return results;
+    }
+
+    private BatchOperationResult[] runAtomically(List<Bound> bound) {
+        BatchOperationResult[] results = new BatchOperationResult[bound.size()];
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < bound.size(); i++) {
+                results[i] = run(bound.get(i));
+                if (results[i].getStatus() >= 400) {
+                    status.setRollbackOnly();
+                    for (int j = 0; j < results.length; j++) {
+                        if (j != i) {
+                            results[j] = result(bound.get(j).operation(), ErrorCode.BATCH_ROLLED_BACK,
+                                (j < i ? "Rolled back" : "Not run") + " because operation " + (i + 1) + " failed");
+                        }
+                    }
+                    return;
+                }
+            }
+        });
+        return results;
+    }
+
+    private BatchOperationResult run(Bound bound) {
+        BatchOperation operation = bound.operation();
+        if (bound.rejection() != null) {
+            return bound.rejection();
+        }
+        BulkheadType bulkhead = bound.route() != null ? bound.route().bulkhead() : null;
+        boolean acquired = false;
+        try {
+            if (bound.route() == null) {
+                throw new ResourceNotFoundException("No batch route for " + operation.getMethod() + " " + operation.getPath());
+            }
+            if (bulkhead != null) {
+                bulkheadRegistry.acquire(bulkhead);
+                acquired = true;
+            }
+            Object body = bound.route().handler().apply(bound.call());
+            return BatchOperationResult.builder()
+                .id(operation.getId())
+                .status(bound.route().status().value())
+                .body(body)
+                .build();
+        } catch (RuntimeException ex) {
+            return failure(operation, ex);
+        } finally {
+            if (acquired) {
+                bulkheadRegistry.release(bulkhead);
+            }
+        }
+    }
+
+    /**
+     * Takes a token from the caller's limiter for the endpoint class the operation
+     * targets, as {@code RateLimitFilter} would for the same request sent on its own
+     */
+    private Bound charge(Bound bound, String caller) {
+        if (bound.rejection() != null) {
+            return bound;
+        }
+        EndpointClass endpointClass = EndpointClass.of(bound.method().name(), API_PREFIX + bound.path());
+        long waitNanos = rateLimitRegistry.tryAcquire(endpointClass, caller);
+        if (waitNanos == 0) {
+            return bound;
+        }
+        return bound.rejected(result(bound.operation(), ErrorCode.RATE_LIMITED, "Rate limit exceeded for "
+            + endpointClass.key() + " requests, retry after " + RateLimitRegistry.retryAfterSeconds(waitNanos) + " s"));
+    }
+
+    /**
+     * Maps the exception the way the controllers would, through {@link GlobalExceptionHandler}
+     */
+    private BatchOperationResult failure(BatchOperation operation, RuntimeException ex) {
+        Method handler = exceptionHandlers.resolveMethod(ex);
+        if (handler != null) {
+            try {
+                ResponseEntity<?> response = (ResponseEntity<?>) handler.invoke(globalExceptionHandler, ex);
+                return BatchOperationResult.builder()
+                    .id(operation.getId())
+                    .status(response.getStatusCode().value())
+                    .body(response.getBody())
+                    .build();
+            } catch (IllegalAccessException | InvocationTargetException reflectionFailure) {
+                log.error("Could not map batch operation failure", reflectionFailure);
+            }
+        }
+        return result(operation, ErrorCode.INTERNAL_ERROR, "An unexpected error occurred");
+    }
+
+    private static BatchOperationResult result(BatchOperation operation, ErrorCode code, String message) {
+        HttpStatus status = code.getStatus();
+        ErrorResponse error = ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(status.value())
+            .error(status.getReasonPhrase())
+            .code(code)
+            .message(message)
+            .build();
+        return BatchOperationResult.builder().id(operation.getId()).status(status.value()).body(error).build();
+    }
+
+    private Bound bind(BatchOperation operation) {
+        UriComponents uri;
+        HttpMethod method;
+        try {
+            uri = UriComponentsBuilder.fromUriString(operation.getPath()).build();
+            method = HttpMethod.valueOf(operation.getMethod().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return new Bound(operation, null, null, null, null, result(operation, ErrorCode.INVALID_REQUEST,
+                "Invalid operation: " + operation.getMethod() + " " + operation.getPath()));
+        }
+        String path = uri.getPath() != null ? uri.getPath() : "";
+        if (path.startsWith(API_PREFIX + "/")) {
+            path = path.substring(API_PREFIX.length());
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (Route route : routes) {
+            if (route.method().equals(method)) {
+                PathPattern.PathMatchInfo match = route.pattern().matchAndExtract(pathContainer);
+                if (match != null) {
+                    return new Bound(operation, method, path, route,
+                        new Call(match.getUriVariables(), uri.getQueryParams(), operation.getBody()), null);
+                }
+            }
+        }
+        return new Bound(operation, method, path, null, null, null);
+    }
+
+    private List<Route> routes() {
+        List<Route> table = new ArrayList<>();
+        // Users
+        table.add(read("/users/{id}", call -> userService.getUserById(call.id("id"))));
+        table.add(read("/users/email/{email}", call -> userService.getUserByEmail(call.variable("email"))));
+        table.add(write(HttpMethod.POST, "/users", HttpStatus.CREATED, null,
+            call -> userService.createUser(call.body(UserDTO.class))));
+        table.add(write(HttpMethod.PUT, "/users/{id}", HttpStatus.OK, null,
+            call -> userService.updateUser(call.id("id"), call.body(UserDTO.class))));
+        // Time slots
+        table.add(read("/timeslots/{id}", call -> timeSlotService.getTimeSlot(call.id("id"))));
+        table.add(read("/timeslots/users/{userId}", call -> timeSlotService.getSlotsByUserAndTimeRange(
+            call.id("userId"), call.dateTime("startTime"), call.dateTime("endTime"))));
+        table.add(read("/timeslots/users/{userId}/availability", call -> timeSlotService.getAvailability(
+            call.id("userId"), call.dateTime("startTime"), call.dateTime("endTime"))));
+        table.add(write(HttpMethod.POST, "/timeslots/users/{userId}", HttpStatus.CREATED, BulkheadType.SLOTS,
+            call -> timeSlotService.createTimeSlot(call.id("userId"), call.body(CreateTimeSlotRequest.class))));
+        table.add(write(HttpMethod.PUT, "/timeslots/{id}", HttpStatus.OK, BulkheadType.SLOTS,
+            call -> timeSlotService.updateTimeSlot(call.id("id"), call.body(CreateTimeSlotRequest.class))));
+        table.add(write(HttpMethod.DELETE, "/timeslots/{id}", HttpStatus.NO_CONTENT, BulkheadType.SLOTS, call -> {
+            timeSlotService.deleteTimeSlot(call.id("id"));
+            return null;
+        }));
+        table.add(write(HttpMethod.PATCH, "/timeslots/{id}/mark-busy", HttpStatus.OK, BulkheadType.SLOTS,
+            call -> timeSlotService.markSlotAsBusy(call.id("id"))));
+        table.add(write(HttpMethod.PATCH, "/timeslots/{id}/mark-free", HttpStatus.OK, BulkheadType.SLOTS,
+            call -> timeSlotService.markSlotAsFree(call.id("id"))));
+        // Meetings
+        table.add(read("/meetings/{id}", call -> meetingService.getMeeting(call.id("id"))));
+        table.add(read("/meetings/users/{userId}", call -> meetingService.getMeetingsByUser(
+            call.id("userId"), call.dateTime("startTime"), call.dateTime("endTime"))));
+        table.add(read("/meetings/users/{userId}/owned", call -> meetingService.getMeetingsByOwner(
+            call.id("userId"), call.dateTime("startTime"), call.dateTime("endTime"))));
+        table.add(write(HttpMethod.POST, "/meetings", HttpStatus.CREATED, BulkheadType.BOOKING,
+            call -> meetingService.createMeeting(call.body(CreateMeetingRequest.class))));
+        table.add(write(HttpMethod.PUT, "/meetings/{id}", HttpStatus.OK, BulkheadType.BOOKING,
+            call -> meetingService.updateMeeting(call.id("id"), call.body(CreateMeetingRequest.class))));
+        table.add(write(HttpMethod.DELETE, "/meetings/{id}", HttpStatus.NO_CONTENT, BulkheadType.BOOKING, call -> {
+            meetingService.cancelMeeting(call.id("id"));
+            return null;
+        }));
+        table.add(write(HttpMethod.POST, "/meetings/{meetingId}/participants/{userId}", HttpStatus.OK, BulkheadType.BOOKING,
+            call -> meetingService.addParticipant(call.id("meetingId"), call.id("userId"))));
+        table.add(write(HttpMethod.DELETE, "/meetings/{meetingId}/participants/{userId}", HttpStatus.OK, BulkheadType.BOOKING,
+            call -> meetingService.removeParticipant(call.id("meetingId"), call.id("userId"))));
+        return List.copyOf(table);
+    }
+
+    private static Route read(String pattern, Function<Call, Object> handler) {
+        return new Route(HttpMethod.GET, PathPatternParser.defaultInstance.parse(pattern), false, HttpStatus.OK,
+            BulkheadType.READS, handler);
+    }
+
+    /**
+     * @param bulkhead the bulkhead the matching controller endpoint runs under, or null for none
+     */
+    private static Route write(HttpMethod method, String pattern, HttpStatus status, BulkheadType bulkhead,
+                               Function<Call, Object> handler) {
+        return new Route(method, PathPatternParser.defaultInstance.parse(pattern), true, status, bulkhead, handler);
+    }
+
+    private record Route(HttpMethod method, PathPattern pattern, boolean write, HttpStatus status, BulkheadType bulkhead,
+                         Function<Call, Object> handler) {
+    }
+
+    /**
+     * An operation matched to its route; {@code rejection} is set when it was refused
+     * before running (malformed, or over the rate limit)
+     */
+    private record Bound(BatchOperation operation, HttpMethod method, String path, Route route, Call call,
+                         BatchOperationResult rejection) {
+
+        Bound rejected(BatchOperationResult result) {
+            return new Bound(operation, method, path, route, call, result);
+        }
+    }
+
+    /**
+     * Arguments of one operation: path variables, query parameters and body
+     */
+    private final class Call {
+
+        private final Map<String, String> variables;
+        private final MultiValueMap<String, String> query;
+        private final JsonNode body;
+
+        Call(Map<String, String> variables, MultiValueMap<String, String> query, JsonNode body) {
+            this.variables = variables;
+            this.query = query;
+            this.body = body;
+        }
+
+        String variable(String name) {
+            return variables.get(name);
+        }
+
+        Long id(String name) {
+            try {
+                return Long.valueOf(variables.get(name));
+            } catch (NumberFormatException ex) {
+                throw new BusinessException(ErrorCode.INVALID_REQUEST, "Invalid " + name + ": " + variables.get(name));
+            }
+        }
+
+        LocalDateTime dateTime(String name) {
+            String value = query.getFirst(name);
+            if (value == null) {
+                throw new BusinessException(ErrorCode.INVALID_REQUEST, "Missing query parameter " + name);
+            }
+            try {
+                return LocalDateTime.parse(UriUtils.decode(value, StandardCharsets.UTF_8));
+            } catch (DateTimeParseException ex) {
+                throw new BusinessException(ErrorCode.INVALID_REQUEST, "Invalid " + name + ": " + value);
+            }
+        }
+
+        <T> T body(Class<T> type) {
+            if (body == null || body.isNull()) {
+                throw new BusinessException(ErrorCode.INVALID_REQUEST, "Request body is required");
+            }
+            T value;
+            try {
+                value = objectMapper.treeToValue(body, type);
+            } catch (JsonProcessingException | IllegalArgumentException ex) {
+                throw new BusinessException(ErrorCode.INVALID_REQUEST, "Malformed request body");
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(value);
+            if (!violations.isEmpty()) {
+                throw new BusinessException(ErrorCode.INVALID_REQUEST, "Invalid input: " + violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            }
+            return value;
+        }
+    }
+}
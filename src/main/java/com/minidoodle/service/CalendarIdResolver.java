@@ -0,0 +1,60 @@
+package com.minidoodle.service;
+
+import com.minidoodle.event.UserDeletionRequestedEvent;
+import com.minidoodle.exception.ErrorCode;
+import com.minidoodle.exception.ResourceNotFoundException;
+import com.minidoodle.repository.CalendarRepository;
+import com.minidoodle.util.ConcurrentLongLongMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Resolves a user's calendar id without a query after the first lookup. A user's
+ * calendar is created with the user and never reassigned, so an entry can only go
+ * stale when the user is deleted. That makes the cache safe per instance with no
+ * shared store: the instance handling the deletion drops its entry after commit,
+ * and elsewhere a stale entry points at a calendar that is being purged, so reads
+ * come back empty and writes find no calendar row to lock, after which callers
+ * {@link #invalidate} it.
+ */
+@Component
+public class CalendarIdResolver {
+
+    private static final long MISSING = -1L;
+
+    private final CalendarRepository calendarRepository;
+    private final ConcurrentLongLongMap calendarIds;
+
+    public CalendarIdResolver(
+        CalendarRepository calendarRepository,
+        @Value("${minidoodle.user.calendar-id-cache.max-entries:1000000}") int maxEntries
+    ) {
+        this.calendarRepository = calendarRepository;
+        this.calendarIds = new ConcurrentLongLongMap(Runtime.getRuntime().availableProcessors() * 4, maxEntries);
+    }
+
+    /**
+     * Returns the calendar id of a user that has not been deleted
+     */
+    public Long resolve(Long userId) {
+        long calendarId = calendarIds.get(userId, MISSING);
+        if (calendarId != MISSING) {
+            return calendarId;
+        }
+        Long loaded = calendarRepository.findIdByUserId(userId)
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.CALENDAR_NOT_FOUND, "Calendar not found for user: " + userId));
+        calendarIds.put(userId, loaded);
+        return loaded;
+    }
+
+    public void invalidate(Long userId) {
+        calendarIds.remove(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserDeleted(UserDeletionRequestedEvent event) {
+        invalidate(event.userId());
+    }
+}
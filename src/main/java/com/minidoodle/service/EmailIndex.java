@@ -0,0 +1,95 @@
+package com.minidoodle.service;
+
+import com.minidoodle.repository.UserRepository;
+import com.minidoodle.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory membership index of user emails, so duplicate checks can skip the
+ * database for emails that are definitely new. Backed by a Bloom filter warmed from
+ * the users table in the background after startup; until warm-up finishes, and when
+ * disabled, every email counts as possibly taken.
+ *
+ * <p>The index only ever answers "definitely new" or "maybe taken". Emails freed by
+ * updates or deletes stay in the filter and cost one extra query. Users created by
+ * other instances are not seen here, so the unique index on users.email remains the
+ * source of truth for collisions.
+ */
+@Component
+@Slf4j
+public class EmailIndex {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final BloomFilter filter;
+
+    private volatile boolean ready;
+
+    public EmailIndex(
+        UserRepository userRepository,
+        TransactionTemplate transactionTemplate,
+        @Value("${minidoodle.user.email-index.enabled:true}") boolean enabled,
+        @Value("${minidoodle.user.email-index.expected-insertions:1000000}") long expectedInsertions,
+        @Value("${minidoodle.user.email-index.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.filter = enabled ? BloomFilter.create(expectedInsertions, falsePositiveRate) : null;
+        if (enabled) {
+            log.info("Email index sized for {} emails at {} false positives: {} KB, {} hash functions",
+                expectedInsertions, falsePositiveRate, filter.bitSize() / 8 / 1024, filter.hashFunctions());
+        }
+    }
+
+    /**
+     * False only when no user can have this email.
+     */
+    public boolean mightContain(String email) {
+        return !ready || filter.mightContain(email);
+    }
+
+    public void add(String email) {
+        if (enabled) {
+            filter.put(email);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        Thread warmer = new Thread(this::loadExistingEmails, "email-index-warmup");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    private void loadExistingEmails() {
+        long started = System.nanoTime();
+        AtomicLong count = new AtomicLong();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    emails.forEach(email -> {
+                        filter.put(email);
+                        count.incrementAndGet();
+                    });
+                }
+            });
+            ready = true;
+            log.info("Email index warmed with {} emails in {} ms", count.get(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.warn("Email index warm-up failed, duplicate checks will keep using the database", ex);
+        }
+    }
+}
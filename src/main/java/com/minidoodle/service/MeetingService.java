@@ -4,61 +4,92 @@ import com.minidoodle.domain.Meeting;
 import com.minidoodle.domain.SlotStatus;
 import com.minidoodle.domain.TimeSlot;
 import com.minidoodle.domain.User;
+import com.minidoodle.dto.BulkOperationResult;
+import com.minidoodle.dto.ConflictPolicy;
 import com.minidoodle.dto.CreateMeetingRequest;
 import com.minidoodle.dto.MeetingDTO;
+import com.minidoodle.dto.MeetingSearchResponse;
 import com.minidoodle.dto.UserDTO;
+import com.minidoodle.event.BulkChangeEvent;
 import com.minidoodle.exception.BusinessException;
+import com.minidoodle.exception.ErrorCode;
 import com.minidoodle.exception.ResourceNotFoundException;
+import com.minidoodle.exception.SlotConflictException;
+import com.minidoodle.metrics.BookingMetrics;
+import com.minidoodle.metrics.BookingMetrics.BookingOutcome;
+import com.minidoodle.metrics.BookingMetrics.Lock;
+import com.minidoodle.metrics.Measured;
 import com.minidoodle.repository.MeetingRepository;
+import com.minidoodle.repository.MeetingSearchRepository.SearchHit;
 import com.minidoodle.repository.TimeSlotRepository;
 import com.minidoodle.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Measured("meetings")
 @RequiredArgsConstructor
 @Slf4j
 public class MeetingService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     private final MeetingRepository meetingRepository;
     private final TimeSlotRepository timeSlotRepository;
     private final UserRepository userRepository;
+    private final CalendarIdResolver calendarIdResolver;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingMetrics bookingMetrics;
+
+    @Value("${minidoodle.bulk.chunk-size:500}")
+    private int bulkChunkSize = 500;
 
     @Transactional
     public MeetingDTO createMeeting(CreateMeetingRequest request) {
-        log.info("Creating meeting for time slot: {}", request.getTimeSlotId());
+        log.debug("Creating meeting for time slot: {}", request.getTimeSlotId());
 
         // Use pessimistic lock to prevent concurrent booking
-        TimeSlot timeSlot = timeSlotRepository.findByIdWithLock(request.getTimeSlotId())
-            .orElseThrow(() -> new ResourceNotFoundException("Time slot not found with id: " + request.getTimeSlotId()));
+        TimeSlot timeSlot = bookingMetrics.lock(Lock.SLOT, () -> timeSlotRepository.findByIdWithLock(request.getTimeSlotId()))
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.TIME_SLOT_NOT_FOUND, "Time slot not found with id: " + request.getTimeSlotId()));
 
         // Validate time slot is available
         if (timeSlot.getStatus() != SlotStatus.FREE) {
-            throw new BusinessException("Time slot is not available for booking");
+            bookingMetrics.booking(BookingOutcome.SLOT_TAKEN);
+            throw BusinessException.SLOT_NOT_AVAILABLE;
         }
 
         // Check if meeting already exists for this slot
         if (meetingRepository.findByTimeSlotId(timeSlot.getId()).isPresent()) {
-            throw new BusinessException("Meeting already exists for this time slot");
+            bookingMetrics.booking(BookingOutcome.SLOT_TAKEN);
+            throw BusinessException.MEETING_ALREADY_EXISTS;
         }
 
         // Load participants
         Set<User> participants = new HashSet<>();
         if (request.getParticipantIds() != null && !request.getParticipantIds().isEmpty()) {
-            participants = request.getParticipantIds().stream()
-                .map(id -> userRepository.findById(id)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id)))
-                .collect(Collectors.toSet());
+            participants = loadParticipants(request.getParticipantIds());
         }
 
+        Set<Long> conflictingParticipantIds = checkParticipantConflicts(
+            timeSlot, request.getParticipantIds(), request.getConflictPolicy());
+
         // Create meeting
         Meeting meeting = Meeting.builder()
             .title(request.getTitle())
@@ -72,21 +103,25 @@ public class MeetingService {
         timeSlotRepository.save(timeSlot);
 
         Meeting savedMeeting = meetingRepository.save(meeting);
-        log.info("Created meeting with ID: {}", savedMeeting.getId());
+        log.debug("Created meeting with ID: {}", savedMeeting.getId());
+        bookingMetrics.booking(BookingOutcome.BOOKED);
+        bookingMetrics.participants(participants.size());
 
-        return mapToDTO(savedMeeting);
+        MeetingDTO created = mapToDTO(savedMeeting);
+        created.setConflictingParticipantIds(conflictingParticipantIds);
+        return created;
     }
 
     @Transactional(readOnly = true)
     public MeetingDTO getMeeting(Long id) {
         Meeting meeting = meetingRepository.findByIdWithParticipants(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Meeting not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.MEETING_NOT_FOUND, "Meeting not found with id: " + id));
         return mapToDTO(meeting);
     }
 
     @Transactional(readOnly = true)
     public List<MeetingDTO> getMeetingsByUser(Long userId, LocalDateTime startTime, LocalDateTime endTime) {
-        log.info("Getting meetings for user {} between {} and {}", userId, startTime, endTime);
+        log.debug("Getting meetings for user {} between {} and {}", userId, startTime, endTime);
 
         List<Meeting> meetings = meetingRepository.findByParticipantIdAndTimeRange(userId, startTime, endTime);
         return meetings.stream()
@@ -96,7 +131,7 @@ public class MeetingService {
 
     @Transactional(readOnly = true)
     public List<MeetingDTO> getMeetingsByOwner(Long userId, LocalDateTime startTime, LocalDateTime endTime) {
-        log.info("Getting meetings owned by user {} between {} and {}", userId, startTime, endTime);
+        log.debug("Getting meetings owned by user {} between {} and {}", userId, startTime, endTime);
 
         List<Meeting> meetings = meetingRepository.findByOwnerIdAndTimeRange(userId, startTime, endTime);
         return meetings.stream()
@@ -104,38 +139,74 @@ public class MeetingService {
             .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public MeetingSearchResponse searchMeetings(Long userId, String query, Double afterRank, Long afterId, int limit) {
+        log.debug("Searching meetings for user {} matching '{}'", userId, query);
+
+        if (query == null || query.isBlank()) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "Search query must not be blank");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_PAGE_SIZE));
+
+        // Fetch one extra hit to know whether another page exists
+        List<SearchHit> hits = meetingRepository.searchByUser(userId, query.trim(), afterRank, afterId, pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
+        }
+        if (hits.isEmpty()) {
+            return MeetingSearchResponse.builder().meetings(List.of()).build();
+        }
+
+        Map<Long, Meeting> meetingsById = meetingRepository
+            .findAllByIdWithParticipants(hits.stream().map(SearchHit::meetingId).toList())
+            .stream()
+            .collect(Collectors.toMap(Meeting::getId, Function.identity()));
+
+        // Keep the ranked order of the search hits
+        List<MeetingDTO> meetings = hits.stream()
+            .map(hit -> meetingsById.get(hit.meetingId()))
+            .filter(meeting -> meeting != null)
+            .map(this::mapToDTO)
+            .collect(Collectors.toList());
+
+        SearchHit last = hits.get(hits.size() - 1);
+        return MeetingSearchResponse.builder()
+            .meetings(meetings)
+            .nextAfterRank(hasMore ? last.rank() : null)
+            .nextAfterId(hasMore ? last.meetingId() : null)
+            .build();
+    }
+
     @Transactional
     public MeetingDTO updateMeeting(Long id, CreateMeetingRequest request) {
-        log.info("Updating meeting: {}", id);
+        log.debug("Updating meeting: {}", id);
 
         Meeting meeting = meetingRepository.findByIdWithParticipants(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Meeting not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.MEETING_NOT_FOUND, "Meeting not found with id: " + id));
 
         meeting.setTitle(request.getTitle());
         meeting.setDescription(request.getDescription());
 
         // Update participants if provided
         if (request.getParticipantIds() != null) {
-            Set<User> newParticipants = request.getParticipantIds().stream()
-                .map(userId -> userRepository.findById(userId)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId)))
-                .collect(Collectors.toSet());
+            Set<User> newParticipants = loadParticipants(request.getParticipantIds());
 
             meeting.getParticipants().clear();
             meeting.getParticipants().addAll(newParticipants);
         }
 
         Meeting updatedMeeting = meetingRepository.save(meeting);
-        log.info("Updated meeting with ID: {}", id);
+        log.debug("Updated meeting with ID: {}", id);
         return mapToDTO(updatedMeeting);
     }
 
     @Transactional
     public void cancelMeeting(Long id) {
-        log.info("Cancelling meeting: {}", id);
+        log.debug("Cancelling meeting: {}", id);
 
         Meeting meeting = meetingRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Meeting not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.MEETING_NOT_FOUND, "Meeting not found with id: " + id));
 
         // Free up the time slot
         TimeSlot timeSlot = meeting.getTimeSlot();
@@ -144,18 +215,58 @@ public class MeetingService {
 
         // Delete the meeting
         meetingRepository.delete(meeting);
-        log.info("Cancelled meeting with ID: {}", id);
+        log.debug("Cancelled meeting with ID: {}", id);
+    }
+
+    /**
+     * Cancels every meeting the user owns within the time range and frees their slots.
+     * Works in chunks of set-based statements, each chunk in its own transaction, and
+     * publishes one {@link BulkChangeEvent} per chunk.
+     */
+    public BulkOperationResult cancelMeetingsInRange(Long userId, LocalDateTime startTime, LocalDateTime endTime) {
+        log.debug("Cancelling meetings owned by user {} between {} and {}", userId, startTime, endTime);
+
+        Long calendarId = calendarIdResolver.resolve(userId);
+
+        int affected = 0;
+        int chunks = 0;
+        while (true) {
+            // Null when nothing is left to select
+            Integer cancelled = transactionTemplate.execute(status -> {
+                List<Object[]> rows = meetingRepository.findMeetingAndSlotIdsInRange(
+                    calendarId, startTime, endTime, PageRequest.of(0, bulkChunkSize));
+                if (rows.isEmpty()) {
+                    return null;
+                }
+                List<Long> meetingIds = rows.stream().map(row -> (Long) row[0]).toList();
+                List<Long> slotIds = rows.stream().map(row -> (Long) row[1]).toList();
+
+                meetingRepository.deleteParticipantsByMeetingIds(meetingIds);
+                int deleted = meetingRepository.deleteByIds(meetingIds);
+                timeSlotRepository.updateStatusByIds(slotIds, SlotStatus.FREE, LocalDateTime.now());
+                eventPublisher.publishEvent(new BulkChangeEvent(BulkChangeEvent.Type.MEETINGS_CANCELLED, userId, meetingIds));
+                return deleted;
+            });
+            if (cancelled == null) {
+                break;
+            }
+            affected += cancelled;
+            chunks++;
+        }
+
+        log.info("Cancelled {} meetings for user {} in {} chunks", affected, userId, chunks);
+        return BulkOperationResult.builder().affected(affected).chunks(chunks).build();
     }
 
     @Transactional
     public MeetingDTO addParticipant(Long meetingId, Long userId) {
-        log.info("Adding participant {} to meeting {}", userId, meetingId);
+        log.debug("Adding participant {} to meeting {}", userId, meetingId);
 
         Meeting meeting = meetingRepository.findByIdWithParticipants(meetingId)
-            .orElseThrow(() -> new ResourceNotFoundException("Meeting not found with id: " + meetingId));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.MEETING_NOT_FOUND, "Meeting not found with id: " + meetingId));
 
         User user = userRepository.findById(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, "User not found with id: " + userId));
 
         meeting.addParticipant(user);
         Meeting updatedMeeting = meetingRepository.save(meeting);
@@ -165,13 +276,13 @@ public class MeetingService {
 
     @Transactional
     public MeetingDTO removeParticipant(Long meetingId, Long userId) {
-        log.info("Removing participant {} from meeting {}", userId, meetingId);
+        log.debug("Removing participant {} from meeting {}", userId, meetingId);
 
         Meeting meeting = meetingRepository.findByIdWithParticipants(meetingId)
-            .orElseThrow(() -> new ResourceNotFoundException("Meeting not found with id: " + meetingId));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.MEETING_NOT_FOUND, "Meeting not found with id: " + meetingId));
 
         User user = userRepository.findById(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, "User not found with id: " + userId));
 
         meeting.removeParticipant(user);
         Meeting updatedMeeting = meetingRepository.save(meeting);
@@ -179,7 +290,45 @@ public class MeetingService {
         return mapToDTO(updatedMeeting);
     }
 
-    private MeetingDTO mapToDTO(Meeting meeting) {
+    private Set<User> loadParticipants(Collection<Long> participantIds) {
+        List<User> users = userRepository.loadAllById(participantIds);
+        if (users.size() != participantIds.size()) {
+            Set<Long> foundIds = users.stream().map(User::getId).collect(Collectors.toSet());
+            Long missingId = participantIds.stream()
+                .filter(id -> !foundIds.contains(id))
+                .findFirst()
+                .orElseThrow();
+            throw new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, "User not found with id: " + missingId);
+        }
+        return new HashSet<>(users);
+    }
+
+    /**
+     * Finds participants who already attend another meeting, or have a BUSY/BOOKED slot
+     * in their own calendar, overlapping the slot. Both lookups are single set-based
+     * queries regardless of participant count. Returns null when the check is skipped.
+     */
+    private Set<Long> checkParticipantConflicts(TimeSlot timeSlot, Set<Long> participantIds, ConflictPolicy policy) {
+        if (policy == null || policy == ConflictPolicy.IGNORE || participantIds == null || participantIds.isEmpty()) {
+            return null;
+        }
+
+        Set<Long> conflicting = new TreeSet<>(meetingRepository.findParticipantIdsWithOverlappingMeetings(
+            participantIds, timeSlot.getStartTime(), timeSlot.getEndTime()));
+        conflicting.addAll(timeSlotRepository.findUserIdsWithOverlappingBusySlots(
+            participantIds, timeSlot.getStartTime(), timeSlot.getEndTime(), timeSlot.getId()));
+
+        if (!conflicting.isEmpty()) {
+            log.debug("Participants {} are double-booked for time slot {}", conflicting, timeSlot.getId());
+            if (policy == ConflictPolicy.REJECT) {
+                bookingMetrics.booking(BookingOutcome.PARTICIPANT_CONFLICT);
+                throw new SlotConflictException(ErrorCode.PARTICIPANTS_DOUBLE_BOOKED, "Participants already booked at this time: " + conflicting);
+            }
+        }
+        return conflicting;
+    }
+
+    MeetingDTO mapToDTO(Meeting meeting) {
         Set<UserDTO> participantDTOs = meeting.getParticipants().stream()
             .map(user -> UserDTO.builder()
                 .id(user.getId())
@@ -0,0 +1,230 @@
+package com.minidoodle.service;
+
+import com.minidoodle.domain.Poll;
+import com.minidoodle.domain.PollOption;
+import com.minidoodle.domain.PollStatus;
+import com.minidoodle.domain.PollVote;
+import com.minidoodle.domain.SlotStatus;
+import com.minidoodle.domain.TimeSlot;
+import com.minidoodle.domain.User;
+import com.minidoodle.dto.CreateMeetingRequest;
+import com.minidoodle.dto.CreatePollRequest;
+import com.minidoodle.dto.MeetingDTO;
+import com.minidoodle.dto.PollDTO;
+import com.minidoodle.dto.PollOptionDTO;
+import com.minidoodle.dto.VoteRequest;
+import com.minidoodle.exception.BusinessException;
+import com.minidoodle.exception.ErrorCode;
+import com.minidoodle.exception.ResourceNotFoundException;
+import com.minidoodle.repository.PollOptionRepository;
+import com.minidoodle.repository.PollRepository;
+import com.minidoodle.repository.PollVoteRepository;
+import com.minidoodle.repository.TimeSlotRepository;
+import com.minidoodle.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PollService {
+
+    private final PollRepository pollRepository;
+    private final PollOptionRepository pollOptionRepository;
+    private final PollVoteRepository pollVoteRepository;
+    private final TimeSlotRepository timeSlotRepository;
+    private final UserRepository userRepository;
+    private final PollTallyService pollTallyService;
+    private final MeetingService meetingService;
+
+    @Transactional
+    public PollDTO createPoll(CreatePollRequest request) {
+        log.debug("Creating poll for organizer: {}", request.getOrganizerId());
+
+        User organizer = userRepository.findById(request.getOrganizerId())
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, "User not found with id: " + request.getOrganizerId()));
+
+        Set<Long> slotIds = new LinkedHashSet<>(request.getTimeSlotIds());
+        List<TimeSlot> slots = timeSlotRepository.findAllById(slotIds);
+        if (slots.size() != slotIds.size()) {
+            throw new ResourceNotFoundException(ErrorCode.TIME_SLOT_NOT_FOUND, "One or more time slots not found: " + slotIds);
+        }
+
+        Poll poll = Poll.builder()
+            .title(request.getTitle())
+            .description(request.getDescription())
+            .organizer(organizer)
+            .quorum(request.getQuorum())
+            .build();
+
+        slots.stream()
+            .sorted(Comparator.comparing(TimeSlot::getStartTime))
+            .forEach(slot -> {
+                if (!slot.getCalendar().getUser().getId().equals(organizer.getId())) {
+                    throw new BusinessException("Time slot " + slot.getId() + " does not belong to the organizer");
+                }
+                if (slot.getStatus() != SlotStatus.FREE) {
+                    throw new BusinessException(ErrorCode.SLOT_NOT_AVAILABLE, "Time slot " + slot.getId() + " is not available");
+                }
+                poll.addOption(PollOption.builder().timeSlot(slot).build());
+            });
+
+        Poll savedPoll = pollRepository.save(poll);
+        log.debug("Created poll with ID: {}", savedPoll.getId());
+        return mapToDTO(savedPoll);
+    }
+
+    @Transactional(readOnly = true)
+    public PollDTO getPoll(Long id) {
+        Poll poll = pollRepository.findByIdWithOptions(id)
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.POLL_NOT_FOUND, "Poll not found with id: " + id));
+        return mapToDTO(poll);
+    }
+
+    /**
+     * Records a user's votes. Each vote is its own poll_votes row, so concurrent voters
+     * never update the same row; tallies are advanced in memory and flushed in batches.
+     * The poll row is not locked. Finalization locks the options instead, which waits
+     * for votes already inserted and holds back new inserts until it commits; those see
+     * the poll closed when they re-check its status and roll back. Voting again for an
+     * option already chosen is a no-op.
+     */
+    @Transactional
+    public void vote(Long pollId, VoteRequest request) {
+        log.debug("User {} voting on poll {} for options {}", request.getUserId(), pollId, request.getOptionIds());
+
+        PollStatus status = pollRepository.findStatusById(pollId)
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.POLL_NOT_FOUND, "Poll not found with id: " + pollId));
+        if (status != PollStatus.OPEN) {
+            throw new BusinessException(ErrorCode.POLL_CLOSED, "Poll is no longer open for voting");
+        }
+
+        if (!userRepository.existsById(request.getUserId())) {
+            throw new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, "User not found with id: " + request.getUserId());
+        }
+
+        List<Long> pollOptionIds = pollOptionRepository.findIdsByPollId(pollId);
+        if (!pollOptionIds.containsAll(request.getOptionIds())) {
+            throw new BusinessException("Options do not belong to poll " + pollId);
+        }
+
+        Set<Long> newOptionIds = new LinkedHashSet<>(request.getOptionIds());
+        newOptionIds.removeAll(pollVoteRepository.findVotedOptionIds(request.getUserId(), request.getOptionIds()));
+        if (newOptionIds.isEmpty()) {
+            return;
+        }
+
+        User voter = userRepository.getReferenceById(request.getUserId());
+        try {
+            for (Long optionId : newOptionIds) {
+                pollVoteRepository.save(PollVote.builder()
+                    .option(pollOptionRepository.getReferenceById(optionId))
+                    .user(voter)
+                    .build());
+            }
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent request from the same user inserted the vote first
+            throw BusinessException.VOTE_ALREADY_RECORDED;
+        }
+        if (pollRepository.findStatusById(pollId).orElse(null) != PollStatus.OPEN) {
+            throw new BusinessException(ErrorCode.POLL_CLOSED, "Poll is no longer open for voting");
+        }
+
+        newOptionIds.forEach(pollTallyService::recordVote);
+    }
+
+    /**
+     * Picks the option with the most votes that reaches the quorum and is still free
+     * (ties go to the earliest slot), and books it as a meeting with that option's voters.
+     */
+    @Transactional
+    public PollDTO finalizePoll(Long id) {
+        log.debug("Finalizing poll: {}", id);
+
+        Poll poll = pollRepository.findByIdWithLock(id)
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.POLL_NOT_FOUND, "Poll not found with id: " + id));
+        if (poll.getStatus() != PollStatus.OPEN) {
+            throw new BusinessException(ErrorCode.POLL_CLOSED, "Poll is already finalized");
+        }
+        pollOptionRepository.lockByPollId(id);
+
+        // Recount from poll_votes so votes not yet flushed are included
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : pollVoteRepository.countVotesByOption(id)) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        Comparator<PollOption> byVotes = Comparator.comparingLong(option -> counts.getOrDefault(option.getId(), 0L));
+        PollOption winner = poll.getOptions().stream()
+            .filter(option -> counts.getOrDefault(option.getId(), 0L) >= poll.getQuorum())
+            .filter(option -> option.getTimeSlot().getStatus() == SlotStatus.FREE)
+            .min(byVotes.reversed().thenComparing(option -> option.getTimeSlot().getStartTime()))
+            .orElseThrow(() -> new BusinessException("No available option has reached the quorum of " + poll.getQuorum()));
+
+        // Only now rewrite the tallies; pending counts are dropped once this commits
+        for (PollOption option : poll.getOptions()) {
+            long count = counts.getOrDefault(option.getId(), 0L);
+            option.setVoteCount(count);
+            pollOptionRepository.setVoteCount(option.getId(), count);
+        }
+        pollTallyService.forget(poll.getOptions().stream().map(PollOption::getId).toList());
+
+        MeetingDTO meeting = meetingService.createMeeting(CreateMeetingRequest.builder()
+            .timeSlotId(winner.getTimeSlot().getId())
+            .title(poll.getTitle())
+            .description(poll.getDescription())
+            .participantIds(pollVoteRepository.findVoterIdsByOptionId(winner.getId()))
+            .build());
+
+        poll.setStatus(PollStatus.FINALIZED);
+        poll.setMeetingId(meeting.getId());
+        Poll savedPoll = pollRepository.save(poll);
+        log.info("Finalized poll {} with meeting {}", id, meeting.getId());
+        return mapToDTO(savedPoll);
+    }
+
+    private PollDTO mapToDTO(Poll poll) {
+        List<PollOptionDTO> options = poll.getOptions().stream()
+            .map(option -> PollOptionDTO.builder()
+                .id(option.getId())
+                .timeSlotId(option.getTimeSlot().getId())
+                .startTime(option.getTimeSlot().getStartTime())
+                .endTime(option.getTimeSlot().getEndTime())
+                .voteCount(voteCount(poll, option))
+                .build())
+            .collect(Collectors.toList());
+
+        return PollDTO.builder()
+            .id(poll.getId())
+            .title(poll.getTitle())
+            .description(poll.getDescription())
+            .organizerId(poll.getOrganizer().getId())
+            .quorum(poll.getQuorum())
+            .status(poll.getStatus())
+            .meetingId(poll.getMeetingId())
+            .options(options)
+            .createdAt(poll.getCreatedAt())
+            .updatedAt(poll.getUpdatedAt())
+            .build();
+    }
+
+    /**
+     * The persisted tally plus votes not yet flushed; a finalized poll's tally is its exact recount
+     */
+    private long voteCount(Poll poll, PollOption option) {
+        if (poll.getStatus() != PollStatus.OPEN) {
+            return option.getVoteCount();
+        }
+        return option.getVoteCount() + pollTallyService.pendingVotes(option.getId());
+    }
+}
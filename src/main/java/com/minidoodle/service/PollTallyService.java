@@ -0,0 +1,137 @@
+package com.minidoodle.service;
+
+import com.minidoodle.domain.Poll;
+import com.minidoodle.domain.PollStatus;
+import com.minidoodle.repository.PollOptionRepository;
+import com.minidoodle.repository.PollRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory vote tallies per poll option. Votes are counted in striped LongAdders
+ * and written to poll_options.vote_count in periodic batches, so a popular poll
+ * never serializes voters on a single tally row. Pending counts survive only in
+ * memory; finalization recounts from poll_votes, which remains the source of truth.
+ * Once a poll is finalized its recount is final, so pending counts for its options
+ * are dropped rather than flushed on top of it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PollTallyService {
+
+    private final PollOptionRepository pollOptionRepository;
+    private final PollRepository pollRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Counts a vote once the surrounding transaction commits, or immediately if there is none.
+     */
+    public void recordVote(Long optionId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(optionId);
+                }
+            });
+        } else {
+            increment(optionId);
+        }
+    }
+
+    public long pendingVotes(Long optionId) {
+        LongAdder adder = pending.get(optionId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Drops pending counts for options whose tally was rewritten from poll_votes, once
+     * the surrounding transaction commits; a rollback keeps them for the next flush.
+     */
+    public void forget(Collection<Long> optionIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    optionIds.forEach(pending::remove);
+                }
+            });
+        } else {
+            optionIds.forEach(pending::remove);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${minidoodle.poll.tally-flush-interval-ms:1000}")
+    public void flush() {
+        Map<Long, Long> batch = new HashMap<>();
+        pending.forEach((optionId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                batch.put(optionId, delta);
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Set<Long> dropped = new HashSet<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, Long> pollIds = new HashMap<>();
+                for (Object[] row : pollOptionRepository.findPollIds(batch.keySet())) {
+                    pollIds.put((Long) row[0], (Long) row[1]);
+                }
+                Set<Long> openPollIds = lockOpenPolls(pollIds.values());
+                batch.forEach((optionId, delta) -> {
+                    if (openPollIds.contains(pollIds.get(optionId))) {
+                        pollOptionRepository.incrementVoteCount(optionId, delta);
+                    } else {
+                        dropped.add(optionId);
+                    }
+                });
+            });
+            // Votes still arriving for a finalized or deleted poll are not counted either
+            dropped.forEach(pending::remove);
+            log.debug("Flushed vote tallies for {} poll options", batch.size() - dropped.size());
+        } catch (RuntimeException ex) {
+            // Put the deltas back so the next flush retries them
+            batch.forEach((optionId, delta) -> pending.computeIfAbsent(optionId, id -> new LongAdder()).add(delta));
+            log.warn("Failed to flush vote tallies, will retry: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Shares the lock finalization takes FOR UPDATE, once per poll and flush rather than
+     * per vote: a finalization in progress is waited for, and its poll then no longer
+     * matches, so the increment cannot land on the exact recount
+     */
+    private Set<Long> lockOpenPolls(Collection<Long> pollIds) {
+        if (pollIds.isEmpty()) {
+            return Set.of();
+        }
+        return pollRepository.findByIdInAndStatusForShare(Set.copyOf(pollIds), PollStatus.OPEN).stream()
+            .map(Poll::getId)
+            .collect(Collectors.toSet());
+    }
+
+    private void increment(Long optionId) {
+        pending.computeIfAbsent(optionId, id -> new LongAdder()).increment();
+    }
+}
@@ -0,0 +1,156 @@
+package com.minidoodle.service;
+
+import com.minidoodle.domain.SlotStatus;
+import com.minidoodle.dto.AvailabilityResponse;
+import com.minidoodle.dto.MeetingDTO;
+import com.minidoodle.dto.TimeSlotDTO;
+import com.minidoodle.exception.BulkheadFullException;
+import com.minidoodle.exception.ErrorCode;
+import com.minidoodle.exception.ResourceNotFoundException;
+import com.minidoodle.repository.ReactiveReadRepository;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterparts of the read methods of {@link TimeSlotService} and
+ * {@link MeetingService}, returning the same DTOs and failing with the same
+ * exceptions. Listings stay streams: meetings are read in keyset pages of
+ * {@code minidoodle.reactive.participant-batch-size}, each page gets its
+ * participants from one query, and the next page is only read once the subscriber
+ * asks for more. A page query completes before its participant query starts, so a
+ * request holds at most one connection and cannot wait for a second while holding
+ * the first.
+ *
+ * <p>A request that waits longer than {@code minidoodle.reactive.pool.max-acquire-time-ms}
+ * for a connection fails with {@link BulkheadFullException}, so it gets the same
+ * {@code 503} with {@code Retry-After} as a full bulkhead on the blocking endpoints.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "minidoodle.reactive.enabled", havingValue = "true")
+public class ReactiveReadService {
+
+    private static final EnumSet<SlotStatus> BUSY_STATUSES = EnumSet.of(SlotStatus.BUSY, SlotStatus.BOOKED);
+    private static final String POOL = "reactive-pool";
+
+    private final ReactiveReadRepository reactiveReadRepository;
+    private final int participantBatchSize;
+    private final long retryAfterSeconds;
+
+    public ReactiveReadService(
+        ReactiveReadRepository reactiveReadRepository,
+        @Value("${minidoodle.reactive.participant-batch-size:100}") int participantBatchSize,
+        @Value("${minidoodle.bulkhead.retry-after-seconds:1}") long retryAfterSeconds
+    ) {
+        this.reactiveReadRepository = reactiveReadRepository;
+        this.participantBatchSize = participantBatchSize;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Mono<TimeSlotDTO> getTimeSlot(Long id) {
+        return reactiveReadRepository.findSlot(id)
+            .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(ErrorCode.TIME_SLOT_NOT_FOUND, "Time slot not found with id: " + id)))
+            .onErrorMap(ReactiveReadService::poolExhausted, this::rejected);
+    }
+
+    public Flux<TimeSlotDTO> getSlotsByUserAndTimeRange(Long userId, LocalDateTime startTime, LocalDateTime endTime) {
+        return reactiveReadRepository.findCalendarId(userId)
+            .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(ErrorCode.CALENDAR_NOT_FOUND, "Calendar not found for user: " + userId)))
+            .flatMapMany(calendarId -> reactiveReadRepository.findSlotsByCalendar(calendarId, startTime, endTime))
+            .onErrorMap(ReactiveReadService::poolExhausted, this::rejected);
+    }
+
+    /**
+     * Free and busy slots from one query, split afterwards; the response holds both
+     * lists, so there is nothing to stream
+     */
+    public Mono<AvailabilityResponse> getAvailability(Long userId, LocalDateTime startTime, LocalDateTime endTime) {
+        log.debug("Getting availability for user {} between {} and {} (reactive)", userId, startTime, endTime);
+        return reactiveReadRepository.findSlotsByUserAndStatus(userId, EnumSet.allOf(SlotStatus.class), startTime, endTime)
+            .collect(Collectors.partitioningBy(slot -> slot.getStatus() == SlotStatus.FREE))
+            .map(slots -> {
+                List<TimeSlotDTO> freeSlots = slots.get(true);
+                List<TimeSlotDTO> busySlots = slots.get(false).stream()
+                    .filter(slot -> BUSY_STATUSES.contains(slot.getStatus()))
+                    .toList();
+                return AvailabilityResponse.builder()
+                    .freeSlots(freeSlots)
+                    .busySlots(busySlots)
+                    .totalFreeSlots(freeSlots.size())
+                    .totalBusySlots(busySlots.size())
+                    .build();
+            })
+            .onErrorMap(ReactiveReadService::poolExhausted, this::rejected);
+    }
+
+    public Mono<MeetingDTO> getMeeting(Long id) {
+        return reactiveReadRepository.findMeeting(id)
+            .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(ErrorCode.MEETING_NOT_FOUND, "Meeting not found with id: " + id)))
+            .flatMapMany(meeting -> withParticipants(List.of(meeting)))
+            .single()
+            .onErrorMap(ReactiveReadService::poolExhausted, this::rejected);
+    }
+
+    public Flux<MeetingDTO> getMeetingsByUser(Long userId, LocalDateTime startTime, LocalDateTime endTime) {
+        log.debug("Getting meetings for user {} between {} and {} (reactive)", userId, startTime, endTime);
+        return pages(after -> reactiveReadRepository.findMeetingsByParticipant(userId, startTime, endTime, after, participantBatchSize))
+            .onErrorMap(ReactiveReadService::poolExhausted, this::rejected);
+    }
+
+    public Flux<MeetingDTO> getMeetingsByOwner(Long userId, LocalDateTime startTime, LocalDateTime endTime) {
+        log.debug("Getting meetings owned by user {} between {} and {} (reactive)", userId, startTime, endTime);
+        return pages(after -> reactiveReadRepository.findMeetingsByOwner(userId, startTime, endTime, after, participantBatchSize))
+            .onErrorMap(ReactiveReadService::poolExhausted, this::rejected);
+    }
+
+    /**
+     * Reads page after page, each following the last meeting of the one before, until
+     * a page comes back short
+     */
+    private Flux<MeetingDTO> pages(Function<MeetingDTO, Flux<MeetingDTO>> page) {
+        return page(page, null)
+            .expand(meetings -> meetings.size() < participantBatchSize ? Mono.empty()
+                : page(page, meetings.get(meetings.size() - 1)))
+            .concatMapIterable(Function.identity());
+    }
+
+    private Mono<List<MeetingDTO>> page(Function<MeetingDTO, Flux<MeetingDTO>> page, MeetingDTO after) {
+        return page.apply(after)
+            .collectList()
+            .flatMap(meetings -> meetings.isEmpty() ? Mono.just(meetings) : withParticipants(meetings).collectList());
+    }
+
+    private Flux<MeetingDTO> withParticipants(List<MeetingDTO> meetings) {
+        Map<Long, MeetingDTO> byId = meetings.stream()
+            .collect(Collectors.toMap(MeetingDTO::getId, Function.identity()));
+        return reactiveReadRepository.findParticipants(byId.keySet())
+            .doOnNext(participant -> {
+                MeetingDTO meeting = byId.get(participant.meetingId());
+                meeting.getParticipants().add(participant.user());
+                meeting.getParticipantIds().add(participant.user().getId());
+            })
+            .thenMany(Flux.fromIterable(meetings));
+    }
+
+    private static boolean poolExhausted(Throwable ex) {
+        return ex instanceof DataAccessResourceFailureException && ex.getCause() instanceof R2dbcTimeoutException;
+    }
+
+    private Throwable rejected(Throwable ex) {
+        log.debug("No reactive connection within the acquire timeout, rejecting request");
+        return new BulkheadFullException(POOL, retryAfterSeconds);
+    }
+}
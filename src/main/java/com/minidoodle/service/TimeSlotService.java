@@ -4,36 +4,53 @@ import com.minidoodle.domain.Calendar;
 import com.minidoodle.domain.SlotStatus;
 import com.minidoodle.domain.TimeSlot;
 import com.minidoodle.dto.AvailabilityResponse;
+import com.minidoodle.dto.BulkOperationResult;
 import com.minidoodle.dto.CreateTimeSlotRequest;
 import com.minidoodle.dto.TimeSlotDTO;
+import com.minidoodle.event.BulkChangeEvent;
 import com.minidoodle.exception.BusinessException;
+import com.minidoodle.exception.ErrorCode;
 import com.minidoodle.exception.ResourceNotFoundException;
 import com.minidoodle.exception.SlotConflictException;
+import com.minidoodle.metrics.BookingMetrics;
+import com.minidoodle.metrics.BookingMetrics.Lock;
+import com.minidoodle.metrics.Measured;
 import com.minidoodle.repository.CalendarRepository;
 import com.minidoodle.repository.TimeSlotRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Measured("timeslots")
 @RequiredArgsConstructor
 @Slf4j
 public class TimeSlotService {
 
     private final TimeSlotRepository timeSlotRepository;
     private final CalendarRepository calendarRepository;
+    private final CalendarIdResolver calendarIdResolver;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingMetrics bookingMetrics;
+
+    @Value("${minidoodle.bulk.chunk-size:500}")
+    private int bulkChunkSize = 500;
 
     @Transactional
     public TimeSlotDTO createTimeSlot(Long userId, CreateTimeSlotRequest request) {
-        log.info("Creating time slot for user: {}", userId);
+        log.debug("Creating time slot for user: {}", userId);
 
-        Calendar calendar = calendarRepository.findByUserId(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("Calendar not found for user: " + userId));
+        Long calendarId = calendarIdResolver.resolve(userId);
 
         LocalDateTime startTime = request.getStartTime();
         LocalDateTime endTime = request.getEndTime();
@@ -44,36 +61,40 @@ public class TimeSlotService {
         }
 
         validateTimeSlot(startTime, endTime);
-        checkForOverlap(calendar.getId(), startTime, endTime, null);
+        if (bookingMetrics.lock(Lock.CALENDAR, () -> calendarRepository.lockById(calendarId)).isEmpty()) {
+            calendarIdResolver.invalidate(userId);
+            throw new ResourceNotFoundException(ErrorCode.CALENDAR_NOT_FOUND, "Calendar not found for user: " + userId);
+        }
+        checkForOverlap(calendarId, startTime, endTime, null);
 
         TimeSlot timeSlot = TimeSlot.builder()
-            .calendar(calendar)
+            .calendar(calendarRepository.getReferenceById(calendarId))
             .startTime(startTime)
             .endTime(endTime)
             .status(SlotStatus.FREE)
             .build();
 
         TimeSlot savedSlot = timeSlotRepository.save(timeSlot);
-        log.info("Created time slot with ID: {}", savedSlot.getId());
+        log.debug("Created time slot with ID: {}", savedSlot.getId());
         return mapToDTO(savedSlot);
     }
 
     @Transactional(readOnly = true)
     public TimeSlotDTO getTimeSlot(Long id) {
         TimeSlot timeSlot = timeSlotRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Time slot not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.TIME_SLOT_NOT_FOUND, "Time slot not found with id: " + id));
         return mapToDTO(timeSlot);
     }
 
     @Transactional
     public TimeSlotDTO updateTimeSlot(Long id, CreateTimeSlotRequest request) {
-        log.info("Updating time slot: {}", id);
+        log.debug("Updating time slot: {}", id);
 
         TimeSlot timeSlot = timeSlotRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Time slot not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.TIME_SLOT_NOT_FOUND, "Time slot not found with id: " + id));
 
         if (timeSlot.getStatus() == SlotStatus.BOOKED) {
-            throw new BusinessException("Cannot update a booked time slot");
+            throw new BusinessException(ErrorCode.SLOT_BOOKED, "Cannot update a booked time slot");
         }
 
         LocalDateTime startTime = request.getStartTime();
@@ -84,29 +105,67 @@ public class TimeSlotService {
         }
 
         validateTimeSlot(startTime, endTime);
-        checkForOverlap(timeSlot.getCalendar().getId(), startTime, endTime, id);
+        Long calendarId = timeSlot.getCalendar().getId();
+        bookingMetrics.lock(Lock.CALENDAR, () -> calendarRepository.lockById(calendarId))
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.CALENDAR_NOT_FOUND, "Calendar not found with id: " + calendarId));
+        checkForOverlap(calendarId, startTime, endTime, id);
 
         timeSlot.setStartTime(startTime);
         timeSlot.setEndTime(endTime);
 
         TimeSlot updatedSlot = timeSlotRepository.save(timeSlot);
-        log.info("Updated time slot with ID: {}", id);
+        log.debug("Updated time slot with ID: {}", id);
         return mapToDTO(updatedSlot);
     }
 
     @Transactional
     public void deleteTimeSlot(Long id) {
-        log.info("Deleting time slot: {}", id);
+        log.debug("Deleting time slot: {}", id);
 
         TimeSlot timeSlot = timeSlotRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Time slot not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.TIME_SLOT_NOT_FOUND, "Time slot not found with id: " + id));
 
         if (timeSlot.getStatus() == SlotStatus.BOOKED) {
-            throw new BusinessException("Cannot delete a booked time slot. Cancel the meeting first.");
+            throw new BusinessException(ErrorCode.SLOT_BOOKED, "Cannot delete a booked time slot. Cancel the meeting first.");
         }
 
         timeSlotRepository.delete(timeSlot);
-        log.info("Deleted time slot with ID: {}", id);
+        log.debug("Deleted time slot with ID: {}", id);
+    }
+
+    /**
+     * Deletes the user's FREE slots within the time range, in chunks of set-based
+     * statements with one transaction and one {@link BulkChangeEvent} per chunk.
+     * Slots proposed in a poll are left in place.
+     */
+    public BulkOperationResult deleteFreeSlotsInRange(Long userId, LocalDateTime startTime, LocalDateTime endTime) {
+        log.debug("Deleting free slots for user {} between {} and {}", userId, startTime, endTime);
+
+        Long calendarId = calendarIdResolver.resolve(userId);
+
+        int affected = 0;
+        int chunks = 0;
+        while (true) {
+            // Null when nothing is left to select; slots booked since selection are skipped
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> slotIds = timeSlotRepository.findDeletableSlotIds(
+                    calendarId, SlotStatus.FREE, startTime, endTime, PageRequest.of(0, bulkChunkSize));
+                if (slotIds.isEmpty()) {
+                    return null;
+                }
+                int count = timeSlotRepository.deleteByIdsAndStatus(slotIds, SlotStatus.FREE);
+                eventPublisher.publishEvent(new BulkChangeEvent(BulkChangeEvent.Type.SLOTS_DELETED, userId, slotIds));
+                return count;
+            });
+            if (deleted == null) {
+                break;
+            }
+            affected += deleted;
+            chunks++;
+        }
+
+        log.info("Deleted {} free slots for user {} in {} chunks", affected, userId, chunks);
+        return BulkOperationResult.builder().affected(affected).chunks(chunks).build();
     }
 
     @Transactional
@@ -121,13 +180,13 @@ public class TimeSlotService {
 
     @Transactional
     public TimeSlotDTO updateSlotStatus(Long id, SlotStatus status) {
-        log.info("Updating slot {} status to: {}", id, status);
+        log.debug("Updating slot {} status to: {}", id, status);
 
         TimeSlot timeSlot = timeSlotRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Time slot not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.TIME_SLOT_NOT_FOUND, "Time slot not found with id: " + id));
 
         if (timeSlot.getStatus() == SlotStatus.BOOKED && status != SlotStatus.BOOKED) {
-            throw new BusinessException("Cannot change status of a booked slot. Cancel the meeting first.");
+            throw new BusinessException(ErrorCode.SLOT_BOOKED, "Cannot change status of a booked slot. Cancel the meeting first.");
         }
 
         timeSlot.setStatus(status);
@@ -137,11 +196,8 @@ public class TimeSlotService {
 
     @Transactional(readOnly = true)
     public List<TimeSlotDTO> getSlotsByUserAndTimeRange(Long userId, LocalDateTime startTime, LocalDateTime endTime) {
-        Calendar calendar = calendarRepository.findByUserId(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("Calendar not found for user: " + userId));
-
         List<TimeSlot> slots = timeSlotRepository.findByCalendarIdAndTimeRange(
-            calendar.getId(), startTime, endTime);
+            calendarIdResolver.resolve(userId), startTime, endTime);
 
         return slots.stream()
             .map(this::mapToDTO)
@@ -150,7 +206,7 @@ public class TimeSlotService {
 
     @Transactional(readOnly = true)
     public AvailabilityResponse getAvailability(Long userId, LocalDateTime startTime, LocalDateTime endTime) {
-        log.info("Getting availability for user {} between {} and {}", userId, startTime, endTime);
+        log.debug("Getting availability for user {} between {} and {}", userId, startTime, endTime);
 
         List<TimeSlotDTO> freeSlots = timeSlotRepository
             .findFreeSlotsByUserIdAndTimeRange(userId, startTime, endTime)
@@ -172,33 +228,35 @@ public class TimeSlotService {
             .build();
     }
 
-    private void validateTimeSlot(LocalDateTime startTime, LocalDateTime endTime) {
+    void validateTimeSlot(LocalDateTime startTime, LocalDateTime endTime) {
         if (startTime.isAfter(endTime)) {
-            throw new BusinessException("Start time must be before end time");
+            throw new BusinessException(ErrorCode.INVALID_TIME_RANGE, "Start time must be before end time");
         }
 
         if (startTime.isBefore(LocalDateTime.now())) {
-            throw new BusinessException("Cannot create time slot in the past");
+            throw new BusinessException(ErrorCode.INVALID_TIME_RANGE, "Cannot create time slot in the past");
         }
 
         long durationMinutes = java.time.Duration.between(startTime, endTime).toMinutes();
         if (durationMinutes < 15) {
-            throw new BusinessException("Time slot duration must be at least 15 minutes");
+            throw new BusinessException(ErrorCode.INVALID_TIME_RANGE, "Time slot duration must be at least 15 minutes");
         }
 
         if (durationMinutes > 480) {
-            throw new BusinessException("Time slot duration cannot exceed 8 hours");
+            throw new BusinessException(ErrorCode.INVALID_TIME_RANGE, "Time slot duration cannot exceed 8 hours");
         }
     }
 
+    // Callers hold the calendar row lock, otherwise two writers can both pass the check
     private void checkForOverlap(Long calendarId, LocalDateTime startTime, LocalDateTime endTime, Long excludeId) {
         boolean hasOverlap = timeSlotRepository.existsOverlappingSlot(calendarId, startTime, endTime, excludeId);
+        bookingMetrics.overlapCheck(hasOverlap);
         if (hasOverlap) {
-            throw new SlotConflictException("Time slot overlaps with an existing slot");
+            throw SlotConflictException.OVERLAP;
         }
     }
 
-    private TimeSlotDTO mapToDTO(TimeSlot timeSlot) {
+    TimeSlotDTO mapToDTO(TimeSlot timeSlot) {
         return TimeSlotDTO.builder()
             .id(timeSlot.getId())
             .calendarId(timeSlot.getCalendar().getId())
@@ -0,0 +1,192 @@
+package com.minidoodle.service;
+
+import com.minidoodle.domain.DeletionStatus;
+import com.minidoodle.domain.UserDeletionJob;
+import com.minidoodle.event.UserDeletionRequestedEvent;
+import com.minidoodle.repository.UserDeletionJobRepository;
+import com.minidoodle.repository.UserPurgeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Purges users marked deleted by {@link UserService#deleteUser} in the background.
+ * Each kind of owned data is removed with set-based statements in chunks of
+ * {@code minidoodle.bulk.chunk-size}, one transaction per chunk that also records
+ * progress on the {@link UserDeletionJob}. The calendar and user row go last, in one
+ * transaction that also sweeps anything created on the calendar during the purge.
+ * Every step is idempotent, so unfinished jobs are simply rerun: a sweep every
+ * {@code minidoodle.deletion.sweep-interval-ms}, starting with the application,
+ * reclaims them.
+ * <p>
+ * A job is only run by the instance that claimed it. The claim is a lease of
+ * {@code minidoodle.deletion.lease-ms}, renewed by every chunk; a RUNNING job is
+ * resumed elsewhere only once its lease has expired, so instances sweeping side by
+ * side do not purge the same user twice. A FAILED job is retried after
+ * {@code minidoodle.deletion.retry-backoff-ms}, doubling with every failed attempt up
+ * to {@code minidoodle.deletion.retry-backoff-max-ms}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserDeletionService {
+
+    private final UserDeletionJobRepository userDeletionJobRepository;
+    private final UserPurgeRepository userPurgeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Identifies this instance as the holder of the jobs it claims
+    private final String owner = UUID.randomUUID().toString();
+
+    @Value("${minidoodle.bulk.chunk-size:500}")
+    private int bulkChunkSize = 500;
+
+    @Value("${minidoodle.deletion.lease-ms:60000}")
+    private long leaseMs = 60_000;
+
+    @Value("${minidoodle.deletion.retry-backoff-ms:60000}")
+    private long retryBackoffMs = 60_000;
+
+    @Value("${minidoodle.deletion.retry-backoff-max-ms:3600000}")
+    private long retryBackoffMaxMs = 3_600_000;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDeletionRequested(UserDeletionRequestedEvent event) {
+        purge(event.jobId());
+    }
+
+    /**
+     * Runs jobs nobody is working on: PENDING ones whose event was lost, RUNNING ones
+     * whose instance died and FAILED ones due for a retry. Async, so a long purge does
+     * not hold up the scheduler's other tasks.
+     */
+    @Async
+    @Scheduled(fixedDelayString = "${minidoodle.deletion.sweep-interval-ms:60000}")
+    public void reclaimJobs() {
+        userDeletionJobRepository.findClaimableIds(
+                DeletionStatus.PENDING, DeletionStatus.FAILED, DeletionStatus.RUNNING, LocalDateTime.now())
+            .forEach(jobId -> {
+                log.info("Reclaiming deletion job {}", jobId);
+                purge(jobId);
+            });
+    }
+
+    public void purge(Long jobId) {
+        // Read-write transactions throughout, so they run on the primary, where the job was just committed
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status -> userDeletionJobRepository.claim(jobId, owner,
+            DeletionStatus.PENDING, DeletionStatus.FAILED, DeletionStatus.RUNNING,
+            now, now.plus(leaseMs, ChronoUnit.MILLIS)));
+        if (claimed == null || claimed == 0) {
+            log.debug("Deletion job {} is finished or held by another instance", jobId);
+            return;
+        }
+        Long userId = transactionTemplate.execute(status -> userDeletionJobRepository.findById(jobId).orElseThrow().getUserId());
+        log.info("Purging user {} (deletion job {})", userId, jobId);
+
+        try {
+            runChunks(jobId, () -> userPurgeRepository.deleteVotesByUser(userId, bulkChunkSize),
+                (j, n) -> j.setVotesDeleted(j.getVotesDeleted() + n));
+            runChunks(jobId, () -> userPurgeRepository.deleteParticipations(userId, bulkChunkSize),
+                (j, n) -> j.setParticipationsRemoved(j.getParticipationsRemoved() + n));
+            runChunks(jobId, () -> userPurgeRepository.deletePollsByOrganizer(userId, bulkChunkSize),
+                (j, n) -> j.setPollsDeleted(j.getPollsDeleted() + n));
+
+            Long calendarId = userPurgeRepository.findCalendarId(userId);
+            if (calendarId != null) {
+                runChunks(jobId, () -> userPurgeRepository.deleteMeetingsByCalendar(calendarId, bulkChunkSize),
+                    (j, n) -> j.setMeetingsDeleted(j.getMeetingsDeleted() + n));
+                runChunks(jobId, () -> userPurgeRepository.deleteSlotsByCalendar(calendarId, bulkChunkSize),
+                    (j, n) -> j.setSlotsDeleted(j.getSlotsDeleted() + n));
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                UserDeletionJob current = renewLease(jobId);
+                if (calendarId != null) {
+                    current.setMeetingsDeleted(current.getMeetingsDeleted()
+                        + userPurgeRepository.deleteMeetingsByCalendar(calendarId, Integer.MAX_VALUE));
+                    current.setSlotsDeleted(current.getSlotsDeleted()
+                        + userPurgeRepository.deleteSlotsByCalendar(calendarId, Integer.MAX_VALUE));
+                }
+                userPurgeRepository.deleteCalendarAndUser(userId);
+                current.setStatus(DeletionStatus.COMPLETED);
+                current.setCompletedAt(LocalDateTime.now());
+                current.setLeaseExpiresAt(null);
+            });
+            log.info("Purged user {} (deletion job {})", userId, jobId);
+        } catch (LeaseLostException ex) {
+            log.warn("Deletion job {} for user {} was taken over by another instance", jobId, userId);
+        } catch (RuntimeException ex) {
+            log.error("Deletion job {} for user {} failed", jobId, userId, ex);
+            String message = String.valueOf(ex.getMessage());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    UserDeletionJob current = renewLease(jobId);
+                    current.setStatus(DeletionStatus.FAILED);
+                    current.setError(message.length() > 1000 ? message.substring(0, 1000) : message);
+                    current.setLeaseExpiresAt(null);
+                    current.setAttempts(current.getAttempts() + 1);
+                    current.setRetryAt(LocalDateTime.now().plus(retryBackoff(current.getAttempts()), ChronoUnit.MILLIS));
+                });
+            } catch (LeaseLostException lost) {
+                log.warn("Deletion job {} for user {} was taken over by another instance", jobId, userId);
+            }
+        }
+    }
+
+    private void runChunks(Long jobId, IntSupplier chunk, BiConsumer<UserDeletionJob, Integer> progress) {
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                UserDeletionJob current = renewLease(jobId);
+                int count = chunk.getAsInt();
+                if (count > 0) {
+                    progress.accept(current, count);
+                }
+                return count;
+            });
+        } while (deleted >= bulkChunkSize);
+    }
+
+    /**
+     * Wait before the next run of a job that has failed {@code attempts} times
+     */
+    long retryBackoff(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        return Math.min(retryBackoffMs << doublings, retryBackoffMaxMs);
+    }
+
+    /**
+     * Extends this instance's lease on the job within the current transaction and
+     * returns the job
+     *
+     * @throws LeaseLostException if another instance has claimed the job
+     */
+    private UserDeletionJob renewLease(Long jobId) {
+        LocalDateTime leaseExpiresAt = LocalDateTime.now().plus(leaseMs, ChronoUnit.MILLIS);
+        if (userDeletionJobRepository.renewLease(jobId, owner, DeletionStatus.RUNNING, leaseExpiresAt) == 0) {
+            throw new LeaseLostException();
+        }
+        return userDeletionJobRepository.findById(jobId).orElseThrow();
+    }
+
+    private static final class LeaseLostException extends RuntimeException {
+
+        LeaseLostException() {
+            super(null, null, false, false);
+        }
+    }
+}
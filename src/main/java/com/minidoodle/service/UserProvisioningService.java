@@ -0,0 +1,257 @@
+package com.minidoodle.service;
+
+import com.minidoodle.dto.BulkProvisionResult;
+import com.minidoodle.dto.BulkUserRowResult;
+import com.minidoodle.dto.UserDTO;
+import com.minidoodle.exception.BusinessException;
+import com.minidoodle.exception.ErrorCode;
+import com.minidoodle.repository.UserBatchRepository;
+import com.minidoodle.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many users and their calendars at once. Rows are validated up front,
+ * duplicate emails are found with one IN query per chunk (skipping emails the
+ * {@link EmailIndex} knows are new), and the rest are inserted with JDBC batches,
+ * one transaction per chunk. Every input row gets a result.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserProvisioningService {
+
+    private final UserRepository userRepository;
+    private final UserBatchRepository userBatchRepository;
+    private final EmailIndex emailIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    @Value("${minidoodle.bulk.chunk-size:500}")
+    private int bulkChunkSize = 500;
+
+    @Value("${minidoodle.user.provisioning.max-rows:100000}")
+    private int maxRows = 100_000;
+
+    public BulkProvisionResult provisionUsersFromCsv(String csv) {
+        return provisionUsers(parseCsv(csv));
+    }
+
+    public BulkProvisionResult provisionUsers(List<UserDTO> users) {
+        if (users == null || users.isEmpty()) {
+            throw new BusinessException("No users to provision");
+        }
+        if (users.size() > maxRows) {
+            throw new BusinessException("Cannot provision more than " + maxRows + " users per request");
+        }
+        log.info("Provisioning {} users", users.size());
+
+        BulkUserRowResult[] results = new BulkUserRowResult[users.size()];
+        List<Candidate> candidates = new ArrayList<>(users.size());
+        Set<String> seenEmails = new HashSet<>(users.size() * 2);
+        for (int i = 0; i < users.size(); i++) {
+            UserDTO user = users.get(i);
+            String error = validate(user);
+            if (error != null) {
+                results[i] = result(i, user, BulkUserRowResult.Status.INVALID, error);
+            } else if (!seenEmails.add(user.getEmail())) {
+                results[i] = result(i, user, BulkUserRowResult.Status.DUPLICATE, "Email repeated in request");
+            } else {
+                candidates.add(new Candidate(i, user));
+            }
+        }
+
+        for (int from = 0; from < candidates.size(); from += bulkChunkSize) {
+            insertChunk(candidates.subList(from, Math.min(from + bulkChunkSize, candidates.size())), results);
+        }
+
+        BulkProvisionResult result = summarize(Arrays.asList(results));
+        log.info("Provisioned {} users ({} duplicates, {} invalid)",
+            result.getCreated(), result.getDuplicates(), result.getInvalid());
+        return result;
+    }
+
+    private void insertChunk(List<Candidate> chunk, BulkUserRowResult[] results) {
+        List<Candidate> pending = withoutExisting(chunk, results, false);
+        // A concurrent signup can take an email between the check and the insert; that fails
+        // the whole batch, so re-check the chunk once against the database and retry the rest
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            List<UserDTO> users = pending.stream().map(Candidate::user).toList();
+            try {
+                Map<String, Long> ids = transactionTemplate.execute(status ->
+                    userBatchRepository.insertUsersWithCalendars(users, LocalDateTime.now()));
+                for (Candidate candidate : pending) {
+                    String email = candidate.user().getEmail();
+                    emailIndex.add(email);
+                    results[candidate.row()] = result(candidate.row(), candidate.user(), BulkUserRowResult.Status.CREATED, null);
+                    results[candidate.row()].setUserId(ids.get(email));
+                }
+                return;
+            } catch (DataIntegrityViolationException ex) {
+                if (attempt > 0) {
+                    throw ex;
+                }
+                pending = withoutExisting(pending, results, true);
+            }
+        }
+    }
+
+    private List<Candidate> withoutExisting(List<Candidate> chunk, BulkUserRowResult[] results, boolean checkAll) {
+        Set<String> toCheck = chunk.stream()
+            .map(candidate -> candidate.user().getEmail())
+            .filter(email -> checkAll || emailIndex.mightContain(email))
+            .collect(Collectors.toSet());
+        if (toCheck.isEmpty()) {
+            return chunk;
+        }
+
+        Set<String> existing = userRepository.findExistingEmails(toCheck);
+        if (existing.isEmpty()) {
+            return chunk;
+        }
+        List<Candidate> remaining = new ArrayList<>(chunk.size());
+        for (Candidate candidate : chunk) {
+            if (existing.contains(candidate.user().getEmail())) {
+                results[candidate.row()] = result(candidate.row(), candidate.user(),
+                    BulkUserRowResult.Status.DUPLICATE, "User with email " + candidate.user().getEmail() + " already exists");
+            } else {
+                remaining.add(candidate);
+            }
+        }
+        return remaining;
+    }
+
+    private String validate(UserDTO user) {
+        if (user == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<UserDTO>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private BulkUserRowResult result(int index, UserDTO user, BulkUserRowResult.Status status, String message) {
+        return BulkUserRowResult.builder()
+            .row(index + 1)
+            .email(user != null ? user.getEmail() : null)
+            .status(status)
+            .message(message)
+            .build();
+    }
+
+    private BulkProvisionResult summarize(List<BulkUserRowResult> rows) {
+        Map<BulkUserRowResult.Status, Long> counts = rows.stream()
+            .collect(Collectors.groupingBy(BulkUserRowResult::getStatus, Collectors.counting()));
+        return BulkProvisionResult.builder()
+            .created(counts.getOrDefault(BulkUserRowResult.Status.CREATED, 0L).intValue())
+            .duplicates(counts.getOrDefault(BulkUserRowResult.Status.DUPLICATE, 0L).intValue())
+            .invalid(counts.getOrDefault(BulkUserRowResult.Status.INVALID, 0L).intValue())
+            .rows(rows)
+            .build();
+    }
+
+    /**
+     * Parses "name,email" rows. A header row naming both columns, in either order, is
+     * optional; fields may be double-quoted with "" as an escaped quote.
+     */
+    static List<UserDTO> parseCsv(String csv) {
+        if (csv == null || csv.isBlank()) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "CSV body is empty");
+        }
+        List<List<String>> records = readRecords(csv);
+        int nameColumn = 0;
+        int emailColumn = 1;
+        if (!records.isEmpty()) {
+            List<String> header = records.get(0).stream()
+                .map(field -> field.trim().toLowerCase(Locale.ROOT))
+                .toList();
+            if (header.contains("name") && header.contains("email")) {
+                nameColumn = header.indexOf("name");
+                emailColumn = header.indexOf("email");
+                records = records.subList(1, records.size());
+            }
+        }
+
+        List<UserDTO> users = new ArrayList<>(records.size());
+        for (List<String> record : records) {
+            users.add(UserDTO.builder()
+                .name(field(record, nameColumn))
+                .email(field(record, emailColumn))
+                .build());
+        }
+        return users;
+    }
+
+    private static String field(List<String> record, int column) {
+        return column < record.size() ? record.get(column).trim() : null;
+    }
+
+    private static List<List<String>> readRecords(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                record.add(field.toString());
+                field.setLength(0);
+                addRecord(records, record);
+                record = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        record.add(field.toString());
+        addRecord(records, record);
+        return records;
+    }
+
+    private static void addRecord(List<List<String>> records, List<String> record) {
+        // Skip blank lines
+        if (record.size() > 1 || !record.get(0).isBlank()) {
+            records.add(record);
+        }
+    }
+
+    private record Candidate(int row, UserDTO user) {
+    }
+}
@@ -2,33 +2,55 @@ package com.minidoodle.service;
 
 import com.minidoodle.domain.Calendar;
 import com.minidoodle.domain.User;
+import com.minidoodle.domain.UserDeletionJob;
 import com.minidoodle.dto.UserDTO;
+import com.minidoodle.dto.UserDeletionJobDTO;
+import com.minidoodle.event.UserDeletionRequestedEvent;
 import com.minidoodle.exception.BusinessException;
+import com.minidoodle.exception.ErrorCode;
 import com.minidoodle.exception.ResourceNotFoundException;
 import com.minidoodle.repository.CalendarRepository;
+import com.minidoodle.repository.UserDeletionJobRepository;
 import com.minidoodle.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final CalendarRepository calendarRepository;
+    private final EmailIndex emailIndex;
+    private final UserDeletionJobRepository userDeletionJobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Transactional
     public UserDTO createUser(UserDTO userDTO) {
-        log.info("Creating user with email: {}", userDTO.getEmail());
+        log.debug("Creating user with email: {}", userDTO.getEmail());
 
-        if (userRepository.existsByEmail(userDTO.getEmail())) {
-            throw new BusinessException("User with email " + userDTO.getEmail() + " already exists");
+        // The email index answers "definitely new" without a query; the unique index catches the rest
+        if (emailIndex.mightContain(userDTO.getEmail()) && userRepository.existsByEmail(userDTO.getEmail())) {
+            throw new BusinessException(ErrorCode.EMAIL_TAKEN, "User with email " + userDTO.getEmail() + " already exists");
         }
 
         User user = User.builder()
@@ -36,7 +58,16 @@ public class UserService {
             .email(userDTO.getEmail())
             .build();
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (!violatesEmailKey(ex)) {
+                throw ex;
+            }
+            throw new BusinessException(ErrorCode.EMAIL_TAKEN, "User with email " + userDTO.getEmail() + " already exists");
+        }
+        emailIndex.add(savedUser.getEmail());
 
         // Create calendar for user
         Calendar calendar = Calendar.builder()
@@ -45,56 +76,134 @@ public class UserService {
             .build();
         calendarRepository.save(calendar);
 
-        log.info("Created user with ID: {}", savedUser.getId());
+        log.debug("Created user with ID: {}", savedUser.getId());
         return mapToDTO(savedUser);
     }
 
     @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
         User user = userRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, "User not found with id: " + id));
         return mapToDTO(user);
     }
 
     @Transactional(readOnly = true)
     public UserDTO getUserByEmail(String email) {
         User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, "User not found with email: " + email));
         return mapToDTO(user);
     }
 
+    /**
+     * Returns one keyset page of users ordered by id. Pass the last id of the previous
+     * page as {@code afterId}; prefixes are matched case-sensitively.
+     */
+    @Transactional(readOnly = true)
+    public List<UserDTO> getUsers(Long afterId, int limit, String namePrefix, String emailPrefix) {
+        return userRepository.findPageAfterId(
+            afterId != null ? afterId : 0L,
+            toPrefixPattern(namePrefix),
+            toPrefixPattern(emailPrefix),
+            PageRequest.of(0, pageSize(limit)));
+    }
+
+    /**
+     * Number of users {@link #getUsers} returns in a full page for the requested limit
+     */
+    public static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Streams every matching user to the consumer in id order without holding the
+     * full result in memory.
+     */
     @Transactional(readOnly = true)
-    public List<UserDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-            .map(this::mapToDTO)
-            .collect(Collectors.toList());
+    public void streamUsers(String namePrefix, String emailPrefix, Consumer<UserDTO> consumer) {
+        try (Stream<UserDTO> users = userRepository.streamAll(toPrefixPattern(namePrefix), toPrefixPattern(emailPrefix))) {
+            users.forEach(consumer);
+        }
     }
 
     @Transactional
     public UserDTO updateUser(Long id, UserDTO userDTO) {
         User user = userRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, "User not found with id: " + id));
 
-        if (!user.getEmail().equals(userDTO.getEmail()) &&
+        boolean emailChanged = !user.getEmail().equals(userDTO.getEmail());
+        if (emailChanged &&
+            emailIndex.mightContain(userDTO.getEmail()) &&
             userRepository.existsByEmail(userDTO.getEmail())) {
-            throw new BusinessException("User with email " + userDTO.getEmail() + " already exists");
+            throw new BusinessException(ErrorCode.EMAIL_TAKEN, "User with email " + userDTO.getEmail() + " already exists");
         }
 
         user.setName(userDTO.getName());
         user.setEmail(userDTO.getEmail());
 
-        User updatedUser = userRepository.save(user);
-        log.info("Updated user with ID: {}", id);
+        // Flush now so a concurrent taker of the same email surfaces here, not at commit
+        User updatedUser;
+        try {
+            updatedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (!violatesEmailKey(ex)) {
+                throw ex;
+            }
+            throw new BusinessException(ErrorCode.EMAIL_TAKEN, "User with email " + userDTO.getEmail() + " already exists");
+        }
+        if (emailChanged) {
+            emailIndex.add(updatedUser.getEmail());
+        }
+        log.debug("Updated user with ID: {}", id);
         return mapToDTO(updatedUser);
     }
 
+    /**
+     * Marks the user deleted, hiding them from every query right away, and starts a
+     * background job that purges their data once this transaction commits. Only this
+     * user's cache entry is evicted, after the commit has written the deleted copy.
+     */
     @Transactional
-    public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with id: " + id);
+    public UserDeletionJobDTO deleteUser(Long id) {
+        User user = userRepository.findByIdForUpdate(id)
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, "User not found with id: " + id));
+        user.setDeletedAt(LocalDateTime.now());
+        evictAfterCommit(id);
+
+        UserDeletionJob job = userDeletionJobRepository.save(UserDeletionJob.builder().userId(id).build());
+        eventPublisher.publishEvent(new UserDeletionRequestedEvent(job.getId(), id));
+        log.info("Marked user {} deleted, purge job {}", id, job.getId());
+        return mapToDTO(job);
+    }
+
+    @Transactional(readOnly = true)
+    public UserDeletionJobDTO getDeletionJob(Long jobId) {
+        UserDeletionJob job = userDeletionJobRepository.findById(jobId)
+            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.DELETION_JOB_NOT_FOUND, "Deletion job not found with id: " + jobId));
+        return mapToDTO(job);
+    }
+
+    /**
+     * A cached copy of a deleted user would still be served by id, as the cache does not
+     * apply the deleted_at restriction
+     */
+    private void evictAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            entityManagerFactory.getCache().evict(User.class, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().evict(User.class, id);
+            }
+        });
+    }
+
+    private static String toPrefixPattern(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
         }
-        userRepository.deleteById(id);
-        log.info("Deleted user with ID: {}", id);
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
     }
 
     private UserDTO mapToDTO(User user) {
@@ -106,4 +215,35 @@ public class UserService {
             .updatedAt(user.getUpdatedAt())
             .build();
     }
+
+    private UserDeletionJobDTO mapToDTO(UserDeletionJob job) {
+        return UserDeletionJobDTO.builder()
+            .id(job.getId())
+            .userId(job.getUserId())
+            .status(job.getStatus())
+            .votesDeleted(job.getVotesDeleted())
+            .participationsRemoved(job.getParticipationsRemoved())
+            .pollsDeleted(job.getPollsDeleted())
+            .meetingsDeleted(job.getMeetingsDeleted())
+            .slotsDeleted(job.getSlotsDeleted())
+            .error(job.getError())
+            .createdAt(job.getCreatedAt())
+            .updatedAt(job.getUpdatedAt())
+            .completedAt(job.getCompletedAt())
+            .build();
+    }
+
+    /**
+     * Whether the violation is a duplicate email rather than some other constraint,
+     * going by the constraint name the dialect extracted
+     */
+    private static boolean violatesEmailKey(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                String constraint = violation.getConstraintName().toLowerCase(Locale.ROOT);
+                return constraint.contains(User.EMAIL_UNIQUE_KEY) || constraint.contains(User.EMAIL_INDEX);
+            }
+        }
+        return false;
+    }
 }
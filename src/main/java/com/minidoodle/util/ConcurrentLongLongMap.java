@@ -0,0 +1,215 @@
+package com.minidoodle.util;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Concurrent map from primitive long keys to primitive long values, without boxing.
+ * Keys are spread over lock-striped segments, each an open-addressing table with
+ * linear probing that stores keys and values interleaved in one {@code long[]}.
+ * Reads are optimistic ({@link StampedLock#tryOptimisticRead}) and only fall back to
+ * the read lock when a write raced with them.
+ *
+ * <p>Key {@code 0} marks empty slots and cannot be stored. The map is bounded: a
+ * segment that reaches its share of {@code maxSize} is cleared before the next
+ * insert, which is enough for a cache that can always reload an entry.
+ */
+public final class ConcurrentLongLongMap {
+
+    private static final long EMPTY = 0L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final int maxSegmentSize;
+
+    public ConcurrentLongLongMap(int concurrency, int maxSize) {
+        if (concurrency <= 0 || maxSize <= 0) {
+            throw new IllegalArgumentException("Concurrency and max size must be positive");
+        }
+        int segmentCount = Integer.highestOneBit(Math.min(concurrency, 1 << 16) * 2 - 1);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment();
+        }
+        this.segmentMask = segmentCount - 1;
+        this.maxSegmentSize = Math.max(1, maxSize / segmentCount);
+    }
+
+    /**
+     * Returns the value for the key, or {@code missing} if absent
+     */
+    public long get(long key, long missing) {
+        long hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.tryOptimisticRead();
+        long value = segment.find(key, hash, missing);
+        if (!segment.validate(stamp)) {
+            stamp = segment.readLock();
+            try {
+                value = segment.find(key, hash, missing);
+            } finally {
+                segment.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    public void put(long key, long value) {
+        checkKey(key);
+        long hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.writeLock();
+        try {
+            segment.put(key, hash, value, maxSegmentSize);
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(long key) {
+        checkKey(key);
+        long hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.writeLock();
+        try {
+            segment.remove(key, hash);
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.readLock();
+            try {
+                size += segment.size;
+            } finally {
+                segment.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            long stamp = segment.writeLock();
+            try {
+                segment.reset();
+            } finally {
+                segment.unlockWrite(stamp);
+            }
+        }
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 40) & segmentMask];
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+    }
+
+    // MurmurHash3 finalizer: sequential ids spread over segments and slots
+    private static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB93FE1A85EC3L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static final class Segment extends StampedLock {
+
+        // Keys at even indexes, values at the following odd index
+        private long[] table = new long[INITIAL_CAPACITY * 2];
+        private int size;
+
+        long find(long key, long hash, long missing) {
+            long[] slots = table;
+            int mask = (slots.length >> 1) - 1;
+            int index = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long current = slots[index << 1];
+                if (current == key) {
+                    return slots[(index << 1) + 1];
+                }
+                if (current == EMPTY) {
+                    return missing;
+                }
+                index = (index + 1) & mask;
+            }
+            return missing;
+        }
+
+        void put(long key, long hash, long value, int maxSize) {
+            if (size >= maxSize) {
+                reset();
+            } else if ((size + 1) * 4 > (table.length >> 1) * 3) {
+                resize();
+            }
+            int mask = (table.length >> 1) - 1;
+            int index = (int) hash & mask;
+            while (table[index << 1] != EMPTY && table[index << 1] != key) {
+                index = (index + 1) & mask;
+            }
+            if (table[index << 1] == EMPTY) {
+                size++;
+            }
+            table[(index << 1) + 1] = value;
+            table[index << 1] = key;
+        }
+
+        void remove(long key, long hash) {
+            int mask = (table.length >> 1) - 1;
+            int hole = (int) hash & mask;
+            while (table[hole << 1] != key) {
+                if (table[hole << 1] == EMPTY) {
+                    return;
+                }
+                hole = (hole + 1) & mask;
+            }
+            // Backward-shift deletion keeps probe chains intact without tombstones
+            int next = (hole + 1) & mask;
+            while (table[next << 1] != EMPTY) {
+                long current = table[next << 1];
+                int ideal = (int) hash(current) & mask;
+                if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                    table[hole << 1] = current;
+                    table[(hole << 1) + 1] = table[(next << 1) + 1];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            table[hole << 1] = EMPTY;
+            table[(hole << 1) + 1] = 0L;
+            size--;
+        }
+
+        void reset() {
+            table = new long[INITIAL_CAPACITY * 2];
+            size = 0;
+        }
+
+        private void resize() {
+            long[] old = table;
+            long[] resized = new long[old.length * 2];
+            int mask = (resized.length >> 1) - 1;
+            for (int i = 0; i < old.length; i += 2) {
+                long key = old[i];
+                if (key != EMPTY) {
+                    int index = (int) hash(key) & mask;
+                    while (resized[index << 1] != EMPTY) {
+                        index = (index + 1) & mask;
+                    }
+                    resized[index << 1] = key;
+                    resized[(index << 1) + 1] = old[i + 1];
+                }
+            }
+            table = resized;
+        }
+    }
+}
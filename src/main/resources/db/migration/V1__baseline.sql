@@ -0,0 +1,54 @@
+-- Entity tables as Hibernate's ddl-auto: update created them before the switch to Flyway.
+-- Databases that update created are baselined at this version instead (baseline-on-migrate),
+-- so everything added since lives in later migrations, written to be safe to re-run.
+CREATE TABLE users (
+    id         bigserial    NOT NULL,
+    email      varchar(255) NOT NULL UNIQUE,
+    name       varchar(255) NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE calendars (
+    id         bigserial    NOT NULL,
+    user_id    bigint       NOT NULL UNIQUE REFERENCES users,
+    timezone   varchar(255) NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE time_slots (
+    id          bigserial    NOT NULL,
+    calendar_id bigint       NOT NULL REFERENCES calendars,
+    start_time  timestamp(6) NOT NULL,
+    end_time    timestamp(6) NOT NULL,
+    status      varchar(255) NOT NULL CHECK (status IN ('FREE', 'BUSY', 'BOOKED')),
+    version     bigint,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE meetings (
+    id           bigserial     NOT NULL,
+    time_slot_id bigint        NOT NULL UNIQUE REFERENCES time_slots,
+    title        varchar(255)  NOT NULL,
+    description  varchar(1000),
+    created_at   timestamp(6)  NOT NULL,
+    updated_at   timestamp(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE meeting_participants (
+    meeting_id bigint NOT NULL REFERENCES meetings,
+    user_id    bigint NOT NULL REFERENCES users,
+    PRIMARY KEY (meeting_id, user_id)
+);
+
+CREATE INDEX idx_timeslot_calendar_time ON time_slots (calendar_id, start_time, end_time);
+CREATE INDEX idx_timeslot_status ON time_slots (status);
+CREATE INDEX idx_timeslot_calendar_status ON time_slots (calendar_id, status);
+CREATE INDEX idx_meeting_participants_meeting ON meeting_participants (meeting_id);
+CREATE INDEX idx_meeting_participants_user ON meeting_participants (user_id);
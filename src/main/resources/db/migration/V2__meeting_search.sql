@@ -0,0 +1,6 @@
+-- Full-text search over meeting title and description.
+-- The column is maintained by PostgreSQL itself, so Hibernate never maps or writes it.
+ALTER TABLE meetings ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(description, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_meeting_search_vector ON meetings USING GIN (search_vector);
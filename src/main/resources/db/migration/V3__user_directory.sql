@@ -0,0 +1,8 @@
+-- Keyset pages of the user directory, ordered by name then id.
+CREATE INDEX IF NOT EXISTS idx_user_name ON users (name, id);
+
+-- Prefix filters on the user directory (LIKE 'abc%') can only use a btree index
+-- under the C collation or with pattern ops.
+CREATE INDEX IF NOT EXISTS idx_user_name_pattern ON users (name text_pattern_ops, id);
+
+CREATE INDEX IF NOT EXISTS idx_user_email_pattern ON users (email text_pattern_ops);
@@ -0,0 +1,36 @@
+-- Scheduling polls. Vote counts per option are kept in poll_options.vote_count and
+-- recounted from poll_votes when a poll is finalized.
+CREATE TABLE IF NOT EXISTS polls (
+    id           bigserial     NOT NULL,
+    organizer_id bigint        NOT NULL REFERENCES users,
+    meeting_id   bigint,
+    title        varchar(255)  NOT NULL,
+    description  varchar(1000),
+    status       varchar(255)  NOT NULL CHECK (status IN ('OPEN', 'FINALIZED')),
+    quorum       integer       NOT NULL,
+    created_at   timestamp(6)  NOT NULL,
+    updated_at   timestamp(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS poll_options (
+    id           bigserial NOT NULL,
+    poll_id      bigint    NOT NULL REFERENCES polls,
+    time_slot_id bigint    NOT NULL REFERENCES time_slots,
+    vote_count   bigint    NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS poll_votes (
+    id             bigserial    NOT NULL,
+    poll_option_id bigint       NOT NULL REFERENCES poll_options,
+    user_id        bigint       NOT NULL REFERENCES users,
+    created_at     timestamp(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_poll_vote_option_user UNIQUE (poll_option_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_poll_organizer ON polls (organizer_id);
+CREATE INDEX IF NOT EXISTS idx_poll_option_poll ON poll_options (poll_id);
+CREATE INDEX IF NOT EXISTS idx_poll_option_timeslot ON poll_options (time_slot_id);
+CREATE INDEX IF NOT EXISTS idx_poll_vote_user ON poll_votes (user_id);
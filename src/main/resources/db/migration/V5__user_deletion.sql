@@ -0,0 +1,20 @@
+-- Deleting a user marks the row and queues a job that purges its data in chunks.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted_at timestamp(6);
+
+CREATE TABLE IF NOT EXISTS user_deletion_jobs (
+    id                     bigserial     NOT NULL,
+    user_id                bigint        NOT NULL,
+    status                 varchar(255)  NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    votes_deleted          bigint        NOT NULL,
+    participations_removed bigint        NOT NULL,
+    polls_deleted          bigint        NOT NULL,
+    meetings_deleted       bigint        NOT NULL,
+    slots_deleted          bigint        NOT NULL,
+    error                  varchar(1000),
+    created_at             timestamp(6)  NOT NULL,
+    updated_at             timestamp(6)  NOT NULL,
+    completed_at           timestamp(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_deletion_job_status ON user_deletion_jobs (status);
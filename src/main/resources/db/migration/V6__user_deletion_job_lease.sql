@@ -0,0 +1,5 @@
+-- A deletion job is run by the instance holding its lease; a RUNNING job whose lease
+-- has expired (its instance died) can be claimed by another.
+ALTER TABLE user_deletion_jobs ADD COLUMN IF NOT EXISTS owner varchar(100);
+
+ALTER TABLE user_deletion_jobs ADD COLUMN IF NOT EXISTS lease_expires_at timestamp(6);
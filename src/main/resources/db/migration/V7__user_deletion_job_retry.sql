@@ -0,0 +1,5 @@
+-- A failed deletion job is retried by the reclaim sweep once retry_at has passed; the
+-- wait doubles with every failed attempt.
+ALTER TABLE user_deletion_jobs ADD COLUMN IF NOT EXISTS attempts integer NOT NULL DEFAULT 0;
+
+ALTER TABLE user_deletion_jobs ADD COLUMN IF NOT EXISTS retry_at timestamp(6);
@@ -0,0 +1,84 @@
+package com.minidoodle.bulkhead;
+
+import com.minidoodle.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BulkheadDataSourceTest {
+
+    private DataSource target;
+    private BulkheadRegistry bulkheadRegistry;
+    private BulkheadDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("minidoodle.bulkhead.database.max-concurrent", "2")
+            .withProperty("minidoodle.bulkhead.database.max-wait-ms", "10");
+        bulkheadRegistry = new BulkheadRegistry(environment, new SimpleMeterRegistry());
+        target = mock(DataSource.class);
+        dataSource = new BulkheadDataSource(target, BulkheadType.DATABASE, () -> bulkheadRegistry);
+    }
+
+    @Test
+    void connections_BoundedByDatabaseBulkhead_PermitReturnedOnceOnClose() throws Exception {
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+        assertEquals(2, bulkheadRegistry.active(BulkheadType.DATABASE));
+        assertThrows(BulkheadFullException.class, dataSource::getConnection);
+
+        first.close();
+        first.close();
+        verify(pooled, times(2)).close();
+        assertEquals(1, bulkheadRegistry.active(BulkheadType.DATABASE));
+    }
+
+    @Test
+    void failedCheckout_ReleasesPermit() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(0, bulkheadRegistry.active(BulkheadType.DATABASE));
+    }
+
+    @Test
+    void connection_DelegatesOtherCalls() throws Exception {
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+        when(pooled.getAutoCommit()).thenReturn(true);
+
+        Connection connection = dataSource.getConnection();
+        assertTrue(connection.getAutoCommit());
+        assertEquals(connection, connection);
+        assertNotEquals(pooled, connection);
+    }
+
+    @Test
+    void replicaPool_HasItsOwnBulkhead() throws Exception {
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(mock(Connection.class));
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        BulkheadDataSource replicaDataSource = new BulkheadDataSource(replica, BulkheadType.DATABASE_REPLICA, () -> bulkheadRegistry);
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+        Connection replicaConnection = replicaDataSource.getConnection();
+
+        assertEquals(2, bulkheadRegistry.active(BulkheadType.DATABASE));
+        assertEquals(1, bulkheadRegistry.active(BulkheadType.DATABASE_REPLICA));
+        replicaConnection.close();
+        assertEquals(0, bulkheadRegistry.active(BulkheadType.DATABASE_REPLICA));
+    }
+}
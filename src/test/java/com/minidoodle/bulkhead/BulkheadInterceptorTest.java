@@ -0,0 +1,101 @@
+package com.minidoodle.bulkhead;
+
+import com.minidoodle.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BulkheadRegistry bulkheadRegistry;
+    private BulkheadInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("minidoodle.bulkhead.reads.max-concurrent", "2")
+            .withProperty("minidoodle.bulkhead.reads.max-wait-ms", "10")
+            .withProperty("minidoodle.bulkhead.booking.max-concurrent", "1")
+            .withProperty("minidoodle.bulkhead.retry-after-seconds", "3");
+        meterRegistry = new SimpleMeterRegistry();
+        bulkheadRegistry = new BulkheadRegistry(environment, meterRegistry);
+        interceptor = new BulkheadInterceptor(bulkheadRegistry);
+    }
+
+    @Test
+    void fullBulkhead_RejectsAfterMaxWait_OtherBulkheadsUnaffected() throws Exception {
+        enter("read");
+        enter("read");
+
+        BulkheadFullException ex = assertThrows(BulkheadFullException.class, () -> enter("read"));
+        assertEquals("reads", ex.getBulkhead());
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("minidoodle.bulkhead.rejected").tag("bulkhead", "reads").counter().count());
+        assertEquals(1.0, meterRegistry.get("minidoodle.bulkhead.saturation").tag("bulkhead", "reads").gauge().value());
+
+        enter("book");
+        assertEquals(1, bulkheadRegistry.active(BulkheadType.BOOKING));
+    }
+
+    @Test
+    void completion_ReleasesPermit() throws Exception {
+        MockHttpServletRequest request = enter("read");
+        assertEquals(1, bulkheadRegistry.active(BulkheadType.READS));
+
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler("read"), null);
+        assertEquals(0, bulkheadRegistry.active(BulkheadType.READS));
+    }
+
+    @Test
+    void asyncRequest_KeepsOnePermitUntilAsyncDispatchCompletes() throws Exception {
+        MockHttpServletRequest request = enter("read");
+        request.setAsyncStarted(true);
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler("read"), null);
+        assertEquals(1, bulkheadRegistry.active(BulkheadType.READS));
+
+        request.setAsyncStarted(false);
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler("read"));
+        assertEquals(1, bulkheadRegistry.active(BulkheadType.READS));
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler("read"), null);
+        assertEquals(0, bulkheadRegistry.active(BulkheadType.READS));
+    }
+
+    @Test
+    void unannotatedHandler_IsNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            enter("unlimited");
+        }
+        assertEquals(0, bulkheadRegistry.active(BulkheadType.READS));
+    }
+
+    private MockHttpServletRequest enter(String method) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler(method)));
+        return request;
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(method));
+    }
+
+    public static class Handlers {
+
+        @Bulkhead(BulkheadType.READS)
+        public void read() {
+        }
+
+        @Bulkhead(BulkheadType.BOOKING)
+        public void book() {
+        }
+
+        public void unlimited() {
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.minidoodle.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primary).execute("SHUTDOWN");
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+        ReadYourWritesContext.end();
+    }
+
+    @Test
+    void readOnlyTransactions_UseReplica_WritesUsePrimary() {
+        Routing routing = routing("SELECT 0", true);
+
+        assertEquals("replica", routing.read());
+        assertEquals("primary", routing.write());
+        assertEquals("primary", routing.jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    @Test
+    void laggingOrUnreachableReplica_FallsBackToPrimary() {
+        assertEquals("primary", routing("SELECT 5000", true).read());
+        assertEquals("primary", routing("SELECT missing FROM nowhere", true).read());
+    }
+
+    @Test
+    void readAfterWriteInSameRequest_UsesPrimary() {
+        Routing routing = routing("SELECT 0", true);
+
+        ReadYourWritesContext.begin(false);
+        assertEquals("replica", routing.read());
+        routing.write();
+        assertEquals("primary", routing.read());
+        ReadYourWritesContext.end();
+
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    void readYourWritesDisabled_ReadsStayOnReplica() {
+        Routing routing = routing("SELECT 0", false);
+
+        ReadYourWritesContext.begin(true);
+        routing.write();
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    void filter_PinsRequestsWithRecentWriteCookie() throws Exception {
+        Routing routing = routing("SELECT 0", true);
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(5000);
+        AtomicReference<String> readFrom = new AtomicReference<>();
+
+        MockHttpServletRequest write = new MockHttpServletRequest("POST", "/api/v1/users");
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        filter.doFilter(write, writeResponse, new MockFilterChain());
+        Cookie lastWrite = writeResponse.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+        assertNotNull(lastWrite);
+
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/v1/users/1");
+        read.setCookies(lastWrite);
+        filter.doFilter(read, new MockHttpServletResponse(), (req, res) -> readFrom.set(routing.read()));
+        assertEquals("primary", readFrom.get());
+
+        read = new MockHttpServletRequest("GET", "/api/v1/users/1");
+        read.setCookies(new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, Long.toString(System.currentTimeMillis() - 10_000)));
+        filter.doFilter(read, new MockHttpServletResponse(), (req, res) -> readFrom.set(routing.read()));
+        assertEquals("replica", readFrom.get());
+    }
+
+    private Routing routing(String lagQuery, boolean readYourWrites) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, lagQuery, 1000, new SimpleMeterRegistry());
+        monitor.check();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+            new ReplicaRoutingDataSource(primary, replica, monitor, readYourWrites));
+        return new Routing(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private record Routing(JdbcTemplate jdbcTemplate, DataSourceTransactionManager transactionManager) {
+
+        String read() {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            return readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+        }
+
+        String write() {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                jdbcTemplate.update("UPDATE marker SET name = name");
+                return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+            });
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.minidoodle.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(5));
+    private final Object lock = new Object();
+
+    @AfterEach
+    void tearDown() {
+        monitor.close();
+    }
+
+    @Test
+    void blockingInsideSynchronized_CountedAtApplicationFrame() throws Exception {
+        // The stream starts asynchronously and flushes about once a second, so keep pinning until it reports
+        long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+        Counter pinned = null;
+        while (pinned == null && System.nanoTime() < deadline) {
+            Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+            Thread.sleep(100);
+            pinned = meterRegistry.find("minidoodle.virtual-threads.pinned").counter();
+        }
+
+        assertNotNull(pinned, "no pinned event reported");
+        assertEquals("VirtualThreadPinningMonitorTest.sleepWhileHoldingMonitor", pinned.getId().getTag("location"));
+        assertNotNull(meterRegistry.find("minidoodle.virtual-threads.pinned.duration").timer());
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
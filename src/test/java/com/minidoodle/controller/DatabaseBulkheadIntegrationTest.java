@@ -0,0 +1,70 @@
+package com.minidoodle.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minidoodle.bulkhead.BulkheadRegistry;
+import com.minidoodle.bulkhead.BulkheadType;
+import com.minidoodle.dto.UserDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * With virtual threads on, connection checkouts go through the {@code database}
+ * bulkhead. A full bulkhead surfaces inside the transaction manager, and the endpoint
+ * must still answer 503 rather than 500. Runs on its own database with the
+ * second-level cache off, like {@link ReactiveReadIntegrationTest}. The bulkhead wait
+ * is long enough for a scheduled job to hand back a permit before the test takes them all.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:bulkheaddb",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.threads.virtual.enabled=true",
+    "minidoodle.virtual-threads.pinning.enabled=false",
+    "minidoodle.bulkhead.database.max-concurrent=2",
+    "minidoodle.bulkhead.database.max-wait-ms=2000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DatabaseBulkheadIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Test
+    void transactionalEndpoint_DatabaseBulkheadFull_ReturnsServiceUnavailable() throws Exception {
+        UserDTO user = UserDTO.builder().name("Ann").email("ann@example.com").build();
+
+        bulkheadRegistry.acquire(BulkheadType.DATABASE);
+        bulkheadRegistry.acquire(BulkheadType.DATABASE);
+        try {
+            mockMvc.perform(post("/api/v1/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.code").value("OVERLOADED"));
+        } finally {
+            bulkheadRegistry.release(BulkheadType.DATABASE);
+            bulkheadRegistry.release(BulkheadType.DATABASE);
+        }
+
+        mockMvc.perform(post("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(user)))
+            .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,90 @@
+package com.minidoodle.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minidoodle.dto.CreateMeetingRequest;
+import com.minidoodle.dto.CreateTimeSlotRequest;
+import com.minidoodle.dto.UserDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MeetingControllerIntegrationTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.DAYS);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * The listing orders by the slot's start time, which a SELECT DISTINCT over the
+     * meeting alone does not allow; every meeting comes back once however many
+     * participants it has
+     */
+    @Test
+    void meetingsByParticipant_OrderedByStartTimeWithoutDuplicates() throws Exception {
+        Long ownerId = createUser("Owner").getId();
+        Long participantId = createUser("Participant").getId();
+        Long otherId = createUser("Other").getId();
+        Long late = createMeeting(createSlot(ownerId, FROM.plusHours(15)), "Late", Set.of(participantId, otherId));
+        Long early = createMeeting(createSlot(ownerId, FROM.plusHours(9)), "Early", Set.of(participantId, otherId));
+        Long noon = createMeeting(createSlot(ownerId, FROM.plusHours(12)), "Noon", Set.of(participantId));
+
+        mockMvc.perform(get("/api/v1/meetings/users/{userId}", participantId)
+                .param("startTime", FROM.toString())
+                .param("endTime", FROM.plusDays(1).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].id", contains(early.intValue(), noon.intValue(), late.intValue())))
+            .andExpect(jsonPath("$[0].participants", hasSize(2)));
+    }
+
+    private UserDTO createUser(String name) throws Exception {
+        UserDTO user = UserDTO.builder().name(name).email(UUID.randomUUID() + "@example.com").build();
+        return objectMapper.readValue(create("/api/v1/users", user), UserDTO.class);
+    }
+
+    private Long createSlot(Long userId, LocalDateTime startTime) throws Exception {
+        CreateTimeSlotRequest slot = CreateTimeSlotRequest.builder()
+            .startTime(startTime)
+            .endTime(startTime.plusMinutes(45))
+            .build();
+        return objectMapper.readTree(create("/api/v1/timeslots/users/" + userId, slot)).get("id").asLong();
+    }
+
+    private Long createMeeting(Long slotId, String title, Set<Long> participantIds) throws Exception {
+        CreateMeetingRequest meeting = CreateMeetingRequest.builder()
+            .timeSlotId(slotId)
+            .title(title)
+            .participantIds(participantIds)
+            .build();
+        JsonNode created = objectMapper.readTree(create("/api/v1/meetings", meeting));
+        return created.get("id").asLong();
+    }
+
+    private String create(String path, Object body) throws Exception {
+        return mockMvc.perform(post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+    }
+}
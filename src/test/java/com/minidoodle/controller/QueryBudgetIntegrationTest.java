@@ -0,0 +1,163 @@
+package com.minidoodle.controller;
+
+import com.minidoodle.domain.Calendar;
+import com.minidoodle.domain.Meeting;
+import com.minidoodle.domain.SlotStatus;
+import com.minidoodle.domain.TimeSlot;
+import com.minidoodle.domain.User;
+import com.minidoodle.querybudget.MaxQueries;
+import com.minidoodle.querybudget.QueryBudgetFilter;
+import com.minidoodle.querybudget.QueryCounter;
+import com.minidoodle.repository.CalendarRepository;
+import com.minidoodle.repository.MeetingRepository;
+import com.minidoodle.repository.TimeSlotRepository;
+import com.minidoodle.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the statement counts of the calendar read endpoints. The owner has
+ * {@link #MEETINGS} meetings with {@link #PARTICIPANTS} participants each, so a query
+ * per meeting or per participant blows the budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetIntegrationTest {
+
+    private static final int MEETINGS = 10;
+    private static final int PARTICIPANTS = 3;
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 7, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(7);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User owner;
+    private User participant;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> seed());
+    }
+
+    private void seed() {
+        owner = createUser("owner");
+        Calendar calendar = calendarRepository.save(Calendar.builder().user(owner).build());
+        List<User> participants = new ArrayList<>();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            participants.add(createUser("participant" + i));
+        }
+        participant = participants.get(0);
+
+        for (int i = 0; i < MEETINGS; i++) {
+            LocalDateTime start = FROM.plusHours(9 + i);
+            TimeSlot busy = timeSlotRepository.save(TimeSlot.builder()
+                .calendar(calendar).startTime(start).endTime(start.plusMinutes(30)).status(SlotStatus.BUSY).build());
+            meetingRepository.save(Meeting.builder()
+                .title("Meeting " + i).timeSlot(busy).participants(new HashSet<>(participants)).build());
+            timeSlotRepository.save(TimeSlot.builder()
+                .calendar(calendar).startTime(start.plusMinutes(30)).endTime(start.plusMinutes(60)).build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        meetingRepository.deleteAll();
+        timeSlotRepository.deleteAll();
+        calendarRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @MaxQueries(value = 1, entityLoads = 2 * MEETINGS + PARTICIPANTS)
+    void meetingsByParticipant_RunsFixedNumberOfStatements() throws Exception {
+        mockMvc.perform(get("/api/v1/meetings/users/{userId}", participant.getId())
+                .param("startTime", FROM.toString())
+                .param("endTime", TO.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(MEETINGS)))
+            .andExpect(jsonPath("$[0].participants", hasSize(PARTICIPANTS)));
+    }
+
+    @Test
+    @MaxQueries(value = 1, entityLoads = 2 * MEETINGS + PARTICIPANTS)
+    void meetingsByOwner_RunsFixedNumberOfStatements() throws Exception {
+        mockMvc.perform(get("/api/v1/meetings/users/{userId}/owned", owner.getId())
+                .param("startTime", FROM.toString())
+                .param("endTime", TO.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(MEETINGS)));
+    }
+
+    @Test
+    @MaxQueries(2)
+    void slotsByUser_RunsFixedNumberOfStatements() throws Exception {
+        mockMvc.perform(get("/api/v1/timeslots/users/{userId}", owner.getId())
+                .param("startTime", FROM.toString())
+                .param("endTime", TO.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(MEETINGS * 2)));
+    }
+
+    @Test
+    @MaxQueries(2)
+    void availability_RunsFixedNumberOfStatements() throws Exception {
+        mockMvc.perform(get("/api/v1/timeslots/users/{userId}/availability", owner.getId())
+                .param("startTime", FROM.toString())
+                .param("endTime", TO.toString()))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void responseCarriesCountsOfTheRequest() throws Exception {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            String count = mockMvc.perform(get("/api/v1/meetings/users/{userId}/owned", owner.getId())
+                    .param("startTime", FROM.toString())
+                    .param("endTime", TO.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(QueryBudgetFilter.ENTITY_LOAD_COUNT_HEADER))
+                .andReturn().getResponse().getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER);
+
+            assertEquals(Integer.toString(scope.statements()), count);
+        }
+    }
+
+    private User createUser(String name) {
+        return userRepository.save(User.builder().name(name).email(name + "@budget.example.com").build());
+    }
+}
@@ -0,0 +1,187 @@
+package com.minidoodle.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minidoodle.dto.CreateMeetingRequest;
+import com.minidoodle.dto.CreateTimeSlotRequest;
+import com.minidoodle.dto.UserDTO;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The reactive endpoints answer with the same bodies as their blocking counterparts,
+ * read over R2DBC from the same in-memory H2 database the JPA side writes to. The
+ * database is separate from other test contexts' and the second-level cache is off,
+ * because the JCache manager is shared across contexts and ids would collide in it.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:reactivedb",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "minidoodle.reactive.enabled=true",
+    "minidoodle.reactive.url=r2dbc:h2:mem:///reactivedb",
+    "minidoodle.reactive.username=sa",
+    "minidoodle.reactive.password=",
+    "minidoodle.reactive.participant-batch-size=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveReadIntegrationTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+    private static final LocalDateTime TO = FROM.plusDays(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("reactiveMaxConnections")
+    private WebServerFactoryCustomizer<TomcatServletWebServerFactory> reactiveMaxConnections;
+
+    private Long ownerId;
+    private Long guestId;
+    private Long meetingId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ownerId = createUser("Owner").getId();
+        guestId = createUser("Guest").getId();
+        for (int hour = 9; hour < 14; hour++) {
+            JsonNode slot = createSlot(ownerId, FROM.plusHours(hour));
+            if (hour % 2 == 1) {
+                meetingId = createMeeting(slot.get("id").asLong(), "Meeting " + hour);
+            }
+        }
+    }
+
+    @Test
+    void availabilityAndSlots_MatchBlockingEndpoints() throws Exception {
+        String range = "?startTime=" + FROM + "&endTime=" + TO;
+
+        assertEquals(blocking("/api/v1/timeslots/users/" + ownerId + "/availability" + range),
+            reactive(get("/api/v1/reactive/timeslots/users/" + ownerId + "/availability" + range)));
+        assertEquals(blocking("/api/v1/timeslots/users/" + ownerId + range),
+            reactive(get("/api/v1/reactive/timeslots/users/" + ownerId + range).accept(MediaType.APPLICATION_JSON)));
+    }
+
+    @Test
+    void slotListing_StreamsNdjsonByDefault() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/reactive/timeslots/users/" + ownerId)
+                .param("startTime", FROM.toString())
+                .param("endTime", TO.toString()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertTrue(result.getResponse().getContentType().startsWith(MediaType.APPLICATION_NDJSON_VALUE));
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        assertEquals(5, lines.length);
+        assertEquals(FROM.plusHours(9), LocalDateTime.parse(objectMapper.readTree(lines[0]).get("startTime").asText()));
+    }
+
+    @Test
+    void meetings_MatchBlockingEndpointsAcrossParticipantBatches() throws Exception {
+        String range = "?startTime=" + FROM + "&endTime=" + TO;
+
+        JsonNode owned = reactive(get("/api/v1/reactive/meetings/users/" + ownerId + "/owned" + range)
+            .accept(MediaType.APPLICATION_JSON));
+        assertEquals(3, owned.size());
+        assertEquals(blocking("/api/v1/meetings/users/" + ownerId + "/owned" + range), owned);
+        assertEquals(blocking("/api/v1/meetings/users/" + guestId + range),
+            reactive(get("/api/v1/reactive/meetings/users/" + guestId + range).accept(MediaType.APPLICATION_JSON)));
+
+        JsonNode meeting = reactive(get("/api/v1/reactive/meetings/" + meetingId));
+        assertEquals(blocking("/api/v1/meetings/" + meetingId), meeting);
+        assertEquals(Set.of(guestId), objectMapper.convertValue(meeting.get("participantIds"),
+            objectMapper.getTypeFactory().constructCollectionType(Set.class, Long.class)));
+    }
+
+    @Test
+    void missingMeeting_ReturnsNotFound() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/reactive/meetings/999999"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.message").value("Meeting not found with id: 999999"));
+    }
+
+    @Test
+    void enabled_RaisesTomcatConnectionLimit() {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory();
+        reactiveMaxConnections.customize(factory);
+        Connector connector = new Connector();
+        factory.getTomcatConnectorCustomizers().forEach(customizer -> customizer.customize(connector));
+
+        assertEquals(10000, ((AbstractProtocol<?>) connector.getProtocolHandler()).getMaxConnections());
+    }
+
+    private JsonNode blocking(String path) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(path))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+    }
+
+    private JsonNode reactive(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return objectMapper.readTree(mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+    }
+
+    private UserDTO createUser(String name) throws Exception {
+        UserDTO user = UserDTO.builder().name(name).email(UUID.randomUUID() + "@example.com").build();
+        return objectMapper.readValue(create("/api/v1/users", user), UserDTO.class);
+    }
+
+    private JsonNode createSlot(Long userId, LocalDateTime startTime) throws Exception {
+        CreateTimeSlotRequest slot = CreateTimeSlotRequest.builder()
+            .startTime(startTime)
+            .endTime(startTime.plusMinutes(45))
+            .build();
+        return objectMapper.readTree(create("/api/v1/timeslots/users/" + userId, slot));
+    }
+
+    private Long createMeeting(Long slotId, String title) throws Exception {
+        CreateMeetingRequest meeting = CreateMeetingRequest.builder()
+            .timeSlotId(slotId)
+            .title(title)
+            .participantIds(Set.of(guestId))
+            .build();
+        return objectMapper.readTree(create("/api/v1/meetings", meeting)).get("id").asLong();
+    }
+
+    private String create(String path, Object body) throws Exception {
+        return mockMvc.perform(post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+    }
+}
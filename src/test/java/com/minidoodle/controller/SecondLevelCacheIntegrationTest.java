@@ -0,0 +1,84 @@
+package com.minidoodle.controller;
+
+import com.minidoodle.domain.User;
+import com.minidoodle.repository.MeetingRepository;
+import com.minidoodle.repository.UserRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements that bypass the entity lifecycle must not empty whole cache regions:
+ * each should invalidate only what it touched.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = entityManagerFactory.getCache();
+    }
+
+    @Test
+    void nativeParticipantDelete_KeepsUserRegion() {
+        Long userId = cachedUser();
+
+        transactionTemplate.executeWithoutResult(status -> meetingRepository.deleteParticipantsByMeetingIds(List.of(-1L)));
+
+        assertTrue(cache.contains(User.class, userId));
+    }
+
+    @Test
+    void deleteUser_EvictsOnlyThatUser() throws Exception {
+        Long deletedId = cachedUser();
+        Long keptId = cachedUser();
+
+        mockMvc.perform(delete("/api/v1/users/" + deletedId))
+            .andExpect(status().isAccepted());
+
+        assertFalse(cache.contains(User.class, deletedId));
+        assertTrue(cache.contains(User.class, keptId));
+        assertTrue(transactionTemplate.execute(status -> userRepository.findById(deletedId)).isEmpty());
+    }
+
+    private Long cachedUser() {
+        String name = UUID.randomUUID().toString();
+        Long id = userRepository.save(User.builder().name(name).email(name + "@example.com").build()).getId();
+        transactionTemplate.executeWithoutResult(status -> userRepository.findById(id).orElseThrow());
+        assertTrue(cache.contains(User.class, id));
+        return id;
+    }
+}
@@ -1,6 +1,8 @@
 package com.minidoodle.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minidoodle.bulkhead.BulkheadRegistry;
+import com.minidoodle.bulkhead.BulkheadType;
 import com.minidoodle.dto.UserDTO;
 import com.minidoodle.repository.CalendarRepository;
 import com.minidoodle.repository.UserRepository;
@@ -12,8 +14,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,6 +41,9 @@ class UserControllerIntegrationTest {
     @Autowired
     private CalendarRepository calendarRepository;
 
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
     @BeforeEach
     void setUp() {
         calendarRepository.deleteAll();
@@ -75,6 +85,7 @@ class UserControllerIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(userDTO)))
             .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("EMAIL_TAKEN"))
             .andExpect(jsonPath("$.message").value(containsString("already exists")));
     }
 
@@ -89,7 +100,8 @@ class UserControllerIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(userDTO)))
             .andExpect(status().isBadRequest())
-            .andExpect(jsonPath("$.error").value("Validation Failed"));
+            .andExpect(jsonPath("$.error").value("Validation Failed"))
+            .andExpect(jsonPath("$.code").value("VALIDATION_FAILED"));
     }
 
     @Test
@@ -132,6 +144,7 @@ class UserControllerIntegrationTest {
     void getUserById_NotFound_ReturnsNotFound() throws Exception {
         mockMvc.perform(get("/api/v1/users/999"))
             .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.code").value("USER_NOT_FOUND"))
             .andExpect(jsonPath("$.message").value(containsString("not found")));
     }
 
@@ -165,6 +178,129 @@ class UserControllerIntegrationTest {
             .andExpect(jsonPath("$[*].email", containsInAnyOrder("user1@example.com", "user2@example.com")));
     }
 
+    @Test
+    void getUsers_LimitAboveMaximum_StillReturnsCursor() throws Exception {
+        List<UserDTO> users = IntStream.rangeClosed(1, 1001)
+            .mapToObj(i -> UserDTO.builder().name("Bulk User " + i).email("bulk" + i + "@example.com").build())
+            .toList();
+        mockMvc.perform(post("/api/v1/users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(users)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(1001));
+
+        String nextAfterId = mockMvc.perform(get("/api/v1/users").param("limit", "5000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1000)))
+            .andExpect(header().exists("X-Next-After-Id"))
+            .andReturn().getResponse().getHeader("X-Next-After-Id");
+
+        mockMvc.perform(get("/api/v1/users").param("limit", "5000").param("afterId", nextAfterId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].email").value("bulk1001@example.com"))
+            .andExpect(header().doesNotExist("X-Next-After-Id"));
+    }
+
+    @Test
+    void getUsers_KeysetPagination() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/api/v1/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(UserDTO.builder()
+                        .name("Page User " + i)
+                        .email("page" + i + "@example.com")
+                        .build())))
+                .andExpect(status().isCreated());
+        }
+
+        String nextAfterId = mockMvc.perform(get("/api/v1/users").param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[0].email").value("page1@example.com"))
+            .andExpect(header().exists("X-Next-After-Id"))
+            .andReturn().getResponse().getHeader("X-Next-After-Id");
+
+        mockMvc.perform(get("/api/v1/users").param("limit", "2").param("afterId", nextAfterId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].email").value("page3@example.com"))
+            .andExpect(header().doesNotExist("X-Next-After-Id"));
+
+        // Clamped to a page of one, which is full
+        mockMvc.perform(get("/api/v1/users").param("limit", "0"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(header().exists("X-Next-After-Id"));
+
+        mockMvc.perform(get("/api/v1/users").param("emailPrefix", "page2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].name").value("Page User 2"));
+    }
+
+    @Test
+    void streamUsers_Success() throws Exception {
+        for (int i = 1; i <= 2; i++) {
+            mockMvc.perform(post("/api/v1/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(UserDTO.builder()
+                        .name("Stream User " + i)
+                        .email("stream" + i + "@example.com")
+                        .build())))
+                .andExpect(status().isCreated());
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/v1/users/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        assertEquals(1, bulkheadRegistry.active(BulkheadType.STREAMS));
+        assertEquals(0, bulkheadRegistry.active(BulkheadType.READS));
+
+        String body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("stream1@example.com",
+            objectMapper.readValue(lines[0], UserDTO.class).getEmail());
+    }
+
+    @Test
+    void provisionUsersFromCsv_ReportsEachRow() throws Exception {
+        mockMvc.perform(post("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    UserDTO.builder().name("Existing").email("existing@example.com").build())))
+            .andExpect(status().isCreated());
+
+        String csv = """
+            email,name
+            alice@example.com,"Doe, Alice"
+            existing@example.com,Existing Again
+            not-an-email,Bob
+            alice@example.com,Alice Again
+            """;
+
+        mockMvc.perform(post("/api/v1/users/bulk")
+                .contentType("text/csv")
+                .content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(1))
+            .andExpect(jsonPath("$.duplicates").value(2))
+            .andExpect(jsonPath("$.invalid").value(1))
+            .andExpect(jsonPath("$.rows[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.rows[0].userId").exists())
+            .andExpect(jsonPath("$.rows[1].status").value("DUPLICATE"))
+            .andExpect(jsonPath("$.rows[2].status").value("INVALID"))
+            .andExpect(jsonPath("$.rows[3].status").value("DUPLICATE"));
+
+        Long aliceId = userRepository.findByEmail("alice@example.com").orElseThrow().getId();
+        assertEquals("Doe, Alice", userRepository.findById(aliceId).orElseThrow().getName());
+        assertEquals(true, calendarRepository.findByUserId(aliceId).isPresent());
+    }
+
     @Test
     void deleteUser_Success() throws Exception {
         // Create user
@@ -182,11 +318,64 @@ class UserControllerIntegrationTest {
         UserDTO created = objectMapper.readValue(response, UserDTO.class);
 
         // Delete user
-        mockMvc.perform(delete("/api/v1/users/" + created.getId()))
-            .andExpect(status().isNoContent());
+        String jobResponse = mockMvc.perform(delete("/api/v1/users/" + created.getId()))
+            .andExpect(status().isAccepted())
+            .andExpect(header().exists("Location"))
+            .andExpect(jsonPath("$.userId").value(created.getId()))
+            .andReturn().getResponse().getContentAsString();
+        long jobId = objectMapper.readTree(jobResponse).get("id").asLong();
 
-        // Verify deletion
+        // Hidden immediately, purged in the background
         mockMvc.perform(get("/api/v1/users/" + created.getId()))
             .andExpect(status().isNotFound());
+
+        String jobStatus = "PENDING";
+        for (int attempt = 0; attempt < 50 && !jobStatus.equals("COMPLETED"); attempt++) {
+            Thread.sleep(100);
+            String body = mockMvc.perform(get("/api/v1/users/deletions/" + jobId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            jobStatus = objectMapper.readTree(body).get("status").asText();
+        }
+        assertEquals("COMPLETED", jobStatus);
+        assertEquals(false, calendarRepository.existsByUserId(created.getId()));
+    }
+
+    @Test
+    void batch_AtomicFailureRollsBack_ReadsReturnPerOperationResults() throws Exception {
+        String atomic = """
+            {"atomic": true, "operations": [
+              {"id": "a", "method": "POST", "path": "/api/v1/users", "body": {"name": "Batch One", "email": "batch@example.com"}},
+              {"id": "b", "method": "POST", "path": "/users", "body": {"name": "Batch Two", "email": "batch@example.com"}}
+            ]}""";
+        mockMvc.perform(post("/api/v1/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(atomic))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.results[0].id").value("a"))
+            .andExpect(jsonPath("$.results[0].status").value(424))
+            .andExpect(jsonPath("$.results[1].status").value(400))
+            .andExpect(jsonPath("$.results[1].body.message").value(containsString("already exists")));
+        assertEquals(false, userRepository.findByEmail("batch@example.com").isPresent());
+
+        mockMvc.perform(post("/api/v1/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"operations": [{"method": "POST", "path": "/users", "body": {"name": "Batch One", "email": "batch@example.com"}}]}"""))
+            .andExpect(jsonPath("$.results[0].status").value(201));
+
+        mockMvc.perform(post("/api/v1/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"operations": [
+                      {"method": "GET", "path": "/users/email/batch@example.com"},
+                      {"method": "GET", "path": "/users/999999"},
+                      {"method": "GET", "path": "/nothing/here"}
+                    ]}"""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.results[0].status").value(200))
+            .andExpect(jsonPath("$.results[0].body.name").value("Batch One"))
+            .andExpect(jsonPath("$.results[1].status").value(404))
+            .andExpect(jsonPath("$.results[2].status").value(404));
     }
 }
@@ -0,0 +1,80 @@
+package com.minidoodle.metrics;
+
+import com.minidoodle.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeasuredBeanPostProcessorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MeasuredBeanPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        postProcessor = new MeasuredBeanPostProcessor(() -> meterRegistry);
+        postProcessor.setBeanFactory(new DefaultListableBeanFactory());
+    }
+
+    @Test
+    void publicMethods_TimedPerOutcomeWithSloBuckets() {
+        SampleService service = (SampleService) postProcessor.postProcessAfterInitialization(new SampleService(), "sample");
+
+        service.find(true);
+        service.find(true);
+        assertThrows(ResourceNotFoundException.class, () -> service.find(false));
+        service.helper();
+
+        assertEquals(2, timer("success").count());
+        assertEquals(1, timer("not_found").count());
+        assertEquals(OperationTimer.SLOS.length, timer("success").takeSnapshot().histogramCounts().length);
+        assertNull(meterRegistry.find(OperationTimer.METRIC).tag("operation", "helper").timer());
+    }
+
+    @Test
+    void existingProxy_TimerWrapsExistingAdvice() {
+        // Stands in for the transaction interceptor failing the commit after the method returned
+        ProxyFactory proxyFactory = new ProxyFactory(new SampleService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            invocation.proceed();
+            throw new IllegalStateException("commit failed");
+        });
+        SampleService service = (SampleService) postProcessor.postProcessAfterInitialization(proxyFactory.getProxy(), "sample");
+
+        assertThrows(IllegalStateException.class, () -> service.find(true));
+
+        assertEquals(1, timer("error").count());
+        assertNull(meterRegistry.find(OperationTimer.METRIC).tag("outcome", "success").timer());
+    }
+
+    private Timer timer(String outcome) {
+        return meterRegistry.get(OperationTimer.METRIC)
+            .tag("service", "samples")
+            .tag("operation", "find")
+            .tag("outcome", outcome)
+            .timer();
+    }
+
+    @Measured("samples")
+    static class SampleService {
+
+        public String find(boolean found) {
+            if (!found) {
+                throw new ResourceNotFoundException("Sample not found");
+            }
+            return "sample";
+        }
+
+        String helper() {
+            return "helper";
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.minidoodle.querybudget;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a test that runs more SQL statements, or loads more entities, than its budget.
+ * Everything the test method runs on its own thread counts, including MockMvc requests;
+ * {@code @BeforeEach} setup does not. On a class, applies to every test method that has
+ * no annotation of its own.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface MaxQueries {
+
+    /**
+     * Most statements the test may run
+     */
+    int value();
+
+    /**
+     * Most entities the test may load, or -1 for no limit
+     */
+    int entityLoads() default -1;
+}
@@ -0,0 +1,48 @@
+package com.minidoodle.querybudget;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Enforces {@link MaxQueries}, so a change that adds a query per row (an N+1) fails
+ * the build instead of showing up later under production data volumes.
+ */
+class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), QueryCounter.open());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryCounter.Scope scope = context.getStore(NAMESPACE).remove(context.getUniqueId(), QueryCounter.Scope.class);
+        if (scope == null) {
+            return;
+        }
+        scope.close();
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        MaxQueries budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxQueries.class)
+            .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), MaxQueries.class))
+            .orElseThrow();
+        if (scope.statements() > budget.value()) {
+            fail(String.format("%s ran %d SQL statements, over its budget of %d. Look for a query per row (N+1); "
+                    + "raise @MaxQueries only if the extra statements are intended.",
+                context.getDisplayName(), scope.statements(), budget.value()));
+        }
+        if (budget.entityLoads() >= 0 && scope.entityLoads() > budget.entityLoads()) {
+            fail(String.format("%s loaded %d entities, over its budget of %d. Look for eager associations or "
+                    + "unbounded fetches; raise @MaxQueries only if the extra loads are intended.",
+                context.getDisplayName(), scope.entityLoads(), budget.entityLoads()));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.minidoodle.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitRegistryTest {
+
+    @Test
+    void withoutCallerIdentity_StaysDisabled() {
+        MockEnvironment environment = new MockEnvironment();
+
+        assertFalse(new RateLimitRegistry(environment, new SimpleMeterRegistry()).enabled());
+    }
+
+    @Test
+    void forwardedHeadersOrCallerHeader_Enable() {
+        MockEnvironment forwarded = new MockEnvironment().withProperty("server.forward-headers-strategy", "native");
+        MockEnvironment header = new MockEnvironment().withProperty("minidoodle.rate-limit.caller-header", "X-Client-Id");
+
+        assertTrue(new RateLimitRegistry(forwarded, new SimpleMeterRegistry()).enabled());
+        assertTrue(new RateLimitRegistry(header, new SimpleMeterRegistry()).enabled());
+        assertFalse(new RateLimitRegistry(forwarded.withProperty("minidoodle.rate-limit.enabled", "false"),
+            new SimpleMeterRegistry()).enabled());
+    }
+}
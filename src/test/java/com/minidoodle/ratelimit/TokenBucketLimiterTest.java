@@ -0,0 +1,82 @@
+package com.minidoodle.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void admitsBurstThenSustainedRate() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 3, 100, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(100_000_000L, limiter.tryAcquire("a"));
+
+        clock.addAndGet(50_000_000L);
+        assertEquals(50_000_000L, limiter.tryAcquire("a"));
+        clock.addAndGet(50_000_000L);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 100, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void refilledKeysAreEvicted_AndCapEvictsInline() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 2, 2, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        assertEquals(2, limiter.size());
+
+        clock.addAndGet(100_000_000L);
+        limiter.tryAcquire("c");
+        assertEquals(1, limiter.size());
+
+        clock.addAndGet(100_000_000L);
+        limiter.evictIdle();
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void capReached_NewKeysShareOverflowBucket() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 1, 2, clock::get);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("b"));
+
+        // Nothing idle to evict: c and d share one bucket and are not added
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertTrue(limiter.tryAcquire("d") > 0);
+        assertEquals(2, limiter.size());
+
+        // The inline eviction just ran, so it is skipped even once a and b are idle
+        clock.addAndGet(200_000_000L);
+        assertEquals(0, limiter.tryAcquire("e"));
+        assertEquals(2, limiter.size());
+
+        clock.addAndGet(1_000_000_000L);
+        assertEquals(0, limiter.tryAcquire("f"));
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void endpointClasses() {
+        assertEquals(EndpointClass.AVAILABILITY, EndpointClass.of("GET", "/api/v1/timeslots/users/7/availability"));
+        assertEquals(EndpointClass.AVAILABILITY, EndpointClass.of("GET", "/api/v1/reactive/timeslots/users/7/availability"));
+        assertEquals(EndpointClass.READS, EndpointClass.of("GET", "/api/v1/timeslots/users/7"));
+        assertEquals(EndpointClass.WRITES, EndpointClass.of("POST", "/api/v1/timeslots/users/7"));
+    }
+}
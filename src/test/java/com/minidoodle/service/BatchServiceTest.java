@@ -0,0 +1,231 @@
+package com.minidoodle.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minidoodle.bulkhead.BulkheadRegistry;
+import com.minidoodle.bulkhead.BulkheadType;
+import com.minidoodle.config.ReadYourWritesContext;
+import com.minidoodle.dto.BatchOperation;
+import com.minidoodle.dto.BatchRequest;
+import com.minidoodle.dto.BatchResponse;
+import com.minidoodle.dto.TimeSlotDTO;
+import com.minidoodle.dto.UserDTO;
+import com.minidoodle.exception.ErrorCode;
+import com.minidoodle.exception.ErrorResponse;
+import com.minidoodle.exception.GlobalExceptionHandler;
+import com.minidoodle.exception.ResourceNotFoundException;
+import com.minidoodle.exception.SlotConflictException;
+import com.minidoodle.ratelimit.RateLimitRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TimeSlotService timeSlotService;
+
+    @Mock
+    private MeetingService meetingService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final MockEnvironment environment = new MockEnvironment();
+
+    private BulkheadRegistry bulkheadRegistry;
+
+    private BatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = batchService();
+    }
+
+    private BatchService batchService() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        bulkheadRegistry = new BulkheadRegistry(environment, meterRegistry);
+        return new BatchService(userService, timeSlotService, meetingService, new GlobalExceptionHandler(meterRegistry),
+            objectMapper, Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate,
+            new RateLimitRegistry(environment, meterRegistry), bulkheadRegistry, 50, 4, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.shutdown();
+    }
+
+    @Test
+    void readOnlyBatch_RunsEachReadAndMapsFailures() {
+        when(userService.getUserById(1L)).thenReturn(UserDTO.builder().id(1L).name("Ann").build());
+        when(userService.getUserById(2L)).thenThrow(new ResourceNotFoundException("User not found with id: 2"));
+        when(timeSlotService.getSlotsByUserAndTimeRange(1L, LocalDateTime.of(2030, 1, 1, 9, 0), LocalDateTime.of(2030, 1, 1, 17, 0)))
+            .thenReturn(List.of());
+
+        BatchResponse response = execute(request(false,
+            operation("GET", "/api/v1/users/1", null),
+            operation("GET", "/users/2", null),
+            operation("GET", "/timeslots/users/1?startTime=2030-01-01T09:00:00&endTime=2030-01-01T17%3A00%3A00", null),
+            operation("GET", "/timeslots/users/x", null),
+            operation("GET", "/unknown", null)));
+
+        assertEquals(List.of(200, 404, 200, 400, 404),
+            response.getResults().stream().map(result -> result.getStatus()).toList());
+        assertEquals("Ann", ((UserDTO) response.getResults().get(0).getBody()).getName());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void readOnlyBatch_PinnedRequest_PinsEachRead() {
+        List<Boolean> pinned = new CopyOnWriteArrayList<>();
+        when(userService.getUserById(any())).thenAnswer(inv -> {
+            pinned.add(ReadYourWritesContext.isPinned());
+            return UserDTO.builder().id(inv.getArgument(0)).build();
+        });
+
+        ReadYourWritesContext.begin(true);
+        try {
+            execute(request(false, operation("GET", "/users/1", null), operation("GET", "/users/2", null)));
+        } finally {
+            ReadYourWritesContext.end();
+        }
+
+        assertEquals(List.of(true, true), pinned);
+    }
+
+    @Test
+    void batchWithWrites_RunsInOrderAndContinuesAfterFailure() {
+        when(timeSlotService.createTimeSlot(eq(1L), any())).thenReturn(TimeSlotDTO.builder().id(5L).build());
+        when(meetingService.addParticipant(9L, 2L)).thenThrow(new SlotConflictException("Slot is booked"));
+
+        BatchResponse response = execute(request(false,
+            operation("POST", "/timeslots/users/1", "{\"startTime\": \"2030-01-01T09:00:00\", \"endTime\": \"2030-01-01T10:00:00\"}"),
+            operation("POST", "/meetings/9/participants/2", null),
+            operation("POST", "/timeslots/users/1", "{}"),
+            operation("DELETE", "/timeslots/5", null)));
+
+        assertEquals(List.of(201, 409, 400, 204),
+            response.getResults().stream().map(result -> result.getStatus()).toList());
+        verify(timeSlotService).deleteTimeSlot(5L);
+    }
+
+    @Test
+    void atomicBatch_FailureRollsBackAndMarksOtherOperations() {
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(transactionStatus);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(meetingService.addParticipant(9L, 2L)).thenThrow(new ResourceNotFoundException("User not found"));
+
+        BatchResponse response = execute(request(true,
+            operation("PATCH", "/timeslots/4/mark-busy", null),
+            operation("POST", "/meetings/9/participants/2", null),
+            operation("DELETE", "/meetings/9", null)));
+
+        assertEquals(List.of(424, 404, 424),
+            response.getResults().stream().map(result -> result.getStatus()).toList());
+        verify(transactionStatus).setRollbackOnly();
+        verify(timeSlotService).markSlotAsBusy(4L);
+        verify(meetingService, never()).cancelMeeting(any());
+    }
+
+    @Test
+    void operationsAreChargedToTheirOwnRateLimit() {
+        environment.setProperty("minidoodle.rate-limit.caller-header", "X-Client-Id");
+        environment.setProperty("minidoodle.rate-limit.availability.requests-per-second", "1");
+        environment.setProperty("minidoodle.rate-limit.availability.burst", "1");
+        batchService.shutdown();
+        batchService = batchService();
+        when(userService.getUserById(1L)).thenReturn(UserDTO.builder().id(1L).build());
+        String availability = "/timeslots/users/1/availability?startTime=2030-01-01T09:00:00&endTime=2030-01-01T17:00:00";
+
+        BatchResponse response = execute(request(false,
+            operation("GET", availability, null),
+            operation("GET", availability, null),
+            operation("GET", "/users/1", null)));
+
+        assertEquals(List.of(200, 429, 200),
+            response.getResults().stream().map(result -> result.getStatus()).toList());
+        assertEquals(ErrorCode.RATE_LIMITED, ((ErrorResponse) response.getResults().get(1).getBody()).getCode());
+        verify(timeSlotService).getAvailability(eq(1L), any(), any());
+    }
+
+    @Test
+    void operationsTakeTheirBulkheadPermit() {
+        environment.setProperty("minidoodle.bulkhead.booking.max-concurrent", "1");
+        environment.setProperty("minidoodle.bulkhead.booking.max-wait-ms", "0");
+        batchService.shutdown();
+        batchService = batchService();
+        bulkheadRegistry.acquire(BulkheadType.BOOKING);
+
+        BatchResponse response = execute(request(false,
+            operation("POST", "/meetings/9/participants/2", null),
+            operation("PATCH", "/timeslots/4/mark-busy", null)));
+
+        assertEquals(List.of(503, 200),
+            response.getResults().stream().map(result -> result.getStatus()).toList());
+        verify(meetingService, never()).addParticipant(any(), any());
+        bulkheadRegistry.release(BulkheadType.BOOKING);
+        assertEquals(0, bulkheadRegistry.active(BulkheadType.BOOKING));
+        assertEquals(0, bulkheadRegistry.active(BulkheadType.SLOTS));
+    }
+
+    @Test
+    void malformedOperation_FailsOnlyThatOperation() {
+        when(userService.getUserById(1L)).thenReturn(UserDTO.builder().id(1L).build());
+
+        BatchResponse response = execute(request(false,
+            operation("GET", "/users/1", null),
+            operation("GET", "http://[bad/users/1", null)));
+
+        assertEquals(List.of(200, 400),
+            response.getResults().stream().map(result -> result.getStatus()).toList());
+        assertEquals(ErrorCode.INVALID_REQUEST, ((ErrorResponse) response.getResults().get(1).getBody()).getCode());
+    }
+
+    private BatchResponse execute(BatchRequest request) {
+        return batchService.execute(request, "10.0.0.1");
+    }
+
+    private BatchRequest request(boolean atomic, BatchOperation... operations) {
+        return BatchRequest.builder().atomic(atomic).operations(List.of(operations)).build();
+    }
+
+    private BatchOperation operation(String method, String path, String body) {
+        try {
+            return BatchOperation.builder()
+                .method(method)
+                .path(path)
+                .body(body != null ? objectMapper.readTree(body) : null)
+                .build();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
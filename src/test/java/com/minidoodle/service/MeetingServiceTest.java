@@ -1,27 +1,45 @@
 package com.minidoodle.service;
 
 import com.minidoodle.domain.*;
+import com.minidoodle.dto.BulkOperationResult;
+import com.minidoodle.dto.ConflictPolicy;
 import com.minidoodle.dto.CreateMeetingRequest;
 import com.minidoodle.dto.MeetingDTO;
+import com.minidoodle.dto.MeetingSearchResponse;
+import com.minidoodle.event.BulkChangeEvent;
 import com.minidoodle.exception.BusinessException;
+import com.minidoodle.exception.ErrorCode;
 import com.minidoodle.exception.ResourceNotFoundException;
+import com.minidoodle.exception.SlotConflictException;
+import com.minidoodle.metrics.BookingMetrics;
 import com.minidoodle.repository.MeetingRepository;
+import com.minidoodle.repository.MeetingSearchRepository.SearchHit;
 import com.minidoodle.repository.TimeSlotRepository;
 import com.minidoodle.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +54,20 @@ class MeetingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CalendarIdResolver calendarIdResolver;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BookingMetrics bookingMetrics = new BookingMetrics(meterRegistry);
+
     @InjectMocks
     private MeetingService meetingService;
 
@@ -99,7 +131,7 @@ class MeetingServiceTest {
     void createMeeting_Success() {
         when(timeSlotRepository.findByIdWithLock(1L)).thenReturn(Optional.of(timeSlot));
         when(meetingRepository.findByTimeSlotId(1L)).thenReturn(Optional.empty());
-        when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
+        when(userRepository.loadAllById(Set.of(2L))).thenReturn(List.of(user2));
         when(meetingRepository.save(any(Meeting.class))).thenReturn(meeting);
         when(timeSlotRepository.save(any(TimeSlot.class))).thenReturn(timeSlot);
 
@@ -110,6 +142,9 @@ class MeetingServiceTest {
         assertEquals(1, result.getParticipants().size());
         verify(meetingRepository).save(any(Meeting.class));
         verify(timeSlotRepository).save(any(TimeSlot.class));
+        assertEquals(1, bookings("booked"));
+        assertEquals(1, meterRegistry.get("minidoodle.lock.wait").tag("lock", "slot").timer().count());
+        assertEquals(1, meterRegistry.get("minidoodle.meeting.participants").summary().totalAmount());
     }
 
     @Test
@@ -125,8 +160,12 @@ class MeetingServiceTest {
         timeSlot.setStatus(SlotStatus.BOOKED);
         when(timeSlotRepository.findByIdWithLock(1L)).thenReturn(Optional.of(timeSlot));
 
-        assertThrows(BusinessException.class,
+        BusinessException ex = assertThrows(BusinessException.class,
             () -> meetingService.createMeeting(request));
+        assertEquals(ErrorCode.SLOT_NOT_AVAILABLE, ex.getCode());
+        assertEquals(0, ex.getStackTrace().length);
+        assertEquals(1, bookings("slot_taken"));
+        assertEquals(0, bookings("booked"));
     }
 
     @Test
@@ -134,20 +173,68 @@ class MeetingServiceTest {
         when(timeSlotRepository.findByIdWithLock(1L)).thenReturn(Optional.of(timeSlot));
         when(meetingRepository.findByTimeSlotId(1L)).thenReturn(Optional.of(meeting));
 
-        assertThrows(BusinessException.class,
+        BusinessException ex = assertThrows(BusinessException.class,
             () -> meetingService.createMeeting(request));
+        assertEquals(ErrorCode.MEETING_ALREADY_EXISTS, ex.getCode());
     }
 
     @Test
     void createMeeting_ParticipantNotFound_ThrowsException() {
         when(timeSlotRepository.findByIdWithLock(1L)).thenReturn(Optional.of(timeSlot));
         when(meetingRepository.findByTimeSlotId(1L)).thenReturn(Optional.empty());
-        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+        when(userRepository.loadAllById(Set.of(2L))).thenReturn(List.of());
 
         assertThrows(ResourceNotFoundException.class,
             () -> meetingService.createMeeting(request));
     }
 
+    @Test
+    void createMeeting_ConflictWarn_ReportsDoubleBookedParticipants() {
+        request.setConflictPolicy(ConflictPolicy.WARN);
+        when(timeSlotRepository.findByIdWithLock(1L)).thenReturn(Optional.of(timeSlot));
+        when(meetingRepository.findByTimeSlotId(1L)).thenReturn(Optional.empty());
+        when(userRepository.loadAllById(Set.of(2L))).thenReturn(List.of(user2));
+        when(meetingRepository.findParticipantIdsWithOverlappingMeetings(Set.of(2L), timeSlot.getStartTime(), timeSlot.getEndTime()))
+            .thenReturn(Set.of(2L));
+        when(timeSlotRepository.findUserIdsWithOverlappingBusySlots(Set.of(2L), timeSlot.getStartTime(), timeSlot.getEndTime(), 1L))
+            .thenReturn(Set.of());
+        when(meetingRepository.save(any(Meeting.class))).thenReturn(meeting);
+
+        MeetingDTO result = meetingService.createMeeting(request);
+
+        assertEquals(Set.of(2L), result.getConflictingParticipantIds());
+        verify(meetingRepository).save(any(Meeting.class));
+    }
+
+    @Test
+    void createMeeting_ConflictReject_ThrowsException() {
+        request.setConflictPolicy(ConflictPolicy.REJECT);
+        when(timeSlotRepository.findByIdWithLock(1L)).thenReturn(Optional.of(timeSlot));
+        when(meetingRepository.findByTimeSlotId(1L)).thenReturn(Optional.empty());
+        when(userRepository.loadAllById(Set.of(2L))).thenReturn(List.of(user2));
+        when(meetingRepository.findParticipantIdsWithOverlappingMeetings(any(), any(), any())).thenReturn(Set.of());
+        when(timeSlotRepository.findUserIdsWithOverlappingBusySlots(any(), any(), any(), any())).thenReturn(Set.of(2L));
+
+        SlotConflictException ex = assertThrows(SlotConflictException.class,
+            () -> meetingService.createMeeting(request));
+        assertEquals(ErrorCode.PARTICIPANTS_DOUBLE_BOOKED, ex.getCode());
+        verify(meetingRepository, never()).save(any(Meeting.class));
+        assertEquals(1, bookings("participant_conflict"));
+    }
+
+    @Test
+    void createMeeting_NoConflictPolicy_SkipsConflictQueries() {
+        when(timeSlotRepository.findByIdWithLock(1L)).thenReturn(Optional.of(timeSlot));
+        when(meetingRepository.findByTimeSlotId(1L)).thenReturn(Optional.empty());
+        when(userRepository.loadAllById(Set.of(2L))).thenReturn(List.of(user2));
+        when(meetingRepository.save(any(Meeting.class))).thenReturn(meeting);
+
+        MeetingDTO result = meetingService.createMeeting(request);
+
+        assertNull(result.getConflictingParticipantIds());
+        verify(meetingRepository, never()).findParticipantIdsWithOverlappingMeetings(any(), any(), any());
+    }
+
     @Test
     void getMeeting_Success() {
         when(meetingRepository.findByIdWithParticipants(1L)).thenReturn(Optional.of(meeting));
@@ -203,4 +290,70 @@ class MeetingServiceTest {
         assertNotNull(result);
         verify(meetingRepository).save(any(Meeting.class));
     }
+
+    @Test
+    void searchMeetings_ReturnsRankedPageWithCursor() {
+        Meeting other = Meeting.builder()
+            .id(2L)
+            .title("Project Retro")
+            .timeSlot(timeSlot)
+            .build();
+        when(meetingRepository.searchByUser(1L, "project", null, null, 3)).thenReturn(List.of(
+            new SearchHit(2L, 0.9), new SearchHit(1L, 0.5), new SearchHit(3L, 0.1)));
+        when(meetingRepository.findAllByIdWithParticipants(List.of(2L, 1L))).thenReturn(List.of(meeting, other));
+
+        MeetingSearchResponse result = meetingService.searchMeetings(1L, " project ", null, null, 2);
+
+        assertEquals(2, result.getMeetings().size());
+        assertEquals(2L, result.getMeetings().get(0).getId());
+        assertEquals(1L, result.getMeetings().get(1).getId());
+        assertEquals(0.5, result.getNextAfterRank());
+        assertEquals(1L, result.getNextAfterId());
+    }
+
+    @Test
+    void searchMeetings_LastPage_HasNoCursor() {
+        when(meetingRepository.searchByUser(1L, "project", 0.5, 1L, 21)).thenReturn(List.of(new SearchHit(1L, 0.4)));
+        when(meetingRepository.findAllByIdWithParticipants(List.of(1L))).thenReturn(List.of(meeting));
+
+        MeetingSearchResponse result = meetingService.searchMeetings(1L, "project", 0.5, 1L, 20);
+
+        assertEquals(1, result.getMeetings().size());
+        assertNull(result.getNextAfterRank());
+        assertNull(result.getNextAfterId());
+    }
+
+    @Test
+    void searchMeetings_BlankQuery_ThrowsException() {
+        assertThrows(BusinessException.class,
+            () -> meetingService.searchMeetings(1L, "  ", null, null, 20));
+        verify(meetingRepository, never()).searchByUser(any(), anyString(), any(), any(), anyInt());
+    }
+
+    @Test
+    void cancelMeetingsInRange_ProcessesChunksUntilNoneLeft() {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(7);
+        when(calendarIdResolver.resolve(1L)).thenReturn(timeSlot.getCalendar().getId());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(meetingRepository.findMeetingAndSlotIdsInRange(eq(1L), eq(start), eq(end), any(Pageable.class)))
+            .thenReturn(List.of(new Object[]{1L, 11L}, new Object[]{2L, 12L}))
+            .thenReturn(List.<Object[]>of(new Object[]{3L, 13L}))
+            .thenReturn(List.of());
+        when(meetingRepository.deleteByIds(List.of(1L, 2L))).thenReturn(2);
+        when(meetingRepository.deleteByIds(List.of(3L))).thenReturn(1);
+
+        BulkOperationResult result = meetingService.cancelMeetingsInRange(1L, start, end);
+
+        assertEquals(3, result.getAffected());
+        assertEquals(2, result.getChunks());
+        verify(timeSlotRepository).updateStatusByIds(eq(List.of(11L, 12L)), eq(SlotStatus.FREE), any());
+        verify(meetingRepository).deleteParticipantsByMeetingIds(List.of(3L));
+        verify(eventPublisher, times(2)).publishEvent(any(BulkChangeEvent.class));
+    }
+
+    private double bookings(String outcome) {
+        return meterRegistry.get("minidoodle.booking.attempts").tag("outcome", outcome).counter().count();
+    }
 }
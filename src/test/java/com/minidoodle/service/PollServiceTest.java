@@ -0,0 +1,233 @@
+package com.minidoodle.service;
+
+import com.minidoodle.domain.*;
+import com.minidoodle.dto.CreateMeetingRequest;
+import com.minidoodle.dto.CreatePollRequest;
+import com.minidoodle.dto.MeetingDTO;
+import com.minidoodle.dto.PollDTO;
+import com.minidoodle.dto.VoteRequest;
+import com.minidoodle.exception.BusinessException;
+import com.minidoodle.repository.PollOptionRepository;
+import com.minidoodle.repository.PollRepository;
+import com.minidoodle.repository.PollVoteRepository;
+import com.minidoodle.repository.TimeSlotRepository;
+import com.minidoodle.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PollServiceTest {
+
+    @Mock
+    private PollRepository pollRepository;
+
+    @Mock
+    private PollOptionRepository pollOptionRepository;
+
+    @Mock
+    private PollVoteRepository pollVoteRepository;
+
+    @Mock
+    private TimeSlotRepository timeSlotRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PollTallyService pollTallyService;
+
+    @Mock
+    private MeetingService meetingService;
+
+    @InjectMocks
+    private PollService pollService;
+
+    private User organizer;
+    private TimeSlot earlySlot;
+    private TimeSlot lateSlot;
+    private Poll poll;
+    private PollOption earlyOption;
+    private PollOption lateOption;
+
+    @BeforeEach
+    void setUp() {
+        organizer = User.builder()
+            .id(1L)
+            .name("John Doe")
+            .email("john@example.com")
+            .build();
+
+        Calendar calendar = Calendar.builder()
+            .id(1L)
+            .user(organizer)
+            .timezone("UTC")
+            .build();
+
+        earlySlot = TimeSlot.builder()
+            .id(10L)
+            .calendar(calendar)
+            .startTime(LocalDateTime.now().plusDays(1))
+            .endTime(LocalDateTime.now().plusDays(1).plusHours(1))
+            .status(SlotStatus.FREE)
+            .build();
+
+        lateSlot = TimeSlot.builder()
+            .id(11L)
+            .calendar(calendar)
+            .startTime(LocalDateTime.now().plusDays(2))
+            .endTime(LocalDateTime.now().plusDays(2).plusHours(1))
+            .status(SlotStatus.FREE)
+            .build();
+
+        poll = Poll.builder()
+            .id(1L)
+            .title("Team Offsite")
+            .organizer(organizer)
+            .quorum(2)
+            .build();
+
+        earlyOption = PollOption.builder().id(100L).timeSlot(earlySlot).build();
+        lateOption = PollOption.builder().id(101L).timeSlot(lateSlot).build();
+        poll.addOption(earlyOption);
+        poll.addOption(lateOption);
+    }
+
+    @Test
+    void createPoll_Success() {
+        CreatePollRequest request = CreatePollRequest.builder()
+            .organizerId(1L)
+            .title("Team Offsite")
+            .timeSlotIds(List.of(11L, 10L))
+            .quorum(2)
+            .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(organizer));
+        when(timeSlotRepository.findAllById(Set.of(11L, 10L))).thenReturn(List.of(lateSlot, earlySlot));
+        when(pollRepository.save(any(Poll.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        PollDTO result = pollService.createPoll(request);
+
+        assertEquals(2, result.getOptions().size());
+        assertEquals(10L, result.getOptions().get(0).getTimeSlotId());
+        assertEquals(PollStatus.OPEN, result.getStatus());
+    }
+
+    @Test
+    void createPoll_SlotNotFree_ThrowsException() {
+        lateSlot.setStatus(SlotStatus.BOOKED);
+        CreatePollRequest request = CreatePollRequest.builder()
+            .organizerId(1L)
+            .title("Team Offsite")
+            .timeSlotIds(List.of(10L, 11L))
+            .quorum(2)
+            .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(organizer));
+        when(timeSlotRepository.findAllById(Set.of(10L, 11L))).thenReturn(List.of(earlySlot, lateSlot));
+
+        assertThrows(BusinessException.class, () -> pollService.createPoll(request));
+        verify(pollRepository, never()).save(any(Poll.class));
+    }
+
+    @Test
+    void vote_RecordsOnlyNewVotes() {
+        VoteRequest request = VoteRequest.builder().userId(2L).optionIds(Set.of(100L, 101L)).build();
+        when(pollRepository.findStatusById(1L)).thenReturn(Optional.of(poll.getStatus()));
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(pollOptionRepository.findIdsByPollId(1L)).thenReturn(List.of(100L, 101L));
+        when(pollVoteRepository.findVotedOptionIds(2L, Set.of(100L, 101L))).thenReturn(Set.of(100L));
+
+        pollService.vote(1L, request);
+
+        verify(pollVoteRepository, times(1)).save(any(PollVote.class));
+        verify(pollTallyService).recordVote(101L);
+        verify(pollTallyService, never()).recordVote(100L);
+    }
+
+    @Test
+    void vote_FinalizedPoll_ThrowsException() {
+        poll.setStatus(PollStatus.FINALIZED);
+        VoteRequest request = VoteRequest.builder().userId(2L).optionIds(Set.of(100L)).build();
+        when(pollRepository.findStatusById(1L)).thenReturn(Optional.of(poll.getStatus()));
+
+        assertThrows(BusinessException.class, () -> pollService.vote(1L, request));
+        verify(pollVoteRepository, never()).save(any(PollVote.class));
+    }
+
+    @Test
+    void vote_PollFinalizedWhileInserting_ThrowsException() {
+        VoteRequest request = VoteRequest.builder().userId(2L).optionIds(Set.of(100L)).build();
+        when(pollRepository.findStatusById(1L))
+            .thenReturn(Optional.of(PollStatus.OPEN))
+            .thenReturn(Optional.of(PollStatus.FINALIZED));
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(pollOptionRepository.findIdsByPollId(1L)).thenReturn(List.of(100L, 101L));
+        when(pollVoteRepository.findVotedOptionIds(2L, Set.of(100L))).thenReturn(Set.of());
+
+        assertThrows(BusinessException.class, () -> pollService.vote(1L, request));
+        verify(pollTallyService, never()).recordVote(any());
+    }
+
+    @Test
+    void finalizePoll_BooksEarliestOfTopOptions() {
+        when(pollRepository.findByIdWithLock(1L)).thenReturn(Optional.of(poll));
+        when(pollVoteRepository.countVotesByOption(1L)).thenReturn(List.of(
+            new Object[]{100L, 3L}, new Object[]{101L, 3L}));
+        when(pollVoteRepository.findVoterIdsByOptionId(100L)).thenReturn(Set.of(2L, 3L, 4L));
+        when(meetingService.createMeeting(any(CreateMeetingRequest.class)))
+            .thenReturn(MeetingDTO.builder().id(50L).build());
+        when(pollRepository.save(any(Poll.class))).thenReturn(poll);
+
+        PollDTO result = pollService.finalizePoll(1L);
+
+        ArgumentCaptor<CreateMeetingRequest> captor = ArgumentCaptor.forClass(CreateMeetingRequest.class);
+        verify(meetingService).createMeeting(captor.capture());
+        assertEquals(10L, captor.getValue().getTimeSlotId());
+        assertEquals(Set.of(2L, 3L, 4L), captor.getValue().getParticipantIds());
+        assertEquals(PollStatus.FINALIZED, result.getStatus());
+        assertEquals(50L, result.getMeetingId());
+        InOrder inOrder = inOrder(pollOptionRepository, pollVoteRepository);
+        inOrder.verify(pollOptionRepository).lockByPollId(1L);
+        inOrder.verify(pollVoteRepository).countVotesByOption(1L);
+    }
+
+    @Test
+    void finalizePoll_QuorumNotReached_ThrowsException() {
+        when(pollRepository.findByIdWithLock(1L)).thenReturn(Optional.of(poll));
+        when(pollVoteRepository.countVotesByOption(1L)).thenReturn(List.<Object[]>of(new Object[]{100L, 1L}));
+
+        assertThrows(BusinessException.class, () -> pollService.finalizePoll(1L));
+        verify(meetingService, never()).createMeeting(any(CreateMeetingRequest.class));
+    }
+
+    @Test
+    void finalizePoll_QuorumNotReached_KeepsTallies() {
+        PollTallyService tallies = new PollTallyService(pollOptionRepository, pollRepository, null);
+        PollService service = new PollService(pollRepository, pollOptionRepository, pollVoteRepository,
+            timeSlotRepository, userRepository, tallies, meetingService);
+        earlyOption.setVoteCount(1L);
+        tallies.recordVote(100L);
+        when(pollRepository.findByIdWithLock(1L)).thenReturn(Optional.of(poll));
+        when(pollVoteRepository.countVotesByOption(1L)).thenReturn(List.<Object[]>of(new Object[]{100L, 1L}));
+
+        assertThrows(BusinessException.class, () -> service.finalizePoll(1L));
+
+        verify(pollOptionRepository, never()).setVoteCount(any(), anyLong());
+        assertEquals(1L, earlyOption.getVoteCount());
+        assertEquals(1L, tallies.pendingVotes(100L));
+    }
+}
@@ -0,0 +1,89 @@
+package com.minidoodle.service;
+
+import com.minidoodle.domain.Poll;
+import com.minidoodle.domain.PollStatus;
+import com.minidoodle.repository.PollOptionRepository;
+import com.minidoodle.repository.PollRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PollTallyServiceTest {
+
+    @Mock
+    private PollOptionRepository pollOptionRepository;
+
+    @Mock
+    private PollRepository pollRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private PollTallyService pollTallyService;
+
+    @BeforeEach
+    void setUp() {
+        pollTallyService = new PollTallyService(pollOptionRepository, pollRepository, transactionTemplate);
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(transactionStatus);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void flush_IncrementsOptionsOfOpenPolls() {
+        pollTallyService.recordVote(100L);
+        pollTallyService.recordVote(100L);
+        when(pollOptionRepository.findPollIds(Set.of(100L))).thenReturn(List.<Object[]>of(new Object[]{100L, 1L}));
+        when(pollRepository.findByIdInAndStatusForShare(Set.of(1L), PollStatus.OPEN))
+            .thenReturn(List.of(Poll.builder().id(1L).build()));
+
+        pollTallyService.flush();
+
+        verify(pollOptionRepository).incrementVoteCount(100L, 2L);
+        assertEquals(0L, pollTallyService.pendingVotes(100L));
+    }
+
+    @Test
+    void flush_DropsVotesOfPollsFinalizedMeanwhile() {
+        pollTallyService.recordVote(100L);
+        pollTallyService.recordVote(200L);
+        when(pollOptionRepository.findPollIds(Set.of(100L, 200L)))
+            .thenReturn(List.of(new Object[]{100L, 1L}, new Object[]{200L, 2L}));
+        when(pollRepository.findByIdInAndStatusForShare(Set.of(1L, 2L), PollStatus.OPEN))
+            .thenReturn(List.of(Poll.builder().id(1L).build()));
+
+        pollTallyService.flush();
+
+        verify(pollOptionRepository).incrementVoteCount(100L, 1L);
+        verify(pollOptionRepository, never()).incrementVoteCount(eq(200L), anyLong());
+    }
+
+    @Test
+    void flush_Failure_KeepsVotesForNextFlush() {
+        pollTallyService.recordVote(100L);
+        when(pollOptionRepository.findPollIds(Set.of(100L))).thenThrow(new CannotAcquireLockException("timeout"));
+
+        pollTallyService.flush();
+
+        assertEquals(1L, pollTallyService.pendingVotes(100L));
+    }
+}
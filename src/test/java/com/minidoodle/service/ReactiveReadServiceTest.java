@@ -0,0 +1,144 @@
+package com.minidoodle.service;
+
+import com.minidoodle.domain.SlotStatus;
+import com.minidoodle.dto.AvailabilityResponse;
+import com.minidoodle.dto.MeetingDTO;
+import com.minidoodle.dto.TimeSlotDTO;
+import com.minidoodle.dto.UserDTO;
+import com.minidoodle.exception.BulkheadFullException;
+import com.minidoodle.exception.ResourceNotFoundException;
+import com.minidoodle.repository.ReactiveReadRepository;
+import com.minidoodle.repository.ReactiveReadRepository.Participant;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveReadServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 0, 0);
+    private static final LocalDateTime END = START.plusDays(1);
+
+    @Mock
+    private ReactiveReadRepository reactiveReadRepository;
+
+    private ReactiveReadService reactiveReadService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveReadService = new ReactiveReadService(reactiveReadRepository, 2, 3);
+    }
+
+    @Test
+    void getAvailability_SplitsOneQueryIntoFreeAndBusy() {
+        when(reactiveReadRepository.findSlotsByUserAndStatus(eq(1L), any(), eq(START), eq(END)))
+            .thenReturn(Flux.just(slot(1L, SlotStatus.FREE), slot(2L, SlotStatus.BOOKED),
+                slot(3L, SlotStatus.FREE), slot(4L, SlotStatus.BUSY)));
+
+        AvailabilityResponse availability = reactiveReadService.getAvailability(1L, START, END).block();
+
+        assertEquals(List.of(1L, 3L), availability.getFreeSlots().stream().map(TimeSlotDTO::getId).toList());
+        assertEquals(List.of(2L, 4L), availability.getBusySlots().stream().map(TimeSlotDTO::getId).toList());
+        assertEquals(2, availability.getTotalFreeSlots());
+        assertEquals(2, availability.getTotalBusySlots());
+    }
+
+    @Test
+    void getMeetingsByUser_LoadsParticipantsPerPageInOrder() {
+        MeetingDTO first = meeting(10L);
+        MeetingDTO second = meeting(11L);
+        when(reactiveReadRepository.findMeetingsByParticipant(7L, START, END, null, 2))
+            .thenReturn(Flux.just(first, second));
+        when(reactiveReadRepository.findMeetingsByParticipant(7L, START, END, second, 2))
+            .thenReturn(Flux.just(meeting(12L)));
+        when(reactiveReadRepository.findParticipants(Set.of(10L, 11L)))
+            .thenReturn(Flux.just(participant(10L, 7L), participant(11L, 7L), participant(11L, 8L)));
+        when(reactiveReadRepository.findParticipants(Set.of(12L)))
+            .thenReturn(Flux.just(participant(12L, 7L)));
+
+        List<MeetingDTO> meetings = reactiveReadService.getMeetingsByUser(7L, START, END).collectList().block();
+
+        assertEquals(List.of(10L, 11L, 12L), meetings.stream().map(MeetingDTO::getId).toList());
+        assertEquals(Set.of(7L, 8L), meetings.get(1).getParticipantIds());
+        assertEquals(2, meetings.get(1).getParticipants().size());
+        verify(reactiveReadRepository, times(2)).findParticipants(any());
+    }
+
+    @Test
+    void getMeetingsByOwner_FullLastPage_EndsOnEmptyPage() {
+        MeetingDTO second = meeting(11L);
+        when(reactiveReadRepository.findMeetingsByOwner(7L, START, END, null, 2))
+            .thenReturn(Flux.just(meeting(10L), second));
+        when(reactiveReadRepository.findMeetingsByOwner(7L, START, END, second, 2)).thenReturn(Flux.empty());
+        when(reactiveReadRepository.findParticipants(Set.of(10L, 11L))).thenReturn(Flux.empty());
+
+        List<MeetingDTO> meetings = reactiveReadService.getMeetingsByOwner(7L, START, END).collectList().block();
+
+        assertEquals(List.of(10L, 11L), meetings.stream().map(MeetingDTO::getId).toList());
+        verify(reactiveReadRepository, times(1)).findParticipants(any());
+    }
+
+    /**
+     * The page query has completed, and released its connection, by the time the
+     * participant query subscribes
+     */
+    @Test
+    void getMeetingsByUser_PageQueryCompletesBeforeParticipantQuery() {
+        AtomicBoolean pageDone = new AtomicBoolean();
+        when(reactiveReadRepository.findMeetingsByParticipant(7L, START, END, null, 2))
+            .thenReturn(Flux.just(meeting(10L)).doOnComplete(() -> pageDone.set(true)));
+        when(reactiveReadRepository.findParticipants(Set.of(10L)))
+            .thenReturn(Flux.defer(() -> {
+                assertTrue(pageDone.get());
+                return Flux.just(participant(10L, 7L));
+            }));
+
+        assertEquals(1, reactiveReadService.getMeetingsByUser(7L, START, END).count().block());
+    }
+
+    @Test
+    void getTimeSlot_NotFound() {
+        when(reactiveReadRepository.findSlot(5L)).thenReturn(Mono.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> reactiveReadService.getTimeSlot(5L).block());
+    }
+
+    @Test
+    void connectionAcquireTimeout_RejectedLikeAFullBulkhead() {
+        when(reactiveReadRepository.findMeetingsByOwner(7L, START, END, null, 2)).thenReturn(Flux.error(
+            new DataAccessResourceFailureException("Failed to obtain R2DBC Connection", new R2dbcTimeoutException())));
+
+        BulkheadFullException ex = assertThrows(BulkheadFullException.class,
+            () -> reactiveReadService.getMeetingsByOwner(7L, START, END).blockLast());
+        assertEquals("reactive-pool", ex.getBulkhead());
+        assertEquals(3, ex.getRetryAfterSeconds());
+    }
+
+    private static TimeSlotDTO slot(Long id, SlotStatus status) {
+        return TimeSlotDTO.builder().id(id).status(status).build();
+    }
+
+    private static MeetingDTO meeting(Long id) {
+        return MeetingDTO.builder().id(id).participants(new HashSet<>()).participantIds(new HashSet<>()).build();
+    }
+
+    private static Participant participant(Long meetingId, Long userId) {
+        return new Participant(meetingId, UserDTO.builder().id(userId).build());
+    }
+}
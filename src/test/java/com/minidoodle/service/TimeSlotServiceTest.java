@@ -4,25 +4,38 @@ import com.minidoodle.domain.Calendar;
 import com.minidoodle.domain.SlotStatus;
 import com.minidoodle.domain.TimeSlot;
 import com.minidoodle.domain.User;
+import com.minidoodle.dto.BulkOperationResult;
 import com.minidoodle.dto.CreateTimeSlotRequest;
 import com.minidoodle.dto.TimeSlotDTO;
+import com.minidoodle.event.BulkChangeEvent;
 import com.minidoodle.exception.BusinessException;
+import com.minidoodle.exception.ErrorCode;
 import com.minidoodle.exception.ResourceNotFoundException;
 import com.minidoodle.exception.SlotConflictException;
+import com.minidoodle.metrics.BookingMetrics;
 import com.minidoodle.repository.CalendarRepository;
 import com.minidoodle.repository.TimeSlotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +47,20 @@ class TimeSlotServiceTest {
     @Mock
     private CalendarRepository calendarRepository;
 
+    @Mock
+    private CalendarIdResolver calendarIdResolver;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BookingMetrics bookingMetrics = new BookingMetrics(meterRegistry);
+
     @InjectMocks
     private TimeSlotService timeSlotService;
 
@@ -71,7 +98,9 @@ class TimeSlotServiceTest {
 
     @Test
     void createTimeSlot_Success() {
-        when(calendarRepository.findByUserId(1L)).thenReturn(Optional.of(calendar));
+        when(calendarIdResolver.resolve(1L)).thenReturn(calendar.getId());
+        when(calendarRepository.getReferenceById(calendar.getId())).thenReturn(calendar);
+        when(calendarRepository.lockById(calendar.getId())).thenReturn(Optional.of(calendar.getId()));
         when(timeSlotRepository.existsOverlappingSlot(any(), any(), any(), any())).thenReturn(false);
         when(timeSlotRepository.save(any(TimeSlot.class))).thenReturn(timeSlot);
 
@@ -80,11 +109,13 @@ class TimeSlotServiceTest {
         assertNotNull(result);
         assertEquals(SlotStatus.FREE, result.getStatus());
         verify(timeSlotRepository).save(any(TimeSlot.class));
+        assertEquals(1, overlapChecks("passed"));
+        assertEquals(1, meterRegistry.get("minidoodle.lock.wait").tag("lock", "calendar").timer().count());
     }
 
     @Test
     void createTimeSlot_CalendarNotFound_ThrowsException() {
-        when(calendarRepository.findByUserId(1L)).thenReturn(Optional.empty());
+        when(calendarIdResolver.resolve(1L)).thenThrow(new ResourceNotFoundException("Calendar not found for user: 1"));
 
         assertThrows(ResourceNotFoundException.class,
             () -> timeSlotService.createTimeSlot(1L, request));
@@ -92,11 +123,31 @@ class TimeSlotServiceTest {
 
     @Test
     void createTimeSlot_OverlappingSlot_ThrowsException() {
-        when(calendarRepository.findByUserId(1L)).thenReturn(Optional.of(calendar));
+        when(calendarIdResolver.resolve(1L)).thenReturn(calendar.getId());
+        when(calendarRepository.lockById(calendar.getId())).thenReturn(Optional.of(calendar.getId()));
         when(timeSlotRepository.existsOverlappingSlot(any(), any(), any(), any())).thenReturn(true);
 
-        assertThrows(SlotConflictException.class,
+        SlotConflictException ex = assertThrows(SlotConflictException.class,
             () -> timeSlotService.createTimeSlot(1L, request));
+        assertEquals(ErrorCode.SLOT_OVERLAP, ex.getCode());
+        assertEquals(1, overlapChecks("rejected"));
+        assertEquals(0, overlapChecks("passed"));
+    }
+
+    @Test
+    void createTimeSlot_LocksCalendarBeforeOverlapCheck() {
+        when(calendarIdResolver.resolve(1L)).thenReturn(calendar.getId());
+        when(calendarRepository.getReferenceById(calendar.getId())).thenReturn(calendar);
+        when(calendarRepository.lockById(calendar.getId())).thenReturn(Optional.of(calendar.getId()));
+        when(timeSlotRepository.existsOverlappingSlot(any(), any(), any(), any())).thenReturn(false);
+        when(timeSlotRepository.save(any(TimeSlot.class))).thenReturn(timeSlot);
+
+        timeSlotService.createTimeSlot(1L, request);
+
+        InOrder inOrder = inOrder(calendarRepository, timeSlotRepository);
+        inOrder.verify(calendarRepository).lockById(calendar.getId());
+        inOrder.verify(timeSlotRepository).existsOverlappingSlot(any(), any(), any(), any());
+        inOrder.verify(timeSlotRepository).save(any(TimeSlot.class));
     }
 
     @Test
@@ -106,7 +157,9 @@ class TimeSlotServiceTest {
             .durationMinutes(60)
             .build();
 
-        when(calendarRepository.findByUserId(1L)).thenReturn(Optional.of(calendar));
+        when(calendarIdResolver.resolve(1L)).thenReturn(calendar.getId());
+        when(calendarRepository.getReferenceById(calendar.getId())).thenReturn(calendar);
+        when(calendarRepository.lockById(calendar.getId())).thenReturn(Optional.of(calendar.getId()));
         when(timeSlotRepository.existsOverlappingSlot(any(), any(), any(), any())).thenReturn(false);
         when(timeSlotRepository.save(any(TimeSlot.class))).thenReturn(timeSlot);
 
@@ -123,7 +176,7 @@ class TimeSlotServiceTest {
             .endTime(LocalDateTime.now().minusDays(1).plusHours(1))
             .build();
 
-        when(calendarRepository.findByUserId(1L)).thenReturn(Optional.of(calendar));
+        when(calendarIdResolver.resolve(1L)).thenReturn(calendar.getId());
 
         assertThrows(BusinessException.class,
             () -> timeSlotService.createTimeSlot(1L, pastRequest));
@@ -136,12 +189,23 @@ class TimeSlotServiceTest {
             .endTime(LocalDateTime.now().plusDays(1).plusMinutes(10))
             .build();
 
-        when(calendarRepository.findByUserId(1L)).thenReturn(Optional.of(calendar));
+        when(calendarIdResolver.resolve(1L)).thenReturn(calendar.getId());
 
         assertThrows(BusinessException.class,
             () -> timeSlotService.createTimeSlot(1L, shortRequest));
     }
 
+    @Test
+    void createTimeSlot_CalendarPurgedElsewhere_InvalidatesCachedId() {
+        when(calendarIdResolver.resolve(1L)).thenReturn(calendar.getId());
+        when(calendarRepository.lockById(calendar.getId())).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> timeSlotService.createTimeSlot(1L, request));
+        verify(calendarIdResolver).invalidate(1L);
+        verify(timeSlotRepository, never()).save(any());
+    }
+
     @Test
     void markSlotAsBusy_Success() {
         when(timeSlotRepository.findById(1L)).thenReturn(Optional.of(timeSlot));
@@ -161,4 +225,28 @@ class TimeSlotServiceTest {
         assertThrows(BusinessException.class, () -> timeSlotService.deleteTimeSlot(1L));
         verify(timeSlotRepository, never()).delete(any(TimeSlot.class));
     }
+
+    @Test
+    void deleteFreeSlotsInRange_CountsOnlyDeletedSlots() {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(7);
+        when(calendarIdResolver.resolve(1L)).thenReturn(calendar.getId());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(timeSlotRepository.findDeletableSlotIds(eq(1L), eq(SlotStatus.FREE), eq(start), eq(end), any(Pageable.class)))
+            .thenReturn(List.of(1L, 2L, 3L))
+            .thenReturn(List.of());
+        // One slot was booked between selection and delete
+        when(timeSlotRepository.deleteByIdsAndStatus(List.of(1L, 2L, 3L), SlotStatus.FREE)).thenReturn(2);
+
+        BulkOperationResult result = timeSlotService.deleteFreeSlotsInRange(1L, start, end);
+
+        assertEquals(2, result.getAffected());
+        assertEquals(1, result.getChunks());
+        verify(eventPublisher).publishEvent(any(BulkChangeEvent.class));
+    }
+
+    private double overlapChecks(String outcome) {
+        return meterRegistry.get("minidoodle.slot.overlap.checks").tag("outcome", outcome).counter().count();
+    }
 }
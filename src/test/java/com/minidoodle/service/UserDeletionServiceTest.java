@@ -0,0 +1,135 @@
+package com.minidoodle.service;
+
+import com.minidoodle.domain.DeletionStatus;
+import com.minidoodle.domain.UserDeletionJob;
+import com.minidoodle.repository.UserDeletionJobRepository;
+import com.minidoodle.repository.UserPurgeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDeletionServiceTest {
+
+    @Mock
+    private UserDeletionJobRepository userDeletionJobRepository;
+
+    @Mock
+    private UserPurgeRepository userPurgeRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private UserDeletionService userDeletionService;
+
+    private UserDeletionJob job;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userDeletionService, "bulkChunkSize", 2);
+        job = UserDeletionJob.builder().id(9L).userId(1L).build();
+        lenient().when(userDeletionJobRepository.findById(9L)).thenReturn(Optional.of(job));
+        lenient().when(userDeletionJobRepository.claim(eq(9L), any(), any(), any(), eq(DeletionStatus.RUNNING), any(), any()))
+            .thenAnswer(inv -> {
+                job.setStatus(DeletionStatus.RUNNING);
+                return 1;
+            });
+        lenient().when(userDeletionJobRepository.renewLease(eq(9L), any(), eq(DeletionStatus.RUNNING), any())).thenReturn(1);
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(inv -> {
+            inv.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void purge_DeletesInChunksUntilShortChunkThenRemovesUser() {
+        when(userPurgeRepository.findCalendarId(1L)).thenReturn(5L);
+        when(userPurgeRepository.deleteSlotsByCalendar(5L, 2)).thenReturn(2, 2, 1);
+        when(userPurgeRepository.deleteMeetingsByCalendar(5L, 2)).thenReturn(1);
+
+        userDeletionService.purge(9L);
+
+        verify(userPurgeRepository, times(3)).deleteSlotsByCalendar(5L, 2);
+        verify(userPurgeRepository).deleteCalendarAndUser(1L);
+        assertEquals(DeletionStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getSlotsDeleted());
+        assertEquals(1, job.getMeetingsDeleted());
+        assertNotNull(job.getCompletedAt());
+    }
+
+    @Test
+    void purge_Failure_MarksJobFailed() {
+        when(userPurgeRepository.deleteVotesByUser(1L, 2)).thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        userDeletionService.purge(9L);
+
+        assertEquals(DeletionStatus.FAILED, job.getStatus());
+        assertEquals("connection lost", job.getError());
+        assertEquals(1, job.getAttempts());
+        assertTrue(job.getRetryAt().isAfter(LocalDateTime.now().plusSeconds(50)));
+        verify(userPurgeRepository, never()).deleteCalendarAndUser(any());
+    }
+
+    @Test
+    void retryBackoff_DoublesUpToMax() {
+        assertEquals(60_000, userDeletionService.retryBackoff(1));
+        assertEquals(120_000, userDeletionService.retryBackoff(2));
+        assertEquals(1_920_000, userDeletionService.retryBackoff(6));
+        assertEquals(3_600_000, userDeletionService.retryBackoff(7));
+        assertEquals(3_600_000, userDeletionService.retryBackoff(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void reclaimJobs_PurgesClaimableJobs() {
+        when(userDeletionJobRepository.findClaimableIds(eq(DeletionStatus.PENDING), eq(DeletionStatus.FAILED),
+            eq(DeletionStatus.RUNNING), any())).thenReturn(List.of(9L));
+
+        userDeletionService.reclaimJobs();
+
+        verify(userPurgeRepository).deleteCalendarAndUser(1L);
+        assertEquals(DeletionStatus.COMPLETED, job.getStatus());
+    }
+
+    @Test
+    void purge_JobHeldByAnotherInstance_DoesNothing() {
+        when(userDeletionJobRepository.claim(eq(9L), any(), any(), any(), eq(DeletionStatus.RUNNING), any(), any())).thenReturn(0);
+
+        userDeletionService.purge(9L);
+
+        verifyNoInteractions(userPurgeRepository);
+        assertEquals(DeletionStatus.PENDING, job.getStatus());
+    }
+
+    @Test
+    void purge_LeaseLostMidway_StopsWithoutTouchingTheJob() {
+        when(userPurgeRepository.deleteVotesByUser(1L, 2)).thenReturn(2);
+        when(userDeletionJobRepository.renewLease(eq(9L), any(), eq(DeletionStatus.RUNNING), any())).thenReturn(1, 0);
+
+        userDeletionService.purge(9L);
+
+        verify(userPurgeRepository, times(1)).deleteVotesByUser(1L, 2);
+        verify(userPurgeRepository, never()).deleteCalendarAndUser(any());
+        assertEquals(DeletionStatus.RUNNING, job.getStatus());
+        assertEquals(2, job.getVotesDeleted());
+    }
+}
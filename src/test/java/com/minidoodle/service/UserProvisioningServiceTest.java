@@ -0,0 +1,112 @@
+package com.minidoodle.service;
+
+import com.minidoodle.dto.BulkProvisionResult;
+import com.minidoodle.dto.BulkUserRowResult;
+import com.minidoodle.dto.UserDTO;
+import com.minidoodle.exception.BusinessException;
+import com.minidoodle.repository.UserBatchRepository;
+import com.minidoodle.repository.UserRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserProvisioningServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserBatchRepository userBatchRepository;
+
+    @Mock
+    private EmailIndex emailIndex;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private UserProvisioningService userProvisioningService;
+
+    @Test
+    void provisionUsers_ChecksOnlyIndexedEmailsAndRetriesAfterRace() {
+        UserDTO alice = UserDTO.builder().name("Alice").email("alice@example.com").build();
+        UserDTO bob = UserDTO.builder().name("Bob").email("bob@example.com").build();
+        UserDTO carol = UserDTO.builder().name("Carol").email("carol@example.com").build();
+
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(emailIndex.mightContain(any())).thenAnswer(inv -> inv.getArgument(0).equals("alice@example.com"));
+        when(userRepository.findExistingEmails(Set.of("alice@example.com"))).thenReturn(Set.of("alice@example.com"));
+        // Carol signs up concurrently, after the duplicate check
+        when(userBatchRepository.insertUsersWithCalendars(eq(List.of(bob, carol)), any()))
+            .thenThrow(new DuplicateKeyException("uk_users_email"));
+        when(userRepository.findExistingEmails(Set.of("bob@example.com", "carol@example.com")))
+            .thenReturn(Set.of("carol@example.com"));
+        when(userBatchRepository.insertUsersWithCalendars(eq(List.of(bob)), any()))
+            .thenReturn(Map.of("bob@example.com", 7L));
+
+        BulkProvisionResult result = userProvisioningService.provisionUsers(List.of(alice, bob, carol));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(BulkUserRowResult.Status.DUPLICATE, result.getRows().get(0).getStatus());
+        assertEquals(7L, result.getRows().get(1).getUserId());
+        assertEquals(BulkUserRowResult.Status.DUPLICATE, result.getRows().get(2).getStatus());
+        verify(emailIndex).add("bob@example.com");
+    }
+
+    @Test
+    void provisionUsers_InvalidAndRepeatedRowsAreNotInserted() {
+        UserDTO valid = UserDTO.builder().name("Alice").email("alice@example.com").build();
+        UserDTO invalid = UserDTO.builder().name("").email("nope").build();
+
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(userBatchRepository.insertUsersWithCalendars(anyList(), any()))
+            .thenReturn(Map.of("alice@example.com", 1L));
+
+        BulkProvisionResult result = userProvisioningService.provisionUsers(List.of(valid, invalid, valid));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getInvalid());
+        assertEquals(1, result.getDuplicates());
+        verify(userBatchRepository).insertUsersWithCalendars(eq(List.of(valid)), any());
+    }
+
+    @Test
+    void parseCsv_HandlesHeaderQuotesAndBlankLines() {
+        List<UserDTO> users = UserProvisioningService.parseCsv(
+            "email,name\r\n\"a@example.com\",\"Doe, \"\"AJ\"\"\"\r\n\r\nb@example.com,Bee\n");
+
+        assertEquals(2, users.size());
+        assertEquals("Doe, \"AJ\"", users.get(0).getName());
+        assertEquals("a@example.com", users.get(0).getEmail());
+        assertEquals("b@example.com", users.get(1).getEmail());
+    }
+
+    @Test
+    void provisionUsers_Empty_ThrowsException() {
+        assertThrows(BusinessException.class, () -> userProvisioningService.provisionUsers(List.of()));
+    }
+}
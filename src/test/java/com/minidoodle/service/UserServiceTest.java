@@ -1,23 +1,37 @@
 package com.minidoodle.service;
 
 import com.minidoodle.domain.Calendar;
+import com.minidoodle.domain.DeletionStatus;
 import com.minidoodle.domain.User;
+import com.minidoodle.domain.UserDeletionJob;
 import com.minidoodle.dto.UserDTO;
+import com.minidoodle.dto.UserDeletionJobDTO;
+import com.minidoodle.event.UserDeletionRequestedEvent;
 import com.minidoodle.exception.BusinessException;
 import com.minidoodle.exception.ResourceNotFoundException;
 import com.minidoodle.repository.CalendarRepository;
+import com.minidoodle.repository.UserDeletionJobRepository;
 import com.minidoodle.repository.UserRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +43,21 @@ class UserServiceTest {
     @Mock
     private CalendarRepository calendarRepository;
 
+    @Mock
+    private EmailIndex emailIndex;
+
+    @Mock
+    private UserDeletionJobRepository userDeletionJobRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
     @InjectMocks
     private UserService userService;
 
@@ -51,6 +80,7 @@ class UserServiceTest {
 
     @Test
     void createUser_Success() {
+        when(emailIndex.mightContain(userDTO.getEmail())).thenReturn(true);
         when(userRepository.existsByEmail(userDTO.getEmail())).thenReturn(false);
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(calendarRepository.save(any(Calendar.class))).thenReturn(new Calendar());
@@ -62,10 +92,52 @@ class UserServiceTest {
         assertEquals(userDTO.getEmail(), result.getEmail());
         verify(userRepository).save(any(User.class));
         verify(calendarRepository).save(any(Calendar.class));
+        verify(emailIndex).add(user.getEmail());
+    }
+
+    @Test
+    void createUser_EmailNotInIndex_SkipsExistsQuery() {
+        when(emailIndex.mightContain(userDTO.getEmail())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(calendarRepository.save(any(Calendar.class))).thenReturn(new Calendar());
+
+        userService.createUser(userDTO);
+
+        verify(userRepository, never()).existsByEmail(any());
+        verify(userRepository).save(any(User.class));
+    }
+
+    @Test
+    void createUser_UniqueViolation_ThrowsBusinessException() {
+        when(emailIndex.mightContain(userDTO.getEmail())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenThrow(violation("users_email_key"));
+
+        assertThrows(BusinessException.class, () -> userService.createUser(userDTO));
+        verify(calendarRepository, never()).save(any(Calendar.class));
+    }
+
+    @Test
+    void createUser_OtherConstraintViolated_Rethrows() {
+        when(emailIndex.mightContain(userDTO.getEmail())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenThrow(violation("users_name_check"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(userDTO));
+    }
+
+    @Test
+    void updateUser_EmailTakenConcurrently_ThrowsBusinessException() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(emailIndex.mightContain("new@example.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(user)).thenThrow(violation("PUBLIC.IDX_USER_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL)"));
+
+        assertThrows(BusinessException.class,
+            () -> userService.updateUser(1L, UserDTO.builder().name("John Doe").email("new@example.com").build()));
+        verify(emailIndex, never()).add(any());
     }
 
     @Test
     void createUser_DuplicateEmail_ThrowsException() {
+        when(emailIndex.mightContain(userDTO.getEmail())).thenReturn(true);
         when(userRepository.existsByEmail(userDTO.getEmail())).thenReturn(true);
 
         assertThrows(BusinessException.class, () -> userService.createUser(userDTO));
@@ -91,19 +163,45 @@ class UserServiceTest {
     }
 
     @Test
-    void deleteUser_Success() {
-        when(userRepository.existsById(1L)).thenReturn(true);
+    void getUsers_EscapesPrefixesAndClampsLimit() {
+        when(userRepository.findPageAfterId(5L, "john\\_%", null, PageRequest.of(0, 1000)))
+            .thenReturn(List.of(userDTO));
 
-        userService.deleteUser(1L);
+        List<UserDTO> result = userService.getUsers(5L, 50_000, "john_", "");
 
-        verify(userRepository).deleteById(1L);
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void deleteUser_MarksDeletedAndStartsJob() {
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(user));
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(userDeletionJobRepository.save(any(UserDeletionJob.class))).thenAnswer(inv -> {
+            UserDeletionJob job = inv.getArgument(0);
+            job.setId(9L);
+            return job;
+        });
+
+        UserDeletionJobDTO result = userService.deleteUser(1L);
+
+        assertEquals(9L, result.getId());
+        assertEquals(DeletionStatus.PENDING, result.getStatus());
+        verify(eventPublisher).publishEvent(new UserDeletionRequestedEvent(9L, 1L));
+        verify(userRepository, never()).deleteById(any());
+        assertNotNull(user.getDeletedAt());
+        verify(cache).evict(User.class, 1L);
     }
 
     @Test
     void deleteUser_NotFound_ThrowsException() {
-        when(userRepository.existsById(1L)).thenReturn(false);
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> userService.deleteUser(1L));
-        verify(userRepository, never()).deleteById(1L);
+        verify(userDeletionJobRepository, never()).save(any());
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
     }
 }
@@ -0,0 +1,262 @@
+package com.minidoodle.stress;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.minidoodle.dto.CreateMeetingRequest;
+import com.minidoodle.dto.CreateTimeSlotRequest;
+import com.minidoodle.dto.TimeSlotDTO;
+import com.minidoodle.dto.UserDTO;
+import com.minidoodle.service.MeetingService;
+import com.minidoodle.service.TimeSlotService;
+import com.minidoodle.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers the booking and slot-write paths from many threads against a real
+ * PostgreSQL, then checks the invariants in the database: at most one meeting per
+ * slot and no overlapping slots in a calendar. Runs a Testcontainers PostgreSQL, or
+ * the database given by {@code -Pstress.jdbcUrl}; see {@link StressSettings} for the
+ * load knobs. Excluded from {@code test}, run with {@code ./gradlew stressTest}.
+ */
+@Tag("stress")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "logging.level.com.minidoodle=WARN",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class ConcurrencyStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyStressTest.class);
+
+    private static final StressSettings SETTINGS = StressSettings.fromSystemProperties();
+    private static final Map<String, Object> REPORT = new LinkedHashMap<>();
+
+    private static PostgreSQLContainer<?> postgres;
+
+    private final long startedAt = System.nanoTime();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @BeforeAll
+    static void requireDatabase() {
+        Assumptions.assumeTrue(SETTINGS.hasExternalDatabase() || DockerClientFactory.instance().isDockerAvailable(),
+            "Stress tests need Docker or -Pstress.jdbcUrl");
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        if (SETTINGS.hasExternalDatabase()) {
+            registry.add("spring.datasource.url", SETTINGS::jdbcUrl);
+            registry.add("spring.datasource.username", SETTINGS::username);
+            registry.add("spring.datasource.password", SETTINGS::password);
+        } else {
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+            registry.add("spring.datasource.url", postgres::getJdbcUrl);
+            registry.add("spring.datasource.username", postgres::getUsername);
+            registry.add("spring.datasource.password", postgres::getPassword);
+        }
+        // Every worker holds a connection for a whole transaction; the lock sampler needs one more
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> SETTINGS.threads() + 2);
+    }
+
+    @AfterAll
+    static void writeReport() throws Exception {
+        if (!REPORT.isEmpty()) {
+            Path dir = Files.createDirectories(Path.of(SETTINGS.reportDir()));
+            Path file = dir.resolve("stress-" + LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).toString().replace(':', '-') + ".json");
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("settings", SETTINGS);
+            report.putAll(REPORT);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+            log.info("Stress report written to {}", file.toAbsolutePath());
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    void concurrentBookings_BookEachSlotExactlyOnce() throws Exception {
+        ConcurrentRun run = new ConcurrentRun();
+        List<Long> slotIds = new ArrayList<>();
+        double lockWaitMillis = 0;
+        int maxWaiters = 0;
+        for (int round = 0; keepGoing(round); round++) {
+            Long owner = createUser();
+            List<Long> participants = List.of(createUser(), createUser(), createUser());
+            List<Long> roundSlots = new ArrayList<>();
+            for (int s = 0; s < SETTINGS.slotsPerRound(); s++) {
+                LocalDateTime start = day(round).plusHours(8 + s);
+                roundSlots.add(createSlot(owner, start, start.plusMinutes(30)).getId());
+            }
+            slotIds.addAll(roundSlots);
+
+            try (LockWaitSampler sampler = LockWaitSampler.start(jdbcTemplate, isPostgres())) {
+                int operations = SETTINGS.bookingsPerSlot() * roundSlots.size();
+                run.run(SETTINGS.threads(), operations, i -> meetingService.createMeeting(CreateMeetingRequest.builder()
+                    .timeSlotId(roundSlots.get(i % roundSlots.size()))
+                    .title("Stress booking " + i)
+                    .participantIds(Set.of(participants.get(i % participants.size())))
+                    .build()));
+                lockWaitMillis += sampler.waitMillis();
+                maxWaiters = Math.max(maxWaiters, sampler.maxWaiters());
+            }
+        }
+        report("booking", run, lockWaitMillis, maxWaiters);
+
+        // Losers must be refused as unavailable, not fail with lock or constraint errors
+        assertTrue(Set.of(ConcurrentRun.OK, "BusinessException").containsAll(run.outcomes().keySet()),
+            "outcomes " + run.outcomes());
+        assertEquals(slotIds.size(), run.count(ConcurrentRun.OK), "one successful booking per slot");
+        MapSqlParameterSource slots = new MapSqlParameterSource("slotIds", slotIds);
+        assertEquals(slotIds.size(), namedParameterJdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM meetings WHERE time_slot_id IN (:slotIds)", slots, Integer.class));
+        assertEquals(slotIds.size(), namedParameterJdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM time_slots WHERE id IN (:slotIds) AND status = 'BOOKED'", slots, Integer.class));
+    }
+
+    @Test
+    void concurrentSlotWrites_LeaveNoOverlappingSlots() throws Exception {
+        ConcurrentRun run = new ConcurrentRun();
+        List<Long> calendarUsers = new ArrayList<>();
+        double lockWaitMillis = 0;
+        int maxWaiters = 0;
+        for (int round = 0; keepGoing(round); round++) {
+            List<Long> users = new ArrayList<>();
+            List<List<Long>> movable = new ArrayList<>();
+            LocalDateTime contested = day(round).plusHours(9);
+            for (int c = 0; c < SETTINGS.calendars(); c++) {
+                Long userId = createUser();
+                users.add(userId);
+                // Slots parked the day before, which updates drag into the contested window
+                List<Long> parked = new ArrayList<>();
+                for (int s = 0; s < 8; s++) {
+                    LocalDateTime start = contested.minusDays(1).plusHours(s);
+                    parked.add(createSlot(userId, start, start.plusMinutes(30)).getId());
+                }
+                movable.add(parked);
+            }
+            calendarUsers.addAll(users);
+
+            SplittableRandom random = new SplittableRandom(round);
+            int operations = SETTINGS.slotWrites();
+            long[] offsets = random.longs(operations, 0, 16).toArray();
+            long[] durations = random.longs(operations, 1, 5).map(d -> d * 15).toArray();
+            try (LockWaitSampler sampler = LockWaitSampler.start(jdbcTemplate, isPostgres())) {
+                run.run(SETTINGS.threads(), operations, i -> {
+                    int calendar = i % users.size();
+                    LocalDateTime start = contested.plusMinutes(15 * offsets[i]);
+                    CreateTimeSlotRequest request = CreateTimeSlotRequest.builder()
+                        .startTime(start)
+                        .endTime(start.plusMinutes(durations[i]))
+                        .build();
+                    if (i % 4 == 3) {
+                        List<Long> parked = movable.get(calendar);
+                        timeSlotService.updateTimeSlot(parked.get((i / 4) % parked.size()), request);
+                    } else {
+                        timeSlotService.createTimeSlot(users.get(calendar), request);
+                    }
+                });
+                lockWaitMillis += sampler.waitMillis();
+                maxWaiters = Math.max(maxWaiters, sampler.maxWaiters());
+            }
+        }
+        report("slot-writes", run, lockWaitMillis, maxWaiters);
+
+        // Conflicts are expected; two updates of one slot may also race on its version
+        assertTrue(Set.of(ConcurrentRun.OK, "SlotConflictException", "ObjectOptimisticLockingFailureException")
+            .containsAll(run.outcomes().keySet()), "outcomes " + run.outcomes());
+        assertTrue(run.count(ConcurrentRun.OK) > 0);
+        Integer overlaps = namedParameterJdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM time_slots a JOIN time_slots b ON b.calendar_id = a.calendar_id AND b.id > a.id " +
+            "AND a.start_time < b.end_time AND b.start_time < a.end_time " +
+            "JOIN calendars c ON c.id = a.calendar_id WHERE c.user_id IN (:userIds)",
+            new MapSqlParameterSource("userIds", calendarUsers), Integer.class);
+        assertEquals(0, overlaps, "overlapping slot pairs");
+    }
+
+    private boolean keepGoing(int round) {
+        return round < SETTINGS.rounds() || (System.nanoTime() - startedAt) / 1_000_000_000L < SETTINGS.durationSeconds();
+    }
+
+    private void report(String name, ConcurrentRun run, double lockWaitMillis, int maxWaiters) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("operations", run.operations());
+        result.put("outcomes", run.outcomes());
+        result.put("throughputPerSecond", Math.round(run.throughputPerSecond() * 10) / 10.0);
+        result.put("p50Ms", run.percentileMillis(50));
+        result.put("p99Ms", run.percentileMillis(99));
+        result.put("maxMs", run.percentileMillis(100));
+        result.put("lockWaitMs", Math.round(lockWaitMillis));
+        result.put("maxLockWaiters", maxWaiters);
+        REPORT.put(name, result);
+        log.info("{}: {}", name, result);
+    }
+
+    private Long createUser() {
+        String id = UUID.randomUUID().toString();
+        return userService.createUser(UserDTO.builder().name("Stress " + id).email("stress-" + id + "@example.com").build()).getId();
+    }
+
+    private TimeSlotDTO createSlot(Long userId, LocalDateTime start, LocalDateTime end) {
+        return timeSlotService.createTimeSlot(userId, CreateTimeSlotRequest.builder().startTime(start).endTime(end).build());
+    }
+
+    // Each round works on its own day, a year or more ahead so every slot is in the future
+    private static LocalDateTime day(int round) {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).plusYears(1).plusDays(2L * round);
+    }
+
+    private boolean isPostgres() throws MetaDataAccessException {
+        return "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(
+            jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName));
+    }
+}
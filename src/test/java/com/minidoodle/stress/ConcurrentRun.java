@@ -0,0 +1,102 @@
+package com.minidoodle.stress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Fires operations from a fixed number of threads that are released together, and
+ * records each operation's latency and outcome: "ok", or the simple name of the
+ * exception it threw.
+ */
+final class ConcurrentRun {
+
+    static final String OK = "ok";
+
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final List<long[]> latencies = new ArrayList<>();
+    private long elapsedNanos;
+    private int operations;
+
+    /**
+     * Runs {@code operations} calls of {@code operation} (given the operation index) on
+     * {@code threads} threads and waits for all of them
+     */
+    void run(int threads, int operations, IntConsumer operation) throws Exception {
+        long[] roundLatencies = new long[operations];
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = next.getAndIncrement(); i < operations; i = next.getAndIncrement()) {
+                        long began = System.nanoTime();
+                        String outcome = OK;
+                        try {
+                            operation.accept(i);
+                        } catch (RuntimeException ex) {
+                            outcome = ex.getClass().getSimpleName();
+                        }
+                        roundLatencies[i] = System.nanoTime() - began;
+                        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+                    }
+                    return null;
+                }));
+            }
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            elapsedNanos += System.nanoTime() - began;
+        } finally {
+            executor.shutdownNow();
+        }
+        latencies.add(roundLatencies);
+        this.operations += operations;
+    }
+
+    Map<String, Long> outcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+
+    long count(String outcome) {
+        LongAdder count = outcomes.get(outcome);
+        return count == null ? 0 : count.sum();
+    }
+
+    int operations() {
+        return operations;
+    }
+
+    double throughputPerSecond() {
+        return operations / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Latency percentile in milliseconds over every operation run so far
+     */
+    double percentileMillis(double percentile) {
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        if (all.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(all.length - 1, Math.ceil(percentile / 100 * all.length) - 1);
+        return all[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,73 @@
+package com.minidoodle.stress;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Estimates time sessions spend waiting for row locks by sampling
+ * {@code pg_stat_activity} every millisecond: each session seen waiting on a
+ * {@code Lock} event is charged one interval. Sampling is too coarse for single
+ * waits but accurate for totals over a run. Other databases report zero.
+ */
+final class LockWaitSampler implements AutoCloseable {
+
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final Thread thread;
+    private volatile long waitNanos;
+    private volatile int maxWaiters;
+
+    private LockWaitSampler(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.thread = new Thread(this::sample, "lock-wait-sampler");
+        this.thread.setDaemon(true);
+    }
+
+    static LockWaitSampler start(JdbcTemplate jdbcTemplate, boolean postgres) {
+        LockWaitSampler sampler = new LockWaitSampler(jdbcTemplate);
+        if (postgres) {
+            sampler.thread.start();
+        }
+        return sampler;
+    }
+
+    double waitMillis() {
+        return waitNanos / 1_000_000.0;
+    }
+
+    int maxWaiters() {
+        return maxWaiters;
+    }
+
+    private void sample() {
+        long last = System.nanoTime();
+        while (running.get()) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock' AND datname = current_database()",
+                Integer.class);
+            long now = System.nanoTime();
+            int waiters = waiting == null ? 0 : waiting;
+            waitNanos += waiters * (now - last);
+            maxWaiters = Math.max(maxWaiters, waiters);
+            last = now;
+            long sleep = INTERVAL_NANOS - (System.nanoTime() - now);
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running.set(false);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
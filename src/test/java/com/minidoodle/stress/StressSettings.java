@@ -0,0 +1,43 @@
+package com.minidoodle.stress;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Stress suite knobs, read from {@code stress.*} system properties (the
+ * {@code stressTest} Gradle task forwards {@code -Pstress.*} project properties).
+ * Rounds repeat until both {@code rounds} and {@code durationSeconds} are used up,
+ * so a soak run only needs a longer duration.
+ */
+record StressSettings(
+    int threads,
+    int bookingsPerSlot,
+    int slotsPerRound,
+    int slotWrites,
+    int calendars,
+    int rounds,
+    long durationSeconds,
+    String jdbcUrl,
+    String username,
+    @JsonIgnore String password,
+    String reportDir
+) {
+
+    static StressSettings fromSystemProperties() {
+        return new StressSettings(
+            Integer.getInteger("stress.threads", 32),
+            Integer.getInteger("stress.bookingsPerSlot", 100),
+            Integer.getInteger("stress.slotsPerRound", 4),
+            Integer.getInteger("stress.slotWrites", 200),
+            Integer.getInteger("stress.calendars", 2),
+            Integer.getInteger("stress.rounds", 1),
+            Long.getLong("stress.durationSeconds", 0),
+            System.getProperty("stress.jdbcUrl", ""),
+            System.getProperty("stress.username", "postgres"),
+            System.getProperty("stress.password", "postgres"),
+            System.getProperty("stress.reportDir", "build/reports/stress"));
+    }
+
+    boolean hasExternalDatabase() {
+        return !jdbcUrl.isBlank();
+    }
+}
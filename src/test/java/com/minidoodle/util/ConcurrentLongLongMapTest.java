@@ -0,0 +1,88 @@
+package com.minidoodle.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLongLongMapTest {
+
+    @Test
+    void putGetRemove_MatchesHashMap() {
+        ConcurrentLongLongMap map = new ConcurrentLongLongMap(4, 1_000_000);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                long value = random.nextLong();
+                map.put(key, value);
+                expected.put(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 1; key <= 5_000; key++) {
+            assertEquals(expected.getOrDefault(key, -1L), map.get(key, -1L));
+        }
+    }
+
+    @Test
+    void put_FullSegmentIsCleared() {
+        ConcurrentLongLongMap map = new ConcurrentLongLongMap(1, 100);
+        for (long key = 1; key <= 1_000; key++) {
+            map.put(key, key);
+        }
+
+        assertTrue(map.size() <= 100);
+        assertEquals(1_000, map.get(1_000, -1));
+    }
+
+    @Test
+    void get_ConcurrentWritersNeverSeeWrongValue() throws Exception {
+        ConcurrentLongLongMap map = new ConcurrentLongLongMap(2, 1_000_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(offset);
+                    for (long key = 1 + offset; key <= 100_000; key += 4) {
+                        map.put(key, key * 10);
+                        long other = 1 + random.nextInt(100_000);
+                        long seen = map.get(other, -1);
+                        assertTrue(seen == -1 || seen == other * 10);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(100_000, map.size());
+        assertEquals(500_000, map.get(50_000, -1));
+    }
+
+    @Test
+    void put_ReservedKey_ThrowsException() {
+        ConcurrentLongLongMap map = new ConcurrentLongLongMap(1, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, 1));
+    }
+}